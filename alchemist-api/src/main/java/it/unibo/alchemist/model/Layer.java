@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -30,4 +30,15 @@ public interface Layer<T, P extends Position<? extends P>> extends Serializable
      */
     T getValue(P p);
 
+    /**
+     * Static layers never change their values, hence they can be read at any time from any thread,
+     * and whatever is computed from them can be reused.
+     * Layers modified during the simulation must not be static.
+     *
+     * @return true if the values of this layer never change. Defaults to false.
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
 }
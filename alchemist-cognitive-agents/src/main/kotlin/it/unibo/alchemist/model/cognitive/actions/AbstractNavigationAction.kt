@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -124,7 +124,8 @@ abstract class AbstractNavigationAction<T, P, A, L, R, N, E>(
      * is moving on [previousRoom]'s boundary. In such case [previousRoom] is used.
      * - when crossing a door or in [NavigationState.NEW_ROOM] and [expectedNewRoom] is adjacent to [previousRoom].
      * In such case [expectedNewRoom] is used.
-     * Otherwise the first room containing [pedestrianPosition] is used.
+     * Otherwise [currentRoom] and its adjacent rooms are checked first, then the whole graph (see
+     * [it.unibo.alchemist.model.geometry.navigationgraph.NavigationGraph.nodeContaining]).
      */
     protected open fun updateCachedVariables() {
         pedestrianPosition = environment.getPosition(navigatingNode)
@@ -137,7 +138,7 @@ abstract class AbstractNavigationAction<T, P, A, L, R, N, E>(
                     expectedNewRoom?.contains(pedestrianPosition) ?: false ->
                     expectedNewRoom
                 else ->
-                    environment.graph.vertexSet().firstOrNull { it.contains(pedestrianPosition) }
+                    environment.graph.nodeContaining(pedestrianPosition, currentRoom)
             }
     }
 
@@ -168,11 +168,10 @@ constructor(
     override fun updatePhysics(elapsedTime: Double) {
         world.update(elapsedTime, Int.MAX_VALUE)
         /*
-         * Make world and environment position consistent
+         * Make world and environment position consistent.
+         * Collisions have been resolved by the physics engine, so positions are committed in bulk.
          */
-        nodeToBody.forEach { (node, body) ->
-            moveNodeToPosition(node, body.position)
-        }
+        backingEnvironment.commitResolvedPositions(nodeToBody.mapValues { (_, body) -> body.position })
     }
 
     override fun getPosition(node: Node<T>): Euclidean2DPosition = nodeToBody[node]?.position
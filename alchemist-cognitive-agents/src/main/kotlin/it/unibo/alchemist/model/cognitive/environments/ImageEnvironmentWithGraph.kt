@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -17,12 +17,16 @@ import it.unibo.alchemist.model.geometry.Vector2D
 import it.unibo.alchemist.model.geometry.navigationgraph.DirectedEuclidean2DNavigationGraph
 import it.unibo.alchemist.model.geometry.navigationgraph.Euclidean2DNavigationGraph
 import it.unibo.alchemist.model.geometry.navigationgraph.Euclidean2DPassage
+import it.unibo.alchemist.model.geometry.navigationgraph.NaviGator
 import it.unibo.alchemist.model.geometry.navigationgraph.NaviGator.generateNavigationGraph
+import it.unibo.alchemist.model.geometry.navigationgraph.NavigationGraphCache
+import it.unibo.alchemist.model.geometry.navigationgraph.NavigationRoutes
 import it.unibo.alchemist.model.obstacles.RectObstacle2D
 import it.unibo.alchemist.model.physics.environments.EuclideanPhysics2DEnvironmentWithGraph
 import it.unibo.alchemist.model.physics.environments.ImageEnvironment
 import it.unibo.alchemist.model.positions.Euclidean2DPosition
 import java.awt.Color
+import java.io.ByteArrayInputStream
 import java.io.File
 import javax.imageio.ImageIO
 import org.kaikikm.threadresloader.ResourceLoader
@@ -32,7 +36,8 @@ import org.kaikikm.threadresloader.ResourceLoader
  * The NaviGator algorithm is used to produce such graph (see [generateNavigationGraph]).
  * The positions where to plant initial seeds should be specified directly in the image,
  * marking each area of the environment with one or more pixels of a given color (defaults
- * to blue).
+ * to blue). Generated graphs are cached on disk (see [NavigationGraphCache]), so that the same image
+ * is processed only once.
  */
 class ImageEnvironmentWithGraph<T>
 @JvmOverloads
@@ -54,24 +59,34 @@ constructor(
     override val graph: Euclidean2DNavigationGraph
 
     init {
-        val resource = ResourceLoader.getResourceAsStream(path)
-        val img =
-            if (resource == null) {
-                ImageIO.read(File(path))
-            } else {
-                ImageIO.read(resource)
-            }
-        val obstacles = findMarkedRegions(obstaclesColor, img)
-        val rooms = findMarkedRegions(roomsColor, img).map { Euclidean2DPosition(it.minX, it.minY) }
+        val imageContent =
+            ResourceLoader.getResourceAsStream(path)?.use { it.readBytes() }
+                ?: File(path).readBytes()
+        val img = ImageIO.read(ByteArrayInputStream(imageContent))
+        /*
+         * The graph is cached before being mapped, as it only depends on the image and on the colors.
+         */
         graph =
-            generateNavigationGraph(
-                width = img.width.toDouble(),
-                height = img.height.toDouble(),
-                obstacles = obstacles,
-                rooms = rooms,
-            ).map { Euclidean2DPosition(it.x * zoom + dx, (img.height - it.y) * zoom + dy) }
+            NavigationGraphCache
+                .getOrGenerate(NaviGator::class.java.name, imageContent, obstaclesColor, roomsColor) {
+                    generateNavigationGraph(
+                        width = img.width.toDouble(),
+                        height = img.height.toDouble(),
+                        obstacles = findMarkedRegions(obstaclesColor, img),
+                        rooms = findMarkedRegions(roomsColor, img).map { Euclidean2DPosition(it.minX, it.minY) },
+                    )
+                }.map { Euclidean2DPosition(it.x * zoom + dx, (img.height - it.y) * zoom + dy) }
     }
 
+    @Transient
+    @Volatile
+    private var navigationRoutes: NavigationRoutes<ConvexPolygon, Euclidean2DPassage>? = null
+
+    override val routes: NavigationRoutes<ConvexPolygon, Euclidean2DPassage>
+        get() = navigationRoutes ?: synchronized(this) {
+            navigationRoutes ?: NavigationRoutes(graph).also { navigationRoutes = it }
+        }
+
     private fun Euclidean2DNavigationGraph.map(
         mapper: (Euclidean2DPosition) -> Euclidean2DPosition,
     ): Euclidean2DNavigationGraph {
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -14,11 +14,11 @@ import it.unibo.alchemist.model.cognitive.actions.NavigationAction2D
 import it.unibo.alchemist.model.geometry.ConvexPolygon
 import it.unibo.alchemist.model.geometry.Euclidean2DConvexShape
 import it.unibo.alchemist.model.geometry.navigationgraph.Euclidean2DPassage
+import it.unibo.alchemist.model.geometry.navigationgraph.NavigationRoutes
 import it.unibo.alchemist.model.positions.Euclidean2DPosition
 import it.unibo.alchemist.util.Sequences.cartesianProduct
 import org.jgrapht.Graphs.predecessorListOf
 import org.jgrapht.Graphs.successorListOf
-import org.jgrapht.alg.shortestpath.BFSShortestPath
 
 /**
  * A [NavigationStrategy] allowing to reach a known (static) destination (see [Pursue]).
@@ -42,6 +42,12 @@ open class ReachKnownDestination<T, L : Euclidean2DConvexShape, R>(
      * An empty list is passed to super method, because route is initialised in this class' init block.
      */
 ) : FollowRoute<T, L, R>(action, emptyList()) {
+    /*
+     * Routes over the pedestrian's cognitive map, computed once and shared by all the destinations.
+     * They are owned by this strategy, and discarded together with it.
+     */
+    private val knownRoutes: NavigationRoutes<L, R> by lazy { NavigationRoutes(orientingCapability.cognitiveMap) }
+
     final override val route: List<Euclidean2DPosition>
 
     init {
@@ -104,9 +110,9 @@ open class ReachKnownDestination<T, L : Euclidean2DConvexShape, R>(
                     /*
                      * At present the cognitive map is a MST, so there's a single path between each pair of nodes,
                      * in the future things may change and a policy deciding which path to pick may (need to) be
-                     * introduced.
+                     * introduced. Routes are computed once per strategy, and shared by all decisions.
                      */
-                    BFSShortestPath(this).getPath(start, end)?.vertexList
+                    knownRoutes.route(start, end)
                 }.firstOrNull()
                 .orEmpty()
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -18,6 +18,7 @@ import it.unibo.alchemist.model.geometry.ConvexShape
 import it.unibo.alchemist.model.geometry.Transformation
 import it.unibo.alchemist.model.geometry.Vector
 import it.unibo.alchemist.model.geometry.navigationgraph.NavigationGraph
+import it.unibo.alchemist.model.geometry.navigationgraph.NavigationRoutes
 import it.unibo.alchemist.model.geometry.navigationgraph.UndirectedNavigationGraph
 import it.unibo.alchemist.model.physics.properties.OccupiesSpaceProperty
 import it.unibo.alchemist.model.properties.AbstractNodeProperty
@@ -29,6 +30,7 @@ import org.jgrapht.alg.shortestpath.DijkstraShortestPath
 import org.jgrapht.alg.spanning.PrimMinimumSpanningTree
 import org.jgrapht.graph.AsWeightedGraph
 import org.jgrapht.graph.DefaultEdge
+import org.jgrapht.traverse.BreadthFirstIterator
 
 /**
  * Base implementation of a node's [OrientingProperty].
@@ -75,27 +77,39 @@ constructor(
          * landmarks[i] will contain the landmark generated in rooms[i].
          */
         val landmarks = rooms.map { createLandmarkIn(it) }
+        val landmarkIndexes = HashMap<L, Int>(landmarks.size)
+        landmarks.forEachIndexed { index, landmark -> landmarkIndexes.putIfAbsent(landmark, index) }
+        /*
+         * Hop distances are owned by the environment and shared by all the nodes navigating it: only the tables
+         * of the rooms not yet requested by any other node are computed (in parallel), the rest are array reads.
+         */
+        val routes = environment.routes.apply { precompute(rooms) }
+        val hops = IntArray(rooms.size * rooms.size)
+        rooms.indices.forEach { i ->
+            rooms.indices.forEach { j -> hops[i * rooms.size + j] = routes.hops(rooms[i], rooms[j]) }
+        }
         val fullGraph = UndirectedNavigationGraph<P, A, L, DefaultEdge>(DefaultEdge::class.java)
         landmarks.forEach { fullGraph.addVertex(it) }
         rooms.indices.forEach { i ->
             rooms.indices.forEach { j ->
-                if (i != j && environmentGraph.pathExists(rooms[i], rooms[j])) {
+                if (i != j && hops[i * rooms.size + j] != NavigationRoutes.UNREACHABLE) {
                     fullGraph.addEdge(landmarks[i], landmarks[j])
                 }
             }
         }
         /*
-         * The environment's graph is unweighted, but edges' weights defaults to 1.0
+         * The environment's graph is usually unweighted, and edges' weights default to 1.0: the weight of the
+         * shortest path between two rooms (tail, head) is the number of rooms that need to be traversed to go
+         * from tail to head. Weighted graphs still require Dijkstra.
          */
-        val dijkstra = DijkstraShortestPath(environmentGraph)
+        val dijkstra by lazy { DijkstraShortestPath(environmentGraph) }
         val weightFunction: (DefaultEdge) -> Double = { edge ->
-            val tail = fullGraph.getEdgeSource(edge)
-            val head = fullGraph.getEdgeTarget(edge)
-            /*
-             * The weight of the shortest path between two rooms (tail, head) is the number
-             * of rooms that need to be traversed to go from tail to head.
-             */
-            dijkstra.getPathWeight(rooms[landmarks.indexOf(tail)], rooms[landmarks.indexOf(head)])
+            val tail = checkNotNull(landmarkIndexes[fullGraph.getEdgeSource(edge)])
+            val head = checkNotNull(landmarkIndexes[fullGraph.getEdgeTarget(edge)])
+            when {
+                environmentGraph.type.isWeighted -> dijkstra.getPathWeight(rooms[tail], rooms[head])
+                else -> hops[tail * rooms.size + head].toDouble()
+            }
         }
         val fullGraphWeighted = AsWeightedGraph(fullGraph, weightFunction, false, false)
         /*
@@ -121,13 +135,17 @@ constructor(
     companion object {
         /**
          * Checks whether a path exists between [source] and [sink].
-         * [DijkstraShortestPath] is used instead of [org.jgrapht.alg.connectivity.ConnectivityInspector.pathExists],
-         * because, in case of directed graph, the latter checks whether the given vertices lay in the same weakly
-         * connected component, which is not the desired behavior.
-         * As unweighted graphs have a default edge weight of 1.0, shortest path algorithms can always be applied
-         * meaningfully.
+         * [org.jgrapht.alg.connectivity.ConnectivityInspector.pathExists] is not used because, in case of
+         * directed graph, it checks whether the given vertices lay in the same weakly connected component,
+         * which is not the desired behavior. A breadth-first visit from [source] is used instead, stopping as soon
+         * as [sink] is found: nothing is retained after the check.
          */
-        fun <V> Graph<V, *>.pathExists(source: V, sink: V): Boolean =
-            DijkstraShortestPath.findPathBetween(this, source, sink) != null
+        fun <V> Graph<V, *>.pathExists(source: V, sink: V): Boolean {
+            @Suppress("UNCHECKED_CAST")
+            val graph = this as Graph<V, Any?>
+            return graph.containsVertex(source) &&
+                graph.containsVertex(sink) &&
+                BreadthFirstIterator(graph, source).asSequence().any { it == sink }
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -56,9 +56,13 @@ class PhysicalPedestrian2D<T>(
 
     private val cognitiveModel = node.asPropertyOrNull<T, CognitiveProperty<T>>()?.cognitiveModel
 
+    private val escapingComfortRay = desiredSpaceTreshold / 3
+
+    private val wantsToEscape get() = cognitiveModel?.wantsToEscape() == true
+
     override val comfortRay: Double get() {
-        return if (cognitiveModel?.wantsToEscape() == true) {
-            desiredSpaceTreshold / 3
+        return if (wantsToEscape) {
+            escapingComfortRay
         } else {
             desiredSpaceTreshold
         }
@@ -66,23 +70,35 @@ class PhysicalPedestrian2D<T>(
 
     private var fallenAgentListeners: List<(Node<T>) -> Unit> = listOf()
 
-    override val comfortArea: Euclidean2DShape get() =
-        environment
-            .shapeFactory
-            .circle(nodeShape.radius + comfortRay)
-            .transformed { origin(environment.getPosition(node)) }
+    /*
+     * Shapes are built once and then moved where the node is, the comfort ray takes one of two values.
+     */
+    private val comfortShape by lazy { environment.shapeFactory.circle(nodeShape.radius + desiredSpaceTreshold) }
+
+    private val escapingComfortShape by lazy {
+        environment.shapeFactory.circle(nodeShape.radius + escapingComfortRay)
+    }
+
+    override val comfortArea: Euclidean2DShape get() {
+        val shape = if (wantsToEscape) escapingComfortShape else comfortShape
+        return shape.transformed { origin(environment.getPosition(node)) }
+    }
+
+    private val rectangleOfInfluenceShape by lazy {
+        environment.shapeFactory.rectangle(rectangleOfInfluenceDimensions.first, rectangleOfInfluenceDimensions.second)
+    }
 
     override val rectangleOfInfluence: Euclidean2DShape get() =
-        environment
-            .shapeFactory
-            .rectangle(rectangleOfInfluenceDimensions.first, rectangleOfInfluenceDimensions.second)
+        rectangleOfInfluenceShape
             .transformed {
                 rotate(environment.getHeading(node))
                 origin(node.position + environment.getHeading(node) * (rectangleOfInfluenceDimensions.first / 2.0))
             }
 
+    private val fallenAgentPerceptionShape by lazy { environment.shapeFactory.circle(FALLEN_AGENT_PERCEPTION_RADIUS) }
+
     private val fallenAgentPerceptionArea
-        get() = environment.shapeFactory.circle(FALLEN_AGENT_PERCEPTION_RADIUS).transformed { origin(node.position) }
+        get() = fallenAgentPerceptionShape.transformed { origin(node.position) }
 
     private val Node<T>.position get() = environment.getPosition(this)
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -16,6 +16,7 @@ import io.kotest.matchers.comparables.shouldBeLessThan
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.shouldNot
 import io.kotest.matchers.shouldNotBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
 import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Node.Companion.asPropertyOrNull
@@ -114,6 +115,12 @@ class TestOrientingBehavior<T, P> :
             runSimulation("complete-knowledge.yml", 1.0, 330, 135, 15)
         }
 
+        "navigation routes should be owned by the environment" {
+            val environment = loadYamlSimulation<T, P>("explore.yml").environment
+            check(environment is Euclidean2DEnvironmentWithGraph<*, T, *, *>)
+            environment.routes shouldBeSameInstanceAs environment.routes
+        }
+
         "destination reaching should obtain a route from the pedestrian's cognitive map and use it" {
             runSimulation("partial-knowledge.yml", 1.0, 500, 135, 15)
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -37,6 +37,16 @@ class TestEnvironmentWithDynamics<T, P> :
                 },
             )
         }
+        "node bodies are as large as node shapes" {
+            /*
+             * The nodes are 0.7 apart and have a radius of 0.3: larger bodies would overlap and be pushed apart.
+             */
+            val environment = loadYamlSimulation<T, P>("adjacent-pedestrians.yml").environment as Dynamics2DEnvironment
+            environment.nodes.forEach { environment.getShape(it).radius shouldBe 0.3 }
+            val positions = environment.nodes.map { environment.getPosition(it) }
+            environment.updatePhysics(1.0)
+            environment.nodes.map { environment.getPosition(it) } shouldBe positions
+        }
         "Environment should allow physics update rate customization" {
             val environment = loadYamlSimulation<T, P>("testCustomizeGlobalReactionRate.yml").environment
             environment.globalReactions.size shouldBe 1
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -10,9 +10,14 @@
 package it.unibo.alchemist.model.cognitive.properties
 
 import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.doubles.plusOrMinus
+import io.kotest.matchers.shouldBe
 import io.kotest.matchers.shouldNotBe
+import it.unibo.alchemist.model.Node.Companion.asProperty
 import it.unibo.alchemist.model.Position
 import it.unibo.alchemist.model.geometry.Vector
+import it.unibo.alchemist.model.physics.properties.AreaProperty
+import it.unibo.alchemist.model.physics.properties.PhysicalPedestrian2D
 import it.unibo.alchemist.test.loadYamlSimulation
 import it.unibo.alchemist.test.startSimulation
 
@@ -26,4 +31,14 @@ class TestPhysicalPedestrians<T, P> :
                 },
             )
         }
+        "comfort areas surround node shapes by the comfort ray" {
+            val environment = loadYamlSimulation<T, P>("adjacent-pedestrians.yml").environment
+            environment.nodes.forEach { node ->
+                val pedestrian = node.asProperty<T, PhysicalPedestrian2D<T>>()
+                val radius = node.asProperty<T, AreaProperty<T>>().shape.radius
+                radius shouldBe 0.3
+                pedestrian.comfortArea.radius shouldBe (radius + pedestrian.comfortRay plusOrMinus 1e-9)
+                pedestrian.comfortArea.centroid shouldBe environment.getPosition(node)
+            }
+        }
     }) where P : Position<P>, P : Vector<P>
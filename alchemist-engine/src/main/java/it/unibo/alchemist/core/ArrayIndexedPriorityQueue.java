@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -15,6 +15,7 @@ import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import it.unibo.alchemist.model.Actionable;
 import it.unibo.alchemist.model.Time;
+import it.unibo.alchemist.util.profiling.SchedulerOperationEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +27,10 @@ import java.util.List;
  */
 public final class ArrayIndexedPriorityQueue<T> implements Scheduler<T> {
 
+    private static final String ADD = "add";
+    private static final String REMOVE = "remove";
+    private static final String UPDATE = "update";
+
     private final TObjectIntMap<Actionable<T>> indexes =
         new TObjectIntHashMap<>(Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, -1);
     private final List<Time> times = new ArrayList<>();
@@ -38,11 +43,14 @@ public final class ArrayIndexedPriorityQueue<T> implements Scheduler<T> {
      */
     @Override
     public void addReaction(final Actionable<T> reaction) {
+        final SchedulerOperationEvent profiling = new SchedulerOperationEvent();
+        profiling.begin();
         tree.add(reaction);
         times.add(reaction.getTau());
         final int index = tree.size() - 1;
         indexes.put(reaction, index);
         updateEffectively(reaction, index);
+        commit(profiling, ADD);
     }
 
     private void down(final Actionable<T> reaction, final int reactionIndex) {
@@ -92,6 +100,8 @@ public final class ArrayIndexedPriorityQueue<T> implements Scheduler<T> {
      */
     @Override
     public void removeReaction(final Actionable<T> reaction) {
+        final SchedulerOperationEvent profiling = new SchedulerOperationEvent();
+        profiling.begin();
         final int index = indexes.get(reaction);
         final int last = tree.size() - 1;
         if (index == last) {
@@ -108,6 +118,15 @@ public final class ArrayIndexedPriorityQueue<T> implements Scheduler<T> {
             indexes.remove(reaction);
             updateEffectively(swapped, index);
         }
+        commit(profiling, REMOVE);
+    }
+
+    private void commit(final SchedulerOperationEvent profiling, final String operation) {
+        if (profiling.shouldCommit()) {
+            profiling.operation = operation;
+            profiling.size = tree.size();
+            profiling.commit();
+        }
     }
 
     private void swap(final int i1, final Actionable<T> r1, final int i2, final Actionable<T> r2) {
@@ -183,8 +202,11 @@ public final class ArrayIndexedPriorityQueue<T> implements Scheduler<T> {
     public void updateReaction(final Actionable<T> reaction) {
         final int index = indexes.get(reaction);
         if (index != indexes.getNoEntryValue()) {
+            final SchedulerOperationEvent profiling = new SchedulerOperationEvent();
+            profiling.begin();
             times.set(index, reaction.getTau());
             updateEffectively(reaction, index);
+            commit(profiling, UPDATE);
         }
     }
 
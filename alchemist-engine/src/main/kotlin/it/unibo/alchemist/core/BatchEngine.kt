@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2025, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -97,6 +97,7 @@ class BatchEngine<T, P : Position<out P>> : Engine<T, P> {
      * Performs the next simulation step.
      */
     override fun doStep() {
+        val stepStart = System.nanoTime()
         val batchedScheduler = scheduler as BatchedScheduler<T>
         val nextEvents = batchedScheduler.nextBatch
         val batchSize = nextEvents.size
@@ -127,6 +128,7 @@ class BatchEngine<T, P : Position<out P>> : Engine<T, P> {
                 val resultsOrderedByTime = futureResults
                     .sortedWith(Comparator.comparing { result: TaskResult -> result.eventTime })
                 currentTime = if (maxSlidingWindowTime > time) maxSlidingWindowTime else time
+                lastStepDuration = System.nanoTime() - stepStart
                 doStepDoneAllMonitors(resultsOrderedByTime)
             } catch (e: InterruptedException) {
                 LOGGER.error(e.message, e)
@@ -211,6 +213,7 @@ class BatchEngine<T, P : Position<out P>> : Engine<T, P> {
                     )
             }
             toUpdate.forEach { updateReaction(it) }
+            reactionExecuted(toUpdate.size)
         }
     }
 
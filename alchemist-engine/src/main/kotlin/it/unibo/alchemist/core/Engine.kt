@@ -20,6 +20,7 @@ import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Position
 import it.unibo.alchemist.model.Reaction
 import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.util.profiling.ReactionExecutionEvent
 import java.util.ArrayDeque
 import java.util.Optional
 import java.util.Queue
@@ -29,6 +30,7 @@ import java.util.concurrent.CopyOnWriteArrayList
 import java.util.concurrent.LinkedBlockingQueue
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.locks.Condition
 import java.util.concurrent.locks.Lock
 import java.util.concurrent.locks.ReentrantLock
@@ -89,6 +91,42 @@ open class Engine<T, P : Position<out P>>(
     /** List of registered output monitors for simulation events. */
     protected val monitors: MutableList<OutputMonitor<T, P>> = CopyOnWriteArrayList()
 
+    private val executedReactionsCount = AtomicLong()
+
+    private val updatedDependenciesCount = AtomicLong()
+
+    private val neighborhoodUpdatesCount = AtomicLong()
+
+    private val scheduledReactionsCount = AtomicInteger()
+
+    /** Number of reactions executed so far. */
+    val executedReactions: Long get() = executedReactionsCount.get()
+
+    /**
+     * Number of reactions updated so far, as they depended on an executed one.
+     * Divided by [executedReactions], it provides the mean fan-out, also when reactions are executed in batches.
+     */
+    val totalUpdatedDependencies: Long get() = updatedDependenciesCount.get()
+
+    /** Number of reactions updated after the last reaction executed, as they depended on it. */
+    @Volatile
+    var lastUpdatedDependencies: Int = 0
+        private set
+
+    /** Number of neighbors added or removed so far. */
+    val neighborhoodUpdates: Long get() = neighborhoodUpdatesCount.get()
+
+    /** Number of reactions currently in the scheduler. */
+    val scheduledReactions: Int get() = scheduledReactionsCount.get()
+
+    /**
+     * Wall time spent performing the latest step, in nanoseconds,
+     * excluding the notification of the [OutputMonitor]s.
+     */
+    @Volatile
+    var lastStepDuration: Long = 0
+        protected set
+
     /**
      * Constructs a simulation with a default scheduler.
      *
@@ -134,29 +172,42 @@ open class Engine<T, P : Position<out P>>(
      * Performs a single step of the simulation.
      */
     protected open fun doStep() {
+        val stepStart = System.nanoTime()
         val nextEvent = scheduler.getNext() ?: run {
             newStatus(Status.TERMINATED)
             LOGGER.info("No more reactions.")
             return
         }
+        val profiling = ReactionExecutionEvent()
+        profiling.begin()
         val scheduledTime = nextEvent.tau
         check(scheduledTime >= time) {
             "$nextEvent is scheduled in the past at time $scheduledTime. Current time: $time; current step: $step."
         }
         currentTime = scheduledTime
-        if (scheduledTime.isFinite && nextEvent.canExecute()) {
+        var toUpdate: Set<Actionable<T>> = emptySet()
+        val executed = scheduledTime.isFinite && nextEvent.canExecute()
+        if (executed) {
             nextEvent.conditions.forEach { it.reactionReady() }
             nextEvent.execute()
-            var toUpdate: Set<Actionable<T>> = dependencyGraph.outboundDependencies(nextEvent)
+            toUpdate = dependencyGraph.outboundDependencies(nextEvent)
             if (afterExecutionUpdates.isNotEmpty()) {
                 afterExecutionUpdates.forEach { it.performChanges() }
                 afterExecutionUpdates.clear()
                 toUpdate = Sets.union(toUpdate, dependencyGraph.outboundDependencies(nextEvent))
             }
             toUpdate.forEach { updateReaction(it) }
+            reactionExecuted(toUpdate.size)
         }
         nextEvent.update(time, true, environment)
         scheduler.updateReaction(nextEvent)
+        if (profiling.shouldCommit()) {
+            profiling.reactionType = nextEvent.javaClass
+            profiling.executed = executed
+            profiling.updatedDependencies = toUpdate.size
+            profiling.commit()
+        }
+        lastStepDuration = System.nanoTime() - stepStart
         monitors.forEach { it.stepDone(environment, nextEvent, time, step) }
         if (environment.isTerminated) {
             newStatus(Status.TERMINATED)
@@ -204,6 +255,7 @@ open class Engine<T, P : Position<out P>>(
      */
     override fun neighborAdded(node: Node<T>, n: Node<T>) {
         checkCaller()
+        neighborhoodUpdatesCount.incrementAndGet()
         afterExecutionUpdates.add(NeighborAdded(node, n))
     }
 
@@ -215,6 +267,7 @@ open class Engine<T, P : Position<out P>>(
      */
     override fun neighborRemoved(node: Node<T>, n: Node<T>) {
         checkCaller()
+        neighborhoodUpdatesCount.incrementAndGet()
         afterExecutionUpdates.add(NeighborRemoved(node, n))
     }
 
@@ -430,6 +483,7 @@ open class Engine<T, P : Position<out P>>(
         dependencyGraph.createDependencies(reaction)
         reaction.initializationComplete(time, environment)
         scheduler.addReaction(reaction)
+        scheduledReactionsCount.incrementAndGet()
     }
 
     /** Terminates the simulation. */
@@ -438,6 +492,18 @@ open class Engine<T, P : Position<out P>>(
     /** @return a string representation of the engine. */
     override fun toString(): String = "${javaClass.simpleName} t: $time, s: $step"
 
+    /**
+     * Records the execution of a reaction.
+     *
+     * @param updatedDependencies the number of reactions updated as they depended on the executed one
+     */
+    protected fun reactionExecuted(updatedDependencies: Int) {
+        // Updated first, so that whoever sees the new execution count also sees its dependencies
+        updatedDependenciesCount.addAndGet(updatedDependencies.toLong())
+        executedReactionsCount.incrementAndGet()
+        lastUpdatedDependencies = updatedDependencies
+    }
+
     /**
      * Updates the given reaction, adjusting its scheduling if needed.
      *
@@ -547,6 +613,7 @@ open class Engine<T, P : Position<out P>>(
         override fun performChanges() {
             dependencyGraph.removeDependencies(sourceReaction)
             scheduler.removeReaction(sourceReaction)
+            scheduledReactionsCount.decrementAndGet()
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -14,6 +14,7 @@ import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Reaction
 import it.unibo.alchemist.util.BugReporting
+import it.unibo.alchemist.util.profiling.DependencyGraphUpdateEvent
 import org.danilopianini.util.ArrayListSet
 import org.danilopianini.util.ListSet
 import org.danilopianini.util.ListSets
@@ -37,6 +38,8 @@ class JGraphTDependencyGraph<T>(private val environment: Environment<T, *>) : De
     private val runtimeRemovalCache = mutableSetOf<Actionable<T>>()
 
     override fun createDependencies(newReaction: Actionable<T>) {
+        val profiling = DependencyGraphUpdateEvent()
+        profiling.begin()
         val allReactions = graph.vertexSet()
         val neighborhood by lazy {
             if (newReaction is Reaction) {
@@ -112,9 +115,13 @@ class JGraphTDependencyGraph<T>(private val environment: Environment<T, *>) : De
         if (newReaction.outputContext == Context.GLOBAL) {
             outGlobals.add(newReaction)
         }
+        profiling.commit(CREATE_DEPENDENCIES, newReaction)
     }
 
     override fun removeDependencies(reaction: Actionable<T>) {
+        val profiling = DependencyGraphUpdateEvent()
+        profiling.begin()
+
         fun bugInfo() = mapOf(
             "reaction" to reaction,
             "graph" to graph,
@@ -133,6 +140,7 @@ class JGraphTDependencyGraph<T>(private val environment: Environment<T, *>) : De
             bug("Inconsistent state: $reaction, with global input context, was not in the appropriate pool.")
         }
         runtimeRemovalCache += reaction
+        profiling.commit(REMOVE_DEPENDENCIES, reaction)
     }
 
     private fun addNeighborDirected(n1: Node<T>, n2: Node<T>) {
@@ -165,8 +173,11 @@ class JGraphTDependencyGraph<T>(private val environment: Environment<T, *>) : De
 
     /** @see [DependencyGraph.addNeighbor] */
     override fun addNeighbor(n1: Node<T>, n2: Node<T>) {
+        val profiling = DependencyGraphUpdateEvent()
+        profiling.begin()
         addNeighborDirected(n1, n2)
         addNeighborDirected(n2, n1)
+        profiling.commit(ADD_NEIGHBOR)
     }
 
     /**
@@ -202,8 +213,11 @@ class JGraphTDependencyGraph<T>(private val environment: Environment<T, *>) : De
     }
 
     override fun removeNeighbor(n1: Node<T>, n2: Node<T>) {
+        val profiling = DependencyGraphUpdateEvent()
+        profiling.begin()
         removeNeighborDirected(n1, n2)
         removeNeighborDirected(n2, n1)
+        profiling.commit(REMOVE_NEIGHBOR)
     }
 
     override fun outboundDependencies(reaction: Actionable<T>?): ListSet<Actionable<T>> {
@@ -242,6 +256,19 @@ class JGraphTDependencyGraph<T>(private val environment: Environment<T, *>) : De
     private val Node<T>.neighborhood get() = environment.getNeighborhood(this).neighbors
 
     private companion object {
+        private const val CREATE_DEPENDENCIES = "createDependencies"
+        private const val REMOVE_DEPENDENCIES = "removeDependencies"
+        private const val ADD_NEIGHBOR = "addNeighbor"
+        private const val REMOVE_NEIGHBOR = "removeNeighbor"
+
+        private fun DependencyGraphUpdateEvent.commit(operation: String, reaction: Actionable<*>? = null) {
+            if (shouldCommit()) {
+                this.operation = operation
+                reactionType = reaction?.javaClass
+                commit()
+            }
+        }
+
         private val Actionable<*>.inputContext get() =
             when (this) {
                 is Reaction -> inputContext
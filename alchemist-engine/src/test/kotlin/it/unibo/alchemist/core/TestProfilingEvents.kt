@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.core
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.engine.spec.tempfile
+import io.kotest.matchers.collections.shouldContain
+import io.kotest.matchers.longs.shouldBeGreaterThan
+import io.kotest.matchers.nulls.shouldNotBeNull
+import it.unibo.alchemist.core.TestSimulationControl.Companion.tickRate
+import it.unibo.alchemist.core.TestSimulationControl.Companion.workerPool
+import it.unibo.alchemist.model.times.DoubleTime
+import it.unibo.alchemist.test.AlchemistTesting.createEmptyEnvironment
+import it.unibo.alchemist.test.GlobalTestReaction
+import it.unibo.alchemist.util.profiling.RecordingAnalyzer
+import java.util.concurrent.TimeUnit
+import jdk.jfr.Recording
+
+class TestProfilingEvents :
+    StringSpec(
+        {
+            "the bundled configuration should record the engine events" {
+                val output = tempfile(suffix = ".jfr")
+                Recording(RecordingAnalyzer.configuration()).use { recording ->
+                    recording.start()
+                    val environment = createEmptyEnvironment<Nothing>()
+                    environment.tickRate(1.0)
+                    with(environment.simulation) {
+                        val target = goToTime(DoubleTime(100.0))
+                        play()
+                        workerPool.submit { run() }
+                        target.get(1, TimeUnit.SECONDS)
+                        terminate()
+                    }
+                    recording.stop()
+                    recording.dump(output.toPath())
+                }
+                val summaries = RecordingAnalyzer.summarize(output.toPath())
+                summaries.map { it.event } shouldContain "SchedulerOperation"
+                val executions =
+                    summaries.find {
+                        it.event == "ReactionExecution" && it.subject == GlobalTestReaction::class.java.name
+                    }
+                executions.shouldNotBeNull().count shouldBeGreaterThan 0
+            }
+        },
+    )
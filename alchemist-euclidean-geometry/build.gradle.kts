@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2025, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -21,6 +21,7 @@ dependencies {
     api(alchemist("implementationbase"))
     api(libs.dyn4j)
 
+    implementation(libs.caffeine)
     implementation(libs.classgraph)
     implementation(libs.jgrapht.core)
     implementation(libs.trove4j)
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -16,6 +16,7 @@ import it.unibo.alchemist.model.geometry.ConvexShape
 import it.unibo.alchemist.model.geometry.Transformation
 import it.unibo.alchemist.model.geometry.Vector
 import it.unibo.alchemist.model.geometry.navigationgraph.NavigationGraph
+import it.unibo.alchemist.model.geometry.navigationgraph.NavigationRoutes
 
 /**
  * An [EnvironmentWithObstacles] providing a [NavigationGraph]. This is a graph whose nodes are [ConvexShape]s
@@ -34,4 +35,10 @@ interface EnvironmentWithGraph<W, T, P, A, N, E> :
      * The navigation graph.
      */
     val graph: NavigationGraph<P, A, N, E>
+
+    /**
+     * Shortest routes over the [graph], shared by all the nodes navigating this environment.
+     * Implementations must return the same instance at each invocation, so that routes are computed once.
+     */
+    val routes: NavigationRoutes<N, E>
 }
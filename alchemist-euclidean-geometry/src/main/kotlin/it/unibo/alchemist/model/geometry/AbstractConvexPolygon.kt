@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -19,7 +19,7 @@ import kotlin.math.min
  * An abstract [ConvexPolygon] providing a convexity test.
  */
 abstract class AbstractConvexPolygon : ConvexPolygon {
-    private companion object {
+    internal companion object {
         /**
          * @returns the sum of the distances between this segment's endpoints and [other].
          */
@@ -32,6 +32,16 @@ abstract class AbstractConvexPolygon : ConvexPolygon {
          */
         private fun <V : Vector2D<V>> Segment2D<V>.minCumulativeDistanceTo(other: Segment2D<V>): Double =
             min(cumulativeDistanceTo(other), other.cumulativeDistanceTo(this))
+
+        /**
+         * @returns the edge among [edges] closest to [segment] (see [ConvexPolygon.closestEdgeTo]).
+         */
+        internal fun closestEdgeAmong(
+            edges: List<Segment2D<Euclidean2DPosition>>,
+            segment: Segment2D<Euclidean2DPosition>,
+        ): Segment2D<Euclidean2DPosition> = requireNotNull(
+            edges.minWithOrNull(compareBy({ it.distanceTo(segment) }, { it.minCumulativeDistanceTo(segment) })),
+        ) { "no edge found" }
     }
 
     override fun liesOnBoundary(vector: Euclidean2DPosition): Boolean = edges().any { it.contains(vector) }
@@ -51,9 +61,7 @@ abstract class AbstractConvexPolygon : ConvexPolygon {
         (other.vertices().any { liesOnBoundary(it) } || vertices().any { other.liesOnBoundary(it) })
 
     override fun closestEdgeTo(segment: Segment2D<Euclidean2DPosition>): Segment2D<Euclidean2DPosition> =
-        requireNotNull(
-            edges().minWithOrNull(compareBy({ it.distanceTo(segment) }, { it.minCumulativeDistanceTo(segment) })),
-        ) { "no edge found" }
+        closestEdgeAmong(edges(), segment)
 
     override fun intersects(segment: Segment2D<Euclidean2DPosition>): Boolean {
         if (containsBoundaryExcluded(segment.first) || containsBoundaryExcluded(segment.second)) {
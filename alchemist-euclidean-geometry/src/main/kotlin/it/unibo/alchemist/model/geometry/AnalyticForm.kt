@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry
+
+import it.unibo.alchemist.model.geometry.util.AnalyticGeometry
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import java.awt.geom.AffineTransform
+import java.awt.geom.Arc2D
+import java.awt.geom.Ellipse2D
+import java.awt.geom.Rectangle2D
+import java.io.Serializable
+import kotlin.math.PI
+import kotlin.math.cos
+import kotlin.math.hypot
+import kotlin.math.sin
+
+/**
+ * Primitive description of a shape whose geometry can be handled analytically.
+ * All the forms are rigid: transformations only move their reference point ([x], [y]) and rotate them.
+ */
+internal sealed interface AnalyticForm : Serializable {
+    /**
+     * X coordinate of the reference point (center, or apex for sectors).
+     */
+    val x: Double
+
+    /**
+     * Y coordinate of the reference point (center, or apex for sectors).
+     */
+    val y: Double
+
+    /**
+     * Largest distance between any two points of the form (of its bounding box, for sectors).
+     */
+    val diameter: Double
+
+    /**
+     * Center of the bounding box.
+     */
+    val centroid: Euclidean2DPosition
+
+    /**
+     * Moves the reference point p to [newOrigin] + R([rotation]) * (p - [origin]), and rotates the form accordingly.
+     */
+    fun transformed(origin: Euclidean2DPosition, newOrigin: Euclidean2DPosition, rotation: Double): AnalyticForm
+
+    /**
+     * Returns true if ([px], [py]) is inside the form.
+     */
+    fun contains(px: Double, py: Double): Boolean
+
+    /**
+     * Returns whether the interiors of this form and [other] overlap, or null if no analytic test is available.
+     */
+    fun intersects(other: AnalyticForm): Boolean?
+
+    /**
+     * Builds the AWT equivalent of this form.
+     */
+    fun toAwtShape(): java.awt.Shape
+
+    /**
+     * A circle centered in ([x], [y]).
+     */
+    data class Circle(override val x: Double, override val y: Double, val radius: Double) : AnalyticForm {
+        override val diameter get() = 2 * radius
+
+        override val centroid get() = Euclidean2DPosition(x, y)
+
+        override fun transformed(origin: Euclidean2DPosition, newOrigin: Euclidean2DPosition, rotation: Double) =
+            moved(origin, newOrigin, rotation) { newX, newY -> Circle(newX, newY, radius) }
+
+        override fun contains(px: Double, py: Double) = AnalyticGeometry.circleContains(x, y, radius, px, py)
+
+        override fun intersects(other: AnalyticForm): Boolean? = when (other) {
+            is Circle -> AnalyticGeometry.circlesIntersect(x, y, radius, other.x, other.y, other.radius)
+            is Rectangle -> other.intersects(this)
+            is Sector -> other.intersects(this)
+        }
+
+        override fun toAwtShape() = Ellipse2D.Double(x - radius, y - radius, radius * 2, radius * 2)
+    }
+
+    /**
+     * A rectangle centered in ([x], [y]), rotated by [angle] radians.
+     */
+    data class Rectangle(
+        override val x: Double,
+        override val y: Double,
+        val halfWidth: Double,
+        val halfHeight: Double,
+        val angle: Double,
+    ) : AnalyticForm {
+        private val cosine = cos(angle)
+        private val sine = sin(angle)
+
+        override val diameter get() = 2 * hypot(halfWidth, halfHeight)
+
+        override val centroid get() = Euclidean2DPosition(x, y)
+
+        override fun transformed(origin: Euclidean2DPosition, newOrigin: Euclidean2DPosition, rotation: Double) =
+            moved(origin, newOrigin, rotation) { newX, newY ->
+                Rectangle(newX, newY, halfWidth, halfHeight, angle + rotation)
+            }
+
+        override fun contains(px: Double, py: Double) =
+            AnalyticGeometry.rectangleContains(x, y, halfWidth, halfHeight, cosine, sine, px, py)
+
+        override fun intersects(other: AnalyticForm): Boolean? = when (other) {
+            is Circle ->
+                AnalyticGeometry.circleIntersectsRectangle(
+                    other.x,
+                    other.y,
+                    other.radius,
+                    x,
+                    y,
+                    halfWidth,
+                    halfHeight,
+                    cosine,
+                    sine,
+                )
+            is Rectangle ->
+                AnalyticGeometry.rectanglesIntersect(
+                    x,
+                    y,
+                    halfWidth,
+                    halfHeight,
+                    cosine,
+                    sine,
+                    other.x,
+                    other.y,
+                    other.halfWidth,
+                    other.halfHeight,
+                    other.cosine,
+                    other.sine,
+                )
+            is Sector -> null
+        }
+
+        override fun toAwtShape(): java.awt.Shape = when (angle) {
+            0.0 -> Rectangle2D.Double(x - halfWidth, y - halfHeight, halfWidth * 2, halfHeight * 2)
+            else ->
+                AffineTransform()
+                    .apply {
+                        translate(x, y)
+                        rotate(angle)
+                    }.createTransformedShape(
+                        Rectangle2D.Double(-halfWidth, -halfHeight, halfWidth * 2, halfHeight * 2),
+                    )
+        }
+    }
+
+    /**
+     * A circle sector with apex in ([x], [y]), whose bisector points towards [heading],
+     * spanning [halfAperture] radians on each side.
+     */
+    data class Sector(
+        override val x: Double,
+        override val y: Double,
+        val radius: Double,
+        val heading: Double,
+        val halfAperture: Double,
+    ) : AnalyticForm {
+        /*
+         * Tight bounding box (minX, minY, maxX, maxY),
+         * including the apex, the ends of the arc, and the points of the arc lying on the axes.
+         */
+        private val bounds: DoubleArray by lazy {
+            val result = doubleArrayOf(x, y, x, y)
+            fun include(direction: Double) {
+                val px = x + radius * cos(direction)
+                val py = y + radius * sin(direction)
+                result[0] = minOf(result[0], px)
+                result[1] = minOf(result[1], py)
+                result[2] = maxOf(result[2], px)
+                result[3] = maxOf(result[3], py)
+            }
+            include(heading - halfAperture)
+            include(heading + halfAperture)
+            for (quadrant in 0 until QUADRANTS) {
+                val direction = quadrant * PI / 2
+                if (AnalyticGeometry.isWithinAperture(direction, heading, halfAperture)) {
+                    include(direction)
+                }
+            }
+            result
+        }
+
+        override val diameter get() = hypot(bounds[2] - bounds[0], bounds[3] - bounds[1])
+
+        override val centroid get() = Euclidean2DPosition((bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2)
+
+        override fun transformed(origin: Euclidean2DPosition, newOrigin: Euclidean2DPosition, rotation: Double) =
+            moved(origin, newOrigin, rotation) { newX, newY ->
+                Sector(newX, newY, radius, heading + rotation, halfAperture)
+            }
+
+        override fun contains(px: Double, py: Double) =
+            AnalyticGeometry.sectorContains(x, y, radius, heading, halfAperture, px, py)
+
+        override fun intersects(other: AnalyticForm): Boolean? = when (other) {
+            is Circle ->
+                AnalyticGeometry.sectorIntersectsCircle(
+                    x,
+                    y,
+                    radius,
+                    heading,
+                    halfAperture,
+                    other.x,
+                    other.y,
+                    other.radius,
+                )
+            else -> null
+        }
+
+        /*
+         * AWT arcs measure angles counterclockwise in the y-down reference frame, hence the sign inversion.
+         */
+        override fun toAwtShape() = Arc2D.Double(
+            x - radius,
+            y - radius,
+            radius * 2,
+            radius * 2,
+            Math.toDegrees(-heading - halfAperture),
+            Math.toDegrees(halfAperture * 2),
+            Arc2D.PIE,
+        )
+    }
+}
+
+private const val QUADRANTS = 4
+
+private inline fun <R> AnalyticForm.moved(
+    origin: Euclidean2DPosition,
+    newOrigin: Euclidean2DPosition,
+    rotation: Double,
+    build: (x: Double, y: Double) -> R,
+): R {
+    val dx = x - origin.x
+    val dy = y - origin.y
+    val cosine = cos(rotation)
+    val sine = sin(rotation)
+    return build(newOrigin.x + dx * cosine - dy * sine, newOrigin.y + dx * sine + dy * cosine)
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -16,35 +16,98 @@ import java.awt.geom.Point2D
 
 /**
  * [Euclidean2DShape] delegated to java.awt.geom.
+ *
+ * Shapes carrying an [AnalyticForm] (circles, rectangles, and circle sectors) are transformed and tested analytically,
+ * and their AWT counterpart is only built if needed, e.g., when they must be intersected with an arbitrary polygon.
  */
-internal class AwtEuclidean2DShape(
-    private val shape: java.awt.Shape,
-    private val origin: Euclidean2DPosition = Euclidean2DPosition(0.0, 0.0),
+internal class AwtEuclidean2DShape private constructor(
+    awtShape: Lazy<java.awt.Shape>,
+    private val origin: Euclidean2DPosition,
+    private val analytic: AnalyticForm?,
 ) : Euclidean2DShape,
     AwtShapeCompatible {
+    constructor(
+        shape: java.awt.Shape,
+        origin: Euclidean2DPosition = Euclidean2DPosition(0.0, 0.0),
+    ) : this(lazyOf(shape), origin, null)
+
+    constructor(
+        analytic: AnalyticForm,
+        origin: Euclidean2DPosition = Euclidean2DPosition(0.0, 0.0),
+    ) : this(lazy { analytic.toAwtShape() }, origin, analytic)
+
+    private val shape: java.awt.Shape by awtShape
+
     override val diameter: Double by lazy {
-        val rect = shape.bounds2D
-        Euclidean2DPosition(rect.minX, rect.minY).distanceTo(Euclidean2DPosition(rect.maxX, rect.maxY))
+        analytic?.diameter ?: shape.bounds2D.let { rect ->
+            Euclidean2DPosition(rect.minX, rect.minY).distanceTo(Euclidean2DPosition(rect.maxX, rect.maxY))
+        }
     }
 
     override val centroid: Euclidean2DPosition by lazy {
-        Euclidean2DPosition(shape.bounds2D.centerX, shape.bounds2D.centerY)
+        analytic?.centroid ?: Euclidean2DPosition(shape.bounds2D.centerX, shape.bounds2D.centerY)
     }
 
-    override fun transformed(transformation: Euclidean2DTransformation.() -> Unit) = with(MyTransformation()) {
-        transformation.invoke(this)
-        apply()
+    /*
+     * Shapes are usually moved over and over to the same place (e.g., where the node they belong to stands),
+     * hence the result of the last transformation is kept and returned as long as the same one is requested.
+     */
+    @Transient
+    @Volatile
+    private var lastTransformed: Transformed? = null
+
+    /**
+     * Transformations are collected in a per-thread builder, and the shape is only rebuilt
+     * if the result differs from both this shape and the one returned by the previous invocation.
+     */
+    override fun transformed(transformation: Euclidean2DTransformation.() -> Unit): AwtEuclidean2DShape {
+        val pooled = builders.get()
+        // transformations applied within other transformations get their own builder
+        val builder = if (pooled.inUse) Builder() else pooled
+        builder.reset(origin)
+        try {
+            transformation(builder)
+            return transformedTo(builder.x, builder.y, builder.rotation)
+        } finally {
+            builder.inUse = false
+        }
+    }
+
+    private fun transformedTo(x: Double, y: Double, rotation: Double): AwtEuclidean2DShape {
+        if (rotation == 0.0 && x == origin.x && y == origin.y) {
+            return this
+        }
+        val last = lastTransformed
+        if (last != null && last.rotation == rotation && last.x == x && last.y == y) {
+            return last.shape
+        }
+        val newOrigin = Euclidean2DPosition(x, y)
+        val result =
+            analytic?.let { AwtEuclidean2DShape(it.transformed(origin, newOrigin, rotation), newOrigin) } ?: run {
+                val transform = AffineTransform()
+                transform.translate(x, y)
+                if (rotation != 0.0) {
+                    transform.rotate(rotation)
+                }
+                transform.translate(-origin.x, -origin.y)
+                AwtEuclidean2DShape(transform.createTransformedShape(shape), newOrigin)
+            }
+        lastTransformed = Transformed(x, y, rotation, result)
+        return result
     }
 
     override fun asAwtShape() = AffineTransform().createTransformedShape(shape)!!
 
     /**
-     * Delegated to [java.awt.Shape.contains], hence adopting the definition of insideness used by [java.awt.Shape]s.
+     * Delegated to [java.awt.Shape.contains], hence adopting the definition of insideness used by [java.awt.Shape]s,
+     * unless the shape has an [AnalyticForm].
      */
-    override fun contains(vector: Euclidean2DPosition) = shape.contains(Point2D.Double(vector.x, vector.y))
+    override fun contains(vector: Euclidean2DPosition) =
+        analytic?.contains(vector.x, vector.y) ?: shape.contains(Point2D.Double(vector.x, vector.y))
 
     /**
-     * Bounding boxes are used, allowing some inaccuracy.
+     * Exact for pairs of [AnalyticForm]s supporting an analytic test, otherwise bounding boxes are used,
+     * allowing some inaccuracy.
      */
     override fun intersects(other: Euclidean2DShape) = when (other) {
             /*
@@ -52,35 +115,49 @@ internal class AwtEuclidean2DShape(
              not checking for it results in paradoxes like shape.intersects(other) != other.intersects(shape).
              The asymmetry is tolerated in favour of a half-good implementation.
              */
-        is AwtEuclidean2DShape -> shape.intersects(other.shape.bounds2D)
+        is AwtEuclidean2DShape -> analyticIntersection(other) ?: shape.intersects(other.shape.bounds2D)
         // || other.shape.intersects(shape.bounds2D)
         is AdimensionalShape -> false
         else -> throw UnsupportedOperationException("AwtEuclidean2DShape only works with other AwtEuclidean2DShape")
     }
 
-    private inner class MyTransformation : Euclidean2DTransformation {
-        private val transform = AffineTransform()
-        private var newOrigin = origin
-        private var newRotation = 0.0
+    private fun analyticIntersection(other: AwtEuclidean2DShape): Boolean? {
+        val mine = analytic ?: return null
+        val theirs = other.analytic ?: return null
+        return mine.intersects(theirs)
+    }
+
+    private class Transformed(val x: Double, val y: Double, val rotation: Double, val shape: AwtEuclidean2DShape)
+
+    /*
+     * Collects the transformations as primitives, so that no position is built unless the shape changes.
+     */
+    private class Builder : Euclidean2DTransformation {
+        var inUse = false
+        var x = 0.0
+        var y = 0.0
+        var rotation = 0.0
+
+        fun reset(origin: Euclidean2DPosition) {
+            inUse = true
+            x = origin.x
+            y = origin.y
+            rotation = 0.0
+        }
+
+        override fun origin(position: Euclidean2DPosition) = origin(position.x, position.y)
 
-        override fun origin(position: Euclidean2DPosition) {
-            newOrigin = position
+        override fun origin(x: Double, y: Double) {
+            this.x = x
+            this.y = y
         }
 
         override fun rotate(angle: Double) {
-            newRotation += angle
+            rotation += angle
         }
+    }
 
-        fun apply(): AwtEuclidean2DShape {
-            transform.translate(newOrigin.x, newOrigin.y)
-            if (newRotation != 0.0) {
-                transform.rotate(newRotation)
-            }
-            transform.translate(-origin.x, -origin.y)
-            return AwtEuclidean2DShape(
-                transform.createTransformedShape(shape),
-                newOrigin,
-            )
-        }
+    private companion object {
+        private val builders: ThreadLocal<Builder> = ThreadLocal.withInitial { Builder() }
     }
 }
@@ -11,10 +11,7 @@ package it.unibo.alchemist.model.geometry
 
 import it.unibo.alchemist.model.geometry.shapes.AdimensionalShape
 import it.unibo.alchemist.model.positions.Euclidean2DPosition
-import java.awt.geom.Arc2D
 import java.awt.geom.Ellipse2D
-import java.awt.geom.Rectangle2D
-import org.apache.commons.math3.util.FastMath.toDegrees
 
 internal class AwtEuclidean2DShapeFactory(override val origin: Euclidean2DPosition = Euclidean2DPosition(0.0, 0.0)) :
     AbstractShapeFactory<Euclidean2DPosition, Euclidean2DTransformation>(),
@@ -32,26 +29,12 @@ internal class AwtEuclidean2DShapeFactory(override val origin: Euclidean2DPositi
     }
 
     override fun rectangle(width: Double, height: Double): Euclidean2DShape =
-        AwtEuclidean2DShape(Rectangle2D.Double(-width / 2, -height / 2, width, height))
+        AwtEuclidean2DShape(AnalyticForm.Rectangle(0.0, 0.0, width / 2, height / 2, 0.0))
 
-    override fun circleSector(radius: Double, angle: Double, heading: Double): Euclidean2DShape {
-        val startAngle = -heading - angle / 2
-        return AwtEuclidean2DShape(
-            Arc2D.Double(
-                -radius,
-                -radius,
-                radius * 2,
-                radius * 2,
-                toDegrees(startAngle),
-                toDegrees(angle),
-                Arc2D.PIE,
-            ),
-        )
-    }
+    override fun circleSector(radius: Double, angle: Double, heading: Double): Euclidean2DShape =
+        AwtEuclidean2DShape(AnalyticForm.Sector(0.0, 0.0, radius, heading, angle / 2))
 
-    override fun circle(radius: Double): Euclidean2DShape = AwtEuclidean2DShape(
-        Ellipse2D.Double(-radius, -radius, radius * 2, radius * 2),
-    )
+    override fun circle(radius: Double): Euclidean2DShape = AwtEuclidean2DShape(AnalyticForm.Circle(0.0, 0.0, radius))
 
     override fun ellipse(width: Double, height: Double): Euclidean2DShape =
         AwtEuclidean2DShape(Ellipse2D.Double(-width / 2, -height / 2, width, height))
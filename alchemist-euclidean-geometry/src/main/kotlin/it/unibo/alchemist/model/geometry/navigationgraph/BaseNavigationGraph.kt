@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -9,9 +9,11 @@
 
 package it.unibo.alchemist.model.geometry.navigationgraph
 
+import it.unibo.alchemist.model.geometry.AwtShapeCompatible
 import it.unibo.alchemist.model.geometry.ConvexShape
 import it.unibo.alchemist.model.geometry.Transformation
 import it.unibo.alchemist.model.geometry.Vector
+import java.awt.geom.Rectangle2D
 import java.util.function.Supplier
 import org.jgrapht.GraphType
 import org.jgrapht.graph.AbstractBaseGraph
@@ -30,6 +32,9 @@ import org.jgrapht.util.SupplierUtil
  * - Your implementation for hashCode must produce a value which does not change over the
  * lifetime of the object.
  * Further information available [here](https://jgrapht.org/guide/VertexAndEdgeTypes).
+ * As vertices are used as keys, they must not be modified while in the graph: this allows [nodeContaining]
+ * to rely on a point location index, built on the first lookup and discarded whenever vertices are
+ * added or removed.
  */
 open class BaseNavigationGraph<V, A, N, E>(
     vertexSupplier: Supplier<N>?,
@@ -40,6 +45,13 @@ open class BaseNavigationGraph<V, A, N, E>(
     where V : Vector<V>,
           A : Transformation<V>,
           N : ConvexShape<V, A> {
+    /*
+     * Bidimensional index of the vertices, by bounding box.
+     */
+    @Transient
+    @Volatile
+    private var index: BoundingBoxIndex<N>? = null
+
               /*
                * Allows to rapidly create a directed or undirected unweighted graph without
                * self-loops and allowing multiple edges.
@@ -59,4 +71,35 @@ open class BaseNavigationGraph<V, A, N, E>(
             .allowSelfLoops(false)
             .build(),
     )
+
+    override fun addVertex(): N = super.addVertex().also { index = null }
+
+    override fun addVertex(v: N): Boolean = super.addVertex(v).also { if (it) index = null }
+
+    override fun removeVertex(v: N): Boolean = super.removeVertex(v).also { if (it) index = null }
+
+    /**
+     * @returns the first node containing the specified [position], or null if no node containing it could be found.
+     * Only the nodes whose bounding box includes [position] are checked.
+     */
+    override fun nodeContaining(position: V): N? {
+        if (position.dimensions != 2) {
+            return super.nodeContaining(position)
+        }
+        val currentIndex = index ?: BoundingBoxIndex(vertexSet(), ::boundsOf).also { index = it }
+        return currentIndex
+            .query(Rectangle2D.Double(position[0], position[1], 0.0, 0.0))
+            .firstOrNull { it.contains(position) }
+    }
+
+    /*
+     * Convex shapes lay within their diameter from their centroid, exact bounds are used when available.
+     */
+    private fun boundsOf(node: N): Rectangle2D = when (node) {
+        is AwtShapeCompatible -> node.asAwtShape().bounds2D
+        else ->
+            with(node) {
+                Rectangle2D.Double(centroid[0] - diameter, centroid[1] - diameter, 2 * diameter, 2 * diameter)
+            }
+    }
 }
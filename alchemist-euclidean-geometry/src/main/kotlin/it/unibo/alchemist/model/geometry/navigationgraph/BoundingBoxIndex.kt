@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.navigationgraph
+
+import java.awt.geom.Rectangle2D
+import java.util.BitSet
+import kotlin.math.floor
+import kotlin.math.max
+
+/**
+ * A static spatial index of [items], stored in a uniform grid according to their bounding boxes
+ * (as computed by [boundsOf] when the index is built). It is used by [NaviGator] to select the few
+ * shapes that may intersect a polygon before performing the exact (and expensive) intersection test.
+ * Queries return the items whose bounding box intersects or touches the query rectangle,
+ * in the same order they were provided.
+ */
+internal class BoundingBoxIndex<T>(items: Collection<T>, boundsOf: (T) -> Rectangle2D) {
+    private val items: List<T> = items.toList()
+    private val bounds: List<Rectangle2D> = this.items.map(boundsOf)
+    private val cellSize: Double =
+        bounds
+            .map { max(it.width, it.height) }
+            .average()
+            .takeIf { it.isFinite() && it > 0 }
+            ?: 1.0
+
+    /*
+     * Items spanning too many cells are not stored in the grid, and are always considered candidates.
+     */
+    private val oversized = BitSet(this.items.size)
+    private val cells: Map<Long, IntArray> =
+        buildMap<Long, MutableList<Int>> {
+            bounds.forEachIndexed { index, box ->
+                if (cellsIn(box) > MAX_CELLS_PER_ITEM) {
+                    oversized.set(index)
+                } else {
+                    forEachCell(box) { cell -> getOrPut(cell) { mutableListOf() }.add(index) }
+                }
+            }
+        }.mapValues { (_, indexes) -> indexes.toIntArray() }
+
+    /**
+     * Returns the items whose bounding box intersects or touches [area].
+     */
+    fun query(area: Rectangle2D): List<T> {
+        if (items.isEmpty()) {
+            return emptyList()
+        }
+        val candidates = oversized.clone() as BitSet
+        if (cellsIn(area) > items.size) {
+            candidates.set(0, items.size)
+        } else {
+            forEachCell(area) { cell -> cells[cell]?.forEach(candidates::set) }
+        }
+        return candidates.stream()
+            .filter { bounds[it].overlaps(area) }
+            .mapToObj { items[it] }
+            .toList()
+    }
+
+    private fun cellsIn(area: Rectangle2D): Double =
+        (floor(area.maxX / cellSize) - floor(area.minX / cellSize) + 1) *
+            (floor(area.maxY / cellSize) - floor(area.minY / cellSize) + 1)
+
+    private inline fun forEachCell(area: Rectangle2D, action: (Long) -> Unit) {
+        val minColumn = floor(area.minX / cellSize).toInt()
+        val maxColumn = floor(area.maxX / cellSize).toInt()
+        val minRow = floor(area.minY / cellSize).toInt()
+        val maxRow = floor(area.maxY / cellSize).toInt()
+        for (column in minColumn..maxColumn) {
+            for (row in minRow..maxRow) {
+                action(column.toLong() shl Int.SIZE_BITS or (row.toLong() and 0xFFFFFFFFL))
+            }
+        }
+    }
+
+    /*
+     * Unlike Rectangle2D.intersects, touching rectangles are considered overlapping.
+     */
+    private fun Rectangle2D.overlaps(other: Rectangle2D) =
+        minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY
+
+    private companion object {
+        private const val MAX_CELLS_PER_ITEM = 1024
+    }
+}
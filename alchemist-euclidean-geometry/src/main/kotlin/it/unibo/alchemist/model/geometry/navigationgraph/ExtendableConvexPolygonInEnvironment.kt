@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -34,7 +34,8 @@ import java.awt.geom.Point2D
  * This class is explicitly designed for the algorithm contained in [NaviGator.generateNavigationGraph].
  * TODO(improve the quality of this class)
  */
-class ExtendableConvexPolygonInEnvironment(
+class ExtendableConvexPolygonInEnvironment
+internal constructor(
     private val vertices: MutableList<Euclidean2DPosition>,
     private val origin: Euclidean2DPosition,
     /**
@@ -46,12 +47,24 @@ class ExtendableConvexPolygonInEnvironment(
      */
     private val height: Double,
     /**
-     * Obstacles represented as [java.awt.Shape]s, are assumed to be immutable and must be polygons
-     * (i.e. shapes without curved segments).
+     * Obstacles represented as [java.awt.Shape]s, indexed by their bounding box.
      */
-    private val awtObstacles: List<Shape>,
+    private val awtObstacles: BoundingBoxIndex<Shape>,
 ) : AwtMutableConvexPolygon(vertices),
     ExtendableConvexPolygon {
+    /**
+     * Builds a polygon with the given [vertices], inside a rectangular environment with the given [origin],
+     * [width] and [height]. [awtObstacles] are assumed to be immutable and must be polygons
+     * (i.e. shapes without curved segments).
+     */
+    constructor(
+        vertices: MutableList<Euclidean2DPosition>,
+        origin: Euclidean2DPosition,
+        width: Double,
+        height: Double,
+        awtObstacles: List<Shape>,
+    ) : this(vertices, origin, width, height, BoundingBoxIndex(awtObstacles) { it.bounds2D })
+
     /**
      * Obstacles represented as [ConvexPolygon]s, are assumed to be mutable but limited to the extension
      * (i.e. they can only grow, not shrink).
@@ -249,11 +262,10 @@ class ExtendableConvexPolygonInEnvironment(
      * side of the obstacle.
      */
     override fun extend(step: Double): Boolean {
-        val obstacles = awtObstacles + polygonalObstacles.map { it.asAwtShape() }
         var extended = false
         vertices.indices.filter { canEdgeAdvance[it] }.forEach { i ->
             val hasAdvanced = advanceEdge(i, step)
-            val intersectedObs = obstacles.filter { intersects(it) }
+            val intersectedObs = intersectedObstacles()
             /*
              * Returns true if no obstacle is intersected or if we are in the advanced case.
              */
@@ -277,6 +289,16 @@ class ExtendableConvexPolygonInEnvironment(
         return extended
     }
 
+    /*
+     * Finds the obstacles intersecting this polygon, testing exactly only those whose bounding box
+     * overlaps the one of this polygon.
+     */
+    private fun intersectedObstacles(): List<Shape> {
+        val bounds = asAwtShape().bounds2D
+        val polygons = polygonalObstacles.asSequence().map { it.asAwtShape() }.filter { it.bounds2D.intersects(bounds) }
+        return (awtObstacles.query(bounds).asSequence() + polygons).filter { intersects(it) }.toList()
+    }
+
     /*
      * Checks whether we are in advanced case. See [extend]. The index of the
      * growing edge and the step of growth should be provided as well.
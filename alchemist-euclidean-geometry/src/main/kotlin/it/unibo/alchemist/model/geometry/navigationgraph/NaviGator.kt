@@ -9,7 +9,7 @@
 
 package it.unibo.alchemist.model.geometry.navigationgraph
 
-import it.unibo.alchemist.model.geometry.ExtendableConvexPolygon
+import it.unibo.alchemist.model.geometry.AbstractConvexPolygon.Companion.closestEdgeAmong
 import it.unibo.alchemist.model.geometry.Segment2D
 import it.unibo.alchemist.model.geometry.Segment2DImpl
 import it.unibo.alchemist.model.geometry.util.AwtShapes.vertices
@@ -21,6 +21,8 @@ import it.unibo.alchemist.util.Ranges.intersectsBoundsExcluded
 import it.unibo.alchemist.util.Ranges.subtractAll
 import it.unibo.alchemist.util.math.fuzzyEquals
 import java.awt.Shape
+import java.awt.geom.Path2D
+import java.awt.geom.Rectangle2D
 
 /**
  * TODO(improve the quality of this algorithm)
@@ -37,7 +39,9 @@ import java.awt.Shape
  * - is only capable to deal with convex polygonal obstacles (concave ones can be
  * decomposed into convex meshes, whereas for curves bounding boxes can be used).
  * - is only capable to detect axis-aligned crossings.
- * - can take a significant amount of time to generate a navigation graph.
+ * - can take a significant amount of time to generate a navigation graph: obstacles and seeds are
+ * indexed by their bounding box and passages are searched in parallel, but results are worth caching
+ * (see [NavigationGraphCache]).
  *
  * Here's a brief description of how the algorithm operates:
  * Firstly, a certain number of seeds is planted in the environment. Each seed is a
@@ -77,39 +81,33 @@ object NaviGator {
         unity: Double = 1.0,
     ): Euclidean2DNavigationGraph {
         require(width > 0 && height > 0) { "width and height should be positive" }
+        val obstacleIndex = BoundingBoxIndex(obstacles) { it.bounds2D }
         val seeds =
             rooms
-                .map { createSeed(it.x, it.y, unity, origin, width, height, obstacles) }
+                .map { createSeed(it.x, it.y, unity, origin, width, height, obstacleIndex) }
                 .toMutableList()
-                .grow(obstacles, unity)
+                .grow(obstacleIndex, unity)
         val graph = DirectedEuclidean2DNavigationGraph(Euclidean2DPassage::class.java)
         seeds.forEach { graph.addVertex(it) }
+        /*
+         * Finding passages temporarily advances the edges of a seed: seeds are searched in parallel,
+         * each one against immutable snapshots of the others.
+         */
+        val grownSeeds = BoundingBoxIndex(seeds.map { GrownSeed(it) }) { it.bounds }
         seeds
-            .flatMap { seed ->
-                seed
-                    .edges()
-                    .mapIndexed { index, edge ->
-                        if (edge.isHorizontal || edge.isVertical) {
-                            val passages = seed.findPassages(index, seeds, origin, width, height, obstacles, unity)
-                    /*
-                     * Moves the edge back to its previous position as findCrossings modified it.
-                     */
-                            seed.replaceEdge(index, edge)
-                            passages
-                        } else {
-                            emptyList()
-                        }
-                    }.flatten()
-            }.forEach { graph.addEdge(it.tail, it.head, it) }
-
+            .parallelStream()
+            .map { seed -> seed.findAllPassages(grownSeeds, obstacleIndex, unity) }
+            .toList()
+            .flatten()
+            .forEach { graph.addEdge(it.tail, it.head, it) }
         return graph
     }
 
     private fun MutableList<ExtendableConvexPolygonInEnvironment>.grow(
-        obstacles: List<Shape>,
+        obstacles: BoundingBoxIndex<Shape>,
         step: Double,
     ): MutableList<ExtendableConvexPolygonInEnvironment> {
-        removeIf { seed -> obstacles.any { seed.intersects(it) } }
+        removeIf { seed -> obstacles.query(seed.asAwtShape().bounds2D).any { seed.intersects(it) } }
         forEach { seed -> seed.polygonalObstacles = this - seed }
         var growing = true
         while (growing) {
@@ -124,6 +122,26 @@ object NaviGator {
         return this
     }
 
+    /*
+     * Finds the passages on all the axis-aligned sides of the polygon.
+     */
+    private fun ExtendableConvexPolygonInEnvironment.findAllPassages(
+        seeds: BoundingBoxIndex<GrownSeed>,
+        obstacles: BoundingBoxIndex<Shape>,
+        unity: Double,
+    ): List<Euclidean2DPassage> = edges().flatMapIndexed { index, edge ->
+        if (edge.isHorizontal || edge.isVertical) {
+            findPassages(index, seeds, obstacles, unity).also {
+                /*
+                 * Moves the edge back to its previous position as findPassages modified it.
+                 */
+                replaceEdge(index, edge)
+            }
+        } else {
+            emptyList()
+        }
+    }
+
     /*
      * Finds the passages on the side of the polygon specified by the index parameter.
      * The specified side should be axis-aligned. This method is recursive and modifies
@@ -133,11 +151,8 @@ object NaviGator {
      */
     private fun ExtendableConvexPolygonInEnvironment.findPassages(
         index: Int,
-        seeds: Collection<ExtendableConvexPolygon>,
-        origin: Euclidean2DPosition,
-        width: Double,
-        height: Double,
-        obstacles: Collection<Shape>,
+        seeds: BoundingBoxIndex<GrownSeed>,
+        obstacles: BoundingBoxIndex<Shape>,
         unity: Double,
         /*
          * Original position of the edge being advanced.
@@ -156,7 +171,7 @@ object NaviGator {
              * ToInterval functions map a shape or polygon to the DoubleInterval relevant for
              * the intersection with the advancing edge.
              */
-                val polygonToInterval: (ExtendableConvexPolygon) -> ClosedRange<Double> = {
+                val polygonToInterval: (GrownSeed) -> ClosedRange<Double> = {
                     it.closestEdgeTo(oldEdge).toRange(oldEdge.isHorizontal)
                 }
                 val shapeToInterval: (Shape) -> ClosedRange<Double> = { shape ->
@@ -164,19 +179,19 @@ object NaviGator {
                         if (oldEdge.isHorizontal) it.findExtremeCoordsOnX() else it.findExtremeCoordsOnY()
                     }
                 }
-                val intersectedSeeds: () -> List<ExtendableConvexPolygon> = {
-                    seeds.filter {
+                val intersectedSeeds: () -> List<GrownSeed> = {
+                    seeds.query(asAwtShape().bounds2D).filter {
                         /*
                          * A seed is considered intersected if it intersects with the polygon and, in particular,
                          * with the remaining portion of the advancing edge. Similarly, for obstacles below.
                          */
-                        it != this &&
-                            it.intersects(asAwtShape()) &&
+                        it.seed !== this &&
+                            intersects(it.shape) &&
                             polygonToInterval(it).intersectsBoundsExcluded(remaining)
                     }
                 }
                 val intersectedObstacles: () -> List<Shape> = {
-                    obstacles.filter {
+                    obstacles.query(asAwtShape().bounds2D).filter {
                         intersects(it) && shapeToInterval(it).intersectsBoundsExcluded(remaining)
                     }
                 }
@@ -212,7 +227,7 @@ object NaviGator {
                             else ->
                                 createSegment(oldEdge.first.x, it.start, y2 = it.endInclusive)
                         }
-                        Euclidean2DPassage(this, neighbor, passageShape)
+                        Euclidean2DPassage(this, neighbor.seed, passageShape)
                     }
                 }
                 return passages +
@@ -223,7 +238,7 @@ object NaviGator {
                  */
                             it.subtractAll(neighborToIntervals.flatMap { (_, intervals) -> intervals })
                         }.flatMap {
-                            findPassages(index, seeds, origin, width, height, obstacles, unity, oldEdge, it)
+                            findPassages(index, seeds, obstacles, unity, oldEdge, it)
                         }
             }
 
@@ -234,7 +249,7 @@ object NaviGator {
         origin: Euclidean2DPosition,
         width: Double,
         height: Double,
-        obstacles: List<Shape>,
+        obstacles: BoundingBoxIndex<Shape>,
     ): ExtendableConvexPolygonInEnvironment = ExtendableConvexPolygonInEnvironment(
         mutableListOf(
             Euclidean2DPosition(x, y),
@@ -253,4 +268,16 @@ object NaviGator {
      */
     private fun createSegment(x1: Double, y1: Double, x2: Double = x1, y2: Double = y1) =
         Segment2DImpl(Euclidean2DPosition(x1, y1), Euclidean2DPosition(x2, y2))
+
+    /*
+     * An immutable snapshot of a grown seed, which can be safely read while the seed itself is being searched
+     * for passages.
+     */
+    private class GrownSeed(val seed: ExtendableConvexPolygonInEnvironment) {
+        val shape: Shape = Path2D.Double(seed.asAwtShape())
+        val bounds: Rectangle2D = shape.bounds2D
+        private val edges = seed.edges()
+
+        fun closestEdgeTo(segment: Segment2D<Euclidean2DPosition>) = closestEdgeAmong(edges, segment)
+    }
 }
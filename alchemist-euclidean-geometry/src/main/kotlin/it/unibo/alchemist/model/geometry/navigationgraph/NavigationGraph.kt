@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -15,6 +15,7 @@ import it.unibo.alchemist.model.geometry.Euclidean2DTransformation
 import it.unibo.alchemist.model.geometry.Transformation
 import it.unibo.alchemist.model.geometry.Vector
 import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import org.jgrapht.Graphs
 
 /**
  * A graph used for navigation purposes. Nodes are [ConvexShape]s, usually representing portions of an
@@ -39,6 +40,23 @@ interface NavigationGraph<V, A, N, E> :
      * @returns the first node containing the specified [position], or null if no node containing it could be found.
      */
     fun nodeContaining(position: V): N? = vertexSet().firstOrNull { it.contains(position) }
+
+    /**
+     * @returns a node containing the specified [position], or null if no node containing it could be found.
+     * The [lastKnown] node (e.g., the one an agent was in at its previous step) is checked first, then its
+     * neighbors, and only then the whole graph (see [nodeContaining]): as agents move smoothly, the position is
+     * usually found without looking further.
+     */
+    fun nodeContaining(position: V, lastKnown: N?): N? = when {
+        lastKnown == null || !containsVertex(lastKnown) -> nodeContaining(position)
+        lastKnown.contains(position) -> lastKnown
+        else ->
+            edgesOf(lastKnown)
+                .asSequence()
+                .map { Graphs.getOppositeVertex(this, it, lastKnown) }
+                .firstOrNull { it.contains(position) }
+                ?: nodeContaining(position)
+    }
 }
 
 /**
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.navigationgraph
+
+import it.unibo.alchemist.model.geometry.AwtMutableConvexPolygon
+import it.unibo.alchemist.model.geometry.ConvexPolygon
+import it.unibo.alchemist.model.geometry.Segment2DImpl
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import it.unibo.alchemist.util.CacheDirectory
+import java.io.BufferedInputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.security.MessageDigest
+import org.slf4j.LoggerFactory
+
+/**
+ * A persistent, on-disk cache of [Euclidean2DNavigationGraph]s, meant to avoid running expensive
+ * generation algorithms (such as [NaviGator.generateNavigationGraph]) on every simulation run.
+ *
+ * Graphs are stored in a compact binary format (see [write] and [read]), in files named after a hash
+ * of the key they are requested with: the key must thus include everything the graph depends on
+ * (e.g., the content of the source image and the generation parameters).
+ * The cache directory defaults to the user cache directory,
+ * and can be overridden through the [CACHE_DIRECTORY_PROPERTY] system property.
+ * Setting such property to [DISABLED] disables the cache.
+ * Cached graphs have vertices of type [AwtMutableConvexPolygon].
+ */
+object NavigationGraphCache {
+    /**
+     * System property that can be used to select the cache directory.
+     */
+    const val CACHE_DIRECTORY_PROPERTY = "alchemist.navigationgraph.cache"
+
+    /**
+     * Value of [CACHE_DIRECTORY_PROPERTY] that disables the cache.
+     */
+    const val DISABLED = CacheDirectory.DISABLED
+
+    /*
+     * Bump whenever the format or NaviGator change, so that stale graphs get regenerated.
+     */
+    private const val FORMAT_VERSION = 1
+    private const val MAGIC = 0x4E415647 // NAVG
+    private val logger = LoggerFactory.getLogger(NavigationGraphCache::class.java)
+
+    private val cacheDirectory = CacheDirectory(CACHE_DIRECTORY_PROPERTY, "navigation-graphs")
+
+    /**
+     * Returns the graph cached for the given [key], or computes it with [generator] and caches it.
+     * Byte arrays in the [key] are hashed by content, any other object by its string representation.
+     * Failures in reading or writing the cache are logged and never prevent the graph from being generated.
+     */
+    fun getOrGenerate(vararg key: Any, generator: () -> Euclidean2DNavigationGraph): Euclidean2DNavigationGraph {
+        val file = cacheDirectory.file("${uniqueName(key)}.navgraph")
+        val cached = file?.takeIf { it.isFile }?.let { cachedFile ->
+            runCatching { BufferedInputStream(cachedFile.inputStream()).use(::read) }
+                .onFailure { logger.warn("Unable to load the navigation graph cached in {}", cachedFile, it) }
+                .getOrNull()
+        }
+        if (cached != null) {
+            logger.info("Navigation graph loaded from {}", file)
+            return cached
+        }
+        val generated = generator()
+        if (file != null) {
+            runCatching { CacheDirectory.writeAtomically(file) { write(generated, it) } }
+                .onSuccess { logger.info("Navigation graph cached in {}", file) }
+                .onFailure { logger.warn("Unable to cache the navigation graph in {}", file, it) }
+        }
+        return generated
+    }
+
+    /**
+     * Writes [graph] to [output], which is not closed.
+     */
+    fun write(graph: Euclidean2DNavigationGraph, output: OutputStream) {
+        val data = DataOutputStream(output)
+        val vertices = graph.vertexSet().toList()
+        val indexes = HashMap<ConvexPolygon, Int>(vertices.size)
+        data.writeInt(MAGIC)
+        data.writeInt(FORMAT_VERSION)
+        data.writeInt(vertices.size)
+        vertices.forEachIndexed { index, polygon ->
+            indexes[polygon] = index
+            val polygonVertices = polygon.vertices()
+            data.writeInt(polygonVertices.size)
+            polygonVertices.forEach {
+                data.writeDouble(it.x)
+                data.writeDouble(it.y)
+            }
+        }
+        val edges = graph.edgeSet()
+        data.writeInt(edges.size)
+        edges.forEach { passage ->
+            data.writeInt(checkNotNull(indexes[passage.tail]) { "Unknown tail ${passage.tail}" })
+            data.writeInt(checkNotNull(indexes[passage.head]) { "Unknown head ${passage.head}" })
+            with(passage.passageShapeOnTail) {
+                data.writeDouble(first.x)
+                data.writeDouble(first.y)
+                data.writeDouble(second.x)
+                data.writeDouble(second.y)
+            }
+        }
+        data.flush()
+    }
+
+    /**
+     * Reads a graph written by [write] from [input], which is not closed.
+     */
+    fun read(input: InputStream): Euclidean2DNavigationGraph {
+        val data = DataInputStream(input)
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) {
+            throw IOException("Not a navigation graph, or one written in an unsupported format")
+        }
+        val graph = DirectedEuclidean2DNavigationGraph(Euclidean2DPassage::class.java)
+        val vertices = List(data.readInt()) {
+            AwtMutableConvexPolygon(MutableList(data.readInt()) { data.readPosition() })
+        }
+        vertices.forEach { graph.addVertex(it) }
+        repeat(data.readInt()) {
+            val tail = vertices[data.readInt()]
+            val head = vertices[data.readInt()]
+            val shape = Segment2DImpl(data.readPosition(), data.readPosition())
+            graph.addEdge(tail, head, Euclidean2DPassage(tail, head, shape))
+        }
+        return graph
+    }
+
+    private fun DataInputStream.readPosition() = Euclidean2DPosition(readDouble(), readDouble())
+
+    private fun uniqueName(key: Array<out Any>): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        digest.update(FORMAT_VERSION.toString().toByteArray())
+        key.forEach { part ->
+            when (part) {
+                is ByteArray -> digest.update(part)
+                else -> digest.update(part.toString().toByteArray())
+            }
+            digest.update(0.toByte())
+        }
+        return digest.digest().joinToString(separator = "") { "%02x".format(it) }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.navigationgraph
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.github.benmanes.caffeine.cache.LoadingCache
+import java.util.stream.IntStream
+import org.jgrapht.Graph
+import org.jgrapht.Graphs
+import org.jgrapht.alg.connectivity.ConnectivityInspector
+import org.jgrapht.alg.connectivity.KosarajuStrongConnectivityInspector
+
+/**
+ * Shortest routes, in number of hops, between the nodes (rooms) of a [graph].
+ * Routes are meant to be shared by all the agents navigating the same graph, and to be owned by whoever owns
+ * such graph (e.g., [it.unibo.alchemist.model.environments.EnvironmentWithGraph.routes]).
+ *
+ * Rooms are identified by their position in the graph's vertex set. The first time a destination is
+ * requested, a breadth-first visit computes, for every room, the next hop and the number of hops towards
+ * such destination. The results are stored in primitive arrays, and kept in a cache holding at most
+ * [maximumEntries] entries overall (namely, [maximumEntries] / rooms destinations). [precompute] computes
+ * the tables of all destinations at once, in parallel.
+ * Ties among routes of the same length are broken deterministically, following the order of the graph's
+ * vertices and edges.
+ *
+ * Connected components are labeled as well (see [component]), so that reachability can often be checked
+ * without computing any route (see [isReachable]).
+ *
+ * Modifications of the graph changing its number of vertices or edges are detected automatically;
+ * any other modification requires to call [invalidate].
+ *
+ * @param N the type of nodes
+ * @param E the type of edges
+ */
+class NavigationRoutes<N, E>
+@JvmOverloads
+constructor(
+    private val graph: Graph<N, E>,
+    private val maximumEntries: Long = DEFAULT_MAXIMUM_ENTRIES,
+) {
+    init {
+        require(maximumEntries > 0) { "At least one entry must be cached, but the limit was $maximumEntries" }
+    }
+
+    @Volatile
+    private var topology: Topology<N, E> = Topology(graph, maximumEntries)
+
+    /**
+     * @returns the room following [from] along a shortest route to [to], [to] itself if the two rooms coincide,
+     * or null if [to] cannot be reached from [from] (or any of them does not belong to the graph).
+     */
+    fun nextHop(from: N, to: N): N? = with(current()) {
+        val source = ids[from]
+        val destination = ids[to]
+        if (source == null || destination == null) {
+            null
+        } else {
+            tables[destination].next[source].takeIf { it >= 0 }?.let { rooms[it] }
+        }
+    }
+
+    /**
+     * @returns the number of hops along a shortest route from [from] to [to] (zero if the two rooms coincide),
+     * or -1 if [to] cannot be reached from [from] (or any of them does not belong to the graph).
+     */
+    fun hops(from: N, to: N): Int = with(current()) {
+        val source = ids[from]
+        val destination = ids[to]
+        if (source == null || destination == null) UNREACHABLE else tables[destination].hops[source]
+    }
+
+    /**
+     * @returns a shortest route from [from] to [to], including both of them, or null if [to] cannot be reached.
+     */
+    fun route(from: N, to: N): List<N>? = with(current()) {
+        val source = ids[from]
+        val destination = ids[to]
+        if (source == null || destination == null) {
+            return null
+        }
+        val table = tables[destination]
+        if (table.hops[source] == UNREACHABLE) {
+            return null
+        }
+        val route = ArrayList<N>(table.hops[source] + 1)
+        var room = source
+        route.add(rooms[room])
+        while (room != destination) {
+            room = table.next[room]
+            route.add(rooms[room])
+        }
+        route
+    }
+
+    /**
+     * @returns the label of the strongly connected component (or connected component, for undirected graphs)
+     * [room] belongs to, or -1 if it does not belong to the graph. Rooms with the same label can reach each
+     * other, which allows to skip any further reachability check.
+     */
+    fun component(room: N): Int = with(current()) { ids[room]?.let { components[it] } ?: UNREACHABLE }
+
+    /**
+     * @returns true if [to] can be reached from [from].
+     */
+    fun isReachable(from: N, to: N): Boolean {
+        val fromComponent = component(from)
+        return fromComponent != UNREACHABLE && fromComponent == component(to) || hops(from, to) != UNREACHABLE
+    }
+
+    /**
+     * Computes the routes towards every room at once, using all the available processors.
+     * Has no effect if the tables of all the rooms would not fit in the cache.
+     */
+    fun precompute() {
+        val current = current()
+        val size = current.rooms.size
+        if (size.toLong() * size <= maximumEntries) {
+            IntStream.range(0, size).parallel().forEach { current.tables[it] }
+        }
+    }
+
+    /**
+     * Computes the routes towards the given [destinations], using all the available processors.
+     */
+    fun precompute(destinations: Collection<N>) {
+        val current = current()
+        destinations.mapNotNull { current.ids[it] }.distinct().parallelStream().forEach { current.tables[it] }
+    }
+
+    /**
+     * Discards all the routes computed so far, to be called when the graph changes.
+     */
+    fun invalidate() {
+        synchronized(this) {
+            topology = Topology(graph, maximumEntries)
+        }
+    }
+
+    private fun current(): Topology<N, E> {
+        val current = topology
+        return when {
+            current.isUpToDate() -> current
+            else -> synchronized(this) {
+                topology.takeIf { it.isUpToDate() } ?: Topology(graph, maximumEntries).also { topology = it }
+            }
+        }
+    }
+
+    /*
+     * For each room, the next hop and the number of hops towards a destination.
+     */
+    private class Table(val next: IntArray, val hops: IntArray)
+
+    /*
+     * A snapshot of the graph structure, with the predecessors of each room stored in compressed sparse rows.
+     */
+    private class Topology<N, E>(private val graph: Graph<N, E>, maximumEntries: Long) {
+        private val vertexCount = graph.vertexSet().size
+        private val edgeCount = graph.edgeSet().size
+        val rooms: List<N> = graph.vertexSet().toList()
+        val ids: Map<N, Int> = rooms.withIndex().associate { (index, room) -> room to index }
+        private val predecessorsStart = IntArray(rooms.size + 1)
+        private val predecessors: IntArray
+        val tables: LoadingCache<Int, Table> =
+            Caffeine
+                .newBuilder()
+                .maximumSize((maximumEntries / rooms.size.coerceAtLeast(1)).coerceAtLeast(1))
+                .build { destination -> visitFrom(destination) }
+
+        init {
+            val incoming = rooms.map { room ->
+                graph.incomingEdgesOf(room).mapNotNull { ids[Graphs.getOppositeVertex(graph, it, room)] }
+            }
+            incoming.forEachIndexed { index, sources ->
+                predecessorsStart[index + 1] = predecessorsStart[index] + sources.size
+            }
+            predecessors = incoming.flatten().toIntArray()
+        }
+
+        /*
+         * Labels of the (strongly) connected components, in the order they are found.
+         */
+        val components: IntArray by lazy {
+            val sets = when {
+                graph.type.isDirected -> KosarajuStrongConnectivityInspector(graph).stronglyConnectedSets()
+                else -> ConnectivityInspector(graph).connectedSets()
+            }
+            IntArray(rooms.size).also { labels ->
+                sets.forEachIndexed { label, set -> set.forEach { room -> ids[room]?.let { labels[it] = label } } }
+            }
+        }
+
+        fun isUpToDate() = graph.vertexSet().size == vertexCount && graph.edgeSet().size == edgeCount
+
+        /*
+         * Breadth-first visit from the destination, following edges backwards.
+         */
+        fun visitFrom(destination: Int): Table {
+            val next = IntArray(rooms.size) { UNREACHABLE }
+            val hops = IntArray(rooms.size) { UNREACHABLE }
+            val queue = IntArray(rooms.size)
+            var head = 0
+            var tail = 0
+            next[destination] = destination
+            hops[destination] = 0
+            queue[tail++] = destination
+            while (head < tail) {
+                val room = queue[head++]
+                for (position in predecessorsStart[room] until predecessorsStart[room + 1]) {
+                    val predecessor = predecessors[position]
+                    if (hops[predecessor] == UNREACHABLE) {
+                        hops[predecessor] = hops[room] + 1
+                        next[predecessor] = room
+                        queue[tail++] = predecessor
+                    }
+                }
+            }
+            return Table(next, hops)
+        }
+    }
+
+    /**
+     * Defaults for [NavigationRoutes].
+     */
+    companion object {
+        /**
+         * The value returned by [hops] for unreachable rooms.
+         */
+        const val UNREACHABLE: Int = -1
+
+        /**
+         * The default maximum number of entries (rooms times destinations) kept in cache.
+         */
+        const val DEFAULT_MAXIMUM_ENTRIES: Long = 1L shl 24
+    }
+}
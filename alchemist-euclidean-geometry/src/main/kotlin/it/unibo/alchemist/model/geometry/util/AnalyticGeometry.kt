@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.util
+
+import kotlin.math.PI
+import kotlin.math.abs
+import kotlin.math.atan2
+import kotlin.math.cos
+import kotlin.math.sin
+
+/**
+ * Allocation-free containment and intersection tests for circles, oriented rectangles, and circular sectors,
+ * working directly on primitive coordinates.
+ *
+ * Rectangles are described by their center, their half extents, and the cosine and sine of their rotation.
+ * Sectors are described by their apex, their radius, the direction of their bisector (heading),
+ * and half of their aperture, all angles being in radians.
+ * All tests consider the interior of the shapes, hence shapes that merely touch do not intersect.
+ */
+object AnalyticGeometry {
+    private const val FULL_ANGLE = 2 * PI
+
+    /**
+     * Returns true if the point ([px], [py]) is inside the circle centered in ([cx], [cy]) with the given [radius].
+     */
+    @JvmStatic
+    fun circleContains(cx: Double, cy: Double, radius: Double, px: Double, py: Double): Boolean =
+        squaredDistance(cx, cy, px, py) < radius * radius
+
+    /**
+     * Returns true if two circles, respectively centered in ([x1], [y1]) and ([x2], [y2]), overlap.
+     */
+    @JvmStatic
+    fun circlesIntersect(x1: Double, y1: Double, radius1: Double, x2: Double, y2: Double, radius2: Double): Boolean {
+        val radii = radius1 + radius2
+        return squaredDistance(x1, y1, x2, y2) < radii * radii
+    }
+
+    /**
+     * Returns true if the point ([px], [py]) is inside the rectangle centered in ([bx], [by]),
+     * with half extents [halfWidth] and [halfHeight], rotated by an angle whose cosine and sine are [cos] and [sin].
+     */
+    @JvmStatic
+    fun rectangleContains(
+        bx: Double,
+        by: Double,
+        halfWidth: Double,
+        halfHeight: Double,
+        cos: Double,
+        sin: Double,
+        px: Double,
+        py: Double,
+    ): Boolean {
+        val dx = px - bx
+        val dy = py - by
+        val localX = dx * cos + dy * sin
+        val localY = -dx * sin + dy * cos
+        return localX >= -halfWidth && localX < halfWidth && localY >= -halfHeight && localY < halfHeight
+    }
+
+    /**
+     * Returns true if the circle centered in ([cx], [cy]) with the given [radius] overlaps the rectangle
+     * centered in ([bx], [by]), with half extents [halfWidth] and [halfHeight],
+     * rotated by an angle whose cosine and sine are [cos] and [sin].
+     */
+    @JvmStatic
+    fun circleIntersectsRectangle(
+        cx: Double,
+        cy: Double,
+        radius: Double,
+        bx: Double,
+        by: Double,
+        halfWidth: Double,
+        halfHeight: Double,
+        cos: Double,
+        sin: Double,
+    ): Boolean {
+        val dx = cx - bx
+        val dy = cy - by
+        // Circle center in the reference frame of the rectangle
+        val localX = dx * cos + dy * sin
+        val localY = -dx * sin + dy * cos
+        val outsideX = (abs(localX) - halfWidth).coerceAtLeast(0.0)
+        val outsideY = (abs(localY) - halfHeight).coerceAtLeast(0.0)
+        return outsideX * outsideX + outsideY * outsideY < radius * radius
+    }
+
+    /**
+     * Returns true if two oriented rectangles overlap, using the separating axis theorem.
+     * Each rectangle is described by its center, its half extents, and the cosine and sine of its rotation.
+     */
+    @JvmStatic
+    @Suppress("LongParameterList")
+    fun rectanglesIntersect(
+        ax: Double,
+        ay: Double,
+        aHalfWidth: Double,
+        aHalfHeight: Double,
+        aCos: Double,
+        aSin: Double,
+        bx: Double,
+        by: Double,
+        bHalfWidth: Double,
+        bHalfHeight: Double,
+        bCos: Double,
+        bSin: Double,
+    ): Boolean {
+        val dx = bx - ax
+        val dy = by - ay
+        /*
+         * Candidate separating axes are the two local axes of each rectangle:
+         * a's x axis (aCos, aSin), a's y axis (-aSin, aCos), b's x axis (bCos, bSin), b's y axis (-bSin, bCos).
+         */
+        val cosDifference = aCos * bCos + aSin * bSin // a.x · b.x == a.y · b.y
+        val sinDifference = aCos * bSin - aSin * bCos // a.x · b.y == -(a.y · b.x)
+        val absCos = abs(cosDifference)
+        val absSin = abs(sinDifference)
+        return abs(dx * aCos + dy * aSin) < aHalfWidth + bHalfWidth * absCos + bHalfHeight * absSin &&
+            abs(-dx * aSin + dy * aCos) < aHalfHeight + bHalfWidth * absSin + bHalfHeight * absCos &&
+            abs(dx * bCos + dy * bSin) < bHalfWidth + aHalfWidth * absCos + aHalfHeight * absSin &&
+            abs(-dx * bSin + dy * bCos) < bHalfHeight + aHalfWidth * absSin + aHalfHeight * absCos
+    }
+
+    /**
+     * Returns true if the point ([px], [py]) is inside the sector with apex in ([sx], [sy]), the given [radius],
+     * bisector pointing towards [heading], and half aperture [halfAperture].
+     */
+    @JvmStatic
+    fun sectorContains(
+        sx: Double,
+        sy: Double,
+        radius: Double,
+        heading: Double,
+        halfAperture: Double,
+        px: Double,
+        py: Double,
+    ): Boolean {
+        val dx = px - sx
+        val dy = py - sy
+        val squaredDistance = dx * dx + dy * dy
+        return squaredDistance < radius * radius &&
+            (squaredDistance == 0.0 || isWithinAperture(atan2(dy, dx), heading, halfAperture))
+    }
+
+    /**
+     * Returns true if the circle centered in ([cx], [cy]) with radius [circleRadius] overlaps the sector
+     * with apex in ([sx], [sy]), radius [sectorRadius], bisector pointing towards [heading],
+     * and half aperture [halfAperture].
+     */
+    @JvmStatic
+    fun sectorIntersectsCircle(
+        sx: Double,
+        sy: Double,
+        sectorRadius: Double,
+        heading: Double,
+        halfAperture: Double,
+        cx: Double,
+        cy: Double,
+        circleRadius: Double,
+    ): Boolean {
+        val dx = cx - sx
+        val dy = cy - sy
+        val squaredDistance = dx * dx + dy * dy
+        val reach = sectorRadius + circleRadius
+        return when {
+            squaredDistance >= reach * reach -> false
+            squaredDistance < circleRadius * circleRadius -> true
+            isWithinAperture(atan2(dy, dx), heading, halfAperture) -> true
+            /*
+             * The center lies outside the aperture: the closest point of the sector is on one of its radial edges.
+             */
+            else -> {
+                val squaredRadius = circleRadius * circleRadius
+                val firstEdge = heading - halfAperture
+                val secondEdge = heading + halfAperture
+                squaredDistanceToSegment(
+                    cx,
+                    cy,
+                    sx,
+                    sy,
+                    sx + sectorRadius * cos(firstEdge),
+                    sy + sectorRadius * sin(firstEdge),
+                ) < squaredRadius ||
+                    squaredDistanceToSegment(
+                        cx,
+                        cy,
+                        sx,
+                        sy,
+                        sx + sectorRadius * cos(secondEdge),
+                        sy + sectorRadius * sin(secondEdge),
+                    ) < squaredRadius
+            }
+        }
+    }
+
+    /**
+     * Squared distance between the point ([px], [py]) and the segment going from ([ax], [ay]) to ([bx], [by]).
+     */
+    @JvmStatic
+    fun squaredDistanceToSegment(px: Double, py: Double, ax: Double, ay: Double, bx: Double, by: Double): Double {
+        val segmentX = bx - ax
+        val segmentY = by - ay
+        val squaredLength = segmentX * segmentX + segmentY * segmentY
+        val projection =
+            when (squaredLength) {
+                0.0 -> 0.0
+                else -> (((px - ax) * segmentX + (py - ay) * segmentY) / squaredLength).coerceIn(0.0, 1.0)
+            }
+        return squaredDistance(px, py, ax + projection * segmentX, ay + projection * segmentY)
+    }
+
+    /**
+     * Returns true if [angle] is at most [halfAperture] far from [heading] (all in radians).
+     */
+    @JvmStatic
+    fun isWithinAperture(angle: Double, heading: Double, halfAperture: Double): Boolean {
+        if (halfAperture >= PI) {
+            return true
+        }
+        val difference = (angle - heading).rem(FULL_ANGLE).let { if (it < 0) it + FULL_ANGLE else it }
+        return difference <= halfAperture || FULL_ANGLE - difference <= halfAperture
+    }
+
+    private fun squaredDistance(x1: Double, y1: Double, x2: Double, y2: Double): Double {
+        val dx = x2 - x1
+        val dy = y2 - y1
+        return dx * dx + dy * dy
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.euclidean2d
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import it.unibo.alchemist.model.geometry.AwtShapeCompatible
+import it.unibo.alchemist.model.geometry.Euclidean2DShapeFactory
+import it.unibo.alchemist.model.geometry.Euclidean2DTransformation
+import it.unibo.alchemist.model.geometry.GeometricShapeFactory
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import java.awt.geom.Point2D
+import kotlin.math.PI
+import kotlin.random.Random
+
+class TestAnalyticShapes :
+    StringSpec({
+        val factory =
+            GeometricShapeFactory.getInstance<Euclidean2DPosition, Euclidean2DTransformation, Euclidean2DShapeFactory>()
+
+        fun point(x: Double, y: Double) = Euclidean2DPosition(x, y)
+
+        "circles intersect if their centers are closer than the sum of their radii" {
+            val circle = factory.circle(1.0)
+            circle.intersects(factory.circle(1.0).transformed { origin(1.9, 0.0) }) shouldBe true
+            circle.intersects(factory.circle(1.0).transformed { origin(2.1, 0.0) }) shouldBe false
+            circle.intersects(factory.circle(1.0).transformed { origin(1.5, 1.5) }) shouldBe false
+        }
+
+        "rotated rectangles are tested exactly, rather than through their bounding box" {
+            val diamond = factory.rectangle(2.0, 2.0).transformed { rotate(PI / 4) }
+            diamond.contains(point(1.2, 0.0)) shouldBe true
+            diamond.contains(point(0.9, 0.9)) shouldBe false
+            val square = factory.rectangle(2.0, 2.0)
+            square.intersects(diamond.transformed { origin(2.3, 0.0) }) shouldBe true
+            square.intersects(diamond.transformed { origin(2.5, 0.0) }) shouldBe false
+            factory.circle(0.5).transformed { origin(1.1, 1.1) }.intersects(diamond) shouldBe false
+            factory.circle(0.5).transformed { origin(1.1, 1.1) }.intersects(square) shouldBe true
+        }
+
+        "rectangle containment matches AWT" {
+            val random = Random(1)
+            val rectangle =
+                factory.rectangle(3.0, 1.0).transformed {
+                    origin(2.0, -1.0)
+                    rotate(1.0)
+                }
+            val awt = (rectangle as AwtShapeCompatible).asAwtShape()
+            repeat(1000) {
+                val x = random.nextDouble(-2.0, 6.0)
+                val y = random.nextDouble(-5.0, 3.0)
+                rectangle.contains(point(x, y)) shouldBe awt.contains(Point2D.Double(x, y))
+            }
+        }
+
+        "sectors contain points within their aperture and radius" {
+            val sector = factory.circleSector(5.0, PI / 2, 0.0)
+            sector.contains(point(3.0, 0.0)) shouldBe true
+            sector.contains(point(0.0, 3.0)) shouldBe false
+            sector.contains(point(3.0, 2.9)) shouldBe true
+            sector.contains(point(3.0, 3.1)) shouldBe false
+            sector.contains(point(6.0, 0.0)) shouldBe false
+            val rotated = sector.transformed { rotate(PI / 2) }
+            rotated.contains(point(0.0, 3.0)) shouldBe true
+            rotated.contains(point(3.0, 0.0)) shouldBe false
+        }
+
+        "sectors intersect circles touching their radial edges" {
+            val sector = factory.circleSector(5.0, PI / 2, 0.0)
+            sector.intersects(factory.circle(1.0).transformed { origin(0.0, 1.5) }) shouldBe false
+            sector.intersects(factory.circle(1.0).transformed { origin(0.0, 1.2) }) shouldBe true
+            sector.intersects(factory.circle(1.0).transformed { origin(5.5, 0.0) }) shouldBe true
+            sector.intersects(factory.circle(1.0).transformed { origin(-0.5, 0.0) }) shouldBe true
+            sector.intersects(factory.circle(1.0).transformed { origin(-1.5, 0.0) }) shouldBe false
+        }
+
+        "circle diameters are twice their radius" {
+            factory.circle(1.5).diameter shouldBe 3.0
+            factory.circle(1.5).transformed { rotate(1.0) }.diameter shouldBe 3.0
+        }
+
+        "transforming a shape to the same place returns the same instance" {
+            val circle = factory.circle(1.0)
+            circle.transformed { origin(0.0, 0.0) } shouldBeSameInstanceAs circle
+            val moved = circle.transformed { origin(3.0, 4.0) }
+            circle.transformed { origin(point(3.0, 4.0)) } shouldBeSameInstanceAs moved
+            circle.transformed { origin(3.0, 5.0) }.centroid shouldBe point(3.0, 5.0)
+            val ellipse = factory.ellipse(2.0, 2.0)
+            val movedEllipse = ellipse.transformed { origin(1.0, 0.0) }
+            movedEllipse.centroid shouldBe point(1.0, 0.0)
+            ellipse.transformed { origin(1.0, 0.0) } shouldBeSameInstanceAs movedEllipse
+        }
+
+        "centroids are preserved by translations and rotations" {
+            val circle = factory.circle(1.0).transformed { origin(3.0, 4.0) }
+            circle.centroid shouldBe point(3.0, 4.0)
+            circle.transformed { rotate(PI) }.centroid shouldBe point(3.0, 4.0)
+            val rectangle = factory.rectangle(4.0, 1.0).transformed { origin(-1.0, 2.0) }
+            rectangle.transformed { rotate(1.0) }.centroid shouldBe point(-1.0, 2.0)
+        }
+    })
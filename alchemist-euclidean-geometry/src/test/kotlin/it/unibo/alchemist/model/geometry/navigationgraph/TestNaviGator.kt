@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.navigationgraph
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldNotBeEmpty
+import io.kotest.matchers.shouldBe
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import java.awt.geom.Rectangle2D
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+/**
+ * Contains tests concerning [NaviGator] and [NavigationGraphCache].
+ */
+class TestNaviGator :
+    StringSpec({
+        /*
+         * Two rooms separated by a wall with a door in its middle.
+         */
+        val wall = listOf(Rectangle2D.Double(4.0, 0.0, 1.0, 4.0), Rectangle2D.Double(4.0, 6.0, 1.0, 4.0))
+        val rooms = listOf(Euclidean2DPosition(1.0, 1.0), Euclidean2DPosition(7.0, 1.0))
+
+        fun generate() = NaviGator.generateNavigationGraph(
+            width = 10.0,
+            height = 10.0,
+            obstacles = wall,
+            rooms = rooms,
+        )
+
+        "rooms are connected through the door" {
+            val graph = generate()
+            graph.vertexSet().size shouldBe 2
+            rooms.forEach { room -> graph.vertexSet().count { it.containsBoundaryIncluded(room) } shouldBe 1 }
+            graph.edgeSet().shouldNotBeEmpty()
+            graph.edgeSet().filter { it.tail == it.head }.shouldBeEmpty()
+        }
+
+        "graphs are generated deterministically" {
+            val first = generate()
+            val second = generate()
+            second.vertexSet() shouldBe first.vertexSet()
+            second.edgeSet().map { it.passageShapeOnTail } shouldBe first.edgeSet().map { it.passageShapeOnTail }
+        }
+
+        "graphs survive a round trip through the binary format" {
+            val graph = generate()
+            val bytes = ByteArrayOutputStream().also { NavigationGraphCache.write(graph, it) }.toByteArray()
+            val read = NavigationGraphCache.read(ByteArrayInputStream(bytes))
+            read.vertexSet() shouldBe graph.vertexSet()
+            read.edgeSet().map { it.passageShapeOnTail } shouldBe graph.edgeSet().map { it.passageShapeOnTail }
+        }
+
+        "cached graphs are generated only once" {
+            var generations = 0
+            val key = "test-${System.nanoTime()}"
+            val first = NavigationGraphCache.getOrGenerate(key, 42) {
+                generations++
+                generate()
+            }
+            val second = NavigationGraphCache.getOrGenerate(key, 42) {
+                generations++
+                generate()
+            }
+            generations shouldBe 1
+            second.vertexSet() shouldBe first.vertexSet()
+            second.edgeSet().size shouldBe first.edgeSet().size
+        }
+    })
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.navigationgraph
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import it.unibo.alchemist.model.geometry.AwtMutableConvexPolygon
+import it.unibo.alchemist.model.geometry.ConvexPolygon
+import it.unibo.alchemist.model.geometry.Segment2DImpl
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+
+/**
+ * Contains tests concerning [NavigationGraph.nodeContaining].
+ */
+class TestNavigationGraph :
+    StringSpec({
+        fun square(x: Double, y: Double, side: Double): ConvexPolygon = AwtMutableConvexPolygon(
+            mutableListOf(
+                Euclidean2DPosition(x, y),
+                Euclidean2DPosition(x + side, y),
+                Euclidean2DPosition(x + side, y + side),
+                Euclidean2DPosition(x, y + side),
+            ),
+        )
+
+        /*
+         * A row of ten adjacent rooms, each connected to the following one.
+         */
+        val rooms = List(10) { square(it * 10.0, 0.0, 10.0) }
+
+        fun createGraph() = DirectedEuclidean2DNavigationGraph(Euclidean2DPassage::class.java).apply {
+            rooms.forEach { addVertex(it) }
+            rooms.zipWithNext { tail, head ->
+                val wall = head.centroid.x - 5
+                val door = Segment2DImpl(Euclidean2DPosition(wall, 2.0), Euclidean2DPosition(wall, 8.0))
+                addEdge(tail, head, Euclidean2DPassage(tail, head, door))
+            }
+        }
+
+        fun linearScan(position: Euclidean2DPosition) = rooms.firstOrNull { it.contains(position) }
+
+        "indexed lookups match a linear scan" {
+            val graph = createGraph()
+            listOf(
+                Euclidean2DPosition(5.0, 5.0),
+                Euclidean2DPosition(55.5, 1.0),
+                Euclidean2DPosition(99.0, 9.0),
+                Euclidean2DPosition(-1.0, 5.0),
+                Euclidean2DPosition(50.0, 50.0),
+            ).forEach { graph.nodeContaining(it) shouldBe linearScan(it) }
+            graph.nodeContaining(Euclidean2DPosition(200.0, 5.0)).shouldBeNull()
+        }
+
+        "the index follows the addition and removal of vertices" {
+            val graph = createGraph()
+            val position = Euclidean2DPosition(105.0, 5.0)
+            graph.nodeContaining(position).shouldBeNull()
+            val added = square(100.0, 0.0, 10.0)
+            graph.addVertex(added)
+            graph.nodeContaining(position) shouldBe added
+            graph.removeVertex(added)
+            graph.nodeContaining(position).shouldBeNull()
+        }
+
+        "the last known node and its neighbors are checked first" {
+            val graph = createGraph()
+            val inThird = Euclidean2DPosition(25.0, 5.0)
+            graph.nodeContaining(inThird, rooms[2]) shouldBe rooms[2]
+            graph.nodeContaining(inThird, rooms[1]) shouldBe rooms[2]
+            graph.nodeContaining(inThird, rooms[7]) shouldBe rooms[2]
+            graph.nodeContaining(inThird, null) shouldBe rooms[2]
+            graph.nodeContaining(Euclidean2DPosition(200.0, 5.0), rooms[2]).shouldBeNull()
+        }
+    })
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.geometry.navigationgraph
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import org.jgrapht.graph.DefaultDirectedGraph
+import org.jgrapht.graph.DefaultEdge
+
+/**
+ * Contains tests concerning [NavigationRoutes].
+ */
+class TestNavigationRoutes :
+    StringSpec({
+        /*
+         * a -> b -> c -> a, c -> d, e is isolated.
+         */
+        fun createGraph() = DefaultDirectedGraph<String, DefaultEdge>(DefaultEdge::class.java).apply {
+            listOf("a", "b", "c", "d", "e").forEach { addVertex(it) }
+            addEdge("a", "b")
+            addEdge("b", "c")
+            addEdge("c", "a")
+            addEdge("c", "d")
+        }
+
+        "next hops follow the shortest routes" {
+            val routes = NavigationRoutes(createGraph())
+            routes.nextHop("a", "c") shouldBe "b"
+            routes.nextHop("c", "b") shouldBe "a"
+            routes.nextHop("d", "d") shouldBe "d"
+            routes.hops("a", "d") shouldBe 3
+            routes.hops("c", "b") shouldBe 2
+            routes.route("b", "d") shouldBe listOf("b", "c", "d")
+        }
+
+        "unreachable rooms have no routes" {
+            val routes = NavigationRoutes(createGraph())
+            routes.nextHop("d", "a").shouldBeNull()
+            routes.hops("a", "e") shouldBe NavigationRoutes.UNREACHABLE
+            routes.route("e", "a").shouldBeNull()
+            routes.hops("a", "unknown") shouldBe NavigationRoutes.UNREACHABLE
+        }
+
+        "modifications of the graph are detected" {
+            val graph = createGraph()
+            val routes = NavigationRoutes(graph)
+            routes.hops("a", "d") shouldBe 3
+            graph.addEdge("a", "d")
+            routes.hops("a", "d") shouldBe 1
+            graph.removeEdge("a", "d")
+            graph.addEdge("b", "d")
+            routes.invalidate()
+            routes.route("a", "d") shouldBe listOf("a", "b", "d")
+        }
+
+        "precomputed routes match the lazily computed ones" {
+            val graph = createGraph()
+            val lazy = NavigationRoutes(graph)
+            val precomputed = NavigationRoutes(graph, maximumEntries = 1).apply { precompute() }
+            val eager = NavigationRoutes(graph).apply { precompute() }
+            graph.vertexSet().forEach { from ->
+                graph.vertexSet().forEach { to ->
+                    precomputed.nextHop(from, to) shouldBe lazy.nextHop(from, to)
+                    eager.hops(from, to) shouldBe lazy.hops(from, to)
+                }
+            }
+        }
+
+        "components label mutually reachable rooms" {
+            val routes = NavigationRoutes(createGraph())
+            routes.component("a") shouldBe routes.component("b")
+            routes.component("a") shouldBe routes.component("c")
+            routes.component("d") shouldNotBe routes.component("a")
+            routes.component("e") shouldNotBe routes.component("d")
+            routes.component("unknown") shouldBe NavigationRoutes.UNREACHABLE
+            routes.isReachable("a", "d") shouldBe true
+            routes.isReachable("d", "a") shouldBe false
+            routes.isReachable("unknown", "unknown") shouldBe false
+        }
+    })
@@ -23,6 +23,7 @@ dependencies {
     api(libs.quadtree)
 
     implementation(libs.kotlin.reflect)
+    implementation(libs.appdirs)
     implementation(libs.boilerplate)
     implementation(libs.caffeine)
     implementation(libs.classgraph)
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -109,6 +109,12 @@ public abstract class AbstractConfigurableMoveNode<T, P extends Position<P>> ext
             final P destination = end;
             end = targetSelectionStrategy.getTarget();
             resetRoute();
+            if (!end.equals(destination)) {
+                /*
+                 * The route towards the next target will be needed at the next step
+                 */
+                routingStrategy.prefetchRoute(destination, end);
+            }
             return isAbsolute() ? destination : destination.minus(curPos.getCoordinates());
         }
         if (route == null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -42,4 +42,9 @@ public final class ConstantLayer<T, P extends Position<? extends P>> implements
         return level;
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -66,4 +66,9 @@ public final class StepLayer<T, P extends Position2D<? extends P>> implements La
         }
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
 }
@@ -49,7 +49,7 @@ public class ConnectWithinDistance<T, P extends Position<P>> extends AbstractLoc
     /**
      * @return the range
      */
-    protected final double getRange() {
+    public final double getRange() {
         return range;
     }
 
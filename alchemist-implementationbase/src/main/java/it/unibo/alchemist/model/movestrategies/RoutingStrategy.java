@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -34,6 +34,17 @@ public interface RoutingStrategy<T, P extends Position<P>> extends Serializable
      */
     Route<P> computeRoute(P currentPos, P finalPos);
 
+    /**
+     * Hints that a route between two positions is likely to be requested soon, e.g., because a node has just
+     * selected a new target. Strategies relying on expensive routing services may start computing it in
+     * background, by default nothing happens.
+     *
+     * @param currentPos starting {@link Position}
+     * @param finalPos ending {@link Position}
+     */
+    default void prefetchRoute(final P currentPos, final P finalPos) {
+    }
+
     /**
      * @param destination the {@link Node} where the strategy is being cloned
      * @param reaction the {@link Reaction} where strategy is being cloned
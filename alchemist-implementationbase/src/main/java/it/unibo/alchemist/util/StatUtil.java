@@ -15,6 +15,8 @@ import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utility to translate statistics names into a {@link UnivariateStatistic}.
@@ -29,10 +31,20 @@ public final class StatUtil {
         )
     );
 
+    /*
+     * Names such as percentile95: the name of a statistic followed by its (numeric) parameter.
+     */
+    private static final Pattern PARAMETRIC = Pattern.compile("([a-zA-Z]+)(\\d+(?:\\.\\d+)?)");
+
     private StatUtil() {
     }
 
     /**
+     * Statistics can be referenced by their class name (case-insensitive).
+     * Statistics with a constructor accepting a single double can also be referenced by their class name
+     * immediately followed by the value to pass to such constructor,
+     * e.g., {@code percentile95} or {@code approximatePercentile99.9}.
+     *
      * @param name
      *            the statistic
      * @return a new instance of the corresponding {@link UnivariateStatistic}
@@ -40,16 +52,54 @@ public final class StatUtil {
      *         {@link Optional#empty()} otherwise.
      */
     public static Optional<UnivariateStatistic> makeUnivariateStatistic(final String name) {
+        final Optional<UnivariateStatistic> plain = findStatistic(name).map(StatUtil::instance);
+        if (plain.isPresent()) {
+            return plain;
+        }
+        final Matcher parametric = PARAMETRIC.matcher(name);
+        if (parametric.matches()) {
+            final double parameter = Double.parseDouble(parametric.group(2));
+            return findStatistic(parametric.group(1))
+                .filter(clazz -> hasConstructor(clazz, double.class))
+                .map(clazz -> instance(clazz, parameter));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Class<? extends UnivariateStatistic>> findStatistic(final String name) {
         return STATISTICS.stream()
             .filter(stat -> stat.getSimpleName().equalsIgnoreCase(name))
-            .findAny()
-            .map(clazz -> {
-                try {
-                    return clazz.getDeclaredConstructor().newInstance();
-                } catch (IllegalAccessException | InstantiationException | NoSuchMethodException | InvocationTargetException e) {
-                    throw new IllegalStateException("Could not initialize with empty constructor " + clazz, e);
-                }
-            });
+            .findAny();
+    }
+
+    private static boolean hasConstructor(final Class<?> clazz, final Class<?>... parameterTypes) {
+        try {
+            clazz.getDeclaredConstructor(parameterTypes);
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static UnivariateStatistic instance(final Class<? extends UnivariateStatistic> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (IllegalAccessException | InstantiationException | NoSuchMethodException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not initialize with empty constructor " + clazz, e);
+        }
+    }
+
+    private static UnivariateStatistic instance(
+        final Class<? extends UnivariateStatistic> clazz,
+        final double parameter
+    ) {
+        try {
+            return clazz.getDeclaredConstructor(double.class).newInstance(parameter);
+        } catch (IllegalAccessException | InstantiationException | NoSuchMethodException e) {
+            throw new IllegalStateException("Could not initialize " + clazz + " with parameter " + parameter, e);
+        } catch (final InvocationTargetException e) {
+            throw new IllegalArgumentException("Invalid parameter " + parameter + " for " + clazz, e.getCause());
+        }
     }
 
     /**
@@ -25,13 +25,18 @@ import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Position
 import it.unibo.alchemist.model.SupportedIncarnations
 import it.unibo.alchemist.model.TerminationPredicate
+import it.unibo.alchemist.model.linkingrules.ConnectWithinDistance
 import it.unibo.alchemist.model.linkingrules.NoLinks
+import it.unibo.alchemist.util.profiling.LinkingRuleEvaluationEvent
+import it.unibo.alchemist.util.profiling.NeighborhoodUpdateEvent
 import java.io.ObjectInputStream
 import java.io.ObjectOutputStream
 import java.io.Serial
 import java.util.Objects
 import java.util.Spliterator
 import java.util.function.Consumer
+import kotlin.math.abs
+import kotlin.math.max
 import org.danilopianini.util.ArrayListSet
 import org.danilopianini.util.ImmutableListSet
 import org.danilopianini.util.LinkedListSet
@@ -74,6 +79,14 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
     @Transient
     private var cache: LoadingCache<Pair<P, Double>, List<Node<T>>>? = null
 
+    /*
+     * Bookkeeping for bulk movements, see relocateNodes.
+     */
+    @Transient
+    private var linkingSlacks: LinkingSlacks? = null
+
+    private var cumulativeBulkDisplacement = 0.0
+
     @Transient
     final override var incarnation: Incarnation<T, P> = requireNotNull(incarnation)
         private set
@@ -124,6 +137,7 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
         nodeShouldBeAdded(node, position) -> {
             val actualPosition = computeActualInsertionPosition(node, position)
             setPosition(node, actualPosition)
+            linkingSlacks = null
             require(_nodes.add(node)) { "Node with id ${node.id} was already existing in this environment." }
             spatialIndex.insert(node, *actualPosition.coordinates)
             updateNeighborhood(node, true)
@@ -159,6 +173,19 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
         nodes.forEach(action)
     }
 
+    private fun computeNeighborhood(node: Node<T>): Neighborhood<T> {
+        val profiling = LinkingRuleEvaluationEvent()
+        profiling.begin()
+        val neighborhood = linkingRule.computeNeighborhood(node, this)
+        if (profiling.shouldCommit()) {
+            profiling.linkingRuleType = linkingRule.javaClass
+            profiling.node = node.id
+            profiling.neighbors = neighborhood.size()
+            profiling.commit()
+        }
+        return neighborhood
+    }
+
     private fun foundNeighbors(
         center: Node<T>,
         oldNeighborhood: Neighborhood<T>?,
@@ -298,7 +325,7 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
     }
 
     private fun recursiveOperation(origin: Node<T>): Sequence<Operation<T>> {
-        val newNeighborhood = linkingRule.computeNeighborhood(Objects.requireNonNull(origin), this)
+        val newNeighborhood = computeNeighborhood(Objects.requireNonNull(origin))
         val oldNeighborhood: Neighborhood<T>? = neighCache.put(origin.id, newNeighborhood)
         return toQueue(origin, oldNeighborhood, newNeighborhood)
     }
@@ -312,7 +339,7 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
                 it.neighborRemoved(origin, destination)
             }
         }
-        val newNeighborhood = linkingRule.computeNeighborhood(destination, this)
+        val newNeighborhood = computeNeighborhood(destination)
         val oldNeighborhood = neighCache.put(destination.id, newNeighborhood)
         return toQueue(destination, oldNeighborhood, newNeighborhood)
     }
@@ -342,12 +369,88 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
         val pos = nodeToPos.put(n.id, p)
         if (p != pos) {
             invalidateCache()
+            linkingSlacks = null
         }
         require(pos == null || spatialIndex.move(n, pos.coordinates, p.coordinates)) {
             "Tried to move a node not previously present in the environment:\nNode: $n\nRequested position: $p"
         }
     }
 
+    /**
+     * Moves many nodes at once to [newPositions], which are committed as they are:
+     * nodes whose position did not change are skipped, the spatial index is updated in a single pass,
+     * and the range query cache is invalidated once.
+     * Neighborhoods are then recomputed for the moved nodes only, and the simulation (if any) is notified.
+     *
+     * When the linking rule is a plain [ConnectWithinDistance], neighborhoods are recomputed only for the nodes
+     * whose distance from some other node may have crossed the connection range since their last recomputation:
+     * such bound is conservative, as every node moved by at most the sum of the largest displacements
+     * of each bulk movement. Any other kind of movement or node addition resets this bookkeeping.
+     *
+     * @param newPositions the new position of each moved node
+     * @return the nodes that actually changed their position
+     */
+    protected fun relocateNodes(newPositions: Map<out Node<T>, P>): List<Node<T>> {
+        val moved = ArrayList<Node<T>>(newPositions.size)
+        var largestDisplacement = 0.0
+        newPositions.forEach { (node, position) ->
+            val previous =
+                requireNotNull(nodeToPos[node.id]) {
+                    "Tried to move a node not previously present in the environment:\n" +
+                        "Node: $node\nRequested position: $position"
+                }
+            if (previous != position) {
+                nodeToPos.put(node.id, position)
+                check(spatialIndex.move(node, previous.coordinates, position.coordinates)) {
+                    "The spatial index of $this is inconsistent: $node was not found at $previous"
+                }
+                largestDisplacement = max(largestDisplacement, previous.distanceTo(position))
+                moved.add(node)
+            }
+        }
+        if (moved.isNotEmpty()) {
+            invalidateCache()
+            val range = (linkingRule as? ConnectWithinDistance<*, *>)
+                ?.takeIf { it.javaClass == ConnectWithinDistance::class.java }
+                ?.range
+            if (range == null) {
+                linkingSlacks = null
+                moved.forEach { updateNeighborhood(it, false) }
+            } else {
+                cumulativeBulkDisplacement += largestDisplacement
+                val slacks = linkingSlacks
+                    ?.takeIf { it.range == range }
+                    ?: LinkingSlacks(range).also { linkingSlacks = it }
+                moved.forEach { node ->
+                    val slack = slacks.byNode[node.id]
+                    /*
+                     * Any pairwise distance changed by at most twice the displacement bound since the slack was measured
+                     */
+                    if (slack == null || 2 * (cumulativeBulkDisplacement - slack.displacementMark) >= slack.distance) {
+                        updateNeighborhood(node, false)
+                        slacks.byNode.put(node.id, measureSlack(node, range))
+                    }
+                }
+            }
+            moved.forEach { node -> ifEngineAvailable { it.nodeMoved(node) } }
+        }
+        return moved
+    }
+
+    /*
+     * Distance of the closest node from the connection range boundary, bounded by half the range.
+     */
+    private fun measureSlack(node: Node<T>, range: Double): LinkingSlack {
+        val position = getPosition(node)
+        val horizon = range * (1 + SLACK_HORIZON)
+        val distance = runQuery(position, horizon)
+            .asSequence()
+            .filter { it != node }
+            .map { abs(getPosition(it).distanceTo(position) - range) }
+            .fold(horizon - range) { closest, candidate -> minOf(closest, candidate) }
+        return LinkingSlack(distance, cumulativeBulkDisplacement)
+    }
+
     override fun spliterator(): Spliterator<Node<T>> = nodes.spliterator()
 
     private fun toQueue(
@@ -370,8 +473,11 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
      * @param isNewNode true if the node is new, false otherwise
      */
     protected fun updateNeighborhood(node: Node<T>, isNewNode: Boolean) {
-        if (linkingRule.isLocallyConsistent()) {
-            val newNeighborhood = linkingRule.computeNeighborhood(node, this)
+        val profiling = NeighborhoodUpdateEvent()
+        profiling.begin()
+        val locallyConsistent = linkingRule.isLocallyConsistent()
+        if (locallyConsistent) {
+            val newNeighborhood = computeNeighborhood(node)
             val oldNeighborhood: Neighborhood<T>? = neighCache.put(node.id, newNeighborhood)
             oldNeighborhood?.let {
                 it
@@ -406,6 +512,12 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
                 }
             }
         }
+        if (profiling.shouldCommit()) {
+            profiling.node = node.id
+            profiling.newNode = isNewNode
+            profiling.locallyConsistent = locallyConsistent
+            profiling.commit()
+        }
     }
 
     private fun writeObject(out: ObjectOutputStream) {
@@ -417,7 +529,15 @@ abstract class AbstractEnvironment<T, P : Position<P>> protected constructor(
         override fun toString(): String = origin.toString() + (if (isAdd) " discovered " else " lost ") + destination
     }
 
+    private data class LinkingSlack(val distance: Double, val displacementMark: Double)
+
+    private class LinkingSlacks(val range: Double) {
+        val byNode = TIntObjectHashMap<LinkingSlack>()
+    }
+
     private companion object {
         private const val serialVersionUID = 1L
+
+        private const val SLACK_HORIZON = 0.5
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -40,4 +40,6 @@ constructor(
         BidimensionalGaussian(norm, centerX, centerY, sigmaX, sigmaY)
 
     override fun getValue(p: P) = baseline + function.value(p.x, p.y)
+
+    override fun isStatic() = true
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.util
+
+import java.io.BufferedOutputStream
+import java.io.File
+import java.io.OutputStream
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import kotlin.io.path.createTempDirectory
+import net.harawata.appdirs.AppDirsFactory
+import org.slf4j.LoggerFactory
+
+/**
+ * A directory where data that is expensive to compute (e.g., compiled scripts or preprocessed inputs)
+ * is persisted across runs, and shared among concurrent processes.
+ *
+ * The directory is named [name] within the user cache directory (or a temporary directory, if the former is not
+ * writable), unless a different one is selected through the [property] system property.
+ * Setting such property to [DISABLED] disables the cache.
+ * The property is read upon every access to [directory], so it can be changed at any time.
+ *
+ * @param property the system property selecting the directory
+ * @param name the name of the directory within the user cache directory
+ */
+class CacheDirectory(val property: String, private val name: String) {
+    @Volatile
+    private var resolved: Pair<String?, File?>? = null
+
+    /**
+     * The directory currently selected, or null if the cache is disabled or no writable directory is available.
+     */
+    val directory: File? get() {
+        val selected = System.getProperty(property)
+        val current = resolved
+        if (current != null && current.first == selected) {
+            return current.second
+        }
+        return when (selected) {
+            DISABLED -> null
+            null -> defaultDirectory()
+            else -> File(selected).takeIf { it.isWritableDirectory() }
+        }.also {
+            logger.debug("Cache directory for {}: {}", name, it)
+            resolved = selected to it
+        }
+    }
+
+    /**
+     * Returns the file named [fileName] within the [directory], or null if the cache is disabled.
+     */
+    fun file(fileName: String): File? = directory?.let { File(it, fileName) }
+
+    private fun defaultDirectory(): File? {
+        val possibleLocations: Sequence<() -> File> =
+            sequenceOf(
+                { File(AppDirsFactory.getInstance().getUserCacheDir("alchemist", name, "it.unibo")) },
+                { createTempDirectory("alchemist-$name").toFile() },
+            )
+        return possibleLocations
+            .mapNotNull { location -> runCatching(location).getOrNull() }
+            .firstOrNull { it.isWritableDirectory() }
+    }
+
+    private fun File.isWritableDirectory(): Boolean = when {
+        exists() -> isDirectory && canWrite()
+        else -> runCatching { mkdirs() }.getOrDefault(false)
+    }.also { if (!it) logger.warn("{} cannot be used as cache directory for {}", this, name) }
+
+    /**
+     * Constants and utilities for on-disk caches.
+     */
+    companion object {
+        /**
+         * Value of the system property that disables a cache.
+         */
+        const val DISABLED: String = "disabled"
+
+        private val logger = LoggerFactory.getLogger(CacheDirectory::class.java)
+
+        /**
+         * Creates or replaces [file] with the content produced by [write].
+         * The content is written to a temporary file first, and then moved in place,
+         * so that concurrent processes never read a partially written [file].
+         */
+        @JvmStatic
+        fun writeAtomically(file: File, write: (OutputStream) -> Unit) {
+            val temporary = File.createTempFile(file.nameWithoutExtension, ".tmp", file.parentFile)
+            try {
+                BufferedOutputStream(temporary.outputStream()).use(write)
+                try {
+                    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE)
+                } catch (notSupported: AtomicMoveNotSupportedException) {
+                    logger.debug("Atomic moves are not supported, replacing {}", file, notSupported)
+                    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING)
+                }
+            } finally {
+                temporary.delete()
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.util
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.github.benmanes.caffeine.cache.LoadingCache
+import java.util.Collections
+import java.util.WeakHashMap
+import java.util.function.Function
+
+/**
+ * A bounded cache of compiled program templates, meant to be shared by all the nodes of a simulation
+ * running the same program text.
+ * Each distinct source is compiled once through [compile] into a template of type [T],
+ * which must be immutable (or, at least, safe to share among nodes and threads):
+ * per-node state must be created when instantiating the template, not when compiling it.
+ *
+ * Failures are not cached: compiling an invalid source twice fails twice.
+ *
+ * Every cache is tracked (without being retained) in [allStatistics],
+ * so that its [statistics] can be reported when a simulation ends.
+ *
+ * @param name a human-readable name for this cache, used when reporting [statistics]
+ * @param maximumSize the maximum number of templates retained
+ * @param compile the function compiling a source into a template
+ */
+class ProgramTemplateCache<T : Any>
+@JvmOverloads
+constructor(
+    val name: String,
+    maximumSize: Long = DEFAULT_MAXIMUM_SIZE,
+    private val compile: Function<String, T>,
+) {
+    private val templates: LoadingCache<String, T> =
+        Caffeine
+            .newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build { source -> compile.apply(source) }
+
+    init {
+        caches.add(this)
+    }
+
+    /**
+     * Returns the template for [source], compiling it if it is not cached.
+     * Exceptions thrown by the compilation function are propagated unchanged.
+     */
+    operator fun get(source: String): T = templates[source]
+
+    /**
+     * A snapshot of the usage statistics of this cache.
+     */
+    val statistics: Statistics get() =
+        templates.stats().let { Statistics(name, it.hitCount(), it.missCount(), it.evictionCount(), size) }
+
+    /**
+     * The number of templates currently retained.
+     */
+    val size: Long get() = templates.run {
+        cleanUp()
+        estimatedSize()
+    }
+
+    /**
+     * Discards all the cached templates (statistics are preserved).
+     */
+    fun clear() = templates.invalidateAll()
+
+    override fun toString(): String = "ProgramTemplateCache($name)"
+
+    /**
+     * Usage statistics of a [ProgramTemplateCache] named [name]: number of [hits], of [misses]
+     * (namely, of compilations), of templates evicted to honor the size bound ([evictions]),
+     * and of currently retained templates ([size]).
+     */
+    data class Statistics(val name: String, val hits: Long, val misses: Long, val evictions: Long, val size: Long) {
+        /**
+         * The ratio of requests served without compiling, or NaN if no request has been served yet.
+         */
+        val hitRate: Double get() = (hits + misses).let { if (it == 0L) Double.NaN else hits.toDouble() / it }
+
+        override fun toString(): String =
+            "$name templates: $size cached, $hits hits, $misses misses (hit rate $hitRate), $evictions evictions"
+    }
+
+    /**
+     * Defaults for template caches.
+     */
+    companion object {
+        /**
+         * System property that can be used to override the default maximum size of template caches.
+         */
+        const val MAXIMUM_SIZE_PROPERTY = "alchemist.templates.cache.size"
+
+        /**
+         * Default maximum number of templates retained by each cache.
+         */
+        @JvmField
+        val DEFAULT_MAXIMUM_SIZE: Long = System.getProperty(MAXIMUM_SIZE_PROPERTY)?.toLongOrNull() ?: 10_000L
+
+        private val caches: MutableSet<ProgramTemplateCache<*>> =
+            Collections.synchronizedSet(Collections.newSetFromMap(WeakHashMap()))
+
+        /**
+         * The [statistics] of all the live caches that served at least one request, sorted by name.
+         * Caches are usually shared by all the simulations running in the same JVM,
+         * hence statistics are cumulative over all of them.
+         */
+        @JvmStatic
+        fun allStatistics(): List<Statistics> =
+            synchronized(caches) { caches.toList() }
+                .map { it.statistics }
+                .filter { it.hits + it.misses > 0 }
+                .sortedBy { it.name }
+    }
+}
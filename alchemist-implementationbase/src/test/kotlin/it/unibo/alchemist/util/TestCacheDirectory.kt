@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.util
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import java.io.File
+import kotlin.io.path.createTempDirectory
+
+/**
+ * Contains tests concerning [CacheDirectory].
+ */
+class TestCacheDirectory :
+    StringSpec({
+        fun uniqueProperty() = "alchemist.test.cache.${System.nanoTime()}"
+
+        "the directory follows the system property" {
+            val property = uniqueProperty()
+            val cache = CacheDirectory(property, "test")
+            val first = createTempDirectory("first").toFile()
+            val second = File(createTempDirectory("second").toFile(), "nested")
+            try {
+                System.setProperty(property, first.absolutePath)
+                cache.directory shouldBe first
+                cache.file("a.bin") shouldBe File(first, "a.bin")
+                System.setProperty(property, second.absolutePath)
+                cache.directory shouldBe second
+                second.isDirectory shouldBe true
+                System.setProperty(property, CacheDirectory.DISABLED)
+                cache.directory.shouldBeNull()
+                cache.file("a.bin").shouldBeNull()
+            } finally {
+                System.clearProperty(property)
+            }
+        }
+
+        "files are replaced atomically" {
+            val directory = createTempDirectory("atomic").toFile()
+            val file = File(directory, "data.bin")
+            CacheDirectory.writeAtomically(file) { it.write(byteArrayOf(1, 2)) }
+            CacheDirectory.writeAtomically(file) { it.write(byteArrayOf(3)) }
+            file.readBytes().toList() shouldBe listOf<Byte>(3)
+            directory.listFiles().orEmpty().map { it.name } shouldContainExactly listOf("data.bin")
+        }
+
+        "failed writes leave no file behind" {
+            val directory = createTempDirectory("failing").toFile()
+            val file = File(directory, "data.bin")
+            shouldThrow<IllegalStateException> {
+                CacheDirectory.writeAtomically(file) { error("Failure while writing") }
+            }
+            directory.listFiles().orEmpty().toList().shouldBeEmpty()
+        }
+    })
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.util
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContain
+import io.kotest.matchers.collections.shouldNotContain
+import io.kotest.matchers.longs.shouldBeLessThanOrEqual
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+
+/**
+ * Contains tests concerning [ProgramTemplateCache].
+ */
+class TestProgramTemplateCache :
+    StringSpec({
+        "templates are compiled once and shared" {
+            var compilations = 0
+            val cache = ProgramTemplateCache<List<String>>("test") { source ->
+                compilations++
+                source.split(" ")
+            }
+            val first = cache["a b c"]
+            repeat(10) { cache["a b c"] shouldBeSameInstanceAs first }
+            compilations shouldBe 1
+            cache.statistics.hits shouldBe 10L
+            cache.statistics.misses shouldBe 1L
+            cache.statistics.size shouldBe 1L
+        }
+
+        "failures are propagated and not cached" {
+            var attempts = 0
+            val cache = ProgramTemplateCache<Int>("failing") { source ->
+                attempts++
+                source.toInt()
+            }
+            repeat(2) { shouldThrow<NumberFormatException> { cache["not a number"] } }
+            attempts shouldBe 2
+            cache["42"] shouldBe 42
+        }
+
+        "the number of retained templates is bounded" {
+            val cache = ProgramTemplateCache("bounded", maximumSize = 10) { it.length }
+            repeat(1000) { cache["x".repeat(it)] }
+            cache.size shouldBeLessThanOrEqual 10L
+            cache.statistics.misses shouldBe 1000L
+            cache.clear()
+            cache.size shouldBe 0L
+        }
+
+        "the statistics of the caches serving requests are reported" {
+            val used = ProgramTemplateCache("used") { it.length }
+            val unused = ProgramTemplateCache("unused") { it.length }
+            repeat(3) { used["abc"] }
+            val reported = ProgramTemplateCache.allStatistics()
+            reported shouldContain used.statistics
+            reported.map { it.name } shouldNotContain unused.name
+        }
+    })
@@ -16,6 +16,7 @@ import it.unibo.alchemist.model.Node;
 import it.unibo.alchemist.model.Reaction;
 import it.unibo.alchemist.model.biochemistry.CellProperty;
 import it.unibo.alchemist.model.biochemistry.EnvironmentNode;
+import it.unibo.alchemist.model.biochemistry.layers.DiffusionLayer;
 import it.unibo.alchemist.model.biochemistry.molecules.Biomolecule;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.util.FastMath;
@@ -94,12 +95,31 @@ public final class ChangeBiomolConcentrationInEnv extends AbstractRandomizableAc
     public void execute() {
         // declaring a variable for the node where this action is set, to have faster access
         final Node<Double> thisNode = getNode();
+        double remaining = delta;
+        final boolean onGrid = !(thisNode instanceof EnvironmentNode)
+            && environment.getLayer(biomolecule) instanceof DiffusionLayer<?>;
+        if (onGrid) {
+            final DiffusionLayer<?> layer = (DiffusionLayer<?>) environment.getLayer(biomolecule);
+            // cells exchange with the grid cell they are in, and with environment nodes only if it is not enough
+            final double[] coordinates = environment.getPosition(thisNode).getCoordinates();
+            final int cell = layer.cellIndex(coordinates[0], coordinates[1]);
+            if (cell >= 0) {
+                final double applied = layer.add(cell, remaining);
+                if (remaining >= 0 || layer.get(cell) > 0) {
+                    return;
+                }
+                remaining -= applied;
+            }
+        }
         // get the environment surrounding
         final List<EnvironmentNode> environmentNodesSurrounding = getEnvironmentNodesSurrounding();
+        if (onGrid && environmentNodesSurrounding.isEmpty()) {
+            return;
+        }
         // if the node is an EnvironmentNode...
         if (thisNode instanceof EnvironmentNode) {
             // sort the env node randomly
-            changeConcentrationInRandomNodes(environmentNodesSurrounding);
+            changeConcentrationInRandomNodes(environmentNodesSurrounding, remaining);
         } else {
             // if getNode() instanceof CellNode, check if all nodes are at the same distance
             final boolean areAllEnvNodesAtTheSameDistance = environmentNodesSurrounding.stream()
@@ -114,17 +134,17 @@ public final class ChangeBiomolConcentrationInEnv extends AbstractRandomizableAc
                         .count() == 1;
                 if (haveAllNodeTheSameConcentration) {
                     // if they have, pick up from the list randomly
-                    changeConcentrationInRandomNodes(environmentNodesSurrounding);
+                    changeConcentrationInRandomNodes(environmentNodesSurrounding, remaining);
                 } else {
                     // else, sort the list by the concentration of the biomolecule
                     environmentNodesSurrounding.sort(Comparator.comparingDouble(n -> n.getConcentration(biomolecule)));
-                    changeConcentrationInSortedNodes(environmentNodesSurrounding);
+                    changeConcentrationInSortedNodes(environmentNodesSurrounding, remaining);
                 }
             } else {
                 // else, sort the list by the distance from the node
                 environmentNodesSurrounding.sort(Comparator
                         .comparingDouble(n -> environment.getDistanceBetweenNodes(thisNode, n)));
-                changeConcentrationInSortedNodes(environmentNodesSurrounding);
+                changeConcentrationInSortedNodes(environmentNodesSurrounding, remaining);
             }
         }
     }
@@ -144,12 +164,15 @@ public final class ChangeBiomolConcentrationInEnv extends AbstractRandomizableAc
                 .collect(Collectors.toList());
     }
 
-    private void changeConcentrationInSortedNodes(final List<EnvironmentNode> envNodesSurrounding) {
-        if (delta < 0) {
-            double deltaTemp = delta;
+    private void changeConcentrationInSortedNodes(
+        final List<EnvironmentNode> envNodesSurrounding,
+        final double amount
+    ) {
+        if (amount < 0) {
+            double deltaTemp = amount;
             for (final EnvironmentNode n : envNodesSurrounding) {
                 final double nodeConcentration = n.getConcentration(biomolecule);
-                // if nodeConcentration >= |deltaTemp|, remove the delta quantity of the biomolecule only from this node
+                // if nodeConcentration >= |deltaTemp|, remove the quantity of the biomolecule only from this node
                 if (nodeConcentration >= FastMath.abs(deltaTemp)) {
                     n.setConcentration(biomolecule, nodeConcentration + deltaTemp);
                     break;
@@ -161,20 +184,23 @@ public final class ChangeBiomolConcentrationInEnv extends AbstractRandomizableAc
                 }
             }
         } else {
-            // if delta > 0, add delta to the first node of the list (which has been sorted randomly)
+            // if amount > 0, add it to the first node of the list (which has been sorted randomly)
             final Node<Double> target = envNodesSurrounding.get(0);
-            target.setConcentration(biomolecule, target.getConcentration(biomolecule) + delta);
+            target.setConcentration(biomolecule, target.getConcentration(biomolecule) + amount);
         }
     }
 
-    private void changeConcentrationInRandomNodes(final List<EnvironmentNode> envNodesSurrounding) {
-        if (delta < 0) {
-            double deltaTemp = delta;
+    private void changeConcentrationInRandomNodes(
+        final List<EnvironmentNode> envNodesSurrounding,
+        final double amount
+    ) {
+        if (amount < 0) {
+            double deltaTemp = amount;
             while (deltaTemp < 0) {
                 final int index = getRandomGenerator().nextInt(envNodesSurrounding.size());
                 final EnvironmentNode pickedNode = envNodesSurrounding.get(index);
                 final double nodeConcentration = pickedNode.getConcentration(biomolecule);
-                // if nodeConcentration >= |deltaTemp|, remove the delta quantity of the biomolecule only from this node
+                // if nodeConcentration >= |deltaTemp|, remove the quantity of the biomolecule only from this node
                 if (nodeConcentration >= FastMath.abs(deltaTemp)) {
                     pickedNode.setConcentration(biomolecule, nodeConcentration + deltaTemp);
                     break;
@@ -189,10 +215,10 @@ public final class ChangeBiomolConcentrationInEnv extends AbstractRandomizableAc
                 envNodesSurrounding.remove(index);
             }
         } else {
-            // if delta > 0, add delta to the first node of the list (which has been sorted randomly)
+            // if amount > 0, add it to the first node of the list (which has been sorted randomly)
             final Node<Double> target = envNodesSurrounding
                     .get(getRandomGenerator().nextInt(envNodesSurrounding.size()));
-            target.setConcentration(biomolecule, target.getConcentration(biomolecule) + delta);
+            target.setConcentration(biomolecule, target.getConcentration(biomolecule) + amount);
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -16,6 +16,7 @@ import it.unibo.alchemist.model.Node;
 import it.unibo.alchemist.model.Position;
 import it.unibo.alchemist.model.Reaction;
 import it.unibo.alchemist.model.biochemistry.EnvironmentNode;
+import it.unibo.alchemist.model.biochemistry.layers.DiffusionLayer;
 import it.unibo.alchemist.model.biochemistry.molecules.Biomolecule;
 import org.apache.commons.math3.util.CombinatoricsUtils;
 import org.apache.commons.math3.util.FastMath;
@@ -100,16 +101,17 @@ public final class BiomolPresentInEnv<P extends Position<? extends P>> extends G
     }
 
     private double getTotalQuantity() {
-        double quantityInEnvNodes = 0;
-        if (!getEnviromentNodesSurrounding().isEmpty()) {
-            quantityInEnvNodes = getEnviromentNodesSurrounding().stream()
-                    .parallel()
-                    .mapToDouble(n -> n.getConcentration(getBiomolecule()))
-                    .sum();
-        }
+        final double quantityInEnvNodes = getEnviromentNodesSurrounding().stream()
+            .mapToDouble(n -> n.getConcentration(getBiomolecule()))
+            .sum();
         double quantityInLayers = 0;
         final @Nullable Layer<Double, P> layer = environment.getLayer(getBiomolecule());
-        if (layer != null) {
+        if (layer instanceof final DiffusionLayer<?> grid) {
+            // grids hold concentrations: the quantity available is the amount in the cell of the node
+            final double[] coordinates = environment.getPosition(getNode()).getCoordinates();
+            final int cell = grid.cellIndex(coordinates[0], coordinates[1]);
+            quantityInLayers = cell < 0 ? 0 : grid.getAmount(cell);
+        } else if (layer != null) {
             quantityInLayers = layer.getValue(environment.getPosition(getNode()));
         }
         return quantityInEnvNodes + quantityInLayers;
@@ -19,15 +19,13 @@ import it.unibo.alchemist.model.biochemistry.EnvironmentSupportingDeformableCell
 import it.unibo.alchemist.model.positions.Euclidean2DPosition;
 import org.apache.commons.math3.util.FastMath;
 import org.danilopianini.lang.MathUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.io.Serial;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.Serializable;
 import java.util.Comparator;
-import java.util.stream.Stream;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * Implements a limited environment supporting cells with a defined shape,
@@ -39,9 +37,8 @@ public final class BioRect2DEnvironmentNoOverlap
 
     @Serial
     private static final long serialVersionUID = 1L;
-    private static final Logger L = LoggerFactory.getLogger(BioRect2DEnvironmentNoOverlap.class);
-    private Optional<Node<Double>> biggestCellWithCircularArea = Optional.absent();
-    private Optional<Node<Double>> biggestCircularDeformableCell = Optional.absent();
+    private final Diameters circularCellDiameters = new Diameters();
+    private final Diameters deformableCellDiameters = new Diameters();
 
     /**
      * Returns an infinite {@link BioRect2DEnvironment}.
@@ -266,102 +263,69 @@ public final class BioRect2DEnvironmentNoOverlap
         final @Nonnull Neighborhood<Double> neighborhood
     ) {
         super.nodeAdded(node, position, neighborhood);
-        final var cell = node.asPropertyOrNull(CircularCellProperty.class);
-        if (cell != null && cell.getDiameter() > getMaxDiameterAmongCellWithCircularShape()) {
-            biggestCellWithCircularArea = Optional.of(node);
-        }
-        final var deformableCell = node.asPropertyOrNull(CircularDeformableCellProperty.class);
-        if (deformableCell != null && deformableCell.getMaximumDiameter() > getMaxDiameterAmongCircularDeformableCells()) {
-            biggestCircularDeformableCell = Optional.of(node);
-        }
+        updateDiameters(node, true);
     }
 
     @Override
     protected void nodeRemoved(final @Nonnull Node<Double> node, final @Nonnull Neighborhood<Double> neighborhood) {
-        if (node.asPropertyOrNull(CircularCellProperty.class) != null) {
-            if (biggestCircularDeformableCell.isPresent() && biggestCircularDeformableCell.get().equals(node)) {
-                biggestCircularDeformableCell = getBiggest(CircularDeformableCellProperty.class)
-                        .transform(CircularDeformableCellProperty::getNode);
-            }
-            if (biggestCellWithCircularArea.isPresent() && biggestCellWithCircularArea.get().equals(node)) {
-                biggestCellWithCircularArea = getBiggest(CircularCellProperty.class)
-                        .transform(CircularCellProperty::getNode);
-            }
-        }
+        super.nodeRemoved(node, neighborhood);
+        updateDiameters(node, false);
     }
 
-    private <C> Optional<C> getBiggest(final Class<C> cellClass) {
-        final boolean isDeformable;
-        if (cellClass.equals(CircularDeformableCellProperty.class)) {
-            isDeformable = true;
-        } else if (cellClass.equals(CircularCellProperty.class)) {
-            isDeformable = false;
-        } else {
-            throw new UnsupportedOperationException("Input type must be CellWithCircuolarShape or CircularDeformableCell");
+    /*
+     * Cell diameters are immutable, so the sets of diameters only change when cells enter or leave the environment.
+     */
+    private void updateDiameters(final Node<Double> node, final boolean added) {
+        final var cell = node.asPropertyOrNull(CircularCellProperty.class);
+        if (cell != null) {
+            final var deformableCell = node.asPropertyOrNull(CircularDeformableCellProperty.class);
+            if (deformableCell == null) {
+                circularCellDiameters.update(cell.getDiameter(), added);
+            } else {
+                circularCellDiameters.update(deformableCell.getMaximumDiameter(), added);
+                deformableCellDiameters.update(deformableCell.getMaximumDiameter(), added);
+            }
         }
-
-        return getNodes().stream()
-                .parallel()
-                .flatMap(n -> cellClass.isInstance(n) ? Stream.of(cellClass.cast(n)) : Stream.empty())
-                .max((c1, c2) -> {
-                    final Method diameterToCompare;
-                    try {
-                        if (isDeformable) {
-                            diameterToCompare = cellClass.getMethod("getMaxDiameter");
-                        } else {
-                            diameterToCompare = cellClass.getMethod("getDiameter");
-                        }
-                        if (diameterToCompare.getReturnType().equals(double.class)) {
-                            try {
-                                return Double.compare(
-                                        (double) diameterToCompare.invoke(c1),
-                                        (double) diameterToCompare.invoke(c2)
-                                );
-                            } catch (final IllegalAccessException e) {
-                                L.error("Method not accessible");
-                                return 0;
-                            } catch (final IllegalArgumentException e) {
-                                L.error("Wrong parameter types, or wrong parameters' number");
-                                return 0;
-                            } catch (final InvocationTargetException e) {
-                                L.error("Invoked method throwed an exception");
-                                return 0;
-                            } catch (final ExceptionInInitializerError e) {
-                                L.error("Initialization failed");
-                                return 0;
-                            }
-                        } else {
-                            throw new IllegalStateException(
-                                "Return type of method " + diameterToCompare.getName() + " should be double"
-                            );
-                        }
-                    } catch (final NoSuchMethodException e) {
-                        L.error(
-                            "Method {}not foung in class {}",
-                            isDeformable ? "getMaxDiameter" : "getDiameter",
-                            cellClass.getName()
-                        );
-                        return 0;
-                    }
-                })
-                .map(Optional::of)
-                .orElse(Optional.absent());
     }
 
     private double getMaxDiameterAmongCellWithCircularShape() {
-        return getDiameterFromCell(biggestCellWithCircularArea);
+        return circularCellDiameters.getMax();
     }
 
     @Override
     public double getMaxDiameterAmongCircularDeformableCells() {
-        return getDiameterFromCell(biggestCircularDeformableCell);
+        return deformableCellDiameters.getMax();
     }
 
-    private double getDiameterFromCell(final Optional<Node<Double>> biggest) {
-        return biggest
-                .transform(n -> n.asPropertyOrNull(CircularDeformableCellProperty.class) != null
-                        ? n.asProperty(CircularDeformableCellProperty.class).getMaximumDiameter()
-                        : n.asProperty(CircularCellProperty.class).getDiameter())
-                .or(0d);
-    }
+    /**
+     * A multiset of diameters, counting how many cells have each diameter and caching the largest one.
+     */
+    private static final class Diameters implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final NavigableMap<Double, Integer> counts = new TreeMap<>();
+        private double max;
+
+        private void update(final double diameter, final boolean added) {
+            if (added) {
+                counts.merge(diameter, 1, Integer::sum);
+                max = FastMath.max(max, diameter);
+            } else {
+                final Integer previous = counts.get(diameter);
+                if (previous != null) {
+                    if (previous == 1) {
+                        counts.remove(diameter);
+                        max = counts.isEmpty() ? 0 : counts.lastKey();
+                    } else {
+                        counts.put(diameter, previous - 1);
+                    }
+                }
+            }
         }
+
+        private double getMax() {
+            return max;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -72,6 +72,11 @@ public final class BiomolGradientLayer<P extends Position2D<P>> implements Layer
         return p.getX() * a + p.getY() * b + c;
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return "Layer representing a gradient of the molecule. "
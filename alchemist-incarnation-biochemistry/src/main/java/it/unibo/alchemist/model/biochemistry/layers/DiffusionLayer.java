@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.biochemistry.layers;
+
+import it.unibo.alchemist.model.Layer;
+import it.unibo.alchemist.model.Position2D;
+import org.apache.commons.math3.util.FastMath;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link Layer} holding the concentration of a biomolecule on a regular grid of square cells,
+ * which diffuses and decays when {@link #advance(double)} is invoked
+ * (usually by a {@link it.unibo.alchemist.model.biochemistry.reactions.DiffusionUpdate}).
+ * The values of the cells are read and written in constant time,
+ * either through {@link #getValue(Position2D)} or through the index of the cell containing a position.
+ * Diffusion is solved with an explicit finite-difference scheme with no-flux borders,
+ * splitting each time step as needed to keep the scheme stable; the grid rows are updated in parallel
+ * on large grids. Positions outside the grid have no concentration and cannot be modified.
+ *
+ * @param <P> position type
+ */
+public final class DiffusionLayer<P extends Position2D<P>> implements Layer<Double, P> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final double MAX_STABLE_RATIO = 0.25;
+
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final double diffusionCoefficient;
+    private final double decayRate;
+    private double[] values;
+    private transient double[] buffer;
+
+    /**
+     * Builds a grid covering the rectangle between ({@code minX}, {@code minY}) and ({@code maxX}, {@code maxY}).
+     *
+     * @param minX minimum X coordinate
+     * @param minY minimum Y coordinate
+     * @param maxX maximum X coordinate
+     * @param maxY maximum Y coordinate
+     * @param cellSize the side of each cell
+     * @param diffusionCoefficient the diffusion coefficient, in squared space units per time unit
+     * @param decayRate the fraction of concentration decaying per time unit
+     * @param initialConcentration the initial concentration of each cell
+     */
+    public DiffusionLayer(
+        final double minX,
+        final double minY,
+        final double maxX,
+        final double maxY,
+        final double cellSize,
+        final double diffusionCoefficient,
+        final double decayRate,
+        final double initialConcentration
+    ) {
+        if (!(maxX > minX && maxY > minY) || Double.isInfinite(maxX - minX) || Double.isInfinite(maxY - minY)) {
+            throw new IllegalArgumentException(
+                "Invalid grid bounds [" + minX + ", " + maxX + "] x [" + minY + ", " + maxY + "]"
+            );
+        }
+        if (!(cellSize > 0) || diffusionCoefficient < 0 || decayRate < 0 || initialConcentration < 0) {
+            throw new IllegalArgumentException(
+                "Cell size must be positive, diffusion, decay, and concentration non-negative, but were: "
+                    + cellSize + ", " + diffusionCoefficient + ", " + decayRate + ", " + initialConcentration
+            );
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.columns = (int) FastMath.ceil((maxX - minX) / cellSize);
+        this.rows = (int) FastMath.ceil((maxY - minY) / cellSize);
+        this.diffusionCoefficient = diffusionCoefficient;
+        this.decayRate = decayRate;
+        this.values = new double[Math.multiplyExact(columns, rows)];
+        Arrays.fill(values, initialConcentration);
+    }
+
+    /**
+     * Builds an initially empty grid covering the rectangle between
+     * ({@code minX}, {@code minY}) and ({@code maxX}, {@code maxY}).
+     *
+     * @param minX minimum X coordinate
+     * @param minY minimum Y coordinate
+     * @param maxX maximum X coordinate
+     * @param maxY maximum Y coordinate
+     * @param cellSize the side of each cell
+     * @param diffusionCoefficient the diffusion coefficient, in squared space units per time unit
+     * @param decayRate the fraction of concentration decaying per time unit
+     */
+    public DiffusionLayer(
+        final double minX,
+        final double minY,
+        final double maxX,
+        final double maxY,
+        final double cellSize,
+        final double diffusionCoefficient,
+        final double decayRate
+    ) {
+        this(minX, minY, maxX, maxY, cellSize, diffusionCoefficient, decayRate, 0);
+    }
+
+    @Override
+    public Double getValue(final P p) {
+        final int cell = cellIndex(p);
+        return cell < 0 ? 0d : values[cell];
+    }
+
+    /**
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @return the index of the cell containing the point, or -1 if the point is outside the grid
+     */
+    public int cellIndex(final double x, final double y) {
+        final double column = FastMath.floor((x - minX) / cellSize);
+        final double row = FastMath.floor((y - minY) / cellSize);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return (int) row * columns + (int) column;
+    }
+
+    /**
+     * @param position the position
+     * @return the index of the cell containing the position, or -1 if the position is outside the grid
+     */
+    public int cellIndex(final P position) {
+        return cellIndex(position.getX(), position.getY());
+    }
+
+    /**
+     * @param cell the index of a cell
+     * @return the concentration in the cell
+     */
+    public double get(final int cell) {
+        return values[cell];
+    }
+
+    /**
+     * @param cell the index of a cell
+     * @return the amount of biomolecule in the cell, namely its concentration times the cell area
+     */
+    public double getAmount(final int cell) {
+        return values[cell] * cellSize * cellSize;
+    }
+
+    /**
+     * Changes the amount of biomolecule in a cell by {@code delta}, without letting it become negative.
+     * The concentration of the cell changes by {@code delta} divided by the cell area.
+     *
+     * @param cell the index of a cell
+     * @param delta the requested change of amount
+     * @return the change of amount actually applied, which differs from {@code delta}
+     *     if the cell did not contain enough biomolecule
+     */
+    public double add(final int cell, final double delta) {
+        final double area = cellSize * cellSize;
+        final double previous = values[cell];
+        final double updated = FastMath.max(0, previous + delta / area);
+        values[cell] = updated;
+        return (updated - previous) * area;
+    }
+
+    /**
+     * @return the total amount of biomolecule in the grid, namely the sum of the concentrations times the cell area
+     */
+    public double getTotal() {
+        return Arrays.stream(values).sum() * cellSize * cellSize;
+    }
+
+    /**
+     * @return the number of columns of the grid
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the number of rows of the grid
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the side of each cell
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Lets the concentration diffuse and decay for the given time.
+     *
+     * @param deltaTime the time elapsed since the last update
+     */
+    public void advance(final double deltaTime) {
+        if (!(deltaTime > 0)) {
+            return;
+        }
+        final double maxStableStep = diffusionCoefficient > 0
+            ? MAX_STABLE_RATIO * cellSize * cellSize / diffusionCoefficient
+            : deltaTime;
+        final int steps = (int) FastMath.ceil(deltaTime / maxStableStep);
+        final double step = deltaTime / steps;
+        final double alpha = diffusionCoefficient * step / (cellSize * cellSize);
+        final double retained = FastMath.exp(-decayRate * step);
+        if (buffer == null || buffer.length != values.length) {
+            buffer = new double[values.length];
+        }
+        for (int i = 0; i < steps; i++) {
+            final double[] current = values;
+            final double[] next = buffer;
+            final IntStream rowIndexes = IntStream.range(0, rows);
+            (values.length >= PARALLEL_THRESHOLD ? rowIndexes.parallel() : rowIndexes)
+                .forEach(row -> diffuseRow(row, current, next, alpha, retained));
+            buffer = current;
+            values = next;
+        }
+    }
+
+    private void diffuseRow(
+        final int row,
+        final double[] current,
+        final double[] next,
+        final double alpha,
+        final double retained
+    ) {
+        final int start = row * columns;
+        for (int column = 0; column < columns; column++) {
+            final int cell = start + column;
+            final double value = current[cell];
+            // Missing neighbors at the borders count as having the same value (no flux)
+            final double left = column > 0 ? current[cell - 1] : value;
+            final double right = column < columns - 1 ? current[cell + 1] : value;
+            final double below = row > 0 ? current[cell - columns] : value;
+            final double above = row < rows - 1 ? current[cell + columns] : value;
+            next[cell] = (value + alpha * (left + right + below + above - 4 * value)) * retained;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Diffusion layer of " + columns + "x" + rows + " cells of side " + cellSize
+            + ", diffusion coefficient " + diffusionCoefficient + ", decay rate " + decayRate;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -44,6 +44,7 @@ import it.unibo.alchemist.model.biochemistry.molecules.Biomolecule;
 import it.unibo.alchemist.model.biochemistry.molecules.Junction;
 import it.unibo.alchemist.model.geometry.Vector;
 import it.unibo.alchemist.model.positions.Euclidean2DPosition;
+import it.unibo.alchemist.util.ProgramTemplateCache;
 import org.antlr.v4.runtime.ANTLRErrorListener;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -75,6 +76,12 @@ import java.util.Objects;
  */
 public class BiochemicalReactionBuilder<P extends Position<P> & Vector<P>> {
 
+    /*
+     * Parse trees are never modified by visitors, hence they can be shared among all the reactions with the same text.
+     */
+    private static final ProgramTemplateCache<ParseTree> PARSE_TREES =
+        new ProgramTemplateCache<>("Biochemistry", BiochemicalReactionBuilder::parse);
+
     private final BiochemistryIncarnation incarnation;
     private final Node<Double> node;
     private final Environment<Double, P> environment;
@@ -106,15 +113,19 @@ public class BiochemicalReactionBuilder<P extends Position<P> & Vector<P>> {
      */
     public Reaction<Double> build() {
         checkReaction();
-        final BiochemistrydslLexer lexer = new BiochemistrydslLexer(CharStreams.fromString(reactionString));
-        final BiochemistrydslParser parser = new BiochemistrydslParser(new CommonTokenStream(lexer));
-        parser.removeErrorListeners();
-        parser.addErrorListener(new BiochemistryParseErrorListener(reactionString));
-        final ParseTree tree = parser.reaction();
+        final ParseTree tree = PARSE_TREES.get(reactionString);
         final BiochemistryDSLVisitor<P> eval = new BiochemistryDSLVisitor<>(rand, incarnation, time, node, environment);
         return Objects.requireNonNull(eval.visit(tree), "Unable to visit/parse " + reactionString);
     }
 
+    private static ParseTree parse(final String reaction) {
+        final BiochemistrydslLexer lexer = new BiochemistrydslLexer(CharStreams.fromString(reaction));
+        final BiochemistrydslParser parser = new BiochemistrydslParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(new BiochemistryParseErrorListener(reaction));
+        return parser.reaction();
+    }
+
     private void checkReaction() {
         if (rand == null) {
             throw new IllegalArgumentException("Random generator cannot be null");
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.biochemistry.reactions
+
+import it.unibo.alchemist.model.Action
+import it.unibo.alchemist.model.Actionable
+import it.unibo.alchemist.model.Condition
+import it.unibo.alchemist.model.Dependency
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.GlobalReaction
+import it.unibo.alchemist.model.Molecule
+import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.model.TimeDistribution
+import it.unibo.alchemist.model.biochemistry.layers.DiffusionLayer
+import it.unibo.alchemist.model.biochemistry.molecules.Biomolecule
+import it.unibo.alchemist.model.timedistributions.DiracComb
+import org.danilopianini.util.ImmutableListSet
+import org.danilopianini.util.ListSet
+
+/**
+ * A [GlobalReaction] advancing the [DiffusionLayer] of [molecule], at each execution,
+ * by the simulated time elapsed since the previous one (or since the simulation start).
+ * The reactions depending on the concentration of [molecule] are rescheduled after each update.
+ */
+class DiffusionUpdate(
+    /**
+     * The environment containing the layer.
+     */
+    val environment: Environment<Double, *>,
+    /**
+     * The molecule whose layer is updated.
+     */
+    val molecule: Molecule,
+    override val timeDistribution: TimeDistribution<Double> = DiracComb(DEFAULT_RATE),
+) : GlobalReaction<Double> {
+
+    constructor(
+        environment: Environment<Double, *>,
+        timeDistribution: TimeDistribution<Double>,
+        molecule: String,
+    ) : this(environment, Biomolecule(molecule), timeDistribution)
+
+    constructor(
+        environment: Environment<Double, *>,
+        molecule: String,
+        updateRate: Double,
+    ) : this(environment, Biomolecule(molecule), DiracComb(updateRate))
+
+    private val layer: DiffusionLayer<*> by lazy {
+        val layer = environment.getLayer(molecule)
+        require(layer is DiffusionLayer<*>) {
+            "${DiffusionUpdate::class.simpleName} requires a ${DiffusionLayer::class.simpleName} for $molecule, " +
+                "but found $layer"
+        }
+        layer
+    }
+
+    override val outboundDependencies: ListSet<out Dependency> = ListSet.of(molecule)
+        get() = ImmutableListSet.copyOf(field)
+
+    override val inboundDependencies: ListSet<out Dependency> = ListSet.of()
+        get() = ImmutableListSet.copyOf(field)
+
+    /*
+     * The time of the previous execution.
+     */
+    private var lastUpdate: Time = Time.ZERO
+
+    override var actions: List<Action<Double>> = listOf()
+
+    override var conditions: List<Condition<Double>> = listOf()
+
+    override fun compareTo(other: Actionable<Double>): Int = tau.compareTo(other.tau)
+
+    override fun canExecute(): Boolean = conditions.all { it.isValid }
+
+    override fun execute() {
+        val now = tau
+        layer.advance((now - lastUpdate).toDouble())
+        lastUpdate = now
+        timeDistribution.update(timeDistribution.nextOccurence, true, 1.0, environment)
+    }
+
+    override fun update(currentTime: Time, hasBeenExecuted: Boolean, environment: Environment<Double, *>) = Unit
+
+    override fun initializationComplete(atTime: Time, environment: Environment<Double, *>) {
+        lastUpdate = atTime
+    }
+
+    private companion object {
+        private const val serialVersionUID = 1L
+        private const val DEFAULT_RATE = 10.0
+    }
+}
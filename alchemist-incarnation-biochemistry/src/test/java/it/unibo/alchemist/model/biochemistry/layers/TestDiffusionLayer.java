@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.biochemistry.layers;
+
+import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Node;
+import it.unibo.alchemist.model.biochemistry.BiochemistryIncarnation;
+import it.unibo.alchemist.model.biochemistry.environments.BioRect2DEnvironment;
+import it.unibo.alchemist.model.biochemistry.molecules.Biomolecule;
+import it.unibo.alchemist.model.biochemistry.reactions.DiffusionUpdate;
+import it.unibo.alchemist.model.positions.Euclidean2DPosition;
+import it.unibo.alchemist.model.timedistributions.DiracComb;
+import it.unibo.alchemist.model.times.DoubleTime;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestDiffusionLayer {
+
+    private static final BiochemistryIncarnation INCARNATION = new BiochemistryIncarnation();
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * Without decay, diffusion spreads the concentration symmetrically and preserves its total.
+     */
+    @Test
+    void testDiffusionPreservesMass() {
+        final DiffusionLayer<Euclidean2DPosition> layer = new DiffusionLayer<>(0, 0, 200, 200, 1, 1, 0);
+        final int center = layer.cellIndex(100.5, 100.5);
+        layer.add(center, 1000);
+        layer.advance(10);
+        assertEquals(1000, layer.getTotal(), TOLERANCE);
+        assertTrue(layer.get(center) < 1000);
+        assertEquals(layer.get(layer.cellIndex(95.5, 100.5)), layer.get(layer.cellIndex(105.5, 100.5)), TOLERANCE);
+        assertEquals(layer.get(layer.cellIndex(100.5, 95.5)), layer.get(layer.cellIndex(100.5, 105.5)), TOLERANCE);
+        assertTrue(layer.get(layer.cellIndex(101.5, 100.5)) > layer.get(layer.cellIndex(110.5, 100.5)));
+    }
+
+    /**
+     * Decay reduces the total concentration exponentially.
+     */
+    @Test
+    void testDecay() {
+        final DiffusionLayer<Euclidean2DPosition> layer = new DiffusionLayer<>(0, 0, 10, 10, 0.5, 0.1, 0.2, 1);
+        final double initial = layer.getTotal();
+        layer.advance(3);
+        assertEquals(initial * FastMath.exp(-0.6), layer.getTotal(), 1e-6);
+    }
+
+    /**
+     * Cells are read and written in constant time, and never become negative.
+     */
+    @Test
+    void testCellAccess() {
+        final DiffusionLayer<Euclidean2DPosition> layer = new DiffusionLayer<>(-5, -5, 5, 5, 1, 1, 0);
+        assertEquals(10, layer.getColumns());
+        assertEquals(10, layer.getRows());
+        assertEquals(-1, layer.cellIndex(5.5, 0));
+        assertEquals(0d, layer.getValue(new Euclidean2DPosition(50, 50)));
+        final int cell = layer.cellIndex(new Euclidean2DPosition(0.2, -0.3));
+        assertEquals(3, layer.add(cell, 3), TOLERANCE);
+        assertEquals(3d, layer.getValue(new Euclidean2DPosition(0.9, -0.9)));
+        assertEquals(-3, layer.add(cell, -5), TOLERANCE);
+        assertEquals(0, layer.get(cell));
+    }
+
+    /**
+     * Amounts are converted to and from concentrations through the cell area.
+     */
+    @Test
+    void testAmountsOnSmallCells() {
+        final DiffusionLayer<Euclidean2DPosition> layer = new DiffusionLayer<>(0, 0, 10, 10, 0.5, 1, 0);
+        final int cell = layer.cellIndex(1.2, 3.4);
+        assertEquals(10, layer.add(cell, 10), TOLERANCE);
+        assertEquals(40, layer.get(cell), TOLERANCE);
+        assertEquals(10, layer.getAmount(cell), TOLERANCE);
+        assertEquals(10, layer.getTotal(), TOLERANCE);
+        assertEquals(-4, layer.add(cell, -4), TOLERANCE);
+        assertEquals(-6, layer.add(cell, -10), TOLERANCE);
+        assertEquals(0, layer.getTotal(), TOLERANCE);
+        layer.add(cell, 6);
+        layer.advance(1);
+        assertEquals(6, layer.getTotal(), TOLERANCE);
+    }
+
+    /**
+     * Updates advance the grid by the simulated time elapsed since the previous one.
+     */
+    @Test
+    void testUpdatesFollowTheElapsedTime() {
+        final Environment<Double, Euclidean2DPosition> environment = new BioRect2DEnvironment(INCARNATION);
+        final Biomolecule b = new Biomolecule("B");
+        final DiffusionLayer<Euclidean2DPosition> layer = new DiffusionLayer<>(0, 0, 10, 10, 1, 1, 0.5, 1);
+        final DiffusionLayer<Euclidean2DPosition> expected = new DiffusionLayer<>(0, 0, 10, 10, 1, 1, 0.5, 1);
+        environment.addLayer(b, layer);
+        final DiffusionUpdate update = new DiffusionUpdate(environment, b, new DiracComb<>(new DoubleTime(2), 4));
+        update.initializationComplete(new DoubleTime(1), environment);
+        update.execute();
+        expected.advance(1);
+        assertEquals(expected.getTotal(), layer.getTotal(), TOLERANCE);
+        update.execute();
+        expected.advance(0.25);
+        assertEquals(expected.getTotal(), layer.getTotal(), TOLERANCE);
+    }
+
+    /**
+     * Cells consume the molecule from the grid, and the grid is advanced by {@link DiffusionUpdate}.
+     */
+    @Test
+    void testCellsInteractWithTheGrid() {
+        final Environment<Double, Euclidean2DPosition> environment = new BioRect2DEnvironment(INCARNATION);
+        final Biomolecule b = new Biomolecule("B");
+        final DiffusionLayer<Euclidean2DPosition> layer = new DiffusionLayer<>(-10, -10, 10, 10, 1, 1, 0, 1);
+        environment.addLayer(b, layer);
+        final MersenneTwister rand = new MersenneTwister(0);
+        final Node<Double> cell = INCARNATION.createNode(rand, environment, null);
+        environment.addNode(cell, new Euclidean2DPosition(0.5, 0.5));
+        final var reaction = INCARNATION.createReaction(
+            rand, environment, cell,
+            INCARNATION.createTimeDistribution(rand, environment, cell, "1"),
+            "[B in env] --> [A]"
+        );
+        assertTrue(reaction.canExecute());
+        reaction.execute();
+        assertEquals(0, layer.getValue(new Euclidean2DPosition(0.5, 0.5)), TOLERANCE);
+        assertEquals(1, cell.getConcentration(new Biomolecule("A")), TOLERANCE);
+        assertFalse(reaction.canExecute());
+        final DiffusionUpdate update = new DiffusionUpdate(environment, b, new DiracComb<>(1d));
+        // the first update happens at time zero, when no time has elapsed yet
+        update.execute();
+        assertEquals(0, layer.getValue(new Euclidean2DPosition(0.5, 0.5)), TOLERANCE);
+        update.execute();
+        assertTrue(layer.getValue(new Euclidean2DPosition(0.5, 0.5)) > 0);
+        assertEquals(20 * 20 - 1, layer.getTotal(), TOLERANCE);
+    }
+}
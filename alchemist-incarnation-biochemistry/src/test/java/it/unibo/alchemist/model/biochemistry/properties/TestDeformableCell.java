@@ -144,6 +144,24 @@ class TestDeformableCell {
         );
     }
 
+    /**
+     * Testing if the maximum diameter is restored when the biggest cells are removed.
+     */
+    @Test
+    void testMaxDiameterAfterRemoval() {
+        final var deformableEnvironment = (EnvironmentSupportingDeformableCells<Euclidean2DPosition>) environment;
+        environment.addNode(cellNode1, CELL_POS2_1);
+        environment.addNode(cellNode2, CELL_POS2_2);
+        environment.addNode(cellNode3, CELL_POS2_3);
+        environment.addNode(cellNode4, CELL_POS2_4);
+        environment.removeNode(cellNode4);
+        assertEquals(2d, deformableEnvironment.getMaxDiameterAmongCircularDeformableCells(), PRECISION);
+        environment.removeNode(cellNode3);
+        assertEquals(1d, deformableEnvironment.getMaxDiameterAmongCircularDeformableCells(), PRECISION);
+        environment.removeNode(cellNode1);
+        assertEquals(1d, deformableEnvironment.getMaxDiameterAmongCircularDeformableCells(), PRECISION);
+    }
+
     /**
      * Testing {@link TensionPresent}.
      */
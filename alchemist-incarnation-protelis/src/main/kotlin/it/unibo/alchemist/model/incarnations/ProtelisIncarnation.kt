@@ -37,13 +37,12 @@ import it.unibo.alchemist.model.reactions.Event
 import it.unibo.alchemist.model.timedistributions.DiracComb
 import it.unibo.alchemist.model.timedistributions.ExponentialTime
 import it.unibo.alchemist.model.times.DoubleTime
+import it.unibo.alchemist.util.ProgramTemplateCache
 import java.io.Serial
 import java.lang.ref.WeakReference
-import java.util.Objects
-import java.util.Optional
-import java.util.concurrent.Semaphore
 import java.util.concurrent.TimeUnit
 import javax.annotation.Nonnull
+import org.apache.commons.lang3.SerializationUtils
 import org.apache.commons.math3.random.MersenneTwister
 import org.apache.commons.math3.random.RandomGenerator
 import org.protelis.lang.ProtelisLoader
@@ -51,6 +50,7 @@ import org.protelis.lang.datatype.DeviceUID
 import org.protelis.vm.CodePath
 import org.protelis.vm.ExecutionEnvironment
 import org.protelis.vm.NetworkManager
+import org.protelis.vm.ProtelisProgram
 import org.protelis.vm.ProtelisVM
 import org.protelis.vm.impl.AbstractExecutionContext
 import org.protelis.vm.impl.SimpleExecutionEnvironment
@@ -61,13 +61,14 @@ import org.slf4j.LoggerFactory
  * @param <P> position type
 </P> */
 class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
-    private val cache: LoadingCache<CacheKey, SynchronizedVM> =
+    private val cache: LoadingCache<CacheKey, PropertyEvaluator> =
         CacheBuilder
             .newBuilder()
             .expireAfterAccess(10, TimeUnit.MINUTES)
             .build(
-                object : CacheLoader<CacheKey, SynchronizedVM>() {
-                    override fun load(@Nonnull key: CacheKey): SynchronizedVM = SynchronizedVM(requireNotNull(key))
+                object : CacheLoader<CacheKey, PropertyEvaluator>() {
+                    override fun load(@Nonnull key: CacheKey): PropertyEvaluator =
+                        PropertyEvaluator(key.molecule, key.property)
                 },
             )
 
@@ -119,7 +120,7 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
 
     override fun createConcentration(descriptor: Any?): Any? = try {
         descriptor?.toString()?.let { program ->
-            SynchronizedVM(CacheKey(NoNode, createMolecule(program), program)).runCycle()
+            PropertyEvaluator(createMolecule(program), program).evaluate(NoNode)
         } ?: descriptor
     } catch (e: IllegalArgumentException) {
         LOGGER.warn("Invalid Protelis program injected as concentration:\n{}", descriptor, e)
@@ -228,8 +229,8 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
     override fun getProperty(node: Node<Any>, molecule: Molecule, property: String?): Double =
         @Suppress("TooGenericExceptionCaught")
         try {
-            val vm = cache.get(CacheKey(requireNotNull(node), requireNotNull(molecule), property.orEmpty()))
-            when (val result = vm.runCycle()) {
+            val evaluator = cache.get(CacheKey(requireNotNull(molecule), property.orEmpty()))
+            when (val result = evaluator.evaluate(requireNotNull(node))) {
                 is Number -> result.toDouble()
                 is String -> result.toDoubleOrNull() ?: if (result == property) 1.0 else 0.0
                 is Boolean -> if (result) 1.0 else 0.0
@@ -242,27 +243,11 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
 
     override fun toString(): String = this::class.simpleName ?: this::class.java.simpleName
 
-    private class CacheKey(node: Node<Any>, val molecule: Molecule, val property: String) {
-        private val nodeRef = WeakReference(node)
-        private val hash = Objects.hash(molecule, property, node)
+    private data class CacheKey(val molecule: Molecule, val property: String)
 
-        val node: Node<Any>
-            get() =
-                checkNotNull(nodeRef.get()) {
-                    "Memory management issue: a Protelis node has been garbage-collected while still in use."
-                }
-
-        override fun equals(other: Any?) = other is CacheKey &&
-            other.nodeRef.get() === nodeRef.get() &&
-            other.molecule == molecule &&
-            other.property == property
-
-        override fun hashCode(): Int = hash
-    }
-
-    private class DummyContext(private val node: Node<Any>) :
+    private class DummyContext(private val node: WeakReference<Node<Any>>) :
         AbstractExecutionContext<DummyContext?>(
-            ProtectedExecutionEnvironment(node),
+            ProtectedExecutionEnvironment { node.getOrFail() },
             object : NetworkManager {
                 override fun getNeighborState(): Map<DeviceUID, Map<CodePath, Any>> = emptyMap()
 
@@ -271,18 +256,15 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
         ) {
         override fun getCurrentTime(): Number = 0
 
-        override fun getDeviceUID(): DeviceUID = node.asPropertyOrNull<Any, ProtelisDevice<*>>() ?: NO_NODE_ID
+        override fun getDeviceUID(): DeviceUID =
+            node.getOrFail().asPropertyOrNull<Any, ProtelisDevice<*>>() ?: NO_NODE_ID
 
         override fun instance(): DummyContext = this
 
-        override fun nextRandomDouble(): Double = MUTEX.run {
-            acquireUninterruptibly()
-            RNG.nextDouble().also { release() }
-        }
+        override fun nextRandomDouble(): Double = RNG.get().nextDouble()
 
         companion object {
-            private val MUTEX = Semaphore(1)
-            private val RNG = MersenneTwister(-241837578)
+            private val RNG: ThreadLocal<RandomGenerator> = ThreadLocal.withInitial { MersenneTwister(-241837578) }
             private val NO_NODE_ID =
                 object : DeviceUID {
                     override fun toString() =
@@ -296,9 +278,17 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
      * Node, but cannot modify it. This is used to prevent badly written
      * properties from interacting with the simulation flow.
      *
-     * @param node the [Node]
+     * @param nodeProvider provides the [Node]
      */
-    class ProtectedExecutionEnvironment(private val node: Node<*>) : ExecutionEnvironment {
+    class ProtectedExecutionEnvironment internal constructor(private val nodeProvider: () -> Node<*>) :
+        ExecutionEnvironment {
+        /**
+         * @param node the [Node]
+         */
+        constructor(node: Node<*>) : this({ node })
+
+        private val node: Node<*> get() = nodeProvider()
+
         private val shadow: ExecutionEnvironment = SimpleExecutionEnvironment()
 
         override fun commit() = Unit
@@ -320,36 +310,51 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
             .toSet() + shadow.keySet()
     }
 
-    private class SynchronizedVM(val key: CacheKey) {
-        val mutex = Semaphore(1)
-        val vm: Optional<ProtelisVM> =
-            key.property
-                .takeIf { it.isNotBlank() }
-                ?.let {
-                    @Suppress("TooGenericExceptionCaught")
-                    try {
-                        val baseProgram = "env.get(\"${key.molecule.name}\")"
-                        ProtelisVM(ProtelisLoader.parse(it.replace(VALUE_TOKEN, baseProgram)), DummyContext(key.node))
-                    } catch (ex: RuntimeException) {
-                        LOGGER.warn("Program ignored as invalid: \n{}", key.property)
-                        LOGGER.debug("Debug information", ex)
-                        null
-                    }
-                }.let { Optional.ofNullable(it) }
-
-        fun runCycle(): Any {
-            val node = checkNotNull(key.node) { "The node should never be null" }
-            vm.orElse(null)?.let {
-                mutex.acquireUninterruptibly()
-                return try {
-                    it.runCycle()
-                    it.currentValue
-                } finally {
-                    mutex.release()
+    /**
+     * Evaluates [property] on the [molecule] of any node.
+     * Evaluators are shared by all the nodes: the program is parsed once, and each thread runs its own copy of it
+     * (programs store their last result, hence they cannot be shared among threads).
+     * The state of the program on each node (e.g., the value of `rep`) lives in a [DummyContext], which is kept
+     * across evaluations, so stateful constructs evolve from a sample to the next as they would on the node.
+     * Contexts only hold such state, reference their node weakly, and are discarded along with it.
+     * Different nodes can be evaluated concurrently, evaluations on the same node are serialized on its context.
+     */
+    private class PropertyEvaluator(private val molecule: Molecule, private val property: String) {
+        private val source: String? =
+            property.takeIf { it.isNotBlank() }?.replace(VALUE_TOKEN, "env.get(\"${molecule.name}\")")
+
+        private val programs: ThreadLocal<ProtelisProgram>? =
+            source?.let {
+                @Suppress("TooGenericExceptionCaught")
+                try {
+                    val program = parseProgram(it)
+                    ThreadLocal.withInitial { parseProgram(it) }.apply { set(program) }
+                } catch (ex: RuntimeException) {
+                    LOGGER.warn("Program ignored as invalid: \n{}", property)
+                    LOGGER.debug("Debug information", ex)
+                    null
                 }
             }
-            return if (node is NoNode) key.property else node.getConcentration(key.molecule)
-        }
+
+        private val contexts: LoadingCache<Node<Any>, DummyContext> =
+            CacheBuilder
+                .newBuilder()
+                .weakKeys()
+                .build(
+                    object : CacheLoader<Node<Any>, DummyContext>() {
+                        override fun load(@Nonnull key: Node<Any>): DummyContext = DummyContext(WeakReference(key))
+                    },
+                )
+
+        fun evaluate(node: Node<Any>): Any = programs?.get()?.let { program ->
+            val context = contexts.get(node)
+            synchronized(context) {
+                ProtelisVM(program, context).run {
+                    runCycle()
+                    currentValue
+                }
+            }
+        } ?: if (node is NoNode) property else node.getConcentration(molecule)
     }
 
     private data object NoNode : Node<Any> {
@@ -413,8 +418,26 @@ class ProtelisIncarnation<P : Position<P>> : Incarnation<Any, P> {
          */
         val INSTANCE: ProtelisIncarnation<*> = ProtelisIncarnation()
 
+        /*
+         * Parsed programs, in serialized form: programs store their current value,
+         * hence they cannot be shared, and each user deserializes its own copy.
+         */
+        private val programTemplates: ProgramTemplateCache<ByteArray> =
+            ProgramTemplateCache("Protelis") { SerializationUtils.serialize(ProtelisLoader.parse(it)) }
+
+        /**
+         * Parses [program] into a new [ProtelisProgram], which is not shared with any other caller.
+         * Each distinct program text is parsed once: further requests get a copy of the parsed program.
+         */
+        @JvmStatic
+        fun parseProgram(program: String): ProtelisProgram = SerializationUtils.deserialize(programTemplates[program])
+
         private val LOGGER: Logger = LoggerFactory.getLogger(ProtelisIncarnation::class.java)
 
+        private fun <N> WeakReference<N>.getOrFail(): N = checkNotNull(get()) {
+            "Memory management issue: a Protelis node has been garbage-collected while still in use."
+        }
+
         @Nonnull
         private fun getIncomplete(
             protelisNode: Node<*>,
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2025, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -17,15 +17,16 @@ import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Node.Companion.asProperty
 import it.unibo.alchemist.model.Position
 import it.unibo.alchemist.model.Reaction
+import it.unibo.alchemist.model.incarnations.ProtelisIncarnation
 import it.unibo.alchemist.model.molecules.SimpleMolecule
 import it.unibo.alchemist.model.protelis.AlchemistExecutionContext
 import it.unibo.alchemist.model.protelis.properties.ProtelisDevice
 import it.unibo.alchemist.util.RealDistributions
 import java.io.ObjectInputStream
+import org.apache.commons.lang3.SerializationUtils
 import org.apache.commons.math3.distribution.RealDistribution
 import org.apache.commons.math3.random.RandomGenerator
 import org.danilopianini.util.ImmutableListSet
-import org.protelis.lang.ProtelisLoader
 import org.protelis.vm.ProtelisProgram
 import org.protelis.vm.ProtelisVM
 
@@ -37,6 +38,8 @@ import org.protelis.vm.ProtelisVM
  *
  * The program can be created using a String ([originalProgram]), or, alternatively,
  * by providing a [ProtelisProgram] ([program]).
+ * Programs created from the same String are parsed once (see [ProtelisIncarnation.parseProgram]),
+ * but each action, including cloned ones, runs its own copy of the program.
  *
  * [retentionTime] specifies whether, upon message usage, the received messages should be deleted
  * (assuming a reasonable synchronization among devices) or if they should remain in memory for a specified amount
@@ -114,7 +117,7 @@ class RunProtelisProgram<P : Position<P>> private constructor(
         device,
         reaction,
         originalProgram = program,
-        program = ProtelisLoader.parse(program),
+        program = ProtelisIncarnation.parseProgram(program),
         retentionTime = retentionTime,
         packetLossDistance = null,
     )
@@ -136,7 +139,7 @@ class RunProtelisProgram<P : Position<P>> private constructor(
         reaction,
         originalProgram = program,
         retentionTime = retentionTime,
-        program = ProtelisLoader.parse(program),
+        program = ProtelisIncarnation.parseProgram(program),
         packetLossDistance =
         RealDistributions.makeRealDistribution(
             randomGenerator,
@@ -189,7 +192,7 @@ class RunProtelisProgram<P : Position<P>> private constructor(
         node.asProperty(),
         reaction,
         originalProgram = originalProgram,
-        program = program,
+        program = SerializationUtils.clone(program),
         retentionTime = retentionTime,
         packetLossDistance = packetLossDistance,
     )
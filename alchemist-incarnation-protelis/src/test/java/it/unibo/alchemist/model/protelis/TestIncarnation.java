@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -12,6 +12,7 @@ package it.unibo.alchemist.model.protelis;
 import it.unibo.alchemist.model.Action;
 import it.unibo.alchemist.model.Condition;
 import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Molecule;
 import it.unibo.alchemist.model.Node;
 import it.unibo.alchemist.model.Reaction;
 import it.unibo.alchemist.model.TimeDistribution;
@@ -27,10 +28,14 @@ import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -110,6 +115,30 @@ class TestIncarnation {
         assertInstanceOf(SendToNeighbor.class, prog);
     }
 
+    /**
+     * Verifies that actions running the same program text do not share the program, which stores its current value.
+     */
+    @Test
+    void testProgramsAreNotShared() {
+        final RandomGenerator rng = new MersenneTwister(0);
+        final Environment<Object, Euclidean2DPosition> environment = new Continuous2DEnvironment<>(INCARNATION);
+        final TimeDistribution<Object> time = INCARNATION.createTimeDistribution(rng, environment, null, "1");
+        final List<RunProtelisProgram<?>> actions = IntStream.range(0, 2)
+            .mapToObj(i -> {
+                final Node<Object> node = INCARNATION.createNode(rng, environment, null);
+                final Reaction<Object> reaction = INCARNATION.createReaction(rng, environment, node, time, "1 + 1");
+                return (RunProtelisProgram<?>) reaction.getActions().get(0);
+            })
+            .toList();
+        assertNotSame(actions.get(0).getProgram(), actions.get(1).getProgram());
+        assertEquals(actions.get(0).getProgram().getName(), actions.get(1).getProgram().getName());
+        final RunProtelisProgram<?> clone = actions.get(0).cloneAction(
+            INCARNATION.createNode(rng, environment, null),
+            actions.get(0).getReaction()
+        );
+        assertNotSame(actions.get(0).getProgram(), clone.getProgram());
+    }
+
     /**
      * Verifies that the incarnation can properly init new concentrations.
      */
@@ -120,4 +149,65 @@ class TestIncarnation {
         assertEquals("foo", INCARNATION.createConcentration("let a = \"foo\"; a"));
     }
 
+    /**
+     * Verifies that properties are evaluated consistently on many nodes, even concurrently.
+     */
+    @Test
+    void testGetProperty() {
+        final RandomGenerator rng = new MersenneTwister(0);
+        final Environment<Object, Euclidean2DPosition> environment = new Continuous2DEnvironment<>(INCARNATION);
+        final Molecule data = INCARNATION.createMolecule("data");
+        final List<Node<Object>> nodes = IntStream.range(0, 100)
+            .mapToObj(i -> {
+                final Node<Object> node = INCARNATION.createNode(rng, environment, null);
+                node.setConcentration(data, (double) i);
+                return node;
+            })
+            .toList();
+        final String property = ProtelisIncarnation.VALUE_TOKEN + " * 2";
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            final int index = i % nodes.size();
+            assertEquals(2.0 * index, INCARNATION.getProperty(nodes.get(index), data, property), 0.0);
+        });
+        assertEquals(42.0, INCARNATION.getProperty(nodes.get(42), data, ""), 0.0);
+        assertEquals(7.0, INCARNATION.getProperty(nodes.get(7), data, "this is not protelis ("), 0.0);
+    }
+
+    /**
+     * Verifies that stateful properties evolve across evaluations, independently on each node.
+     */
+    @Test
+    void testGetPropertyKeepsState() {
+        final RandomGenerator rng = new MersenneTwister(0);
+        final Environment<Object, Euclidean2DPosition> environment = new Continuous2DEnvironment<>(INCARNATION);
+        final Molecule data = INCARNATION.createMolecule("data");
+        final Node<Object> first = INCARNATION.createNode(rng, environment, null);
+        final Node<Object> second = INCARNATION.createNode(rng, environment, null);
+        final String counter = "rep (x <- 0) { x + 1 }";
+        for (int sample = 1; sample <= 3; sample++) {
+            assertEquals(sample, INCARNATION.getProperty(first, data, counter), 0.0);
+        }
+        assertEquals(1.0, INCARNATION.getProperty(second, data, counter), 0.0);
+        assertEquals(4.0, INCARNATION.getProperty(first, data, counter), 0.0);
+    }
+
+    /**
+     * Verifies that the state of each node is preserved when its properties are evaluated by different threads.
+     */
+    @Test
+    void testGetPropertyKeepsStateConcurrently() {
+        final RandomGenerator rng = new MersenneTwister(0);
+        final Environment<Object, Euclidean2DPosition> environment = new Continuous2DEnvironment<>(INCARNATION);
+        final Molecule data = INCARNATION.createMolecule("data");
+        final List<Node<Object>> nodes = IntStream.range(0, 100)
+            .mapToObj(i -> INCARNATION.createNode(rng, environment, null))
+            .toList();
+        final String counter = "rep (x <- 0) { x + 1 }";
+        IntStream.range(0, 1000).parallel()
+            .forEach(i -> INCARNATION.getProperty(nodes.get(i % nodes.size()), data, counter));
+        for (final Node<Object> node : nodes) {
+            assertEquals(11.0, INCARNATION.getProperty(node, data, counter), 0.0);
+        }
+    }
+
 }
@@ -34,11 +34,13 @@ import it.unibo.alchemist.model.sapere.nodes.LsaNode;
 import it.unibo.alchemist.model.sapere.reactions.SAPEREReaction;
 import it.unibo.alchemist.model.sapere.timedistributions.SAPEREExponentialTime;
 import it.unibo.alchemist.model.times.DoubleTime;
+import it.unibo.alchemist.util.ProgramTemplateCache;
 import org.apache.commons.math3.random.RandomGenerator;
 
 import javax.annotation.Nullable;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -65,9 +67,18 @@ public final class SAPEREIncarnation<P extends Position<? extends P>>
     private static final Pattern CONDITIONS_SEQUENCE;
     private static final Pattern ACTIONS_SEQUENCE;
     private static final String REACTION_REGEX;
-    private int saperePropertyNumber = -1;
-    private Molecule molCache;
-    private String propCache;
+    /*
+     * LSA molecules are immutable, and copying them is much faster than parsing.
+     */
+    private static final ProgramTemplateCache<LsaMolecule> MOLECULES =
+        new ProgramTemplateCache<>("SAPERE molecules", LsaMolecule::new);
+    private static final ProgramTemplateCache<ReactionTemplate> REACTIONS =
+        new ProgramTemplateCache<>("SAPERE reactions", SAPEREIncarnation::parseReaction);
+    /*
+     * The position of the latest requested property among the arguments of its molecule. It is immutable and
+     * published atomically, as properties may be read by multiple threads at once (e.g., by parallel exporters).
+     */
+    private volatile PropertyPosition lastProperty;
 
     static {
         final String matchStart = "(?:\\s*(?<";
@@ -91,50 +102,48 @@ public final class SAPEREIncarnation<P extends Position<? extends P>>
     )
     @Override
     public double getProperty(final Node<List<ILsaMolecule>> node, final Molecule molecule, final String property) {
-        if (molecule instanceof ILsaMolecule && node instanceof ILsaNode && node.contains(molecule)) {
-            boolean cacheUpdated = false;
-            if (!molecule.equals(molCache) || property != propCache) { // NOPMD: reference comparison is intentional
-                molCache = molecule;
-                propCache = property;
-                cacheUpdated = true;
+        if (molecule instanceof final ILsaMolecule lsaMolecule && node instanceof final ILsaNode lsaNode
+                && node.contains(molecule)) {
+            PropertyPosition position = lastProperty;
+            if (position == null
+                    || !molecule.equals(position.molecule())
+                    || property != position.property()) { // NOPMD: reference comparison is intentional
+                position = new PropertyPosition(molecule, property, saperePropertyNumber(lsaMolecule, property));
+                lastProperty = position;
             }
-            return sapereProperty((ILsaNode) node, (ILsaMolecule) molecule, property, cacheUpdated);
+            return sapereProperty(lsaNode, lsaMolecule, position.index());
         }
         return Double.NaN;
     }
 
-    private double sapereProperty(
-            final ILsaNode node,
-            final ILsaMolecule molecule,
-            final String prop,
-            final boolean cacheUpdated
-    ) {
-        if (cacheUpdated) {
-            saperePropertyNumber = -1;
-            for (int i = 0; i < molecule.argsNumber() && saperePropertyNumber == -1; i++) {
-                final IExpression arg = molecule.getArg(i);
-                switch (arg.getRootNodeType()) {
-                case COMPARATOR:
-                    if (arg.getLeftChildren().toString().equals(prop)) {
-                        saperePropertyNumber = i;
-                    }
-                    break;
-                case VAR:
-                    if (arg.getRootNode().toString().equals(prop)) {
-                        saperePropertyNumber = i;
-                    }
-                    break;
-                default: break;
+    private static int saperePropertyNumber(final ILsaMolecule molecule, final String prop) {
+        for (int i = 0; i < molecule.argsNumber(); i++) {
+            final IExpression arg = molecule.getArg(i);
+            switch (arg.getRootNodeType()) {
+            case COMPARATOR:
+                if (arg.getLeftChildren().toString().equals(prop)) {
+                    return i;
+                }
+                break;
+            case VAR:
+                if (arg.getRootNode().toString().equals(prop)) {
+                    return i;
                 }
+                break;
+            default: break;
             }
         }
-        if (saperePropertyNumber >= 0) {
+        return -1;
+    }
+
+    private static double sapereProperty(final ILsaNode node, final ILsaMolecule molecule, final int propertyNumber) {
+        if (propertyNumber >= 0) {
             final List<ILsaMolecule> concentration = node.getConcentration(molecule);
             /*
              * Potential concurrency issue: a size check is mandatory
              */
             if (!concentration.isEmpty()) {
-                final IExpression arg = concentration.get(0).getArg(saperePropertyNumber);
+                final IExpression arg = concentration.get(0).getArg(propertyNumber);
                 if (arg.getRootNodeType().equals(Type.NUM)) {
                     return (double) arg.getRootNodeData();
                 }
@@ -149,7 +158,7 @@ public final class SAPEREIncarnation<P extends Position<? extends P>>
             return null;
         }
         final String param = s.trim().startsWith("{") && s.endsWith("}") ? s.substring(1, s.length() - 1) : s;
-        return new LsaMolecule(param);
+        return new LsaMolecule(MOLECULES.get(param));
     }
 
     @Override
@@ -199,46 +208,56 @@ public final class SAPEREIncarnation<P extends Position<? extends P>>
             final @Nullable Object parameter) {
         final SAPEREReaction result = new SAPEREReaction(environment, (LsaNode) node, randomGenerator, timeDistribution);
         if (parameter != null && !parameter.toString().isEmpty()) {
-            final Matcher rMatcher = MATCH_REACTION.matcher(parameter.toString());
-            if (rMatcher.matches()) {
-                final List<Condition<List<ILsaMolecule>>> conditions = new LinkedList<>();
-                final String conditionsSpec = rMatcher.group(CONDITIONS_GROUP);
-                if (CONDITIONS_SEQUENCE.matcher(conditionsSpec).matches()) {
-                    final Matcher condMatcher = MATCH_CONDITION.matcher(conditionsSpec);
-                    while (condMatcher.find()) {
-                        final String condition = condMatcher.group(CONDITION_GROUP);
-                        conditions.add(createCondition(randomGenerator, environment, node, result, condition));
-                    }
-                } else {
-                    illegalSpec(
-                            "not a sequence of valid conditions"
-                                    + "(curly bracket enclosed LSAs, with optional '+' prefix)",
-                            conditionsSpec
-                    );
-                }
-                final List<Action<List<ILsaMolecule>>> actions = new LinkedList<>();
-                final String actionsSpec = rMatcher.group(ACTIONS_GROUP);
-                if (ACTIONS_SEQUENCE.matcher(actionsSpec).matches()) {
-                    final Matcher actMatcher = MATCH_ACTION.matcher(actionsSpec);
-                    while (actMatcher.find()) {
-                        final String action = actMatcher.group(ACTION_GROUP);
-                        actions.add(createAction(randomGenerator, environment, node, result, action));
-                    }
-                } else {
-                    illegalSpec("not a sequence of valid conditions"
-                                    + "(curly bracket enclosed LSAs, with optional '+' prefix)",
-                            conditionsSpec
-                    );
-                }
-                result.setConditions(conditions);
-                result.setActions(actions);
-            } else {
-                illegalSpec("must match regex " + REACTION_REGEX, parameter.toString());
+            final ReactionTemplate template = REACTIONS.get(parameter.toString());
+            final List<Condition<List<ILsaMolecule>>> conditions = new LinkedList<>();
+            for (final String condition : template.conditions()) {
+                conditions.add(createCondition(randomGenerator, environment, node, result, condition));
+            }
+            final List<Action<List<ILsaMolecule>>> actions = new LinkedList<>();
+            for (final String action : template.actions()) {
+                actions.add(createAction(randomGenerator, environment, node, result, action));
             }
+            result.setConditions(conditions);
+            result.setActions(actions);
         }
         return result;
     }
 
+    private static ReactionTemplate parseReaction(final String specification) {
+        final Matcher rMatcher = MATCH_REACTION.matcher(specification);
+        if (!rMatcher.matches()) {
+            illegalSpec("must match regex " + REACTION_REGEX, specification);
+        }
+        final List<String> conditions = new ArrayList<>();
+        final String conditionsSpec = rMatcher.group(CONDITIONS_GROUP);
+        if (CONDITIONS_SEQUENCE.matcher(conditionsSpec).matches()) {
+            final Matcher condMatcher = MATCH_CONDITION.matcher(conditionsSpec);
+            while (condMatcher.find()) {
+                conditions.add(condMatcher.group(CONDITION_GROUP));
+            }
+        } else {
+            illegalSpec(
+                    "not a sequence of valid conditions"
+                            + "(curly bracket enclosed LSAs, with optional '+' prefix)",
+                    conditionsSpec
+            );
+        }
+        final List<String> actions = new ArrayList<>();
+        final String actionsSpec = rMatcher.group(ACTIONS_GROUP);
+        if (ACTIONS_SEQUENCE.matcher(actionsSpec).matches()) {
+            final Matcher actMatcher = MATCH_ACTION.matcher(actionsSpec);
+            while (actMatcher.find()) {
+                actions.add(actMatcher.group(ACTION_GROUP));
+            }
+        } else {
+            illegalSpec("not a sequence of valid conditions"
+                            + "(curly bracket enclosed LSAs, with optional '+' prefix)",
+                    conditionsSpec
+            );
+        }
+        return new ReactionTemplate(List.copyOf(conditions), List.copyOf(actions));
+    }
+
     private static void illegalSpec(final String reason, final String origin) {
         throw new IllegalArgumentException("This is not a valid SAPERE reaction: " + reason
                 + ". Problematic specification part: " + origin);
@@ -309,4 +328,21 @@ public final class SAPEREIncarnation<P extends Position<? extends P>>
     public List<ILsaMolecule> createConcentration() {
         return Collections.emptyList();
     }
+
+    /**
+     * A parsed reaction specification: the textual specifications of its conditions and actions.
+     *
+     * @param conditions the condition specifications
+     * @param actions the action specifications
+     */
+    private record ReactionTemplate(List<String> conditions, List<String> actions) { }
+
+    /**
+     * The position of a property among the arguments of a molecule.
+     *
+     * @param molecule the molecule
+     * @param property the property
+     * @param index the argument matching the property, or -1 if none does
+     */
+    private record PropertyPosition(Molecule molecule, String property, int index) { }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -176,4 +177,24 @@ final class TestIncarnation {
         testNoR("--->");
     }
 
+    /**
+     * Test that properties can be read concurrently, as done by parallel exporters.
+     */
+    @Test
+    void testGetPropertyConcurrently() {
+        node.setConcentration(incarnation.createMolecule("gradient, 3"));
+        node.setConcentration(incarnation.createMolecule("pair, 1, 5"));
+        final ILsaMolecule gradient = incarnation.createMolecule("gradient, D");
+        final ILsaMolecule pair = incarnation.createMolecule("pair, A, B");
+        assertEquals(3, incarnation.getProperty(node, gradient, "D"));
+        assertEquals(5, incarnation.getProperty(node, pair, "B"));
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            switch (i % 3) {
+            case 0 -> assertEquals(3, incarnation.getProperty(node, gradient, "D"));
+            case 1 -> assertEquals(1, incarnation.getProperty(node, pair, "A"));
+            default -> assertEquals(5, incarnation.getProperty(node, pair, "B"));
+            }
+        });
+    }
+
 }
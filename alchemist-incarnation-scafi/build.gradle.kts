@@ -19,6 +19,7 @@ import Libs.alchemist
 plugins {
     `java-library`
     scala
+    alias(libs.plugins.jmh)
     alias(libs.plugins.scalafmt)
 }
 
@@ -39,6 +40,8 @@ dependencies {
     testImplementation(alchemist("engine"))
     testImplementation(alchemist("loading"))
     testImplementation(libs.bundles.scalatest)
+
+    jmhImplementation(alchemist("euclidean-geometry"))
 }
 
 publishing.publications {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.scafi.benchmarks;
+
+import it.unibo.alchemist.model.Molecule;
+import it.unibo.alchemist.model.Node;
+import it.unibo.alchemist.model.environments.Continuous2DEnvironment;
+import it.unibo.alchemist.model.incarnations.ScafiIncarnation;
+import it.unibo.alchemist.model.incarnations.ScafiIncarnationUtils;
+import it.unibo.alchemist.model.positions.Euclidean2DPosition;
+import it.unibo.alchemist.scala.ScalaInterpreter;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of exporting a property of a ScaFi molecule for a single node,
+ * comparing compiled properties with the interpretation of the property source for every sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyExportBenchmark {
+
+    /**
+     * The property to export.
+     */
+    @Param({ "value * 2", "math.sqrt(value) + value / 3" })
+    public String property;
+
+    private ScafiIncarnation<Object, Euclidean2DPosition> incarnation;
+    private Node<Object> node;
+    private Molecule molecule;
+
+    /**
+     * Creates a ScaFi node hosting a numeric molecule.
+     */
+    @Setup
+    public void setUp() {
+        incarnation = new ScafiIncarnation<>();
+        node = incarnation.createNode(new MersenneTwister(0), new Continuous2DEnvironment<>(incarnation), null);
+        molecule = incarnation.createMolecule("data");
+        node.setConcentration(molecule, 42.0);
+    }
+
+    /**
+     * @return the property, evaluated through the incarnation
+     */
+    @Benchmark
+    public double compiled() {
+        return incarnation.getProperty(node, molecule, property);
+    }
+
+    /**
+     * @return the property, evaluated by interpreting its source with the value inlined
+     */
+    @Benchmark
+    public double interpreted() {
+        return ScafiIncarnationUtils.toDouble(
+            ScalaInterpreter.apply("val value = " + node.getConcentration(molecule) + ";" + property)
+        );
+    }
+}
@@ -27,23 +27,11 @@ import scala.jdk.CollectionConverters._
 
 sealed class ScafiIncarnation[T, P <: Position[P]] extends Incarnation[T, P] {
 
-  import ScafiIncarnationUtils.runInScafiDeviceContext
+  import ScafiIncarnationUtils.{runInScafiDeviceContext, toDouble}
 
   private[this] def notNull[V](value: V, name: String = "Object"): V =
     Objects.requireNonNull(value, s"$name must not be null")
 
-  private[this] def toDouble(value: Any): Double = value match {
-    case x: Double => x
-    case x: Int => x
-    case x: String => java.lang.Double.parseDouble(x)
-    case x: Boolean => if (x) 1 else 0
-    case x: Long => x.toDouble
-    case x: Float => x
-    case x: Byte => x
-    case x: Short => x
-    case _ => Double.NaN
-  }
-
   override def createAction(
       randomGenerator: RandomGenerator,
       environment: Environment[T, P],
@@ -198,12 +186,24 @@ sealed class ScafiIncarnation[T, P <: Position[P]] extends Incarnation[T, P] {
     if (propertyName == null || propertyName.trim.isEmpty) {
       toDouble(target)
     } else {
-      toDouble(ScalaInterpreter("val value = " + target + ";" + propertyName))
+      CompiledProperty(propertyName, target)
     }
   }
 }
 
 object ScafiIncarnationUtils {
+  def toDouble(value: Any): Double = value match {
+    case x: Double => x
+    case x: Int => x
+    case x: String => java.lang.Double.parseDouble(x)
+    case x: Boolean => if (x) 1 else 0
+    case x: Long => x.toDouble
+    case x: Float => x
+    case x: Byte => x
+    case x: Short => x
+    case _ => Double.NaN
+  }
+
   def runInScafiDeviceContext[T, A](node: Node[T], message: String, body: ScafiDevice[T] => A): A = {
     if (!isScafiNode(node)) {
       throw new IllegalArgumentException(message)
@@ -254,3 +254,75 @@ object CachedInterpreter {
       ScalaInterpreter(code)
     }
 }
+
+object CompiledProperty {
+
+  import com.google.common.cache.{CacheBuilder, CacheLoader, CacheStats, LoadingCache}
+
+  import java.lang.reflect.Modifier
+
+  private val compiled: LoadingCache[(String, String), Option[Any => Double]] = CacheBuilder
+    .newBuilder()
+    .maximumSize(1000L)
+    .recordStats()
+    .build(new CacheLoader[(String, String), Option[Any => Double]] {
+      override def load(key: (String, String)): Option[Any => Double] = compile(key._1, key._2)
+    })
+
+  /**
+   * Evaluates property on value, binding the latter to the name "value". Each property is compiled once per static
+   * type of the values it is applied to, into a function over Any that casts its input to such type. Types are
+   * derived from the runtime values, including the types of the elements of tuples.
+   * Strings, nulls, and values whose property cannot be compiled (e.g., because it relies on the type parameters of
+   * generic values) have their source inlined in the property, as in: "val value = <value>; <property>", so that,
+   * e.g., the string "3.0" is read as a number. The results of inlined properties are cached.
+   */
+  def apply(property: String, value: Any): Double =
+    Option(value)
+      .filterNot(_.isInstanceOf[String])
+      .flatMap(staticTypeOf)
+      .flatMap(valueType => compiled.get((property, valueType)))
+      .map(_(value))
+      .getOrElse(ScafiIncarnationUtils.toDouble(CachedInterpreter[AnyRef]("val value = " + value + ";" + property)))
+
+  /** Statistics of the cache of compiled properties. */
+  def stats: CacheStats = compiled.stats()
+
+  private def compile(property: String, valueType: String): Option[Any => Double] =
+    try {
+      val function = ScalaInterpreter[Any => Any](
+        s"(input: Any) => { val value = input.asInstanceOf[$valueType]; $property }"
+      )
+      Some(function.andThen(ScafiIncarnationUtils.toDouble))
+    } catch {
+      case _: scala.tools.reflect.ToolBoxError => None
+    }
+
+  private def staticTypeOf(value: Any): Option[String] = value match {
+    case null => None
+    case tuple: Product if tuple.getClass.getName.startsWith("scala.Tuple") =>
+      val elements = tuple.productIterator.map(staticTypeOf).toList
+      if (elements.forall(_.isDefined)) {
+        Some(elements.flatten.mkString(s"_root_.scala.Tuple${tuple.productArity}[", ", ", "]"))
+      } else {
+        None
+      }
+    case _ => scalaTypeOf(value.getClass)
+  }
+
+  private def scalaTypeOf(valueClass: Class[_]): Option[String] = valueClass match {
+    case c if c == classOf[java.lang.Double] => Some("Double")
+    case c if c == classOf[java.lang.Integer] => Some("Int")
+    case c if c == classOf[java.lang.Long] => Some("Long")
+    case c if c == classOf[java.lang.Float] => Some("Float")
+    case c if c == classOf[java.lang.Short] => Some("Short")
+    case c if c == classOf[java.lang.Byte] => Some("Byte")
+    case c if c == classOf[java.lang.Character] => Some("Char")
+    case c if c == classOf[java.lang.Boolean] => Some("Boolean")
+    case c if c.isArray || c.getCanonicalName == null || !Modifier.isPublic(c.getModifiers) => None
+    case c =>
+      val parameters = c.getTypeParameters.length
+      val wildcards = if (parameters == 0) "" else Seq.fill(parameters)("_").mkString("[", ", ", "]")
+      Some("_root_." + c.getCanonicalName + wildcards)
+  }
+}
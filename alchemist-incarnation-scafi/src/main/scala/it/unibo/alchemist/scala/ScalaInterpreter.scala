@@ -13,5 +13,8 @@ import scala.tools.reflect.ToolBox
 object ScalaInterpreter {
   private[this] val toolbox = currentMirror.mkToolBox()
 
-  def apply[A](code: String): A = toolbox.eval(toolbox.parse(code)).asInstanceOf[A]
+  /*
+   * Toolboxes are not thread safe, and properties may be evaluated by multiple threads (e.g., by parallel exporters).
+   */
+  def apply[A](code: String): A = synchronized(toolbox.eval(toolbox.parse(code)).asInstanceOf[A])
 }
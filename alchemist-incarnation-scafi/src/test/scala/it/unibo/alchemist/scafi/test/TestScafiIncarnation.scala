@@ -8,7 +8,7 @@
 
 package it.unibo.alchemist.scafi.test
 
-import it.unibo.alchemist.model.incarnations.ScafiIncarnation
+import it.unibo.alchemist.model.incarnations.{CompiledProperty, ScafiIncarnation}
 import it.unibo.alchemist.model.positions.Euclidean2DPosition
 import it.unibo.alchemist.model.environments.Continuous2DEnvironment
 import it.unibo.alchemist.model.reactions.Event
@@ -44,6 +44,49 @@ class TestScafiIncarnation extends AnyFunSuite with Matchers {
     assertEquals(true, INC.createConcentration("val a = 7 == 7; a"))
   }
 
+  /** Verifies that properties are computed both through compiled functions and through the interpreter fallback. */
+  test("Get property") {
+    val rng = new MersenneTwister(0)
+    val node = INC.createNode(rng, new Continuous2DEnvironment[Any](INC), null)
+    val molecule = INC.createMolecule("data")
+    node.setConcentration(molecule, 3.0)
+    assertEquals(3.0, INC.getProperty(node, molecule, ""))
+    val previousHits = CompiledProperty.stats.hitCount()
+    for (_ <- 1 to 3) {
+      assertEquals(6.0, INC.getProperty(node, molecule, "value * 2"))
+    }
+    assertTrue(CompiledProperty.stats.hitCount() - previousHits >= 2)
+    node.setConcentration(molecule, (1, 2))
+    assertEquals(3.0, INC.getProperty(node, molecule, "value._1 + value._2"))
+  }
+
+  /** Verifies that properties of tuples are compiled once, according to the types of their elements. */
+  test("Get property of tuples") {
+    val rng = new MersenneTwister(0)
+    val node = INC.createNode(rng, new Continuous2DEnvironment[Any](INC), null)
+    val molecule = INC.createMolecule("data")
+    val property = "value._1 * value._2"
+    node.setConcentration(molecule, (2, 3.0))
+    assertEquals(6.0, INC.getProperty(node, molecule, property))
+    val previousHits = CompiledProperty.stats.hitCount()
+    for (i <- 1 to 3) {
+      node.setConcentration(molecule, (i, 2.0))
+      assertEquals(2.0 * i, INC.getProperty(node, molecule, property))
+    }
+    assertTrue(CompiledProperty.stats.hitCount() - previousHits >= 3)
+  }
+
+  /** Verifies that string values are inlined in the property, and hence can be read as numbers. */
+  test("Get property of strings") {
+    val rng = new MersenneTwister(0)
+    val node = INC.createNode(rng, new Continuous2DEnvironment[Any](INC), null)
+    val molecule = INC.createMolecule("data")
+    node.setConcentration(molecule, "3.0")
+    assertEquals(6.0, INC.getProperty(node, molecule, "value * 2"))
+    assertEquals(6.0, INC.getProperty(node, molecule, "value * 2"))
+    assertEquals(3.0, INC.getProperty(node, molecule, ""))
+  }
+
   private def assertNotNull(expr: AnyRef) = expr shouldNot be(null)
   private def assertTrue(pred: Boolean) = pred shouldBe true
   private def assertEquals[T](expected: T, actual: T) = expected shouldEqual actual
@@ -19,11 +19,14 @@ import kotlin.script.experimental.api.compilerOptions
 import kotlin.script.experimental.api.defaultImports
 import kotlin.script.experimental.api.hostConfiguration
 import kotlin.script.experimental.api.ide
+import kotlin.script.experimental.host.ScriptingHostConfiguration
+import kotlin.script.experimental.jvm.compilationCache
 import kotlin.script.experimental.jvm.dependenciesFromClassContext
 import kotlin.script.experimental.jvm.jvm
 
 /**
  * Compilation configuration for Alchemist scripts.
+ * Compiled scripts are reused across runs through the [AlchemistScriptCache].
  */
 object AlchemistCompilationConfiguration : ScriptCompilationConfiguration({
     val classes = listOf(
@@ -68,7 +71,13 @@ object AlchemistCompilationConfiguration : ScriptCompilationConfiguration({
         "it.unibo.alchemist.boundary.exportfilters.*",
         "it.unibo.alchemist.boundary.variables.*",
     )
-    hostConfiguration
+    hostConfiguration(
+        ScriptingHostConfiguration {
+            jvm {
+                compilationCache(AlchemistScriptCache)
+            }
+        },
+    )
     compilerOptions.append("-Xcontext-parameters")
     ide {
         acceptedLocations(ScriptAcceptedLocation.Everywhere)
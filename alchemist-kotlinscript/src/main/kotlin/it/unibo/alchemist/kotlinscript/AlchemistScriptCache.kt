@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.kotlinscript
+
+import it.unibo.alchemist.util.CacheDirectory
+import java.security.MessageDigest
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.script.experimental.api.CompiledScript
+import kotlin.script.experimental.api.ScriptCompilationConfiguration
+import kotlin.script.experimental.api.SourceCode
+import kotlin.script.experimental.api.dependencies
+import kotlin.script.experimental.jvm.CompiledJvmScriptsCache
+import kotlin.script.experimental.jvm.JvmDependency
+import kotlin.script.experimental.jvmhost.CompiledScriptJarsCache
+import org.slf4j.LoggerFactory
+
+/**
+ * A persistent, on-disk cache of compiled Alchemist scripts.
+ *
+ * Compiled scripts are stored as jar files, named after a hash of the script content,
+ * of the compilation configuration, and of the classpath (paths, sizes, and modification dates),
+ * so that any change to any of them triggers a new compilation.
+ * The cache directory defaults to the user cache directory,
+ * and can be overridden through the [CACHE_DIRECTORY_PROPERTY] system property.
+ * Setting such property to [DISABLED] disables the cache.
+ */
+object AlchemistScriptCache : CompiledJvmScriptsCache {
+    /**
+     * System property that can be used to select the cache directory.
+     */
+    const val CACHE_DIRECTORY_PROPERTY = "alchemist.kotlinscript.cache"
+
+    /**
+     * Value of [CACHE_DIRECTORY_PROPERTY] that disables the cache.
+     */
+    const val DISABLED = CacheDirectory.DISABLED
+
+    private val logger = LoggerFactory.getLogger(AlchemistScriptCache::class.java)
+    private val hitCount = AtomicLong()
+    private val missCount = AtomicLong()
+
+    private val cacheDirectory = CacheDirectory(CACHE_DIRECTORY_PROPERTY, "kotlinscript")
+
+    private val jars = CompiledScriptJarsCache { script, configuration ->
+        cacheDirectory.file("${uniqueName(script, configuration)}.jar")
+    }
+
+    /**
+     * Number of compilations avoided thanks to the cache.
+     */
+    val hits: Long get() = hitCount.get()
+
+    /**
+     * Number of scripts that were not found in the cache, and thus required compilation.
+     */
+    val misses: Long get() = missCount.get()
+
+    override fun get(script: SourceCode, scriptCompilationConfiguration: ScriptCompilationConfiguration): CompiledScript? {
+        val cached = runCatching { jars.get(script, scriptCompilationConfiguration) }
+            .onFailure { logger.warn("Unable to load the compiled script ${script.locationId} from cache", it) }
+            .getOrNull()
+        if (cached == null) {
+            logger.info("Kotlin script cache miss for {} ({} misses so far)", script.name, missCount.incrementAndGet())
+        } else {
+            logger.info("Kotlin script cache hit for {} ({} hits so far)", script.name, hitCount.incrementAndGet())
+        }
+        return cached
+    }
+
+    override fun store(
+        compiledScript: CompiledScript,
+        script: SourceCode,
+        scriptCompilationConfiguration: ScriptCompilationConfiguration,
+    ) {
+        runCatching { jars.store(compiledScript, script, scriptCompilationConfiguration) }
+            .onFailure { logger.warn("Unable to store the compiled script ${script.locationId} in cache", it) }
+    }
+
+    private fun uniqueName(script: SourceCode, configuration: ScriptCompilationConfiguration): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        fun update(value: Any?) = digest.update(value.toString().toByteArray())
+        update(script.text)
+        configuration.notTransientData.entries
+            .sortedBy { it.key.name }
+            .forEach { (key, value) ->
+                update(key.name)
+                update(value)
+            }
+        configuration[ScriptCompilationConfiguration.dependencies]
+            .orEmpty()
+            .filterIsInstance<JvmDependency>()
+            .flatMap { it.classpath }
+            .forEach { entry ->
+                update(entry.absolutePath)
+                update(entry.length())
+                update(entry.lastModified())
+            }
+        return digest.digest().joinToString(separator = "") { "%02x".format(it) }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -13,10 +13,12 @@ import it.unibo.alchemist.boundary.Exporter
 import it.unibo.alchemist.boundary.Extractor
 import it.unibo.alchemist.boundary.Variable
 import it.unibo.alchemist.boundary.exporters.AbstractExporter.Companion.DEFAULT_INTERVAL
+import it.unibo.alchemist.boundary.extractors.FusedExtraction
 import it.unibo.alchemist.model.Actionable
 import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Position
 import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.util.profiling.DataExportEvent
 
 /**
  * Abstract implementation of a [Exporter].
@@ -50,6 +52,11 @@ abstract class AbstractExporter<T, P : Position<P>>(private val samplingInterval
      */
     private var count = -1L
 
+    /**
+     * Computes the values of the per-node extractors in a single pass for each sample.
+     */
+    private val fusedExtraction: FusedExtraction by lazy { FusedExtraction(dataExtractors) }
+
     /**
      * Contains the default values.
      */
@@ -96,7 +103,15 @@ abstract class AbstractExporter<T, P : Position<P>>(private val samplingInterval
         val curSample: Long = (time.toDouble() / samplingInterval).toLong()
         if (curSample > count) {
             count = curSample
+            val profiling = DataExportEvent()
+            profiling.begin()
+            fusedExtraction.precompute(environment, time, step)
             exportData(environment, reaction, time, step)
+            if (profiling.shouldCommit()) {
+                profiling.exporterType = javaClass
+                profiling.step = step
+                profiling.commit()
+            }
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -13,10 +13,21 @@ import it.unibo.alchemist.model.Actionable
 import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Position
 import it.unibo.alchemist.model.Time
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
 import org.bson.Document
 
 /**
  * Exports data to a MongoDB instance.
+ * Documents are buffered and written with unordered bulk inserts of [batchSize] documents
+ * by a background thread; at most [maxPendingBatches] batches wait to be written,
+ * after which the simulation waits for the database to catch up.
+ * Any pending document is written on [close].
+ * If a batch can't be written, no further batch is, and the failure is rethrown,
+ * as the cause of an [IllegalStateException], by the next export or by [close].
  *
  * @param T the concentration type
  * @param P the position type
@@ -24,6 +35,10 @@ import org.bson.Document
  * @property dbName the name of the database to export data to
  * @property interval the sampling time, defaults to [AbstractExporter.DEFAULT_INTERVAL]
  * @property appendTime if true it will always generate a new Mongo document, false to overwrite
+ * @property batchSize the number of documents written by each bulk insert
+ * @property maxPendingBatches the maximum number of batches waiting to be written
+ * @property compactNodeData if true, per-node values (columns such as `name@id`) are written as a single
+ * `name@node-id` field, containing the array of node `ids` and the array of their `values`
  * @property collectionName the name of the collection used for the current simulation
  */
 class MongoDBExporter<T, P : Position<P>>
@@ -33,7 +48,15 @@ constructor(
     val dbName: String = DEFAULT_DATABASE,
     val interval: Double = DEFAULT_INTERVAL,
     private val appendTime: Boolean = false,
+    val batchSize: Int = DEFAULT_BATCH_SIZE,
+    val maxPendingBatches: Int = DEFAULT_MAX_PENDING_BATCHES,
+    val compactNodeData: Boolean = false,
 ) : AbstractExporter<T, P>(interval) {
+    init {
+        require(batchSize > 0) { "The batch size must be positive, but was $batchSize" }
+        require(maxPendingBatches > 0) { "At least one pending batch must be allowed, but was $maxPendingBatches" }
+    }
+
     /**
      * The name of the collection related to the current simulation in execution.
      */
@@ -42,6 +65,20 @@ constructor(
 
     private val mongoService: MongoService = MongoService()
 
+    private var buffer: MutableList<Document> = ArrayList(batchSize)
+
+    private val pendingBatches = Semaphore(maxPendingBatches)
+
+    private val failure = AtomicReference<Throwable>()
+
+    private val writerDelegate: Lazy<ExecutorService> = lazy {
+        Executors.newSingleThreadExecutor { task ->
+            Thread(task, "Alchemist MongoDB writer for $collectionName").apply { isDaemon = true }
+        }
+    }
+
+    private val writer: ExecutorService by writerDelegate
+
     override fun setup(environment: Environment<T, P>) {
         collectionName = "$variablesDescriptor${"".takeUnless { appendTime } ?: System.currentTimeMillis()}"
         mongoService.startService(uri)
@@ -50,11 +87,51 @@ constructor(
     }
 
     override fun exportData(environment: Environment<T, P>, reaction: Actionable<T>?, time: Time, step: Long) {
-        mongoService.pushToDatabase(convertToDocument(environment, reaction, time, step))
+        checkFailures()
+        buffer.add(convertToDocument(environment, reaction, time, step))
+        if (buffer.size >= batchSize) {
+            flush()
+        }
     }
 
     override fun close(environment: Environment<T, P>, time: Time, step: Long) {
-        mongoService.stopService()
+        try {
+            flush()
+            if (writerDelegate.isInitialized()) {
+                writer.shutdown()
+                writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)
+            }
+            checkFailures()
+        } finally {
+            mongoService.stopService()
+        }
+    }
+
+    /*
+     * Hands the buffered documents to the writer, waiting if too many batches are pending.
+     */
+    private fun flush() {
+        if (buffer.isNotEmpty()) {
+            val batch = buffer
+            buffer = ArrayList(batchSize)
+            pendingBatches.acquireUninterruptibly()
+            writer.execute {
+                @Suppress("TooGenericExceptionCaught")
+                try {
+                    if (failure.get() == null) {
+                        mongoService.pushToDatabase(batch)
+                    }
+                } catch (e: Throwable) { // NOPMD: any failure must reach the simulation thread
+                    failure.compareAndSet(null, e)
+                } finally {
+                    pendingBatches.release()
+                }
+            }
+        }
+    }
+
+    private fun checkFailures() {
+        failure.get()?.let { throw IllegalStateException("Export to $uri/$dbName/$collectionName failed", it) }
     }
 
     private fun convertToDocument(
@@ -65,17 +142,52 @@ constructor(
     ): Document {
         val document = Document()
         dataExtractors.forEach { extractor ->
-            extractor.extractData(environment, reaction, time, step).forEach { (dataLabel, dataValue) ->
-                document.append(dataLabel, dataValue)
+            val data = extractor.extractData(environment, reaction, time, step)
+            if (compactNodeData) {
+                appendCompacting(document, data)
+            } else {
+                data.forEach { (dataLabel, dataValue) -> document.append(dataLabel, dataValue) }
             }
         }
         return document
     }
 
+    /*
+     * Groups the columns named `name@id` into a single `name@node-id` field.
+     */
+    private fun appendCompacting(document: Document, data: Map<String, Any>) {
+        val perNode = LinkedHashMap<String, Pair<MutableList<Int>, MutableList<Any>>>()
+        data.forEach { (dataLabel, dataValue) ->
+            val separator = dataLabel.lastIndexOf('@')
+            val id = dataLabel.substring(separator + 1).toIntOrNull()
+            if (separator < 0 || id == null) {
+                document.append(dataLabel, dataValue)
+            } else {
+                val (ids, values) =
+                    perNode.getOrPut(dataLabel.substring(0, separator)) { mutableListOf<Int>() to mutableListOf() }
+                ids += id
+                values += dataValue
+            }
+        }
+        perNode.forEach { (name, idsAndValues) ->
+            document.append("$name@node-id", Document("ids", idsAndValues.first).append("values", idsAndValues.second))
+        }
+    }
+
     private companion object {
         /**
          *  The default database if no name is specified.
          */
         private const val DEFAULT_DATABASE = "test"
+
+        /**
+         * The default number of documents written by each bulk insert.
+         */
+        private const val DEFAULT_BATCH_SIZE = 100
+
+        /**
+         * The default number of batches waiting to be written before the simulation is slowed down.
+         */
+        private const val DEFAULT_MAX_PENDING_BATCHES = 4
     }
 }
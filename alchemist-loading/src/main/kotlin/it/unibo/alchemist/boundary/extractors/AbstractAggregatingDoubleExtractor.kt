@@ -16,6 +16,7 @@ import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Time
 import it.unibo.alchemist.util.StatUtil
+import java.util.function.DoublePredicate
 import org.apache.commons.math3.stat.descriptive.UnivariateStatistic
 
 /**
@@ -56,6 +57,21 @@ constructor(
             }
         }
 
+    /**
+     * True if this extractor aggregates the values of the nodes, false if it exports one column per node.
+     */
+    val isAggregating: Boolean get() = aggregators.isNotEmpty()
+
+    private val keep: DoublePredicate? = filter.asPredicate()
+
+    /*
+     * Filtered values, reused across samples.
+     */
+    private var filtered = DoubleArray(0)
+
+    @Volatile
+    private var precomputed: PrecomputedSample? = null
+
     override val columnNames: List<String> by lazy {
         aggregators.keys
             .takeIf { it.isNotEmpty() }
@@ -73,14 +89,17 @@ constructor(
             getData(environment, reaction, time, step)
                 .mapKeys { (key, _) -> "$columnName@${key.id}" }
         else -> {
-            val data =
-                getData(environment, reaction, time, step)
-                    .values
-                    .flatMap { filter.apply(it) }
-                    .toDoubleArray()
+            val sample =
+                precomputed?.takeIf { it.environment === environment && it.time == time && it.step == step }
+            val size =
+                if (sample != null) {
+                    filter(sample.values, sample.size)
+                } else {
+                    getValues(environment, reaction, time, step).let { filter(it, it.size) }
+                }
             aggregators
                 .map { (aggregator, statistics) ->
-                    "$columnName[$aggregator]" to statistics.evaluate(data)
+                    "$columnName[$aggregator]" to statistics.evaluate(filtered, 0, size)
                 }.toMap()
         }
     }
@@ -94,4 +113,74 @@ constructor(
         time: Time,
         step: Long,
     ): Map<Node<T>, Double>
+
+    /**
+     * Extracts the values to aggregate, before filtering.
+     * By default, these are the values of [getData];
+     * implementations can override this method to avoid building the intermediate map.
+     */
+    protected open fun <T> getValues(
+        environment: Environment<T, *>,
+        reaction: Actionable<T>?,
+        time: Time,
+        step: Long,
+    ): DoubleArray = getData(environment, reaction, time, step).values.toDoubleArray()
+
+    /**
+     * Provides the first [size] elements of [values] as the values of the sample taken from [environment]
+     * at the given [time] and [step], used by [extractData] in place of [getValues].
+     * The array is not copied, and must not change until the next sample.
+     */
+    internal fun precompute(environment: Environment<*, *>, time: Time, step: Long, values: DoubleArray, size: Int) {
+        precomputed = PrecomputedSample(environment, time, step, values, size)
+    }
+
+    /*
+     * Copies the values passing the filter into the filtered buffer, returning their number.
+     */
+    private fun filter(values: DoubleArray, size: Int): Int {
+        if (filtered.size < size) {
+            filtered = DoubleArray(size)
+        }
+        var count = 0
+        if (keep != null) {
+            for (index in 0 until size) {
+                val value = values[index]
+                if (keep.test(value)) {
+                    filtered[count++] = value
+                }
+            }
+        } else {
+            for (index in 0 until size) {
+                for (value in filter.apply(values[index])) {
+                    if (count == filtered.size) {
+                        filtered = filtered.copyOf(maxOf(1, count * 2))
+                    }
+                    filtered[count++] = value
+                }
+            }
+        }
+        return count
+    }
+
+    private class PrecomputedSample(
+        val environment: Environment<*, *>,
+        val time: Time,
+        val step: Long,
+        val values: DoubleArray,
+        val size: Int,
+    )
+
+    private companion object {
+        /*
+         * The common filters keep or drop each value, hence they can be applied without boxing.
+         */
+        private fun ExportFilter.asPredicate(): DoublePredicate? = when (this) {
+            CommonFilters.NOFILTER.filteringPolicy -> DoublePredicate { true }
+            CommonFilters.FILTERNAN.filteringPolicy -> DoublePredicate { !it.isNaN() }
+            CommonFilters.FILTERINFINITY.filteringPolicy -> DoublePredicate { !it.isInfinite() }
+            CommonFilters.ONLYFINITE.filteringPolicy -> DoublePredicate { it.isFinite() }
+            else -> null
+        }
+    }
 }
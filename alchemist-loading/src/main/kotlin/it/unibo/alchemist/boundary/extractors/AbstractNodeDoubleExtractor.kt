@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.extractors
+
+import it.unibo.alchemist.boundary.ExportFilter
+import it.unibo.alchemist.model.Actionable
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.Node
+import it.unibo.alchemist.model.Time
+
+/**
+ * An [AbstractAggregatingDoubleExtractor] whose value for each node can be computed
+ * independently of the other nodes through [getNodeData].
+ * When bound to an exporter, the values of all the extractors of this kind are
+ * computed in a single traversal of the nodes (see [FusedExtraction]).
+ */
+abstract class AbstractNodeDoubleExtractor
+@JvmOverloads
+constructor(filter: ExportFilter, aggregatorNames: List<String>, precision: Int? = null) :
+    AbstractAggregatingDoubleExtractor(filter, aggregatorNames, precision) {
+    /**
+     * Extracts the value of a single [node] of the [environment].
+     * Implementations may be invoked concurrently on different nodes.
+     */
+    abstract fun <T> getNodeData(environment: Environment<T, *>, node: Node<T>): Double
+
+    final override fun <T> getData(
+        environment: Environment<T, *>,
+        reaction: Actionable<T>?,
+        time: Time,
+        step: Long,
+    ): Map<Node<T>, Double> = environment.nodes.associateWith { getNodeData(environment, it) }
+
+    final override fun <T> getValues(
+        environment: Environment<T, *>,
+        reaction: Actionable<T>?,
+        time: Time,
+        step: Long,
+    ): DoubleArray = environment.nodes.let { nodes -> DoubleArray(nodes.size) { getNodeData(environment, nodes[it]) } }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.extractors
+
+import it.unibo.alchemist.boundary.Extractor
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.Node
+import it.unibo.alchemist.model.Time
+import java.util.function.IntConsumer
+import java.util.stream.IntStream
+
+/**
+ * Computes, in a single traversal of the nodes, the values of all the aggregating
+ * [AbstractNodeDoubleExtractor]s among [extractors], and hands them to the extractors,
+ * which aggregate them at the next [Extractor.extractData] invocation for the same sample.
+ * Values are stored in primitive arrays that are reused across samples.
+ *
+ * If [parallel] is true, nodes are split among threads when they are at least [parallelThreshold]:
+ * each node writes its own slot of the arrays, so no merge is required.
+ * The extractors, and in particular the [it.unibo.alchemist.model.Incarnation.getProperty] implementation
+ * they may rely upon, are then invoked concurrently, and must tolerate it.
+ *
+ * @param extractors the extractors bound to an exporter
+ * @param parallel whether the traversal can be split among threads
+ * @param parallelThreshold the minimum number of nodes for a parallel traversal
+ */
+class FusedExtraction
+@JvmOverloads
+constructor(
+    extractors: List<Extractor<*>>,
+    private val parallel: Boolean = DEFAULT_PARALLEL,
+    private val parallelThreshold: Int = DEFAULT_PARALLEL_THRESHOLD,
+) {
+    private val fused: Array<AbstractNodeDoubleExtractor> =
+        extractors
+            .filterIsInstance<AbstractNodeDoubleExtractor>()
+            .filter { it.isAggregating }
+            .toTypedArray()
+
+    private var values: Array<DoubleArray> = Array(fused.size) { DoubleArray(0) }
+
+    /**
+     * Precomputes the values for the sample of the [environment] at the given [time] and [step].
+     */
+    fun <T> precompute(environment: Environment<T, *>, time: Time, step: Long) {
+        if (fused.isEmpty()) {
+            return
+        }
+        val nodes = environment.nodes
+        if (values.first().size < nodes.size) {
+            values = Array(fused.size) { DoubleArray(nodes.size) }
+        }
+        val extractNode = IntConsumer { index -> extract(environment, nodes[index], index) }
+        if (parallel && nodes.size >= parallelThreshold) {
+            IntStream.range(0, nodes.size).parallel().forEach(extractNode)
+        } else {
+            for (index in nodes.indices) {
+                extractNode.accept(index)
+            }
+        }
+        fused.forEachIndexed { extractor, it -> it.precompute(environment, time, step, values[extractor], nodes.size) }
+    }
+
+    private fun <T> extract(environment: Environment<T, *>, node: Node<T>, index: Int) {
+        for (extractor in fused.indices) {
+            values[extractor][index] = fused[extractor].getNodeData(environment, node)
+        }
+    }
+
+    /**
+     * Defaults for the fused extraction.
+     */
+    companion object {
+        /**
+         * System property enabling the parallel traversal of the nodes.
+         */
+        const val PARALLEL_PROPERTY = "alchemist.export.parallel"
+
+        /**
+         * Whether the traversal is parallel by default, namely if [PARALLEL_PROPERTY] is set to true.
+         */
+        @JvmField
+        val DEFAULT_PARALLEL: Boolean = System.getProperty(PARALLEL_PROPERTY).toBoolean()
+
+        /**
+         * The default minimum number of nodes for a parallel traversal.
+         */
+        const val DEFAULT_PARALLEL_THRESHOLD: Int = 10_000
+    }
+}
@@ -10,12 +10,10 @@
 package it.unibo.alchemist.boundary.extractors
 
 import it.unibo.alchemist.boundary.ExportFilter
-import it.unibo.alchemist.model.Actionable
 import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Incarnation
 import it.unibo.alchemist.model.Molecule
 import it.unibo.alchemist.model.Node
-import it.unibo.alchemist.model.Time
 import kotlin.math.min
 
 /**
@@ -44,7 +42,7 @@ constructor(
     private val filter: ExportFilter,
     aggregatorNames: List<String>,
     precision: Int? = null,
-) : AbstractAggregatingDoubleExtractor(filter, aggregatorNames, precision) {
+) : AbstractNodeDoubleExtractor(filter, aggregatorNames, precision) {
     private companion object {
         private const val SHORT_NAME_MAX_LENGTH = 5
     }
@@ -68,13 +66,6 @@ constructor(
 
     private val molecule: Molecule = incarnation.createMolecule(moleculeName)
 
-    override fun <T> getData(
-        environment: Environment<T, *>,
-        reaction: Actionable<T>?,
-        time: Time,
-        step: Long,
-    ): Map<Node<T>, Double> {
-        fun Node<T>.extractData() = environment.incarnation.getProperty(this, molecule, property)
-        return environment.nodes.associateWith { it.extractData() }.toMap()
-    }
+    override fun <T> getNodeData(environment: Environment<T, *>, node: Node<T>): Double =
+        environment.incarnation.getProperty(node, molecule, property)
 }
@@ -10,10 +10,8 @@
 package it.unibo.alchemist.boundary.extractors
 
 import it.unibo.alchemist.boundary.ExportFilter
-import it.unibo.alchemist.model.Actionable
 import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Node
-import it.unibo.alchemist.model.Time
 
 /**
  * Extract the degree of the nodes in the network.
@@ -23,17 +21,11 @@ import it.unibo.alchemist.model.Time
 class NodeDegree
 @JvmOverloads
 constructor(filter: ExportFilter, aggregators: List<String>, precision: Int = 2) :
-    AbstractAggregatingDoubleExtractor(filter, aggregators, precision) {
+    AbstractNodeDoubleExtractor(filter, aggregators, precision) {
     override val columnName: String = NAME
 
-    override fun <T> getData(
-        environment: Environment<T, *>,
-        reaction: Actionable<T>?,
-        time: Time,
-        step: Long,
-    ): Map<Node<T>, Double> = environment.nodes.associateWith { node ->
+    override fun <T> getNodeData(environment: Environment<T, *>, node: Node<T>): Double =
         environment.getNeighborhood(node).size().toDouble()
-    }
 
     private companion object {
         private const val NAME = "nodes-degree"
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.extractors
+
+import it.unibo.alchemist.boundary.Exporter
+import it.unibo.alchemist.boundary.monitors.PerformanceMonitor
+import it.unibo.alchemist.core.Simulation
+import it.unibo.alchemist.model.Actionable
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.Position
+import it.unibo.alchemist.model.Time
+
+/**
+ * Exports the performance metrics of the simulation computed by the [PerformanceMonitor] attached to it,
+ * on its latest sampling window (NaN before the first window completes).
+ * The loaders attach a [PerformanceMonitor] sampling every [samplingPeriod] milliseconds
+ * to the simulations exporting these metrics without configuring one (see [attachMonitor]),
+ * so that it measures the simulation from its first step.
+ * Extracting the metrics of a simulation with no [PerformanceMonitor] attached is an error.
+ * Optionally, a [precision] (significant digits) can be provided.
+ */
+class PerformanceMetrics
+@JvmOverloads
+constructor(
+    val samplingPeriod: Long = PerformanceMonitor.DEFAULT_SAMPLING_PERIOD,
+    precision: Int? = null,
+) : AbstractDoubleExtractor(precision) {
+    override val columnNames: List<String> = COLUMNS
+
+    private var monitored: Pair<Simulation<*, *>, PerformanceMonitor<*, *>>? = null
+
+    override fun <T> extractData(
+        environment: Environment<T, *>,
+        reaction: Actionable<T>?,
+        time: Time,
+        step: Long,
+    ): Map<String, Double> {
+        val metrics = environment.simulationOrNull?.let { performanceMonitor(it).metrics }
+            ?: PerformanceMonitor.Metrics.EMPTY
+        return with(metrics) {
+            listOf(
+                eventsPerSecond,
+                wallTimePerSimulatedTime,
+                stepTimeMedian,
+                stepTime90th,
+                stepTime99th,
+                stepTimeMax,
+                fanOutMean,
+                fanOut99th,
+                neighborhoodUpdates.toDouble(),
+                schedulerSize.toDouble(),
+                heapUsed.toDouble(),
+            )
+        }.let { COLUMNS.zip(it).toMap() }
+    }
+
+    private fun performanceMonitor(simulation: Simulation<*, *>): PerformanceMonitor<*, *> {
+        monitored?.takeIf { it.first === simulation }?.let { return it.second }
+        val monitor =
+            checkNotNull(simulation.outputMonitors.firstNotNullOfOrNull { it as? PerformanceMonitor<*, *> }) {
+                "No ${PerformanceMonitor::class.simpleName} is attached to $simulation, " +
+                    "one must be configured to export ${PerformanceMetrics::class.simpleName}"
+            }
+        monitored = simulation to monitor
+        return monitor
+    }
+
+    /**
+     * Utilities for loaders.
+     */
+    companion object {
+        private val COLUMNS =
+            listOf(
+                "eventsPerSecond",
+                "wallTimePerSimulatedTime",
+                "stepTimeMedian",
+                "stepTime90th",
+                "stepTime99th",
+                "stepTimeMax",
+                "fanOutMean",
+                "fanOut99th",
+                "neighborhoodUpdates",
+                "schedulerSize",
+                "heapUsed",
+            )
+
+        /**
+         * If any of the [exporters] extracts [PerformanceMetrics] and no [PerformanceMonitor] is attached
+         * to the [simulation], attaches one sampling with the shortest among the requested periods.
+         * Meant to be invoked before the simulation starts, and before attaching the [exporters],
+         * so that the metrics are computed before being exported.
+         */
+        @JvmStatic
+        fun <T, P : Position<P>> attachMonitor(simulation: Simulation<T, P>, exporters: List<Exporter<T, P>>) {
+            val samplingPeriod =
+                exporters
+                    .asSequence()
+                    .flatMap { it.dataExtractors }
+                    .filterIsInstance<PerformanceMetrics>()
+                    .minOfOrNull { it.samplingPeriod }
+            if (samplingPeriod != null && simulation.outputMonitors.none { it is PerformanceMonitor<*, *> }) {
+                simulation.addOutputMonitor(PerformanceMonitor(samplingPeriod))
+            }
+        }
+    }
+}
@@ -17,7 +17,9 @@ import it.unibo.alchemist.boundary.Loader
 import it.unibo.alchemist.boundary.OutputMonitor
 import it.unibo.alchemist.boundary.Variable
 import it.unibo.alchemist.boundary.exporters.GlobalExporter
+import it.unibo.alchemist.boundary.extractors.PerformanceMetrics
 import it.unibo.alchemist.boundary.launchers.DefaultLauncher
+import it.unibo.alchemist.boundary.monitors.TemplateCacheStatistics
 import it.unibo.alchemist.core.Engine
 import it.unibo.alchemist.core.Simulation
 import it.unibo.alchemist.model.Environment
@@ -178,10 +180,12 @@ internal class DSLLoader<T, P : Position<P>, I : Incarnation<T, P>>(
             exporter.bindVariables(instancedVariables)
         }
         val theSimulation: Simulation<T, P> = Engine(theEnvironment)
+        monitors.forEach { monitor -> theSimulation.addOutputMonitor(monitor) }
+        PerformanceMetrics.attachMonitor(theSimulation, exporters)
         if (exporters.isNotEmpty()) {
             theSimulation.addOutputMonitor(GlobalExporter(exporters))
         }
-        monitors.forEach { monitor -> theSimulation.addOutputMonitor(monitor) }
+        theSimulation.addOutputMonitor(TemplateCacheStatistics())
         return theSimulation
     }
 }
@@ -12,8 +12,10 @@ package it.unibo.alchemist.boundary.loader
 import it.unibo.alchemist.boundary.Exporter
 import it.unibo.alchemist.boundary.Loader
 import it.unibo.alchemist.boundary.exporters.GlobalExporter
+import it.unibo.alchemist.boundary.extractors.PerformanceMetrics
 import it.unibo.alchemist.boundary.loader.LoadingSystemLogger.logger
 import it.unibo.alchemist.boundary.loader.syntax.AlchemistYamlSyntax
+import it.unibo.alchemist.boundary.monitors.TemplateCacheStatistics
 import it.unibo.alchemist.core.Engine
 import it.unibo.alchemist.core.Simulation
 import it.unibo.alchemist.model.Deployment
@@ -152,10 +154,12 @@ internal abstract class LoadingSystem(private val originalContext: Context, priv
                 ?: Engine(environment)
             // Attach monitors
             monitors.forEach(engine::addOutputMonitor)
+            PerformanceMetrics.attachMonitor(engine, exporters)
             // Attach data exporters
             if (exporters.isNotEmpty()) {
                 engine.addOutputMonitor(GlobalExporter(exporters))
             }
+            engine.addOutputMonitor(TemplateCacheStatistics())
             return engine
         }
 
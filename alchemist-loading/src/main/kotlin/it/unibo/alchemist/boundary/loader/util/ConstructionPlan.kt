@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.loader.util
+
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.Constructor
+import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import org.danilopianini.jirf.Factory
+
+/**
+ * A resolved way of building instances of a class from a given *shape* of actual parameters,
+ * namely their runtime types and the types of the singletons available in the JIRF context.
+ *
+ * A plan is only produced when exactly one public constructor of the target class is structurally compatible
+ * with the shape (its parameters whose type is not a singleton are as many as the actual parameters),
+ * and such constructor accepts the actual parameters without any conversion:
+ * in such case, JIRF has no choice but to select the very same constructor,
+ * and the reflective resolution can be skipped by invoking the constructor through a [MethodHandle].
+ */
+internal class ConstructionPlan private constructor(
+    private val constructor: Constructor<*>,
+    /*
+     * For each parameter of the constructor, the singleton type used to fill it, or null if it is an actual parameter.
+     */
+    private val singletonTypes: List<Class<*>?>,
+) {
+    private val handle: MethodHandle =
+        MethodHandles
+            .publicLookup()
+            .unreflectConstructor(constructor)
+            .asSpreader(Array<Any?>::class.java, constructor.parameterCount)
+            .asType(MethodType.methodType(Any::class.java, Array<Any?>::class.java))
+
+    /**
+     * Builds a new instance using the singletons currently registered in the [factory] and the [parameters].
+     */
+    fun <T : Any> newInstance(target: Class<T>, factory: Factory, parameters: List<*>): T {
+        val singletons = factory.singletonObjects
+        val actualParameters = parameters.iterator()
+        val arguments: Array<Any?> =
+            Array(singletonTypes.size) { index ->
+                when (val singletonType = singletonTypes[index]) {
+                    null -> actualParameters.next()
+                    else -> singletons[singletonType]
+                }
+            }
+        return target.cast(handle.invokeExact(arguments)).also { plannedConstructions.incrementAndGet() }
+    }
+
+    override fun toString(): String = "ConstructionPlan(${constructor.toGenericString()})"
+
+    /**
+     * The shape of a construction request: target type, runtime types of the actual parameters
+     * (null for null parameters), and types of the singletons available in the context.
+     */
+    private data class Shape(
+        val target: Class<*>,
+        val parameterTypes: List<Class<*>?>,
+        val singletonTypes: Set<Class<*>>,
+    )
+
+    companion object {
+        private val NO_PLAN = Any()
+
+        private val plans = ConcurrentHashMap<Shape, Any>()
+
+        private val plannedConstructions = AtomicLong()
+
+        /**
+         * The number of instances built so far through cached plans, namely without JIRF's constructor resolution.
+         */
+        val constructionsFromPlans: Long get() = plannedConstructions.get()
+
+        /**
+         * Returns the cached [ConstructionPlan] for building a [target] with the provided [parameters]
+         * in the context of [factory], or null if no plan has been [learn]ed for this shape,
+         * or if the shape cannot be built without JIRF.
+         */
+        fun cachedFor(target: Class<*>, factory: Factory, parameters: List<*>): ConstructionPlan? =
+            plans[shapeOf(target, factory, parameters)] as? ConstructionPlan
+
+        /**
+         * Computes (once per shape) whether a direct plan exists for building [target] with [parameters]
+         * in the context of [factory]. To be called after JIRF successfully built an instance for the same shape.
+         */
+        fun learn(target: Class<*>, factory: Factory, parameters: List<*>) {
+            val shape = shapeOf(target, factory, parameters)
+            plans.computeIfAbsent(shape) { planFor(it) ?: NO_PLAN }
+        }
+
+        private fun shapeOf(target: Class<*>, factory: Factory, parameters: List<*>) = Shape(
+            target,
+            parameters.map { it?.javaClass },
+            factory.singletonObjects.keys.toSet(),
+        )
+
+        private fun planFor(shape: Shape): ConstructionPlan? {
+            if (Modifier.isAbstract(shape.target.modifiers)) {
+                return null
+            }
+            val arity = shape.parameterTypes.size
+            return shape.target.constructors
+                .filter { constructor ->
+                    !constructor.isSynthetic &&
+                        constructor.parameterTypes.count { it !in shape.singletonTypes } == arity
+                }.singleOrNull()
+                ?.takeIf { constructor ->
+                    val actuals = constructor.parameterTypes.filter { it !in shape.singletonTypes }
+                    val implicits = constructor.parameterTypes.filter { it in shape.singletonTypes }
+                    !constructor.isVarArgs &&
+                        actuals.zip(shape.parameterTypes).all { (expected, actual) -> accepts(expected, actual) } &&
+                        // An actual parameter that could fill a singleton slot would make the resolution ambiguous
+                        shape.parameterTypes.none { actual ->
+                            actual != null && implicits.any { it.isAssignableFrom(actual) }
+                        }
+                }?.let { constructor ->
+                    val singletonTypes =
+                        constructor.parameterTypes.map { type -> type.takeIf { it in shape.singletonTypes } }
+                    // Non-public declaring classes cannot be accessed through a public lookup
+                    runCatching { ConstructionPlan(constructor, singletonTypes) }.getOrNull()
+                }
+        }
+
+        /*
+         * Only conversion-free assignments are accepted. Parameters of type Object are excluded,
+         * as JIRF implicit conversions (e.g., String to concentration) may be applied to them.
+         */
+        private fun accepts(expected: Class<*>, actual: Class<*>?): Boolean = when {
+            expected == Any::class.java -> false
+            actual == null -> !expected.isPrimitive
+            expected.isPrimitive -> MethodType.methodType(expected).wrap().returnType() == actual
+            else -> expected.isAssignableFrom(actual)
+        }
+    }
+}
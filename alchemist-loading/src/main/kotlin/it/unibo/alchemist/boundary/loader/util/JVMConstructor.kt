@@ -13,6 +13,7 @@ import it.unibo.alchemist.util.BugReporting
 import it.unibo.alchemist.util.ClassPathScanner
 import java.lang.reflect.Constructor
 import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
 import kotlin.reflect.KClass
 import kotlin.reflect.full.valueParameters
 import kotlin.reflect.jvm.jvmErasure
@@ -41,7 +42,8 @@ internal sealed class JVMConstructor(val typeName: String) {
      * returning a [Result<T>].
      */
     fun <T : Any> buildAny(type: Class<out T>, factory: Factory): Result<T> {
-        val typeSearch = TypeSearch(typeName, type)
+        @Suppress("UNCHECKED_CAST")
+        val typeSearch = typeSearches.computeIfAbsent(TypeSearch(typeName, type)) { it } as TypeSearch<T>
         val perfectMatches = typeSearch.perfectMatches
         return when (perfectMatches.size) {
             0 -> {
@@ -126,56 +128,14 @@ internal sealed class JVMConstructor(val typeName: String) {
          */
         val originalParameters = parametersFor(target, jirf)
         logger.debug("Building a {} with {}", target.simpleName, originalParameters)
-        val compatibleConstructors by lazy {
-            target.constructors.filter { it.valueParameters.size >= originalParameters.size }
-        }
         val parameters =
             originalParameters.mapIndexed { index, parameter ->
                 if (parameter is JVMConstructor) {
                     val possibleMappings =
-                        compatibleConstructors
-                            .flatMap { constructor ->
-                                val mappedIndex =
-                                    constructor.valueParameters.lastIndex - originalParameters.lastIndex + index
-                                val potentialType = constructor.valueParameters[mappedIndex]
-                                val potentialJavaType = potentialType.type.jvmErasure.java
-                                val subtypes =
-                                    ClassPathScanner.subTypesOf(potentialJavaType) +
-                                        when {
-                                            Modifier.isAbstract(potentialJavaType.modifiers) -> emptyList()
-                                            else -> listOf(potentialJavaType)
-                                        }
-                                val compatibleSubtypes =
-                                    subtypes.filter { subtype ->
-                                        val subtypeName =
-                                            if (parameter.typeName.contains('.')) subtype.name else subtype.simpleName
-                                        parameter.typeName == subtypeName
-                                    }
-                                when {
-                                    compatibleSubtypes.isEmpty() -> {
-                                        logger.warn(
-                                            "Constructor {} discarded as {} is incompatible with parameter #{}:{}",
-                                            constructor,
-                                            parameter,
-                                            mappedIndex,
-                                            potentialType.type,
-                                        )
-                                        emptyList()
-                                    }
-                                    compatibleSubtypes.size > 1 -> {
-                                        error(
-                                            "Ambiguous mapping: $compatibleSubtypes all match" +
-                                                "the requested type $typeName" +
-                                                "for parameter #$mappedIndex:$potentialType of $constructor",
-                                        )
-                                    }
-                                    else -> {
-                                        val maybeParameter = parameter.buildAny(compatibleSubtypes.first(), jirf)
-                                        listOf(maybeParameter.getOrThrow())
-                                    }
-                                }
-                                // remove duplicates
-                            }.toSet()
+                        parameterSubtypes(target, originalParameters.size, index, parameter)
+                            .map { subtype -> parameter.buildAny(subtype, jirf).getOrThrow() }
+                            // remove duplicates
+                            .toSet()
                     /*
                      * possibleMappings contains the possible instances that can be used as parameter.
                      * If none has been produced, no way has been found to build the parameter.
@@ -204,16 +164,100 @@ internal sealed class JVMConstructor(val typeName: String) {
                     parameter
                 }
             }
+        /*
+         * Warm path: if the same shape has already been built, skip JIRF's constructor resolution.
+         * Should the direct invocation fail, fall back to JIRF to get a properly explained failure.
+         */
+        val plan = ConstructionPlan.cachedFor(target.java, jirf, parameters)
+        if (plan != null) {
+            val planned = runCatching { plan.newInstance(target.java, jirf, parameters) }
+            if (planned.isSuccess) {
+                return planned.getOrThrow()
+            }
+            logger.debug("{} failed, falling back to JIRF", plan, planned.exceptionOrNull())
+        }
         val creationResult = jirf.build(target.java, parameters)
         return creationResult.createdObject
             .orElseThrow { explainedFailure(jirf, target, originalParameters, creationResult) }
             .also { creationResult.logErrors { message, arguments -> logger.warn(message, *arguments) } }
+            .also { ConstructionPlan.learn(target.java, jirf, parameters) }
     }
 
     private companion object {
         @JvmStatic
         private val logger = LoggerFactory.getLogger(JVMConstructor::class.java)
 
+        /*
+         * Type searches are cached, so that the classpath is filtered once per requested name and type.
+         */
+        private val typeSearches = ConcurrentHashMap<TypeSearch<*>, TypeSearch<*>>()
+
+        private val parameterSubtypesCache = ConcurrentHashMap<NestedParameter, List<Class<out Any>>>()
+
+        /*
+         * Identifies a parameter built by a JVMConstructor as the index-th of arity parameters of target.
+         */
+        private data class NestedParameter(
+            val target: KClass<*>,
+            val arity: Int,
+            val index: Int,
+            val typeName: String,
+        )
+
+        /**
+         * Finds the distinct subtypes that the constructors of [target] compatible with [arity] parameters
+         * accept as [index]-th parameter, and whose name matches the one of the [parameter].
+         * Results are cached, as they only depend on the classpath.
+         */
+        private fun parameterSubtypes(
+            target: KClass<*>,
+            arity: Int,
+            index: Int,
+            parameter: JVMConstructor,
+        ): List<Class<out Any>> = parameterSubtypesCache.getOrPut(
+            NestedParameter(target, arity, index, parameter.typeName),
+        ) {
+            target.constructors
+                .filter { it.valueParameters.size >= arity }
+                .mapNotNull { constructor ->
+                    val mappedIndex = constructor.valueParameters.lastIndex - (arity - 1) + index
+                    val potentialType = constructor.valueParameters[mappedIndex]
+                    val potentialJavaType = potentialType.type.jvmErasure.java
+                    val subtypes =
+                        ClassPathScanner.subTypesOf(potentialJavaType) +
+                            when {
+                                Modifier.isAbstract(potentialJavaType.modifiers) -> emptyList()
+                                else -> listOf(potentialJavaType)
+                            }
+                    val compatibleSubtypes =
+                        subtypes.filter { subtype ->
+                            val subtypeName =
+                                if (parameter.typeName.contains('.')) subtype.name else subtype.simpleName
+                            parameter.typeName == subtypeName
+                        }
+                    when {
+                        compatibleSubtypes.isEmpty() -> {
+                            logger.warn(
+                                "Constructor {} discarded as {} is incompatible with parameter #{}:{}",
+                                constructor,
+                                parameter,
+                                mappedIndex,
+                                potentialType.type,
+                            )
+                            null
+                        }
+                        compatibleSubtypes.size > 1 -> {
+                            error(
+                                "Ambiguous mapping: $compatibleSubtypes all match" +
+                                    "the requested type ${parameter.typeName}" +
+                                    "for parameter #$mappedIndex:$potentialType of $constructor",
+                            )
+                        }
+                        else -> compatibleSubtypes.first()
+                    }
+                }.distinct()
+        }
+
         private fun Constructor<*>.shorterToString() =
             declaringClass.simpleName + parameterTypes.joinToString(prefix = "(", postfix = ")") { it.simpleName }
 
@@ -9,6 +9,7 @@
 
 package it.unibo.alchemist.boundary.loader.util
 
+import java.util.concurrent.ConcurrentHashMap
 import kotlin.collections.get
 import kotlin.reflect.KClass
 import kotlin.reflect.KParameter
@@ -38,7 +39,23 @@ internal class NamedParametersConstructor(type: String, val parametersMap: Map<*
 
     override fun <T : Any> parametersFor(target: KClass<T>, factory: Factory): List<*> {
         val providedNames = parametersMap.map { it.key.toString() }
-        val singletons = factory.singletonObjects.keys
+        val singletons = factory.singletonObjects.keys.toSet()
+        return resolvedNames
+            .getOrPut(NamedParametersShape(target, providedNames, singletons)) {
+                parameterNamesFor(target, providedNames, singletons)
+            }.filter { parametersMap.containsKey(it) }
+            .map { parametersMap[it] }
+    }
+
+    /*
+     * Selects the constructor matching the provided names, and returns the (possibly replaced) names of its parameters,
+     * in order. The result only depends on the target type, the provided names, and the available singletons.
+     */
+    private fun parameterNamesFor(
+        target: KClass<*>,
+        providedNames: List<String>,
+        singletons: Set<Class<*>>,
+    ): List<String?> {
         val constructorsWithOrderedParameters =
             target.constructors.map { constructor ->
                 constructor.valueParameters.filterNot { it.type.jvmErasure.java in singletons }.sortedBy { it.index }
@@ -121,9 +138,7 @@ internal class NamedParametersConstructor(type: String, val parametersMap: Map<*
                 replacements,
             )
         }
-        return selectedConstructor
-            .filter { parametersMap.containsKey(replacements.getOrDefault(it.name, it.name)) }
-            .map { parametersMap[replacements.getOrDefault(it.name, it.name)] }
+        return selectedConstructor.map { replacements.getOrDefault(it.name, it.name) }
     }
 
     private fun Collection<KParameter>.namedParametersDescriptor() = "$size-ary constructor: " +
@@ -136,5 +151,13 @@ internal class NamedParametersConstructor(type: String, val parametersMap: Map<*
     private companion object {
         @JvmStatic
         private val logger = LoggerFactory.getLogger(NamedParametersConstructor::class.java)
+
+        private val resolvedNames = ConcurrentHashMap<NamedParametersShape, List<String?>>()
+
+        private data class NamedParametersShape(
+            val target: KClass<*>,
+            val providedNames: List<String>,
+            val singletons: Set<Class<*>>,
+        )
     }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.monitors
+
+import it.unibo.alchemist.boundary.OutputMonitor
+import it.unibo.alchemist.boundary.statistic.LogHistogram
+import it.unibo.alchemist.core.Engine
+import it.unibo.alchemist.model.Actionable
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.Position
+import it.unibo.alchemist.model.Time
+import java.io.Serializable
+import java.lang.management.ManagementFactory
+import java.util.concurrent.atomic.AtomicInteger
+import javax.management.ObjectName
+import org.slf4j.LoggerFactory
+
+/**
+ * An [OutputMonitor] measuring the performance of the simulation while it runs,
+ * to spot configurations whose throughput degrades over long runs without attaching a profiler.
+ *
+ * Every [samplingPeriod] milliseconds of wall time, the monitor publishes new [metrics],
+ * computed over the steps performed since the previous sample:
+ * the duration of each step and the number of reactions updated after each execution are collected in [LogHistogram]s.
+ * When the simulation runs on an [Engine], the duration of a step is the one measured by the engine
+ * ([Engine.lastStepDuration]), which excludes the time spent by the output monitors;
+ * otherwise, it falls back to the wall time between two consecutive steps, monitors included.
+ * The metrics are exposed through JMX (if [jmx] is true) under the name
+ * `it.unibo.alchemist:type=PerformanceMonitor,name=simulation-<n>`,
+ * and can be exported by the [it.unibo.alchemist.boundary.extractors.PerformanceMetrics] extractor.
+ *
+ * Fan-out, neighborhood updates, and scheduler size are only available when the simulation runs on an [Engine],
+ * and are NaN or zero otherwise.
+ * Engines executing reactions in batches (e.g., [it.unibo.alchemist.core.BatchEngine]) only report the total fan-out
+ * of each batch: every reaction in the batch is accounted with the mean fan-out of the batch,
+ * hence the mean fan-out is exact, but its percentiles are computed on batch means.
+ *
+ * @param samplingPeriod the wall time between two samples, in milliseconds
+ * @param jmx whether the metrics should be exposed through JMX
+ */
+class PerformanceMonitor<T, P : Position<out P>>
+@JvmOverloads
+constructor(val samplingPeriod: Long = DEFAULT_SAMPLING_PERIOD, val jmx: Boolean = true) :
+    OutputMonitor<T, P>,
+    PerformanceMonitorMXBean {
+    init {
+        require(samplingPeriod > 0) { "The sampling period must be positive, but was $samplingPeriod" }
+    }
+
+    private val samplingPeriodNanos = samplingPeriod * NANOS_PER_MILLI
+    private val stepTimes = LogHistogram()
+    private val fanOuts = LogHistogram()
+    private var fanOutTotal = 0L
+    private var started = false
+    private var windowStart = 0L
+    private var windowStartStep = 0L
+    private var windowStartTime = 0.0
+    private var lastStepDone = 0L
+    private var lastTimedStep = -1L
+    private var executedReactions = 0L
+    private var updatedDependencies = 0L
+
+    @Transient
+    private var engine: Engine<T, P>? = null
+
+    @Transient
+    private var objectName: ObjectName? = null
+
+    /**
+     * The metrics computed on the latest sampling window.
+     */
+    @Volatile
+    var metrics: Metrics = Metrics.EMPTY
+        private set
+
+    override val eventsPerSecond: Double get() = metrics.eventsPerSecond
+
+    override val wallTimePerSimulatedTime: Double get() = metrics.wallTimePerSimulatedTime
+
+    override val stepTimeMedian: Double get() = metrics.stepTimeMedian
+
+    override val stepTime90th: Double get() = metrics.stepTime90th
+
+    override val stepTime99th: Double get() = metrics.stepTime99th
+
+    override val stepTimeMax: Double get() = metrics.stepTimeMax
+
+    override val fanOutMean: Double get() = metrics.fanOutMean
+
+    override val fanOut99th: Double get() = metrics.fanOut99th
+
+    override val neighborhoodUpdates: Long get() = metrics.neighborhoodUpdates
+
+    override val schedulerSize: Int get() = metrics.schedulerSize
+
+    override val heapUsed: Long get() = metrics.heapUsed
+
+    override fun initialized(environment: Environment<T, P>) {
+        start(environment, environment.simulation.time, environment.simulation.step)
+    }
+
+    override fun stepDone(environment: Environment<T, P>, reaction: Actionable<T>?, time: Time, step: Long) {
+        val now = System.nanoTime()
+        if (!started) {
+            start(environment, time, step)
+            return
+        }
+        val engine = engine
+        if (engine == null) {
+            stepTimes.add((now - lastStepDone) / NANOS_PER_MICRO)
+        } else if (step != lastTimedStep) {
+            // Batched engines may notify the same step once per event it contains
+            stepTimes.add(engine.lastStepDuration / NANOS_PER_MICRO)
+            lastTimedStep = step
+        }
+        lastStepDone = now
+        engine?.let {
+            val executed = it.executedReactions
+            if (executed != executedReactions) {
+                val updated = it.totalUpdatedDependencies
+                addFanOuts(executed - executedReactions, updated - updatedDependencies)
+                executedReactions = executed
+                updatedDependencies = updated
+            }
+        }
+        if (now - windowStart >= samplingPeriodNanos) {
+            sample(now, time, step)
+        }
+    }
+
+    override fun finished(environment: Environment<T, P>, time: Time, step: Long) {
+        if (started && step > windowStartStep) {
+            sample(System.nanoTime(), time, step)
+        }
+        objectName?.let { name ->
+            runCatching { ManagementFactory.getPlatformMBeanServer().unregisterMBean(name) }
+                .onFailure { LOGGER.warn("Could not unregister {} from JMX", name, it) }
+        }
+        objectName = null
+    }
+
+    private fun start(environment: Environment<T, P>, time: Time, step: Long) {
+        if (started) {
+            return
+        }
+        started = true
+        engine = environment.simulation as? Engine<T, P>
+        executedReactions = engine?.executedReactions ?: 0
+        updatedDependencies = engine?.totalUpdatedDependencies ?: 0
+        windowStart = System.nanoTime()
+        lastStepDone = windowStart
+        windowStartStep = step
+        windowStartTime = time.toDouble()
+        if (jmx) {
+            val name = ObjectName("$JMX_DOMAIN:type=PerformanceMonitor,name=simulation-${instances.incrementAndGet()}")
+            runCatching { ManagementFactory.getPlatformMBeanServer().registerMBean(this, name) }
+                .onSuccess { objectName = name }
+                .onFailure { LOGGER.warn("Could not register {} in JMX", name, it) }
+        }
+    }
+
+    /*
+     * The serial engine executes one reaction per step, batched engines may execute many.
+     */
+    private fun addFanOuts(reactions: Long, updated: Long) {
+        val mean = updated.toDouble() / reactions
+        repeat(reactions.toInt()) { fanOuts.add(mean) }
+        fanOutTotal += updated
+    }
+
+    private fun sample(now: Long, time: Time, step: Long) {
+        val elapsedSeconds = (now - windowStart) / NANOS_PER_SECOND
+        val simulatedTime = time.toDouble() - windowStartTime
+        metrics =
+            Metrics(
+                eventsPerSecond = (step - windowStartStep) / elapsedSeconds,
+                wallTimePerSimulatedTime = if (simulatedTime > 0) elapsedSeconds / simulatedTime else Double.NaN,
+                stepTimeMedian = stepTimes.quantile(MEDIAN),
+                stepTime90th = stepTimes.quantile(PERCENTILE_90),
+                stepTime99th = stepTimes.quantile(PERCENTILE_99),
+                stepTimeMax = stepTimes.max,
+                fanOutMean = if (fanOuts.count > 0) fanOutTotal.toDouble() / fanOuts.count else Double.NaN,
+                fanOut99th = fanOuts.quantile(PERCENTILE_99),
+                neighborhoodUpdates = engine?.neighborhoodUpdates ?: 0,
+                schedulerSize = engine?.scheduledReactions ?: 0,
+                heapUsed = ManagementFactory.getMemoryMXBean().heapMemoryUsage.used,
+            )
+        stepTimes.clear()
+        fanOuts.clear()
+        fanOutTotal = 0
+        windowStart = now
+        windowStartStep = step
+        windowStartTime = time.toDouble()
+    }
+
+    /**
+     * The performance metrics computed on a sampling window, see [PerformanceMonitorMXBean].
+     */
+    data class Metrics(
+        override val eventsPerSecond: Double,
+        override val wallTimePerSimulatedTime: Double,
+        override val stepTimeMedian: Double,
+        override val stepTime90th: Double,
+        override val stepTime99th: Double,
+        override val stepTimeMax: Double,
+        override val fanOutMean: Double,
+        override val fanOut99th: Double,
+        override val neighborhoodUpdates: Long,
+        override val schedulerSize: Int,
+        override val heapUsed: Long,
+    ) : PerformanceMonitorMXBean,
+        Serializable {
+        /**
+         * Constants.
+         */
+        companion object {
+            private const val serialVersionUID = 1L
+
+            /**
+             * The metrics available before the first sampling window completes.
+             */
+            @JvmField
+            val EMPTY =
+                Metrics(
+                    eventsPerSecond = Double.NaN,
+                    wallTimePerSimulatedTime = Double.NaN,
+                    stepTimeMedian = Double.NaN,
+                    stepTime90th = Double.NaN,
+                    stepTime99th = Double.NaN,
+                    stepTimeMax = Double.NaN,
+                    fanOutMean = Double.NaN,
+                    fanOut99th = Double.NaN,
+                    neighborhoodUpdates = 0,
+                    schedulerSize = 0,
+                    heapUsed = 0,
+                )
+        }
+    }
+
+    /**
+     * Constants.
+     */
+    companion object {
+        private const val serialVersionUID = 1L
+
+        /**
+         * The default wall time between two samples, in milliseconds.
+         */
+        const val DEFAULT_SAMPLING_PERIOD: Long = 1000
+
+        /**
+         * The JMX domain of the monitors.
+         */
+        const val JMX_DOMAIN: String = "it.unibo.alchemist"
+
+        private const val NANOS_PER_MILLI = 1_000_000L
+        private const val NANOS_PER_MICRO = 1e3
+        private const val NANOS_PER_SECOND = 1e9
+        private const val MEDIAN = 0.5
+        private const val PERCENTILE_90 = 0.9
+        private const val PERCENTILE_99 = 0.99
+        private val instances = AtomicInteger()
+        private val LOGGER = LoggerFactory.getLogger(PerformanceMonitor::class.java)
+    }
+}
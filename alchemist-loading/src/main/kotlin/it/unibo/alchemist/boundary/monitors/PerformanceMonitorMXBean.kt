@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.monitors
+
+/**
+ * The performance metrics of a running simulation, as exposed through JMX by a [PerformanceMonitor].
+ * Rates and distributions refer to the latest sampling window, and are NaN before the first one completes.
+ */
+interface PerformanceMonitorMXBean {
+    /**
+     * Steps performed per second of wall time.
+     */
+    val eventsPerSecond: Double
+
+    /**
+     * Seconds of wall time needed to advance the simulation by one unit of simulated time.
+     */
+    val wallTimePerSimulatedTime: Double
+
+    /**
+     * Median duration of a step, in microseconds.
+     */
+    val stepTimeMedian: Double
+
+    /**
+     * 90th percentile of the duration of a step, in microseconds.
+     */
+    val stepTime90th: Double
+
+    /**
+     * 99th percentile of the duration of a step, in microseconds.
+     */
+    val stepTime99th: Double
+
+    /**
+     * Maximum duration of a step, in microseconds.
+     */
+    val stepTimeMax: Double
+
+    /**
+     * Mean number of reactions updated after the execution of a reaction, as they depended on it.
+     */
+    val fanOutMean: Double
+
+    /**
+     * 99th percentile of the number of reactions updated after the execution of a reaction.
+     */
+    val fanOut99th: Double
+
+    /**
+     * Number of neighbors added or removed since the beginning of the simulation.
+     */
+    val neighborhoodUpdates: Long
+
+    /**
+     * Number of reactions in the scheduler.
+     */
+    val schedulerSize: Int
+
+    /**
+     * Heap memory in use, in bytes.
+     */
+    val heapUsed: Long
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.monitors
+
+import it.unibo.alchemist.boundary.OutputMonitor
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.Position
+import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.util.ProgramTemplateCache
+import org.slf4j.LoggerFactory
+
+/**
+ * An [OutputMonitor] logging the statistics of the [ProgramTemplateCache]s used by the incarnations
+ * when the simulation ends, so that poorly shared programs (many misses, or evictions) can be spotted.
+ * It is attached by the loaders to every simulation they build.
+ */
+class TemplateCacheStatistics<T, P : Position<out P>> : OutputMonitor<T, P> {
+    override fun finished(environment: Environment<T, P>, time: Time, step: Long) {
+        ProgramTemplateCache.allStatistics().forEach { LOGGER.info("{}", it) }
+    }
+
+    /**
+     * Constants.
+     */
+    companion object {
+        private const val serialVersionUID = 1L
+        private val LOGGER = LoggerFactory.getLogger(TemplateCacheStatistics::class.java)
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.statistic
+
+import kotlin.reflect.jvm.jvmName
+import org.apache.commons.math3.stat.descriptive.AbstractStorelessUnivariateStatistic
+
+/**
+ * Estimates the number of distinct entries in constant memory through a [HyperLogLog] sketch,
+ * as opposed to [CountDistinct], which is exact but keeps all the distinct values.
+ */
+class ApproximateCountDistinct : AbstractStorelessUnivariateStatistic(),
+    MergeableStatistic<ApproximateCountDistinct> {
+    private var sketch = HyperLogLog()
+    private var count = 0L
+
+    override fun increment(value: Double) {
+        sketch.add(value)
+        count++
+    }
+
+    override fun getResult(): Double = sketch.estimate()
+
+    /*
+     * The superclass does not clear the statistic when evaluating an empty range.
+     */
+    override fun evaluate(values: DoubleArray, begin: Int, length: Int): Double {
+        clear()
+        return super.evaluate(values, begin, length)
+    }
+
+    override fun getN(): Long = count
+
+    override fun clear() {
+        sketch.clear()
+        count = 0
+    }
+
+    override fun merge(other: ApproximateCountDistinct) {
+        sketch.merge(other.sketch)
+        count += other.count
+    }
+
+    override fun copy(): ApproximateCountDistinct = ApproximateCountDistinct().also {
+        it.sketch = sketch.copy()
+        it.count = count
+    }
+
+    override fun toString(): String = this::class.simpleName ?: this::class.jvmName
+
+    private companion object {
+        private const val serialVersionUID = 1L
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.statistic
+
+/**
+ * Estimates the median of the values in constant memory, see [ApproximatePercentile].
+ */
+class ApproximateMedian : ApproximatePercentile() {
+    private companion object {
+        private const val serialVersionUID = 1L
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.statistic
+
+import org.apache.commons.math3.stat.descriptive.AbstractStorelessUnivariateStatistic
+
+/**
+ * Estimates the [percentile] (in (0, 100]) of the values with a bounded [relativeAccuracy],
+ * in constant memory, through a [LogHistogram].
+ * Can be used as aggregator with a name such as `ApproximatePercentile95`.
+ */
+open class ApproximatePercentile
+@JvmOverloads
+constructor(
+    val percentile: Double = MEDIAN,
+    val relativeAccuracy: Double = LogHistogram.DEFAULT_RELATIVE_ACCURACY,
+) : AbstractStorelessUnivariateStatistic(),
+    MergeableStatistic<ApproximatePercentile> {
+    init {
+        require(percentile > 0 && percentile <= 100) { "Percentiles must be in (0, 100], but was $percentile" }
+    }
+
+    /**
+     * The histogram of the values, which can be inspected or merged independently.
+     */
+    var histogram: LogHistogram = LogHistogram(relativeAccuracy)
+        private set
+
+    override fun increment(value: Double) = histogram.add(value)
+
+    override fun getResult(): Double = histogram.quantile(percentile / 100)
+
+    /*
+     * The superclass does not clear the statistic when evaluating an empty range.
+     */
+    override fun evaluate(values: DoubleArray, begin: Int, length: Int): Double {
+        clear()
+        return super.evaluate(values, begin, length)
+    }
+
+    override fun getN(): Long = histogram.count
+
+    override fun clear() = histogram.clear()
+
+    override fun merge(other: ApproximatePercentile) = histogram.merge(other.histogram)
+
+    override fun copy(): ApproximatePercentile = ApproximatePercentile(percentile, relativeAccuracy).also {
+        it.histogram = histogram.copy()
+    }
+
+    override fun toString(): String = "${this::class.simpleName}$percentile"
+
+    private companion object {
+        private const val serialVersionUID = 1L
+        private const val MEDIAN = 50.0
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.statistic
+
+import java.io.Serializable
+import kotlin.math.ln
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct doubles added,
+ * using 2^[precision] one-byte registers (the standard error is about 1.04 / sqrt(2^[precision])).
+ * Sketches with the same precision can be merged.
+ * Zeros of both signs are considered equal, NaN values are ignored.
+ *
+ * @param precision the base-2 logarithm of the number of registers, in [4, 18]
+ */
+class HyperLogLog
+@JvmOverloads
+constructor(val precision: Int = DEFAULT_PRECISION) : Serializable {
+    init {
+        require(precision in MIN_PRECISION..MAX_PRECISION) {
+            "Precision must be in [$MIN_PRECISION, $MAX_PRECISION], but was $precision"
+        }
+    }
+
+    private val registers = ByteArray(1 shl precision)
+
+    /**
+     * Adds a [value] to this sketch.
+     */
+    fun add(value: Double) {
+        if (value.isNaN()) {
+            return
+        }
+        val hash = mix(if (value == 0.0) 0L else value.toRawBits())
+        val register = (hash ushr (Long.SIZE_BITS - precision)).toInt()
+        val rank = min((hash shl precision).countLeadingZeroBits(), Long.SIZE_BITS - precision) + 1
+        registers[register] = max(registers[register].toInt(), rank).toByte()
+    }
+
+    /**
+     * Adds all the values of [other] to this sketch.
+     */
+    fun merge(other: HyperLogLog) {
+        require(other.precision == precision) {
+            "Cannot merge sketches with precision $precision and ${other.precision}"
+        }
+        for (register in registers.indices) {
+            registers[register] = max(registers[register].toInt(), other.registers[register].toInt()).toByte()
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added.
+     */
+    fun estimate(): Double {
+        val size = registers.size.toDouble()
+        var sum = 0.0
+        var empty = 0
+        for (register in registers) {
+            sum += 1.0 / (1L shl register.toInt())
+            if (register.toInt() == 0) {
+                empty++
+            }
+        }
+        val raw = ALPHA / (1 + BIAS / size) * size * size / sum
+        return if (raw <= SMALL_RANGE * size && empty > 0) size * ln(size / empty) else raw
+    }
+
+    /**
+     * Removes all the values from this sketch.
+     */
+    fun clear() = registers.fill(0)
+
+    /**
+     * Creates an independent copy of this sketch.
+     */
+    fun copy(): HyperLogLog = HyperLogLog(precision).also { it.merge(this) }
+
+    /**
+     * Defaults for [HyperLogLog].
+     */
+    companion object {
+        private const val serialVersionUID = 1L
+        private const val MIN_PRECISION = 4
+        private const val MAX_PRECISION = 18
+        private const val ALPHA = 0.7213
+        private const val BIAS = 1.079
+        private const val SMALL_RANGE = 2.5
+
+        /**
+         * The default precision, using 4096 registers (about 1.6% standard error).
+         */
+        const val DEFAULT_PRECISION: Int = 12
+
+        /*
+         * Finalization step of MurmurHash3, spreading the bits of doubles over the whole hash.
+         */
+        @Suppress("MagicNumber")
+        private fun mix(bits: Long): Long {
+            var hash = bits
+            hash = hash xor (hash ushr 33)
+            hash *= -0xae502812aa7333L
+            hash = hash xor (hash ushr 33)
+            hash *= -0x3b314601e57a13adL
+            return hash xor (hash ushr 33)
+        }
+    }
+}
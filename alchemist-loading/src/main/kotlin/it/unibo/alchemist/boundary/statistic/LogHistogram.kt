@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.statistic
+
+import java.io.Serializable
+import kotlin.math.ceil
+import kotlin.math.exp
+import kotlin.math.ln
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.pow
+
+/**
+ * A mergeable histogram with logarithmically sized bins (as in DDSketch),
+ * answering quantile queries with a bounded [relativeAccuracy].
+ * Each sign has its own bins, and at most [maxBins] bins are kept per sign:
+ * when more are needed, the bins with the smallest magnitude are collapsed
+ * (losing accuracy only on the values closest to zero).
+ * NaN values are ignored.
+ *
+ * @param relativeAccuracy the maximum relative error of quantile estimates, in (0, 1)
+ * @param maxBins the maximum number of bins kept for each sign
+ */
+class LogHistogram
+@JvmOverloads
+constructor(val relativeAccuracy: Double = DEFAULT_RELATIVE_ACCURACY, val maxBins: Int = DEFAULT_MAX_BINS) :
+    Serializable {
+    init {
+        require(relativeAccuracy > 0 && relativeAccuracy < 1) {
+            "The relative accuracy must be in (0, 1), but was $relativeAccuracy"
+        }
+        require(maxBins > 0) { "At least one bin is required, but $maxBins were requested" }
+    }
+
+    private val gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy)
+    private val logGamma = ln(gamma)
+    private val positives = Bins(maxBins)
+    private val negatives = Bins(maxBins)
+    private var zeros = 0L
+    private var positiveInfinities = 0L
+    private var negativeInfinities = 0L
+
+    /**
+     * The number of values added to this histogram.
+     */
+    var count: Long = 0L
+        private set
+
+    /**
+     * The smallest value added, or NaN if the histogram is empty.
+     */
+    var min: Double = Double.NaN
+        private set
+
+    /**
+     * The largest value added, or NaN if the histogram is empty.
+     */
+    var max: Double = Double.NaN
+        private set
+
+    /**
+     * Adds a [value] to this histogram.
+     */
+    fun add(value: Double) {
+        when {
+            value.isNaN() -> return
+            value == Double.POSITIVE_INFINITY -> positiveInfinities++
+            value == Double.NEGATIVE_INFINITY -> negativeInfinities++
+            value > 0 -> positives.add(indexOf(value), 1)
+            value < 0 -> negatives.add(indexOf(-value), 1)
+            else -> zeros++
+        }
+        count++
+        min = if (min.isNaN()) value else min(min, value)
+        max = if (max.isNaN()) value else max(max, value)
+    }
+
+    /**
+     * Adds all the values of [other] to this histogram.
+     * The histograms must have the same [relativeAccuracy].
+     */
+    fun merge(other: LogHistogram) {
+        require(other.relativeAccuracy == relativeAccuracy) {
+            "Cannot merge histograms with relative accuracy $relativeAccuracy and ${other.relativeAccuracy}"
+        }
+        if (other.count == 0L) {
+            return
+        }
+        positives.merge(other.positives)
+        negatives.merge(other.negatives)
+        zeros += other.zeros
+        positiveInfinities += other.positiveInfinities
+        negativeInfinities += other.negativeInfinities
+        min = if (min.isNaN()) other.min else min(min, other.min)
+        max = if (max.isNaN()) other.max else max(max, other.max)
+        count += other.count
+    }
+
+    /**
+     * Estimates the [quantile] (in [0, 1]) of the values added, or returns NaN if the histogram is empty.
+     * The estimate targets the value of rank `floor(quantile * (count - 1))` among the sorted values.
+     */
+    fun quantile(quantile: Double): Double {
+        require(quantile in 0.0..1.0) { "Quantiles must be in [0, 1], but $quantile was requested" }
+        if (count == 0L) {
+            return Double.NaN
+        }
+        val rank = (quantile * (count - 1)).toLong()
+        var seen = negativeInfinities
+        if (rank < seen) {
+            return Double.NEGATIVE_INFINITY
+        }
+        val fromNegatives = negatives.findDescending(rank - seen)
+        if (fromNegatives != null) {
+            return clamp(-valueOf(fromNegatives))
+        }
+        seen += negatives.total + zeros
+        if (rank < seen) {
+            return 0.0
+        }
+        val fromPositives = positives.findAscending(rank - seen)
+        return if (fromPositives != null) clamp(valueOf(fromPositives)) else Double.POSITIVE_INFINITY
+    }
+
+    /**
+     * Visits the non-empty bins of this histogram in ascending order, reporting for each one the
+     * bounds of the values it contains and how many values fell in it.
+     * Zeros and infinities are reported as degenerate bins.
+     */
+    fun forEachBin(action: (lowerBound: Double, upperBound: Double, count: Long) -> Unit) {
+        if (negativeInfinities > 0) {
+            action(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, negativeInfinities)
+        }
+        negatives.forEachDescending { index, binCount -> action(-upperBoundOf(index), -lowerBoundOf(index), binCount) }
+        if (zeros > 0) {
+            action(0.0, 0.0, zeros)
+        }
+        positives.forEachAscending { index, binCount -> action(lowerBoundOf(index), upperBoundOf(index), binCount) }
+        if (positiveInfinities > 0) {
+            action(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, positiveInfinities)
+        }
+    }
+
+    /**
+     * Removes all the values from this histogram.
+     */
+    fun clear() {
+        positives.clear()
+        negatives.clear()
+        zeros = 0
+        positiveInfinities = 0
+        negativeInfinities = 0
+        count = 0
+        min = Double.NaN
+        max = Double.NaN
+    }
+
+    /**
+     * Creates an independent copy of this histogram.
+     */
+    fun copy(): LogHistogram = LogHistogram(relativeAccuracy, maxBins).also { it.merge(this) }
+
+    private fun clamp(value: Double) = value.coerceIn(min, max)
+
+    /*
+     * Bin i contains the magnitudes in (gamma^(i-1), gamma^i].
+     */
+    private fun indexOf(magnitude: Double): Int = ceil(ln(magnitude) / logGamma).toInt()
+
+    private fun lowerBoundOf(index: Int): Double = gamma.pow(index - 1)
+
+    private fun upperBoundOf(index: Int): Double = gamma.pow(index)
+
+    /*
+     * The value whose relative distance from both bounds of the bin is the relative accuracy.
+     */
+    private fun valueOf(index: Int): Double = 2 * exp(index * logGamma) / (1 + gamma)
+
+    private class Bins(private val maxBins: Int) : Serializable {
+        private var counts = LongArray(0)
+        private var offset = 0
+        var total = 0L
+            private set
+
+        fun add(index: Int, count: Long) {
+            if (counts.isEmpty()) {
+                counts = LongArray(min(INITIAL_BINS, maxBins))
+                offset = index - counts.size / 2
+            }
+            val target = ensureCapacity(index)
+            counts[target - offset] += count
+            total += count
+        }
+
+        fun merge(other: Bins) = other.forEachAscending { index, count -> add(index, count) }
+
+        fun findAscending(rank: Long): Int? {
+            var seen = 0L
+            for (position in counts.indices) {
+                seen += counts[position]
+                if (rank < seen) {
+                    return position + offset
+                }
+            }
+            return null
+        }
+
+        fun findDescending(rank: Long): Int? {
+            var seen = 0L
+            for (position in counts.indices.reversed()) {
+                seen += counts[position]
+                if (rank < seen) {
+                    return position + offset
+                }
+            }
+            return null
+        }
+
+        inline fun forEachAscending(action: (index: Int, count: Long) -> Unit) {
+            for (position in counts.indices) {
+                if (counts[position] > 0) {
+                    action(position + offset, counts[position])
+                }
+            }
+        }
+
+        inline fun forEachDescending(action: (index: Int, count: Long) -> Unit) {
+            for (position in counts.indices.reversed()) {
+                if (counts[position] > 0) {
+                    action(position + offset, counts[position])
+                }
+            }
+        }
+
+        fun clear() {
+            counts = LongArray(0)
+            offset = 0
+            total = 0
+        }
+
+        /*
+         * Makes room for index, returning the index where its values must be stored
+         * (which differs from index if it must be collapsed into the lowest bin).
+         */
+        private fun ensureCapacity(index: Int): Int {
+            val last = offset + counts.size - 1
+            if (index in offset..last) {
+                return index
+            }
+            val newFirst = min(index, offset)
+            val newLast = max(index, last)
+            val span = newLast.toLong() - newFirst + 1
+            return if (span <= maxBins) {
+                resize(newFirst, newLast, extra = (maxBins - span).coerceAtMost(span).toInt())
+                index
+            } else {
+                val keptFirst = newLast - maxBins + 1
+                resize(keptFirst, newLast, extra = 0)
+                max(index, keptFirst)
+            }
+        }
+
+        /*
+         * Reallocates the bins to cover [first, last], plus extra slack towards the direction of growth;
+         * bins below first are collapsed into first.
+         */
+        private fun resize(first: Int, last: Int, extra: Int) {
+            val growsDown = first < offset
+            val newOffset = if (growsDown) first - extra else first
+            val newCounts = LongArray(last - first + 1 + extra)
+            for (position in counts.indices) {
+                val index = position + offset
+                if (counts[position] > 0) {
+                    newCounts[max(index, first) - newOffset] += counts[position]
+                }
+            }
+            counts = newCounts
+            offset = newOffset
+        }
+
+        private companion object {
+            private const val serialVersionUID = 1L
+            private const val INITIAL_BINS = 32
+        }
+    }
+
+    /**
+     * Defaults for [LogHistogram].
+     */
+    companion object {
+        private const val serialVersionUID = 1L
+
+        /**
+         * The default relative accuracy of quantile estimates.
+         */
+        const val DEFAULT_RELATIVE_ACCURACY: Double = 0.01
+
+        /**
+         * The default maximum number of bins kept for each sign.
+         */
+        const val DEFAULT_MAX_BINS: Int = 2048
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.statistic
+
+import org.apache.commons.math3.stat.descriptive.StorelessUnivariateStatistic
+
+/**
+ * A [StorelessUnivariateStatistic] backed by a sketch of bounded size,
+ * whose partial results (e.g., computed by different threads or in different runs of a batch)
+ * can be merged into a single one.
+ *
+ * @param S the type of statistics that can be merged into this one
+ */
+interface MergeableStatistic<S : MergeableStatistic<S>> : StorelessUnivariateStatistic {
+    /**
+     * Adds to this statistic all the values added to [other].
+     */
+    fun merge(other: S)
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.extractors
+
+import it.unibo.alchemist.boundary.Extractor
+import it.unibo.alchemist.boundary.exportfilters.CommonFilters
+import it.unibo.alchemist.model.environments.Continuous2DEnvironment
+import it.unibo.alchemist.model.incarnations.ProtelisIncarnation
+import it.unibo.alchemist.model.linkingrules.ConnectWithinDistance
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import it.unibo.alchemist.model.times.DoubleTime
+import kotlin.test.assertEquals
+import org.apache.commons.math3.random.MersenneTwister
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+
+class TestFusedExtraction {
+    private val incarnation = ProtelisIncarnation<Euclidean2DPosition>()
+    private val environment =
+        Continuous2DEnvironment(incarnation).apply {
+            linkingRule = ConnectWithinDistance(2.0)
+            val random = MersenneTwister(1)
+            repeat(NODES) { index ->
+                val node = incarnation.createNode(random, this, null)
+                node.setConcentration(incarnation.createMolecule(MOLECULE), if (index % 7 == 0) Double.NaN else index)
+                addNode(node, makePosition(random.nextDouble() * SIDE, random.nextDouble() * SIDE))
+            }
+        }
+
+    private fun extractors(): List<Extractor<Double>> = listOf(
+        MoleculeReader(MOLECULE, null, incarnation, CommonFilters.FILTERNAN.filteringPolicy, AGGREGATORS),
+        MoleculeReader(MOLECULE, null, incarnation, CommonFilters.NOFILTER.filteringPolicy, AGGREGATORS),
+        MoleculeReader(MOLECULE, null, incarnation, { listOf(it, it) }, AGGREGATORS),
+        NodeDegree(CommonFilters.NOFILTER.filteringPolicy, AGGREGATORS),
+    )
+
+    @ParameterizedTest
+    @ValueSource(booleans = [false, true])
+    fun `fused extraction matches the extraction of each extractor`(parallel: Boolean) {
+        val fused = extractors()
+        val extraction = FusedExtraction(fused, parallel, parallelThreshold = 1)
+        repeat(2) { step ->
+            val time = DoubleTime(step.toDouble())
+            extraction.precompute(environment, time, step.toLong())
+            val expected = extractors().map { it.extractData(environment, null, time, step.toLong()) }
+            assertEquals(expected, fused.map { it.extractData(environment, null, time, step.toLong()) })
+            environment.removeNode(environment.nodes.last())
+        }
+    }
+
+    private companion object {
+        private const val MOLECULE = "value"
+        private const val NODES = 500
+        private const val SIDE = 20.0
+        private val AGGREGATORS = listOf("mean", "sum", "min", "max", "variance", "median")
+    }
+}
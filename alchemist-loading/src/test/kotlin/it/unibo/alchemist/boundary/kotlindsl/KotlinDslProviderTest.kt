@@ -11,9 +11,11 @@ package it.unibo.alchemist.boundary.kotlindsl
 
 import it.unibo.alchemist.boundary.LoadAlchemist
 import it.unibo.alchemist.boundary.kotlindsl.TestComparators.shouldEqual
+import it.unibo.alchemist.kotlinscript.AlchemistScriptCache
 import java.nio.file.Files
 import java.util.stream.Stream
 import kotlin.io.path.writeText
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertNotNull
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
@@ -42,6 +44,27 @@ class KotlinDslProviderTest {
         assertNotNull(loader)
     }
 
+    @Test
+    fun `a script loaded twice should be compiled only once`() {
+        val script = """
+            simulation2D(SAPEREIncarnation()) {
+                environment {
+                    deployments {
+                        deploy(point(${System.nanoTime()}.0, 0.0))
+                    }
+                }
+            }
+        """.trimIndent()
+        val path = Files.createTempFile("dsl-cache-test-", ".alchemist.kts")
+        path.writeText(script)
+        val misses = AlchemistScriptCache.misses
+        val hits = AlchemistScriptCache.hits
+        assertNotNull(LoadAlchemist.from(path.toFile()))
+        assertEquals(misses + 1, AlchemistScriptCache.misses)
+        assertNotNull(LoadAlchemist.from(path.toFile()))
+        assertEquals(hits + 1, AlchemistScriptCache.hits)
+    }
+
     @ParameterizedTest(name = "{0} should match {1}")
     @MethodSource("equivalenceCases")
     fun `Kotlin DSL resources should match YAML equivalents`(ktsResource: String, ymlResource: String) {
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.test
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.doubles.plusOrMinus
+import io.kotest.matchers.doubles.shouldBeNaN
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import it.unibo.alchemist.boundary.statistic.ApproximateCountDistinct
+import it.unibo.alchemist.boundary.statistic.ApproximatePercentile
+import it.unibo.alchemist.util.StatUtil
+import kotlin.math.abs
+import kotlin.random.Random
+import org.apache.commons.math3.stat.descriptive.rank.Percentile
+
+/**
+ * Tests the streaming statistics and their loading through [StatUtil].
+ */
+class TestApproximateStatistics :
+    StringSpec({
+        val values = Random(1).let { random -> DoubleArray(100_000) { random.nextDouble(-1000.0, 1000.0) } }
+
+        "Parametric statistics should load" {
+            StatUtil.makeUnivariateStatistic("percentile95").get().shouldBeInstanceOf<Percentile>()
+            StatUtil
+                .makeUnivariateStatistic("approximatepercentile99.5")
+                .get()
+                .shouldBeInstanceOf<ApproximatePercentile>()
+            StatUtil.makeUnivariateStatistic("approximatemedian").isPresent shouldBe true
+            StatUtil.makeUnivariateStatistic("mean42").isPresent shouldBe false
+        }
+
+        "Approximate percentiles should be within the relative accuracy" {
+            listOf(1.0, 10.0, 50.0, 90.0, 99.0).forEach { percentile ->
+                val expected = Percentile(percentile).evaluate(values)
+                val tolerance = abs(expected) * 0.02 + 1.0
+                ApproximatePercentile(percentile).evaluate(values) shouldBe (expected plusOrMinus tolerance)
+            }
+            ApproximatePercentile().evaluate(doubleArrayOf()).shouldBeNaN()
+        }
+
+        "Merged statistics should match the statistic of all the values" {
+            val whole = ApproximatePercentile(90.0).apply { incrementAll(values) }
+            val halves =
+                listOf(values.copyOfRange(0, values.size / 2), values.copyOfRange(values.size / 2, values.size))
+                    .map { half -> ApproximatePercentile(90.0).apply { incrementAll(half) } }
+            val merged = halves.first().copy().apply { merge(halves.last()) }
+            merged.result shouldBe whole.result
+            merged.n shouldBe values.size.toLong()
+        }
+
+        "Approximate count distinct should be close to the exact count" {
+            val distinct = DoubleArray(50_000) { (it % 20_000).toDouble() }
+            ApproximateCountDistinct().evaluate(distinct) shouldBe (20_000.0 plusOrMinus 20_000 * 0.08)
+            val partial = ApproximateCountDistinct().apply { incrementAll(distinct, 0, 25_000) }
+            partial.merge(ApproximateCountDistinct().apply { incrementAll(distinct, 25_000, 25_000) })
+            partial.result shouldBe ApproximateCountDistinct().evaluate(distinct)
+            ApproximateCountDistinct().evaluate(doubleArrayOf(0.0, -0.0, Double.NaN)) shouldBe (1.0 plusOrMinus 0.1)
+        }
+    })
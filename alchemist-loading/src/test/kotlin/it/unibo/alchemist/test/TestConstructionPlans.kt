@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.test
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldHaveSize
+import io.kotest.matchers.longs.shouldBeGreaterThan
+import io.kotest.matchers.longs.shouldBeGreaterThanOrEqual
+import io.kotest.matchers.shouldBe
+import it.unibo.alchemist.boundary.loader.util.ConstructionPlan
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import it.unibo.alchemist.model.timedistributions.DiracComb
+import it.unibo.alchemist.model.timedistributions.ExponentialTime
+import it.unibo.alchemist.test.AlchemistTesting.loadAlchemist
+
+class TestConstructionPlans :
+    StringSpec({
+        "objects built through cached construction plans should be equivalent to those built by JIRF" {
+            repeat(2) { iteration ->
+                val plannedBefore = ConstructionPlan.constructionsFromPlans
+                val environment =
+                    loadAlchemist<Any, Euclidean2DPosition>("testConstructionPlans.yml").environment
+                environment.nodes shouldHaveSize 100
+                val distributions = environment.nodes.flatMap { node -> node.reactions.map { it.timeDistribution } }
+                distributions shouldHaveSize 200
+                distributions.toSet() shouldHaveSize 200
+                val exponentials = distributions.filterIsInstance<ExponentialTime<*>>()
+                exponentials shouldHaveSize 100
+                exponentials.forEach { it.rate shouldBe 2.0 }
+                val diracCombs = distributions.filterIsInstance<DiracComb<*>>()
+                diracCombs shouldHaveSize 100
+                diracCombs.forEach { it.rate shouldBe 0.5 }
+                /*
+                 * Plans learned while building the first nodes are reused for the others,
+                 * and the second load builds every time distribution through cached plans.
+                 */
+                val planned = ConstructionPlan.constructionsFromPlans - plannedBefore
+                planned shouldBeGreaterThan 0
+                if (iteration > 0) {
+                    planned shouldBeGreaterThanOrEqual distributions.size.toLong()
+                }
+            }
+        }
+    })
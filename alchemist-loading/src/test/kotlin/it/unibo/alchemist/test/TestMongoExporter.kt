@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2021, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed in the main project's alchemist/build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -9,22 +9,37 @@
 
 package it.unibo.alchemist.test
 
+import com.mongodb.MongoException
 import com.mongodb.client.MongoClient
 import com.mongodb.client.MongoClients
+import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.core.spec.style.StringSpec
 import io.kotest.matchers.collections.shouldContainAll
 import io.kotest.matchers.ints.shouldBeExactly
 import io.kotest.matchers.ints.shouldBeGreaterThan
 import io.kotest.matchers.longs.shouldBeGreaterThan
+import io.kotest.matchers.longs.shouldBeExactly as shouldBeExactlyLong
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import it.unibo.alchemist.boundary.Extractor
 import it.unibo.alchemist.boundary.LoadAlchemist
 import it.unibo.alchemist.boundary.OutputMonitor
 import it.unibo.alchemist.boundary.exporters.GlobalExporter
 import it.unibo.alchemist.boundary.exporters.MongoDBExporter
+import it.unibo.alchemist.boundary.exportfilters.CommonFilters
+import it.unibo.alchemist.boundary.extractors.NodeDegree
+import it.unibo.alchemist.boundary.extractors.Time as TimeExtractor
 import it.unibo.alchemist.core.Simulation
 import it.unibo.alchemist.model.Actionable
 import it.unibo.alchemist.model.Environment
 import it.unibo.alchemist.model.Position
+import it.unibo.alchemist.model.SupportedIncarnations
 import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.model.environments.Continuous2DEnvironment
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import it.unibo.alchemist.model.times.DoubleTime
+import org.apache.commons.math3.random.MersenneTwister
+import org.bson.Document
 import org.junit.jupiter.api.Assertions.assertNotNull
 import org.kaikikm.threadresloader.ResourceLoader
 
@@ -73,4 +88,102 @@ class TestMongoExporter<T, P : Position<P>> :
                 }
             }
         }
+        "test batched export with compact per-node data" {
+            withMongo {
+                val environment = environmentWithNodes(10)
+                val exporter =
+                    MongoDBExporter<Any, Euclidean2DPosition>(
+                        uri = "mongodb://localhost:27017/",
+                        appendTime = true,
+                        batchSize = 7,
+                        maxPendingBatches = 1,
+                        compactNodeData = true,
+                    )
+                exporter.bindVariables(emptyMap<String, Any>())
+                exporter.bindDataExtractors(
+                    listOf(TimeExtractor(), NodeDegree(CommonFilters.NOFILTER.filteringPolicy, emptyList())),
+                )
+                exporter.setup(environment)
+                val samples = 50
+                repeat(samples) { exporter.update(environment, null, DoubleTime(it.toDouble()), it.toLong()) }
+                exporter.close(environment, DoubleTime(samples.toDouble()), samples.toLong())
+                val exportCollection =
+                    MongoClients
+                        .create(exporter.uri)
+                        .getDatabase(exporter.dbName)
+                        .getCollection(exporter.collectionName)
+                exportCollection.countDocuments() shouldBeExactlyLong samples.toLong()
+                exportCollection.find().forEach { document ->
+                    val degrees = document.get("nodes-degree@node-id", Document::class.java)
+                    degrees.getList("ids", Int::class.javaObjectType).size shouldBeExactly environment.nodeCount
+                    degrees.getList("values", Double::class.javaObjectType).size shouldBeExactly environment.nodeCount
+                }
+            }
+        }
+        "per-node data are compacted even with a single node" {
+            withMongo {
+                val environment = environmentWithNodes(1)
+                val exporter =
+                    MongoDBExporter<Any, Euclidean2DPosition>(
+                        uri = "mongodb://localhost:27017/",
+                        appendTime = true,
+                        compactNodeData = true,
+                    )
+                exporter.bindVariables(emptyMap<String, Any>())
+                exporter.bindDataExtractors(listOf(NodeDegree(CommonFilters.NOFILTER.filteringPolicy, emptyList())))
+                exporter.setup(environment)
+                exporter.update(environment, null, DoubleTime(0.0), 0)
+                exporter.close(environment, DoubleTime(1.0), 1)
+                val document =
+                    MongoClients
+                        .create(exporter.uri)
+                        .getDatabase(exporter.dbName)
+                        .getCollection(exporter.collectionName)
+                        .find()
+                        .first()
+                checkNotNull(document)
+                val degrees = document.get("nodes-degree@node-id", Document::class.java)
+                degrees.getList("ids", Int::class.javaObjectType) shouldBe listOf(environment.nodes.single().id)
+            }
+        }
+        "failed writes are reported to the simulation" {
+            withMongo {
+                val environment = environmentWithNodes(1)
+                val exporter =
+                    MongoDBExporter<Any, Euclidean2DPosition>(
+                        uri = "mongodb://localhost:27017/",
+                        appendTime = true,
+                        batchSize = 2,
+                    )
+                exporter.bindVariables(emptyMap<String, Any>())
+                // every document has the same identifier, hence the bulk insert fails
+                exporter.bindDataExtractors(listOf(ConstantIdentifier))
+                exporter.setup(environment)
+                repeat(2) { exporter.update(environment, null, DoubleTime(it.toDouble()), it.toLong()) }
+                shouldThrow<IllegalStateException> {
+                    exporter.close(environment, DoubleTime(2.0), 2)
+                }.cause.shouldBeInstanceOf<MongoException>()
+            }
+        }
     })
+
+private fun environmentWithNodes(nodes: Int): Continuous2DEnvironment<Any> {
+    val incarnation = SupportedIncarnations.get<Any, Euclidean2DPosition>("sapere").get()
+    val environment = Continuous2DEnvironment(incarnation)
+    repeat(nodes) {
+        val node = incarnation.createNode(MersenneTwister(0), environment, null)
+        environment.addNode(node, environment.makePosition(it, 0))
+    }
+    return environment
+}
+
+private object ConstantIdentifier : Extractor<Int> {
+    override val columnNames = listOf("_id")
+
+    override fun <T> extractData(
+        environment: Environment<T, *>,
+        reaction: Actionable<T>?,
+        time: Time,
+        step: Long,
+    ): Map<String, Int> = mapOf("_id" to 0)
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.test
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.doubles.shouldBeGreaterThan
+import io.kotest.matchers.doubles.shouldBeGreaterThanOrEqual
+import io.kotest.matchers.ints.shouldBeLessThan
+import io.kotest.matchers.longs.shouldBeGreaterThan
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import it.unibo.alchemist.boundary.OutputMonitor
+import it.unibo.alchemist.boundary.exporters.GlobalExporter
+import it.unibo.alchemist.boundary.extractors.PerformanceMetrics
+import it.unibo.alchemist.boundary.monitors.PerformanceMonitor
+import it.unibo.alchemist.model.Actionable
+import it.unibo.alchemist.model.Environment
+import it.unibo.alchemist.model.Position
+import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.test.AlchemistTesting.loadAlchemist
+import it.unibo.alchemist.test.AlchemistTesting.runInCurrentThread
+import it.unibo.alchemist.test.AlchemistTesting.terminatingAfterSteps
+import java.lang.management.ManagementFactory
+import javax.management.ObjectName
+
+class TestPerformanceMonitor<T, P : Position<P>> :
+    StringSpec(
+        {
+            val monitors = ObjectName("${PerformanceMonitor.JMX_DOMAIN}:type=PerformanceMonitor,*")
+
+            fun registeredMonitors() = ManagementFactory.getPlatformMBeanServer().queryNames(monitors, null)
+
+            "the performance monitor should measure the simulation and expose the metrics through JMX" {
+                val simulation = loadAlchemist<T, P>("testPerformanceMonitor.yml").terminatingAfterSteps(STEPS)
+                val monitor = simulation.outputMonitors.first().shouldBeInstanceOf<PerformanceMonitor<T, P>>()
+                var registeredWhileRunning = false
+                simulation.addOutputMonitor(
+                    object : OutputMonitor<T, P> {
+                        override fun stepDone(
+                            environment: Environment<T, P>,
+                            reaction: Actionable<T>?,
+                            time: Time,
+                            step: Long,
+                        ) {
+                            registeredWhileRunning = registeredWhileRunning || registeredMonitors().isNotEmpty()
+                        }
+                    },
+                )
+                simulation.runInCurrentThread()
+                registeredWhileRunning shouldBe true
+                registeredMonitors().shouldBeEmpty()
+                with(monitor.metrics) {
+                    eventsPerSecond shouldBeGreaterThan 0.0
+                    stepTimeMax shouldBeGreaterThanOrEqual stepTimeMedian
+                    fanOutMean shouldBeGreaterThanOrEqual 0.0
+                    schedulerSize shouldBe 1
+                    heapUsed shouldBeGreaterThan 0L
+                }
+            }
+            "the performance metrics should be extracted from the attached monitor" {
+                val simulation = loadAlchemist<T, P>("testPerformanceMonitor.yml").terminatingAfterSteps(STEPS)
+                simulation.runInCurrentThread()
+                val extractor = PerformanceMetrics()
+                val data = extractor.extractData(simulation.environment, null, simulation.time, simulation.step)
+                data.keys shouldBe extractor.columnNames.toSet()
+                data["schedulerSize"] shouldBe 1.0
+                data.getValue("eventsPerSecond") shouldBeGreaterThan 0.0
+            }
+            "a performance monitor should be attached to simulations exporting the performance metrics" {
+                val simulation = loadAlchemist<T, P>("testPerformanceMetrics.yml").terminatingAfterSteps(STEPS)
+                val monitors = simulation.outputMonitors
+                val monitor = monitors.filterIsInstance<PerformanceMonitor<T, P>>().single()
+                // The metrics must be computed before being exported
+                monitors.indexOf(monitor) shouldBeLessThan monitors.indexOfFirst { it is GlobalExporter<T, P> }
+                simulation.runInCurrentThread()
+                monitor.metrics.eventsPerSecond shouldBeGreaterThan 0.0
+            }
+            "extracting the performance metrics without a monitor should fail" {
+                val simulation = loadAlchemist<T, P>("testPerformanceMonitor.yml")
+                simulation.outputMonitors.filterIsInstance<PerformanceMonitor<T, P>>().forEach {
+                    simulation.removeOutputMonitor(it)
+                }
+                shouldThrow<IllegalStateException> {
+                    PerformanceMetrics().extractData(simulation.environment, null, simulation.time, simulation.step)
+                }
+            }
+        },
+    ) {
+    private companion object {
+        private const val STEPS = 1000L
+    }
+}
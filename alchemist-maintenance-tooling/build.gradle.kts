@@ -21,4 +21,11 @@ kotlin {
         nodejs()
         d8()
     }
+    sourceSets {
+        val jvmMain by getting {
+            dependencies {
+                implementation(libs.resourceloader)
+            }
+        }
+    }
 }
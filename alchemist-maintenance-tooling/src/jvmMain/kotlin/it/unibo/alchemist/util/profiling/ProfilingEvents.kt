@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.util.profiling
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Enabled
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+
+/*
+ * Java Flight Recorder events emitted by the hot paths of Alchemist.
+ * All of them are disabled by default: they are recorded only when enabled by the recording settings,
+ * e.g., by the configuration returned by RecordingAnalyzer.configuration.
+ * When disabled, begin() and shouldCommit() are no-ops, and the JIT compiler removes the event allocation:
+ * call sites should only fill the fields after checking shouldCommit().
+ */
+
+/**
+ * The execution of a reaction by the engine, from when it is picked from the scheduler to when
+ * it is rescheduled, including the update of the reactions depending on it.
+ */
+@Name(ReactionExecutionEvent.NAME)
+@Label("Reaction Execution")
+@Description("A reaction picked, executed, and rescheduled by the engine")
+@Category("Alchemist", "Engine")
+@Enabled(false)
+@StackTrace(false)
+class ReactionExecutionEvent : Event() {
+    /**
+     * The type of the reaction.
+     */
+    @JvmField
+    @Label("Reaction Type")
+    var reactionType: Class<*>? = null
+
+    /**
+     * Whether the reaction was executed, or only rescheduled as its conditions did not hold.
+     */
+    @JvmField
+    @Label("Executed")
+    var executed: Boolean = false
+
+    /**
+     * How many reactions were updated as they depend on this one.
+     */
+    @JvmField
+    @Label("Updated Dependencies")
+    var updatedDependencies: Int = 0
+
+    /**
+     * Constants.
+     */
+    companion object {
+        /**
+         * The name of the event.
+         */
+        const val NAME = "it.unibo.alchemist.ReactionExecution"
+    }
+}
+
+/**
+ * An operation on the scheduler.
+ */
+@Name(SchedulerOperationEvent.NAME)
+@Label("Scheduler Operation")
+@Description("A reaction added to, removed from, or updated in the scheduler")
+@Category("Alchemist", "Engine")
+@Enabled(false)
+@StackTrace(false)
+class SchedulerOperationEvent : Event() {
+    /**
+     * The operation performed.
+     */
+    @JvmField
+    @Label("Operation")
+    var operation: String? = null
+
+    /**
+     * The number of reactions in the scheduler after the operation.
+     */
+    @JvmField
+    @Label("Scheduled Reactions")
+    var size: Int = 0
+
+    /**
+     * Constants.
+     */
+    companion object {
+        /**
+         * The name of the event.
+         */
+        const val NAME = "it.unibo.alchemist.SchedulerOperation"
+    }
+}
+
+/**
+ * An update of the dependency graph, due to reactions being added or removed, or to a change in the neighborhoods.
+ */
+@Name(DependencyGraphUpdateEvent.NAME)
+@Label("Dependency Graph Update")
+@Description("A change in the dependencies among reactions")
+@Category("Alchemist", "Engine")
+@Enabled(false)
+@StackTrace(false)
+class DependencyGraphUpdateEvent : Event() {
+    /**
+     * The operation performed.
+     */
+    @JvmField
+    @Label("Operation")
+    var operation: String? = null
+
+    /**
+     * The type of the reaction added or removed, if any.
+     */
+    @JvmField
+    @Label("Reaction Type")
+    var reactionType: Class<*>? = null
+
+    /**
+     * Constants.
+     */
+    companion object {
+        /**
+         * The name of the event.
+         */
+        const val NAME = "it.unibo.alchemist.DependencyGraphUpdate"
+    }
+}
+
+/**
+ * The update of the neighborhoods after a node was added or moved.
+ */
+@Name(NeighborhoodUpdateEvent.NAME)
+@Label("Neighborhood Update")
+@Description("The neighborhoods updated after a node was added or moved")
+@Category("Alchemist", "Environment")
+@Enabled(false)
+@StackTrace(false)
+class NeighborhoodUpdateEvent : Event() {
+    /**
+     * The id of the node.
+     */
+    @JvmField
+    @Label("Node")
+    var node: Int = 0
+
+    /**
+     * Whether the node was just added.
+     */
+    @JvmField
+    @Label("New Node")
+    var newNode: Boolean = false
+
+    /**
+     * Whether only the neighborhood of the node and of its neighbors needed to be updated.
+     */
+    @JvmField
+    @Label("Locally Consistent")
+    var locallyConsistent: Boolean = false
+
+    /**
+     * Constants.
+     */
+    companion object {
+        /**
+         * The name of the event.
+         */
+        const val NAME = "it.unibo.alchemist.NeighborhoodUpdate"
+    }
+}
+
+/**
+ * The computation of the neighborhood of a node by a linking rule.
+ */
+@Name(LinkingRuleEvaluationEvent.NAME)
+@Label("Linking Rule Evaluation")
+@Description("The neighborhood of a node computed by a linking rule")
+@Category("Alchemist", "Environment")
+@Enabled(false)
+@StackTrace(false)
+class LinkingRuleEvaluationEvent : Event() {
+    /**
+     * The type of the linking rule.
+     */
+    @JvmField
+    @Label("Linking Rule Type")
+    var linkingRuleType: Class<*>? = null
+
+    /**
+     * The id of the node.
+     */
+    @JvmField
+    @Label("Node")
+    var node: Int = 0
+
+    /**
+     * The size of the computed neighborhood.
+     */
+    @JvmField
+    @Label("Neighbors")
+    var neighbors: Int = 0
+
+    /**
+     * Constants.
+     */
+    companion object {
+        /**
+         * The name of the event.
+         */
+        const val NAME = "it.unibo.alchemist.LinkingRuleEvaluation"
+    }
+}
+
+/**
+ * The export of data by an exporter.
+ */
+@Name(DataExportEvent.NAME)
+@Label("Data Export")
+@Description("Data extracted and exported by an exporter")
+@Category("Alchemist", "Export")
+@Enabled(false)
+@StackTrace(false)
+class DataExportEvent : Event() {
+    /**
+     * The type of the exporter.
+     */
+    @JvmField
+    @Label("Exporter Type")
+    var exporterType: Class<*>? = null
+
+    /**
+     * The simulation step.
+     */
+    @JvmField
+    @Label("Step")
+    var step: Long = 0
+
+    /**
+     * Constants.
+     */
+    companion object {
+        /**
+         * The name of the event.
+         */
+        const val NAME = "it.unibo.alchemist.DataExport"
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.util.profiling
+
+import java.nio.file.Path
+import java.time.Duration
+import jdk.jfr.Configuration
+import jdk.jfr.consumer.RecordedClass
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import org.kaikikm.threadresloader.ResourceLoader
+
+/**
+ * Summarizes the Alchemist events of a Java Flight Recorder recording, grouping them by event and by subject:
+ * reaction executions are grouped by reaction type, linking rule evaluations by linking rule type,
+ * exports by exporter type, and engine operations by operation.
+ *
+ * The recording can be produced with the [configuration] bundled with Alchemist:
+ *
+ *     java -XX:StartFlightRecording:settings=alchemist.jfc,filename=alchemist.jfr -jar alchemist.jar ...
+ *
+ * and then summarized by running this object's [main] with the path of the recording.
+ * Running it with `--configuration` prints the bundled configuration instead.
+ */
+object RecordingAnalyzer {
+    private const val CONFIGURATION = "it/unibo/alchemist/util/profiling/alchemist.jfc"
+    private const val EVENT_PREFIX = "it.unibo.alchemist."
+    private const val NANOS_PER_MILLI = 1e6
+    private const val NANOS_PER_MICRO = 1e3
+    private val subjectFields = listOf("reactionType", "linkingRuleType", "exporterType", "operation")
+
+    /**
+     * The time spent in some kind of events.
+     *
+     * @property event the name of the event, without the Alchemist prefix
+     * @property subject what the events refer to, e.g., the type of a reaction, or an empty string
+     * @property count the number of events
+     * @property total the total duration of the events
+     * @property max the duration of the longest event
+     */
+    data class Summary(
+        val event: String,
+        val subject: String,
+        val count: Long,
+        val total: Duration,
+        val max: Duration,
+    ) {
+        /**
+         * The mean duration of the events.
+         */
+        val mean: Duration get() = if (count == 0L) Duration.ZERO else total.dividedBy(count)
+
+        internal operator fun plus(duration: Duration) =
+            copy(count = count + 1, total = total + duration, max = maxOf(max, duration))
+    }
+
+    /**
+     * The content of the bundled Java Flight Recorder configuration, enabling all the Alchemist events.
+     */
+    val configurationText: String by lazy {
+        checkNotNull(ResourceLoader.getResourceAsStream(CONFIGURATION)) { "Missing $CONFIGURATION" }
+            .bufferedReader()
+            .use { it.readText() }
+    }
+
+    /**
+     * @return the bundled Java Flight Recorder [Configuration], enabling all the Alchemist events.
+     */
+    @JvmStatic
+    fun configuration(): Configuration = Configuration.create(configurationText.reader())
+
+    /**
+     * Reads the recording in [recording] one event at a time, and summarizes the Alchemist events.
+     *
+     * @return the summaries, sorted by decreasing total duration.
+     */
+    @JvmStatic
+    fun summarize(recording: Path): List<Summary> {
+        val summaries = mutableMapOf<Pair<String, String>, Summary>()
+        RecordingFile(recording).use { file ->
+            while (file.hasMoreEvents()) {
+                val event = file.readEvent()
+                val name = event.eventType.name
+                if (name.startsWith(EVENT_PREFIX)) {
+                    val key = name.removePrefix(EVENT_PREFIX) to event.subject()
+                    val previous = summaries[key] ?: Summary(key.first, key.second, 0, Duration.ZERO, Duration.ZERO)
+                    summaries[key] = previous + event.duration
+                }
+            }
+        }
+        return summaries.values.sortedByDescending { it.total }
+    }
+
+    /**
+     * @return a human-readable table of the [summaries].
+     */
+    @JvmStatic
+    fun format(summaries: List<Summary>): String {
+        val header = listOf("Event", "Subject", "Count", "Total (ms)", "Mean (us)", "Max (us)")
+        val rows =
+            summaries.map {
+                listOf(
+                    it.event,
+                    it.subject,
+                    it.count.toString(),
+                    "%.3f".format(it.total.toNanos() / NANOS_PER_MILLI),
+                    "%.3f".format(it.mean.toNanos() / NANOS_PER_MICRO),
+                    "%.3f".format(it.max.toNanos() / NANOS_PER_MICRO),
+                )
+            }
+        val widths = header.indices.map { column -> (rows + listOf(header)).maxOf { it[column].length } }
+        return (listOf(header) + rows).joinToString("\n") { row ->
+            row.mapIndexed { column, cell -> cell.padEnd(widths[column]) }.joinToString("  ").trimEnd()
+        }
+    }
+
+    /**
+     * Prints the summary of the recordings passed as arguments,
+     * or the bundled configuration if the argument is `--configuration`.
+     */
+    @JvmStatic
+    fun main(args: Array<String>) {
+        when {
+            args.singleOrNull() == "--configuration" -> print(configurationText)
+            args.isEmpty() -> System.err.println("Usage: RecordingAnalyzer [--configuration | <recording.jfr>...]")
+            else -> args.forEach { println(format(summarize(Path.of(it)))) }
+        }
+    }
+
+    private fun RecordedEvent.subject(): String = subjectFields
+        .firstOrNull { hasField(it) && getValue<Any?>(it) != null }
+        ?.let { field ->
+            when (val value = getValue<Any>(field)) {
+                is RecordedClass -> value.name
+                else -> value.toString()
+            }
+        }.orEmpty()
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -41,7 +41,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- *
+ * Loads GPS traces from files or directories, available as resources.
+ * Parsed traces are converted once to a columnar format, and memory-mapped (see {@link ColumnarTraceStore}).
  */
 public final class TraceLoader implements Iterable<GPSTrace> {
 
@@ -75,7 +76,7 @@ public final class TraceLoader implements Iterable<GPSTrace> {
      */
     public TraceLoader(final String path, final boolean cycle, final GPSTimeAlignment normalizer) throws IOException {
         this.cyclic = cycle;
-        traces = normalizer.alignTime(loadTraces(path));
+        traces = normalizer.alignTime(ColumnarTraceStore.getOrConvert(resourcesIn(path), () -> loadTraces(path)));
     }
 
     /**
@@ -132,6 +133,19 @@ public final class TraceLoader implements Iterable<GPSTrace> {
         return cyclic ? Iterators.cycle(traces) : traces.iterator();
     }
 
+    /*
+     * The files found in the path, visiting directories the same way loadTraces does.
+     */
+    private static List<String> resourcesIn(final String path) {
+        final boolean isDirectory = runOnPathsStream(path, s -> s.allMatch(line -> ResourceLoader.getResource(line) != null));
+        if (isDirectory) {
+            return runOnPathsStream(path, s -> s
+                .flatMap(child -> resourcesIn(child).stream())
+                .collect(ImmutableList.toImmutableList()));
+        }
+        return ImmutableList.of(path);
+    }
+
     private List<GPSTrace> loadTraces(final String path) throws IOException {
         /*
          * check if the path is a directory or a file
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -16,6 +16,8 @@ import it.unibo.alchemist.model.Route;
 import it.unibo.alchemist.model.RoutingService;
 import it.unibo.alchemist.model.RoutingServiceOptions;
 
+import java.util.List;
+
 /**
  * @param <T> Concentration type
  * @param <O> {@link RoutingServiceOptions} type
@@ -109,6 +111,44 @@ public interface MapEnvironment<T, O extends RoutingServiceOptions<O>, S extends
      */
     Route<GeoPosition> computeRoute(GeoPosition from, GeoPosition to, O options);
 
+    /**
+     * Computes the routes from each of the origins to each of the destinations. Implementations may compute
+     * them in parallel, by default they are computed sequentially through
+     * {@link #computeRoute(GeoPosition, GeoPosition, RoutingServiceOptions)}.
+     *
+     * @param origins
+     *            start positions
+     * @param destinations
+     *            end positions
+     * @param options
+     *            options to use
+     * @return a list containing, for each origin, the list of the routes towards each destination
+     */
+    default List<List<Route<GeoPosition>>> computeRoutes(
+        final List<GeoPosition> origins,
+        final List<GeoPosition> destinations,
+        final O options
+    ) {
+        return origins.stream()
+            .map(from -> destinations.stream().map(to -> computeRoute(from, to, options)).toList())
+            .toList();
+    }
+
+    /**
+     * Hints that the route between two positions is likely to be requested soon, through
+     * {@link #computeRoute(GeoPosition, GeoPosition, RoutingServiceOptions)}. Implementations may start
+     * computing it in background, by default nothing happens.
+     *
+     * @param from
+     *            start position
+     * @param to
+     *            end position
+     * @param options
+     *            options to use
+     */
+    default void prefetchRoute(final GeoPosition from, final GeoPosition to, final O options) {
+    }
+
     /**
      * @return the {@link RoutingService} for this environment
      */
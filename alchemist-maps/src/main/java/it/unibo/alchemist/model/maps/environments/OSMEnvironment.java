@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -10,7 +10,7 @@
 package it.unibo.alchemist.model.maps.environments;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import it.unibo.alchemist.model.GeoPosition;
 import it.unibo.alchemist.model.Incarnation;
@@ -19,9 +19,14 @@ import it.unibo.alchemist.model.Position;
 import it.unibo.alchemist.model.Route;
 import it.unibo.alchemist.model.environments.Abstract2DEnvironment;
 import it.unibo.alchemist.model.maps.MapEnvironment;
+import it.unibo.alchemist.model.maps.TimedRoute;
 import it.unibo.alchemist.model.maps.positions.LatLongPosition;
+import it.unibo.alchemist.model.maps.positions.LocalProjection;
+import it.unibo.alchemist.model.maps.positions.ProjectedPosition;
 import it.unibo.alchemist.model.maps.routingservices.GraphHopperOptions;
 import it.unibo.alchemist.model.maps.routingservices.GraphHopperRoutingService;
+import it.unibo.alchemist.model.maps.routingservices.PersistentRouteCache;
+import org.danilopianini.util.ListSet;
 import org.jetbrains.annotations.NotNull;
 import org.jooq.lambda.Unchecked;
 import org.kaikikm.threadresloader.ResourceLoader;
@@ -33,8 +38,10 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.Serial;
 import java.net.URI;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -45,6 +52,14 @@ import java.util.concurrent.TimeUnit;
  * on online services).
  * The data is then stored in-memory for performance
  * reasons.
+ * Routes are computed in background by the routing service (so that they can be prefetched, see
+ * {@link #prefetchRoute(GeoPosition, GeoPosition, GraphHopperOptions)}, or computed in batches, see
+ * {@link #computeRoutes(List, List, GraphHopperOptions)}), and are kept in memory as well as on disk
+ * (see {@link GraphHopperRoutingService#getPersistentRoutes()}), so that they are shared across launches.
+ * Optionally, node positions can be projected on a local plane (see {@link LocalProjection}), so that distances
+ * and neighborhood queries do not require geodesic computations: in this case, every position entering the
+ * environment gets converted to a {@link ProjectedPosition}, which behaves as a plain {@link GeoPosition}
+ * towards routing, GPS traces, and graphical interfaces.
  *
  * @param <T> concentration type
  */
@@ -66,6 +81,11 @@ public final class OSMEnvironment<T>
      * The default value for the discard of nodes too far from streets.
      */
     public static final boolean DEFAULT_FORCE_STREETS = false;
+
+    /**
+     * The default value for the projection of node positions on a local plane.
+     */
+    public static final boolean DEFAULT_PROJECTED = false;
     private static final Logger L = LoggerFactory.getLogger(OSMEnvironment.class);
     @Serial
     private static final long serialVersionUID = 1L;
@@ -76,10 +96,12 @@ public final class OSMEnvironment<T>
     private final boolean onlyStreet;
     @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Re-loaded automatically")
     @Nullable private transient GraphHopperRoutingService navigator;
-    @Nullable private transient LoadingCache<CacheEntry, Route<GeoPosition>> routecache;
+    @Nullable private transient AsyncLoadingCache<CacheEntry, Route<GeoPosition>> routecache;
     private boolean benchmarking;
     private final int approximation;
     private final String mapFile;
+    private final boolean projected;
+    @Nullable private LocalProjection projection;
 
     /**
      * Builds a new {@link OSMEnvironment} without an actual backing map.
@@ -176,6 +198,40 @@ public final class OSMEnvironment<T>
             final int approximation,
             final boolean onStreets,
             final boolean onlyOnStreets
+    ) {
+        this(incarnation, file, approximation, onStreets, onlyOnStreets, DEFAULT_PROJECTED);
+    }
+
+    /**
+     * @param incarnation the incarnation to be used.
+     * @param file
+     *            the file path where the map data is stored. Accepts OSM maps of
+     *            any format (xml, osm, pbf). The map will be processed, optimized
+     *            and stored for future use.
+     * @param approximation
+     *            the symbols of IEEE 754-encoded
+     *            position that may be discarded when comparing two positions,
+     *            allowing quicker retrieval of the route between two positions
+     *            via cache.
+     * @param onStreets
+     *            if true, the nodes will be placed on the street nearest to the
+     *            desired {@link Position}.
+     * @param onlyOnStreets
+     *            if true, the nodes which are too far from a street will be simply
+     *            discarded. If false, they will be placed anyway, in the original
+     *            position.
+     * @param projected
+     *            if true, node positions are projected on the plane tangent to the
+     *            first position entering the environment, and distances are computed
+     *            in meters on such plane. Recommended for city-scale scenarios.
+     */
+    public OSMEnvironment(
+            final Incarnation<T, GeoPosition> incarnation,
+            final String file,
+            final int approximation,
+            final boolean onStreets,
+            final boolean onlyOnStreets,
+            final boolean projected
     ) {
         super(incarnation);
         if (approximation < 0 || approximation > 64) {
@@ -188,6 +244,7 @@ public final class OSMEnvironment<T>
         }
         mapFile = file;
         this.approximation = approximation;
+        this.projected = projected;
     }
 
     @Nonnull
@@ -197,10 +254,49 @@ public final class OSMEnvironment<T>
          * If it must be located on streets, query the navigation engine for a street
          * point. Otherwise, put it where it is declared.
          */
-        return forceStreets
-            ? Optional.ofNullable(getNavigator().allowedPointClosestTo(Objects.requireNonNull(position)))
-                .orElse(position)
-            : position;
+        return project(
+            forceStreets
+                ? Optional.ofNullable(getNavigator().allowedPointClosestTo(Objects.requireNonNull(position)))
+                    .orElse(position)
+                : position
+        );
+    }
+
+    @Override
+    public void moveNodeToPosition(@Nonnull final Node<T> node, @Nonnull final GeoPosition newPosition) {
+        super.moveNodeToPosition(node, project(newPosition));
+    }
+
+    @Nonnull
+    @Override
+    public ListSet<Node<T>> getNodesWithinRange(@Nonnull final GeoPosition position, final double range) {
+        return super.getNodesWithinRange(project(position), range);
+    }
+
+    /**
+     * @return true if node positions are projected on a local plane
+     */
+    public boolean isProjected() {
+        return projected;
+    }
+
+    /*
+     * Converts positions entering the environment (e.g., from routes or GPS traces) to the local projection.
+     * The first position ever projected is the origin of the projection.
+     */
+    private GeoPosition project(final GeoPosition position) {
+        if (!projected) {
+            return position;
+        }
+        return getProjection(position.getLatitude(), position.getLongitude()).project(position);
+    }
+
+    private LocalProjection getProjection(final double originLatitude, final double originLongitude) {
+        if (projection == null) {
+            projection = new LocalProjection(originLatitude, originLongitude);
+            L.debug("Positions are projected on the plane tangent to [{}, {}]", originLatitude, originLongitude);
+        }
+        return projection;
     }
 
     @Override
@@ -214,6 +310,32 @@ public final class OSMEnvironment<T>
         final GeoPosition to,
         final GraphHopperOptions options
     ) {
+        return GraphHopperRoutingService.await(getRouteCache().get(new CacheEntry(options, from, to)));
+    }
+
+    @Override
+    public List<List<Route<GeoPosition>>> computeRoutes(
+        final List<GeoPosition> origins,
+        final List<GeoPosition> destinations,
+        final GraphHopperOptions options
+    ) {
+        final var routes = origins.stream()
+            .map(from -> destinations.stream()
+                .map(to -> getRouteCache().get(new CacheEntry(options, from, to)))
+                .toList()
+            )
+            .toList();
+        return routes.stream()
+            .map(row -> row.stream().map(GraphHopperRoutingService::await).toList())
+            .toList();
+    }
+
+    @Override
+    public void prefetchRoute(final GeoPosition from, final GeoPosition to, final GraphHopperOptions options) {
+        getRouteCache().get(new CacheEntry(options, from, to));
+    }
+
+    private AsyncLoadingCache<CacheEntry, Route<GeoPosition>> getRouteCache() {
         if (routecache == null) {
             final Caffeine<Object, Object> builder = Caffeine.newBuilder();
             if (benchmarking) {
@@ -221,9 +343,32 @@ public final class OSMEnvironment<T>
             }
             routecache = builder
                 .expireAfterAccess(10, TimeUnit.SECONDS)
-                .build(key -> getNavigator().route(Objects.requireNonNull(key).start, key.end, key.options));
+                .buildAsync((key, executor) -> loadRoute(Objects.requireNonNull(key)));
         }
-        return routecache.get(new CacheEntry(options, from, to));
+        return routecache;
+    }
+
+    /*
+     * Looks for the route on disk first, and computes it in background otherwise.
+     */
+    private CompletableFuture<Route<GeoPosition>> loadRoute(final CacheEntry key) {
+        final GraphHopperRoutingService routingService = getNavigator();
+        final PersistentRouteCache persistentRoutes = routingService.getPersistentRoutes();
+        if (persistentRoutes == null || key.start.equals(key.end)) {
+            return routingService.routeAsync(key.start, key.end, key.options);
+        }
+        final PersistentRouteCache.Key persistentKey =
+            PersistentRouteCache.Key.of(key.options, approximation, key.apprStart, key.apprEnd);
+        final Route<GeoPosition> stored = persistentRoutes.get(persistentKey);
+        if (stored != null) {
+            return CompletableFuture.completedFuture(stored);
+        }
+        return routingService.routeAsync(key.start, key.end, key.options).thenApply(route -> {
+            if (route instanceof final TimedRoute<GeoPosition> timedRoute) {
+                persistentRoutes.put(persistentKey, timedRoute);
+            }
+            return route;
+        });
     }
 
     @Override
@@ -254,7 +399,7 @@ public final class OSMEnvironment<T>
     public double getBenchmarkResult() {
         if (benchmarking) {
             if (routecache != null) {
-                return routecache.stats().hitRate();
+                return routecache.synchronous().stats().hitRate();
             }
             return 0;
         } else {
@@ -308,6 +453,12 @@ public final class OSMEnvironment<T>
                 || Double.isNaN(maxlon)) {
             return new double[] {Double.NaN, Double.NaN};
         }
+        if (projection != null) {
+            return new double[] {
+                projection.east(maxlon) - projection.east(minlon),
+                projection.north(maxlat) - projection.north(minlat),
+            };
+        }
         final GeoPosition minmin = new LatLongPosition(minlat, minlon);
         final GeoPosition minmax = new LatLongPosition(minlat, maxlon);
         final GeoPosition maxmin = new LatLongPosition(maxlat, minlon);
@@ -329,7 +480,7 @@ public final class OSMEnvironment<T>
                 getClass().getSimpleName() + " only supports bi-dimensional coordinates (latitude, longitude)"
             );
         }
-        return new LatLongPosition(coordinates[0].doubleValue(), coordinates[1].doubleValue());
+        return makePosition(coordinates[0].doubleValue(), coordinates[1].doubleValue());
     }
 
     @Override
@@ -340,8 +491,13 @@ public final class OSMEnvironment<T>
                 getClass().getSimpleName() + " only supports bi-dimensional coordinates (latitude, longitude)"
             );
         }
+        return makePosition(coordinates[0], coordinates[1]);
+    }
 
-        return new LatLongPosition(coordinates[0], coordinates[1]);
+    private GeoPosition makePosition(final double latitude, final double longitude) {
+        return projected
+            ? getProjection(latitude, longitude).project(latitude, longitude)
+            : new LatLongPosition(latitude, longitude);
     }
 
     /**
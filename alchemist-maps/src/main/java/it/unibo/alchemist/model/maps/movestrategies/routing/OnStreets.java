@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -50,4 +50,9 @@ public final class OnStreets<T, O extends RoutingServiceOptions<O>, S extends Ro
         return environment.computeRoute(currentPos, finalPos, options);
     }
 
+    @Override
+    public void prefetchRoute(final GeoPosition currentPos, final GeoPosition finalPos) {
+        environment.prefetchRoute(currentPos, finalPos, options);
+    }
+
 }
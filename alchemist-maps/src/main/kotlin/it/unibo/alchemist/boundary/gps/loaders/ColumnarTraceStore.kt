@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.gps.loaders
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import it.unibo.alchemist.model.maps.GPSTrace
+import it.unibo.alchemist.model.maps.routes.TraceColumns
+import it.unibo.alchemist.util.CacheDirectory
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+import java.security.MessageDigest
+import java.util.concurrent.Callable
+import org.kaikikm.threadresloader.ResourceLoader
+import org.slf4j.LoggerFactory
+
+/**
+ * Stores GPS traces in a compact, columnar binary format, so that they are parsed only once, and then
+ * memory-mapped and shared read-only by all the simulations (and all the processes) using them.
+ *
+ * The first time a set of trace files is requested, they are parsed and converted to a file holding
+ * the number of traces, the index of the first point of each trace, and then the times, latitudes, and
+ * longitudes of all the points as three columns of doubles. Files are named after a hash of the content
+ * of the trace files, and live in the user cache directory, unless another directory is selected through
+ * the [CACHE_DIRECTORY_PROPERTY] system property. Setting such property to [DISABLED] disables the store.
+ * Traces with decreasing times, or too many points to be mapped, are kept in memory as they are parsed.
+ */
+object ColumnarTraceStore {
+    /**
+     * System property that can be used to select the directory of converted traces.
+     */
+    const val CACHE_DIRECTORY_PROPERTY = "alchemist.gps.cache"
+
+    /**
+     * Value of [CACHE_DIRECTORY_PROPERTY] that disables the store.
+     */
+    const val DISABLED = CacheDirectory.DISABLED
+
+    /*
+     * Part of both the header and the file names: files converted by other versions are ignored.
+     */
+    private const val FORMAT_VERSION = 1
+    private const val MAGIC = 0x47505354 // GPST
+    private const val HEADER_INTS = 4
+    private const val COLUMNS = 3
+
+    /*
+     * Each column is mapped separately, and a mapped buffer cannot exceed Int.MAX_VALUE bytes.
+     */
+    private const val MAX_POINTS = Int.MAX_VALUE / Double.SIZE_BYTES
+    private val logger = LoggerFactory.getLogger(ColumnarTraceStore::class.java)
+
+    /*
+     * Mapped columns are shared within the JVM as long as any of their traces is in use.
+     */
+    private val mapped: Cache<String, TraceColumns> = Caffeine.newBuilder().weakValues().build()
+
+    private val cacheDirectory = CacheDirectory(CACHE_DIRECTORY_PROPERTY, "gps-traces")
+
+    /**
+     * Returns the traces contained in the given [resources] (paths of trace files, loaded as resources),
+     * mapping their converted version if available, or parsing them with [parser] and converting them
+     * otherwise. Failures in converting or mapping the traces are logged, and the parsed traces are returned.
+     */
+    @JvmStatic
+    fun getOrConvert(resources: List<String>, parser: Callable<List<GPSTrace>>): List<GPSTrace> {
+        val directory = cacheDirectory.directory ?: return parser.call()
+        val name = uniqueName(resources) ?: return parser.call()
+        val file = File(directory, "$name.gpscolumns")
+        val existing =
+            mapped.getIfPresent(name) ?: file.takeIf { it.isFile }?.let { cached ->
+                runCatching { map(cached) }
+                    .onFailure { logger.warn("Unable to map the GPS traces converted in {}", cached, it) }
+                    .getOrNull()
+                    ?.also { mapped.put(name, it) }
+            }
+        if (existing != null) {
+            return existing.traces
+        }
+        val parsed = parser.call()
+        return runCatching {
+            store(parsed, file)
+            map(file).also { mapped.put(name, it) }.traces
+        }.onFailure { logger.info("GPS traces in {} are kept in memory: {}", resources, it.message) }
+            .getOrDefault(parsed)
+    }
+
+    private fun store(traces: List<GPSTrace>, file: File) {
+        val points = traces.sumOf { it.size().toLong() }
+        require(points <= MAX_POINTS) { "$points points are too many to be mapped" }
+        traces.forEach { trace ->
+            val sorted = trace.points.zipWithNext().all { (previous, next) -> previous.time <= next.time }
+            require(sorted) {
+                "Points of trace $trace are not sorted by time"
+            }
+        }
+        CacheDirectory.writeAtomically(file) { output ->
+            val data = DataOutputStream(output)
+            data.writeInt(MAGIC)
+            data.writeInt(FORMAT_VERSION)
+            data.writeInt(traces.size)
+            data.writeInt(points.toInt())
+            var offset = 0
+            data.writeInt(offset)
+            traces.forEach {
+                offset += it.size()
+                data.writeInt(offset)
+            }
+            repeat(padding(traces.size)) { data.writeByte(0) }
+            traces.forEach { trace -> trace.points.forEach { data.writeDouble(it.time.toDouble()) } }
+            traces.forEach { trace -> trace.points.forEach { data.writeDouble(it.latitude) } }
+            traces.forEach { trace -> trace.points.forEach { data.writeDouble(it.longitude) } }
+        }
+        logger.info("GPS traces converted to {}", file)
+    }
+
+    private fun map(file: File): TraceColumns =
+        FileChannel.open(file.toPath(), StandardOpenOption.READ).use { channel ->
+            val header = ByteBuffer.allocate(HEADER_INTS * Int.SIZE_BYTES)
+            var read = 0
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header)
+            }
+            header.flip()
+            if (header.remaining() < header.capacity() ||
+                header.getInt() != MAGIC ||
+                header.getInt() != FORMAT_VERSION
+            ) {
+                throw IOException("$file does not contain GPS traces, or contains traces in an unsupported format")
+            }
+            val traceCount = header.getInt()
+            val pointCount = header.getInt()
+            val offsetsStart = header.capacity().toLong()
+            val columnsStart = offsetsStart + (traceCount + 1L) * Int.SIZE_BYTES + padding(traceCount)
+            val columnSize = pointCount.toLong() * Double.SIZE_BYTES
+            if (channel.size() != columnsStart + COLUMNS * columnSize) {
+                throw IOException("$file is truncated or corrupted")
+            }
+            val offsets = IntArray(traceCount + 1)
+            channel
+                .map(FileChannel.MapMode.READ_ONLY, offsetsStart, offsets.size.toLong() * Int.SIZE_BYTES)
+                .asIntBuffer()
+                .get(offsets)
+            fun column(index: Int) = channel
+                .map(FileChannel.MapMode.READ_ONLY, columnsStart + index * columnSize, columnSize)
+                .asDoubleBuffer()
+            TraceColumns(offsets, column(0), column(1), column(2))
+        }
+
+    /*
+     * Columns are aligned to eight bytes.
+     */
+    private fun padding(traceCount: Int): Int = (HEADER_INTS + traceCount + 1) % 2 * Int.SIZE_BYTES
+
+    private fun uniqueName(resources: List<String>): String? {
+        val digest = MessageDigest.getInstance("SHA-256")
+        digest.update(FORMAT_VERSION.toString().toByteArray())
+        resources.forEach { resource ->
+            val content = ResourceLoader.getResourceAsStream(resource) ?: return null
+            digest.update(resource.toByteArray())
+            digest.update(0.toByte())
+            content.use { stream ->
+                val buffer = ByteArray(DEFAULT_BUFFER_SIZE)
+                while (true) {
+                    val read = stream.read(buffer)
+                    if (read < 0) break
+                    digest.update(buffer, 0, read)
+                }
+            }
+            digest.update(0.toByte())
+        }
+        return digest.digest().joinToString(separator = "") { "%02x".format(it) }
+    }
+}
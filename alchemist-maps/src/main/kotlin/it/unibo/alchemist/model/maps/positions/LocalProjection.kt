@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.maps.positions
+
+import it.unibo.alchemist.model.GeoPosition
+import java.io.Serial
+import java.io.Serializable
+import kotlin.math.cos
+
+/**
+ * A local projection of the Earth's surface on the plane tangent to the point at
+ * ([originLatitude], [originLongitude]), with coordinates measured in meters east and north of such point.
+ * The projection is equirectangular (the same approximation used by [LatLongPosition.DistanceFormula.EQUIRECTANGULAR],
+ * but with the scale of longitudes fixed at the origin), hence projecting and un-projecting positions only
+ * requires a multiplication, and distances are Euclidean.
+ * It is accurate for areas a few tens of kilometers wide, such as cities, and degrades moving away from the origin.
+ */
+data class LocalProjection(val originLatitude: Double, val originLongitude: Double) : Serializable {
+    init {
+        require(originLatitude in -MAX_LATITUDE..MAX_LATITUDE) {
+            "The origin of a local projection cannot be at latitude $originLatitude"
+        }
+    }
+
+    private val metersPerDegreeOfLatitude = Math.toRadians(LatLongPosition.EARTH_MEAN_RADIUS_METERS)
+    private val metersPerDegreeOfLongitude = metersPerDegreeOfLatitude * cos(Math.toRadians(originLatitude))
+
+    /**
+     * Meters east of the origin of a position at the given [longitude].
+     */
+    fun east(longitude: Double): Double = (longitude - originLongitude) * metersPerDegreeOfLongitude
+
+    /**
+     * Meters north of the origin of a position at the given [latitude].
+     */
+    fun north(latitude: Double): Double = (latitude - originLatitude) * metersPerDegreeOfLatitude
+
+    /**
+     * Latitude of a position [north] meters north of the origin.
+     */
+    fun latitude(north: Double): Double = originLatitude + north / metersPerDegreeOfLatitude
+
+    /**
+     * Longitude of a position [east] meters east of the origin.
+     */
+    fun longitude(east: Double): Double = originLongitude + east / metersPerDegreeOfLongitude
+
+    /**
+     * Projects the position at the given [latitude] and [longitude].
+     */
+    fun project(latitude: Double, longitude: Double): ProjectedPosition = ProjectedPosition(this, latitude, longitude)
+
+    /**
+     * Projects [position], returning it unchanged if it is already projected with this projection.
+     */
+    fun project(position: GeoPosition): ProjectedPosition = when {
+        position is ProjectedPosition && position.projection == this -> position
+        else -> project(position.latitude, position.longitude)
+    }
+
+    /**
+     * Returns the position [east] and [north] meters away from the origin.
+     */
+    fun fromMeters(east: Double, north: Double): ProjectedPosition = project(latitude(north), longitude(east))
+
+    private companion object {
+        @Serial
+        private const val serialVersionUID = 1L
+
+        /*
+         * Longitudes collapse at the poles.
+         */
+        private const val MAX_LATITUDE = 89.0
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.maps.positions
+
+import it.unibo.alchemist.model.GeoPosition
+import java.io.Serial
+import kotlin.math.hypot
+import org.danilopianini.util.Hashes
+
+/**
+ * A [GeoPosition] that also stores its [east] and [north] coordinates (in meters) in a [LocalProjection].
+ * Distances and bounding boxes are computed on the projected plane, with no trigonometry involved;
+ * positions of other kinds are projected on the fly.
+ * Coordinates are still exposed as latitude and longitude, so these positions can be used wherever a
+ * [LatLongPosition] is expected, e.g., by routing services, GPS traces, and graphical interfaces.
+ */
+class ProjectedPosition internal constructor(
+    /**
+     * The projection this position has been projected with.
+     */
+    val projection: LocalProjection,
+    private val latitudeDegrees: Double,
+    private val longitudeDegrees: Double,
+) : GeoPosition {
+    /**
+     * Meters east of the origin of the [projection].
+     */
+    val east: Double = projection.east(longitudeDegrees)
+
+    /**
+     * Meters north of the origin of the [projection].
+     */
+    val north: Double = projection.north(latitudeDegrees)
+
+    override fun getLatitude(): Double = latitudeDegrees
+
+    override fun getLongitude(): Double = longitudeDegrees
+
+    override val x: Double get() = longitudeDegrees
+
+    override val y: Double get() = latitudeDegrees
+
+    override val coordinates: DoubleArray get() = doubleArrayOf(latitudeDegrees, longitudeDegrees)
+
+    override val dimensions: Int get() = 2
+
+    override fun getCoordinate(dimension: Int): Double = when (dimension) {
+        0 -> latitudeDegrees
+        1 -> longitudeDegrees
+        else -> throw IllegalArgumentException("Pass 1 for longitude or 0 for latitude. No other value accepted.")
+    }
+
+    override fun boundingBox(range: Double): List<GeoPosition> {
+        require(range >= 0) { "Negative ranges make no sense." }
+        return listOf(
+            projection.fromMeters(east - range, north - range),
+            projection.fromMeters(east + range, north + range),
+        )
+    }
+
+    override fun distanceTo(other: GeoPosition): Double {
+        val projected = projection.project(other)
+        return hypot(east - projected.east, north - projected.north)
+    }
+
+    override fun plus(other: GeoPosition): GeoPosition =
+        projection.project(latitudeDegrees + other.latitude, longitudeDegrees + other.longitude)
+
+    override fun minus(other: GeoPosition): GeoPosition =
+        projection.project(latitudeDegrees - other.latitude, longitudeDegrees - other.longitude)
+
+    override fun plus(other: DoubleArray): GeoPosition =
+        projection.project(latitudeDegrees + other[0], longitudeDegrees + other[1])
+
+    override fun minus(other: DoubleArray): GeoPosition =
+        projection.project(latitudeDegrees - other[0], longitudeDegrees - other[1])
+
+    override fun equals(other: Any?): Boolean =
+        other is ProjectedPosition && latitudeDegrees == other.latitude && longitudeDegrees == other.longitude
+
+    override fun hashCode(): Int = Hashes.hash32(latitudeDegrees, longitudeDegrees)
+
+    override fun toString(): String = "[$latitudeDegrees, $longitudeDegrees] ($east m E, $north m N)"
+
+    private companion object {
+        @Serial
+        private const val serialVersionUID = 1L
+    }
+}
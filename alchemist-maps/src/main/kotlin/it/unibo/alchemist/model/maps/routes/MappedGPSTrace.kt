@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+package it.unibo.alchemist.model.maps.routes
+
+import it.unibo.alchemist.model.GeoPosition
+import it.unibo.alchemist.model.Time
+import it.unibo.alchemist.model.maps.GPSPoint
+import it.unibo.alchemist.model.maps.GPSTrace
+import it.unibo.alchemist.model.maps.positions.GPSPointImpl
+import it.unibo.alchemist.model.times.DoubleTime
+import it.unibo.alchemist.utils.Maps
+import java.io.Serial
+import java.nio.DoubleBuffer
+import java.util.Objects
+
+/**
+ * The points of many GPS traces, stored in columns of primitive values (usually memory-mapped from a file,
+ * see [it.unibo.alchemist.boundary.gps.loaders.ColumnarTraceStore]).
+ * The points of the i-th trace are those between [offsets]`[i]` (inclusive) and [offsets]`[i + 1]` (exclusive).
+ * Times must be non-decreasing within each trace.
+ */
+internal class TraceColumns(
+    val offsets: IntArray,
+    val times: DoubleBuffer,
+    val latitudes: DoubleBuffer,
+    val longitudes: DoubleBuffer,
+) {
+    /**
+     * The traces stored in these columns.
+     */
+    val traces: List<GPSTrace> = List(offsets.size - 1) { MappedGPSTrace(this, offsets[it], offsets[it + 1]) }
+}
+
+/**
+ * A [GPSTrace] whose points are read from [TraceColumns] shared with other traces, rather than stored in memory.
+ * Points are created on demand: [interpolate], [getNextPosition] and [getPreviousPosition] only read the columns
+ * around the requested time. Times are shifted back by [shift] seconds (see [startAt]).
+ * Behaves as a [GPSTraceImpl] with the same points, which it is replaced with when serialized.
+ */
+class MappedGPSTrace internal constructor(
+    private val columns: TraceColumns,
+    private val start: Int,
+    private val end: Int,
+    private val shift: Double = 0.0,
+) : GPSTrace {
+    init {
+        require(end > start) { "At least one point is required to create a Route" }
+    }
+
+    private var distance = Double.NaN
+
+    override val points: List<GPSPoint> =
+        object : AbstractList<GPSPoint>(), RandomAccess {
+            override val size: Int get() = this@MappedGPSTrace.size()
+
+            override fun get(index: Int): GPSPoint = getPoint(index)
+        }
+
+    private fun timeAt(step: Int): Double = columns.times[start + step] - shift
+
+    override fun getPoint(step: Int): GPSPoint {
+        Objects.checkIndex(step, size())
+        return GPSPointImpl(
+            columns.latitudes[start + step],
+            columns.longitudes[start + step],
+            DoubleTime(timeAt(step)),
+        )
+    }
+
+    override fun size(): Int = end - start
+
+    override fun length(): Double {
+        if (distance.isNaN()) {
+            distance = (1 until size()).sumOf { getPoint(it - 1).distanceTo(getPoint(it)) }
+        }
+        return distance
+    }
+
+    override fun iterator(): Iterator<GPSPoint> = points.iterator()
+
+    override fun getTripTime(): Double = timeAt(size() - 1) - timeAt(0)
+
+    override fun getStartTime(): Time = DoubleTime(timeAt(0))
+
+    override fun getFinalTime(): Time = DoubleTime(timeAt(size() - 1))
+
+    override fun getInitialPosition(): GPSPoint = getPoint(0)
+
+    override fun getFinalPosition(): GPSPoint = getPoint(size() - 1)
+
+    override fun getNextPosition(time: Time): GPSPoint = around(time) { _, next -> getPoint(next) }
+
+    override fun getPreviousPosition(time: Time): GPSPoint = around(time) { previous, _ -> getPoint(previous) }
+
+    override fun interpolate(time: Time): GeoPosition = around(time) { previous, next ->
+        val timeDelta = timeAt(next) - timeAt(previous)
+        if (timeDelta == 0.0) {
+            getPoint(next)
+        } else {
+            val ratio = (time.toDouble() - timeAt(previous)) / timeDelta
+            val from = getPoint(previous)
+            val to = getPoint(next)
+            Maps.getDestinationLocation(from, to, Maps.getDistance(from, to) * ratio)
+        }
+    }
+
+    /**
+     * Drops the points preceding [time], and shifts the remaining ones back by [time].
+     * If no point remains, the trace is reduced to its (unshifted) final position.
+     */
+    override fun startAt(time: Time): MappedGPSTrace {
+        val delta = time.toDouble()
+        var low = 0
+        var high = size()
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (timeAt(middle) - delta >= 0) high = middle else low = middle + 1
+        }
+        return when (low) {
+            size() -> MappedGPSTrace(columns, end - 1, end, shift)
+            else -> MappedGPSTrace(columns, start + low, end, shift + delta)
+        }
+    }
+
+    /*
+     * Binary search of the points around the given time, the same way GPSTraceImpl does.
+     */
+    private inline fun <R> around(time: Time, action: (previous: Int, next: Int) -> R): R {
+        val target = time.toDouble()
+        val size = size()
+        return when {
+            size < 2 || target < timeAt(0) -> action(0, 0)
+            size < 3 -> action(0, 1)
+            target > timeAt(size - 1) -> action(size - 1, size - 1)
+            else -> {
+                var low = 0
+                var high = size - 1
+                var index = size / 2
+                while (high - low > 1) {
+                    if (timeAt(index) < target) low = index else high = index
+                    index = low + (high - low) / 2
+                }
+                action(low, high)
+            }
+        }
+    }
+
+    override fun equals(other: Any?): Boolean = other === this || other is MappedGPSTrace && points == other.points
+
+    override fun hashCode(): Int = points.hashCode()
+
+    override fun toString(): String = javaClass.simpleName + points
+
+    @Serial
+    private fun writeReplace(): Any = GPSTraceImpl(points.toList())
+
+    private companion object {
+        @Serial
+        private const val serialVersionUID = 1L
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+package it.unibo.alchemist.model.maps.routes
+
+import com.google.common.collect.ImmutableList
+import it.unibo.alchemist.model.GeoPosition
+import it.unibo.alchemist.model.maps.TimedRoute
+
+/**
+ * A route on a map whose [points], [length] and [trip time][tripTime] have already been computed,
+ * e.g., by GraphHopper in a previous run (see
+ * [it.unibo.alchemist.model.maps.routingservices.PersistentRouteCache]).
+ */
+class PrecomputedRoute(
+    points: List<GeoPosition>,
+    private val length: Double,
+    private val tripTime: Double,
+) : TimedRoute<GeoPosition> {
+    override val points: ImmutableList<GeoPosition> = ImmutableList.copyOf(points)
+
+    init {
+        require(this.points.isNotEmpty()) { "A route requires at least one point" }
+    }
+
+    override fun length(): Double = length
+
+    override fun getPoint(step: Int): GeoPosition = points[step]
+
+    override fun getTripTime(): Double = tripTime
+
+    override fun iterator(): MutableIterator<GeoPosition> = points.iterator()
+
+    override fun size(): Int = points.size
+
+    private companion object {
+        private const val serialVersionUID = 0L
+    }
+}
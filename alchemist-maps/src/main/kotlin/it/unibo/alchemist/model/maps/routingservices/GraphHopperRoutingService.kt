@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -27,6 +27,10 @@ import java.io.RandomAccessFile
 import java.net.URL
 import java.nio.file.Files
 import java.nio.file.Paths
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.ForkJoinPool
 import java.util.concurrent.Semaphore
 import kotlin.io.path.absolutePathString
 import kotlin.io.path.createTempDirectory
@@ -45,15 +49,34 @@ constructor(
     override val defaultOptions: GraphHopperOptions = Companion.defaultOptions,
 ) : RoutingService<GeoPosition, GraphHopperOptions> {
     private val graphHopper: GraphHopper
-
-    init {
-        val mapName =
+    private val mapFile: File =
+        File(
+            workingDirectory,
             map
                 .toExternalForm()
                 .split('/')
                 .last()
-                .takeWhile { it != '?' }
-        val mapFile = File(workingDirectory, mapName)
+                .takeWhile { it != '?' },
+        )
+
+    /**
+     * The routes computed on this map in this and in previous launches, or null if the persistent cache
+     * has been disabled through the [ROUTE_CACHE_PROPERTY] system property.
+     * Routes are stored in the working directory, unless a different directory is selected through
+     * the same property.
+     */
+    val persistentRoutes: PersistentRouteCache? by lazy {
+        when (val selected = System.getProperty(ROUTE_CACHE_PROPERTY)) {
+            DISABLED -> null
+            else -> {
+                val directory = selected?.let(::File)?.apply { mkdirs() } ?: workingDirectory
+                val mapHash = mapFile.inputStream().use { it.nameFromHash() }
+                PersistentRouteCache(File(directory, "routes-$mapHash.bin"))
+            }
+        }
+    }
+
+    init {
         lockfileLock.acquireUninterruptibly()
         try {
             RandomAccessFile(File(workingDirectory, ".lock"), "rw").use { fileAccess ->
@@ -118,6 +141,31 @@ constructor(
         return GraphHopperRoute(from, to, graphHopper.route(request))
     }
 
+    /**
+     * Computes the route between [from] and [to] in background, on a pool of workers shared by all
+     * the routing services.
+     */
+    @JvmOverloads
+    fun routeAsync(
+        from: GeoPosition,
+        to: GeoPosition,
+        options: GraphHopperOptions = defaultOptions,
+    ): CompletableFuture<Route<GeoPosition>> = CompletableFuture.supplyAsync({ route(from, to, options) }, workers)
+
+    /**
+     * Computes in parallel the routes from each of the [origins] to each of the [destinations]:
+     * the route from the i-th origin to the j-th destination is the j-th element of the i-th list.
+     */
+    @JvmOverloads
+    fun routes(
+        origins: List<GeoPosition>,
+        destinations: List<GeoPosition>,
+        options: GraphHopperOptions = defaultOptions,
+    ): List<List<Route<GeoPosition>>> =
+        origins
+            .map { from -> destinations.map { to -> routeAsync(from, to, options) } }
+            .map { row -> row.map { it.await() } }
+
     override fun parseOptions(options: String): GraphHopperOptions {
         TODO("On-the-fly parsing of navigation options is still to be implemented")
     }
@@ -129,6 +177,37 @@ constructor(
         private val logger = LoggerFactory.getLogger(GraphHopperRoutingService::class.java)
         private val lockfileLock = Semaphore(1)
 
+        /*
+         * GraphHopper routing is thread-safe once the graph has been loaded.
+         */
+        private val workers: ExecutorService =
+            ForkJoinPool(
+                Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                null,
+                true,
+            )
+
+        /**
+         * System property that can be used to select the directory of the persistent route cache.
+         */
+        const val ROUTE_CACHE_PROPERTY = "alchemist.routes.cache"
+
+        /**
+         * Value of [ROUTE_CACHE_PROPERTY] that disables the persistent route cache.
+         */
+        const val DISABLED = "disabled"
+
+        /**
+         * Waits for the completion of [this] future, rethrowing the original cause of failures.
+         */
+        @JvmStatic
+        fun <R> CompletableFuture<R>.await(): R = try {
+            join()
+        } catch (failure: CompletionException) {
+            throw failure.cause ?: failure
+        }
+
         /**
          * See [GraphHopperOptions.defaultOptions].
          */
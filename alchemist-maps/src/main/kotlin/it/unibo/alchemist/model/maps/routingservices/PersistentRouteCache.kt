@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.maps.routingservices
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import it.unibo.alchemist.model.GeoPosition
+import it.unibo.alchemist.model.maps.TimedRoute
+import it.unibo.alchemist.model.maps.positions.LatLongPosition
+import it.unibo.alchemist.model.maps.routes.PrecomputedRoute
+import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption.APPEND
+import java.nio.file.StandardOpenOption.CREATE
+import java.nio.file.StandardOpenOption.READ
+import java.nio.file.StandardOpenOption.WRITE
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import org.slf4j.LoggerFactory
+
+/**
+ * An on-disk cache of routes computed on a single map, shared across launches and among concurrent
+ * processes (e.g., the runs of a batch).
+ *
+ * Routes are appended to [file] as soon as they are stored. When the cache is created, [file] is only indexed:
+ * routes are read from it upon request, and the most recently used ones are kept in memory, up to
+ * [maximumCachedPoints] points overall, and for at most ten minutes since they were last requested.
+ * Routes stored by other processes (or by other caches on the same [file]) after the creation of the cache are
+ * not visible until the next launch. The [file] is locked while reading and writing, so that concurrent
+ * processes never observe partially written routes. Once the [file] reaches [maximumFileSize] bytes,
+ * new routes are only kept in memory, as long as they are not evicted.
+ *
+ * As the map is not part of the [Key], different maps require different files
+ * (see [GraphHopperRoutingService.persistentRoutes]).
+ */
+class PersistentRouteCache
+@JvmOverloads
+constructor(
+    /**
+     * The file where routes are stored.
+     */
+    val file: File,
+    private val maximumFileSize: Long = DEFAULT_MAXIMUM_FILE_SIZE,
+    maximumCachedPoints: Long = DEFAULT_MAXIMUM_CACHED_POINTS,
+) {
+    private val routes: Cache<Key, TimedRoute<GeoPosition>> =
+        Caffeine
+            .newBuilder()
+            .maximumWeight(maximumCachedPoints)
+            .weigher<Key, TimedRoute<GeoPosition>> { _, route -> route.size() }
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build()
+
+    /*
+     * Position in the file of the record of each route.
+     */
+    private val offsets = ConcurrentHashMap<Key, Long>()
+
+    @Volatile
+    private var writable = true
+
+    init {
+        if (file.isFile) {
+            runCatching { index() }
+                .onFailure {
+                    writable = false
+                    offsets.clear()
+                    logger.warn("Unable to read the routes cached in {}, new routes won't be stored", file, it)
+                }
+        }
+    }
+
+    /**
+     * The number of routes stored in [file].
+     */
+    val size: Int get() = offsets.size
+
+    /**
+     * @returns the route stored for [key], or null if none is available.
+     * Failures in reading the [file] are logged, and treated as missing routes.
+     */
+    operator fun get(key: Key): TimedRoute<GeoPosition>? = routes.getIfPresent(key)
+        ?: offsets[key]?.let { offset ->
+            runCatching { read(offset) }
+                .onFailure { logger.warn("Unable to read the route {} from {}", key, file, it) }
+                .getOrNull()
+                ?.takeIf { (stored, _) -> stored == key }
+                ?.second
+                ?.also { routes.put(key, it) }
+        }
+
+    /**
+     * Stores [route] for [key], unless a route is already stored in the [file] for it.
+     * Failures in writing the [file] are logged, and disable further writes.
+     */
+    fun put(key: Key, route: TimedRoute<GeoPosition>) {
+        routes.put(key, route)
+        if (writable && key !in offsets) {
+            runCatching { append(key, encode(key, route)) }
+                .onFailure {
+                    writable = false
+                    logger.warn("Unable to cache routes in {}, new routes won't be stored", file, it)
+                }
+        }
+    }
+
+    /*
+     * Reads only the keys of the records, skipping the routes.
+     */
+    private fun index() {
+        FileChannel.open(file.toPath(), READ).use { channel ->
+            channel.lock(0, Long.MAX_VALUE, true).use {
+                val input = DataInputStream(BufferedInputStream(Channels.newInputStream(channel)))
+                if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                    throw IOException("$file does not contain routes, or contains routes in an unsupported format")
+                }
+                var offset = HEADER.size.toLong()
+                while (true) {
+                    val length =
+                        try {
+                            input.readInt()
+                        } catch (end: EOFException) {
+                            logger.debug("Indexed {} routes in {}", offsets.size, file, end)
+                            break
+                        }
+                    val record = ByteArray(length).also { input.readFully(it) }
+                    offsets.putIfAbsent(decodeKey(DataInputStream(ByteArrayInputStream(record))), offset)
+                    offset += Int.SIZE_BYTES + length
+                }
+            }
+        }
+    }
+
+    private fun read(offset: Long): Pair<Key, TimedRoute<GeoPosition>> =
+        FileChannel.open(file.toPath(), READ).use { channel ->
+            channel.lock(0, Long.MAX_VALUE, true).use {
+                val length = ByteBuffer.allocate(Int.SIZE_BYTES).also { channel.readFully(it, offset) }.getInt(0)
+                val record = ByteBuffer.allocate(length).also { channel.readFully(it, offset + Int.SIZE_BYTES) }
+                decode(record.array())
+            }
+        }
+
+    @Synchronized
+    private fun append(key: Key, record: ByteArray) {
+        FileChannel.open(file.toPath(), CREATE, WRITE, APPEND).use { channel ->
+            channel.lock().use {
+                val size = channel.size()
+                if (size + record.size + HEADER.size > maximumFileSize) {
+                    writable = false
+                    logger.info("{} reached its maximum size, new routes won't be stored", file)
+                } else {
+                    val buffer = ByteBuffer.wrap(if (size == 0L) HEADER + record else record)
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer)
+                    }
+                    offsets.putIfAbsent(key, maxOf(size, HEADER.size.toLong()))
+                }
+            }
+        }
+    }
+
+    /**
+     * Identifies a route: [profile] and [algorithm] are the routing options, [approximation] is the number
+     * of bits discarded from the coordinates of the endpoints, and the remaining properties are the
+     * (approximated) endpoints.
+     */
+    data class Key(
+        val profile: String,
+        val algorithm: String,
+        val approximation: Int,
+        val fromLatitude: Double,
+        val fromLongitude: Double,
+        val toLatitude: Double,
+        val toLongitude: Double,
+    ) {
+        /**
+         * Factory for [Key]s.
+         */
+        companion object {
+            /**
+             * @returns the key of the route from [from] to [to] computed with [options], whose endpoints
+             * have already been approximated discarding [approximation] bits.
+             */
+            @JvmStatic
+            fun of(options: GraphHopperOptions, approximation: Int, from: GeoPosition, to: GeoPosition) = Key(
+                options.profile.name,
+                options.algorithm,
+                approximation,
+                from.latitude,
+                from.longitude,
+                to.latitude,
+                to.longitude,
+            )
+        }
+    }
+
+    /**
+     * Defaults for [PersistentRouteCache].
+     */
+    companion object {
+        /**
+         * The default maximum size of the cache file, in bytes.
+         */
+        const val DEFAULT_MAXIMUM_FILE_SIZE: Long = 64L * 1024 * 1024
+
+        /**
+         * The default maximum number of points of the routes kept in memory.
+         */
+        const val DEFAULT_MAXIMUM_CACHED_POINTS: Long = 1_000_000
+
+        /*
+         * Files written with a different version are neither read nor extended.
+         */
+        private const val FORMAT_VERSION = 1
+        private const val MAGIC = 0x524F5554 // ROUT
+        private val logger = LoggerFactory.getLogger(PersistentRouteCache::class.java)
+        private val HEADER: ByteArray =
+            ByteArrayOutputStream().also { bytes ->
+                DataOutputStream(bytes).use {
+                    it.writeInt(MAGIC)
+                    it.writeInt(FORMAT_VERSION)
+                }
+            }.toByteArray()
+
+        /*
+         * Each record is prefixed by its length, and contains the key followed by the route.
+         */
+        private fun encode(key: Key, route: TimedRoute<GeoPosition>): ByteArray {
+            val bytes = ByteArrayOutputStream()
+            DataOutputStream(bytes).use { data ->
+                data.writeInt(0)
+                with(key) {
+                    data.writeUTF(profile)
+                    data.writeUTF(algorithm)
+                    data.writeInt(approximation)
+                    data.writeDouble(fromLatitude)
+                    data.writeDouble(fromLongitude)
+                    data.writeDouble(toLatitude)
+                    data.writeDouble(toLongitude)
+                }
+                data.writeDouble(route.length())
+                data.writeDouble(route.tripTime)
+                data.writeInt(route.size())
+                route.points.forEach {
+                    data.writeDouble(it.latitude)
+                    data.writeDouble(it.longitude)
+                }
+            }
+            return ByteBuffer.wrap(bytes.toByteArray()).also { it.putInt(0, it.capacity() - Int.SIZE_BYTES) }.array()
+        }
+
+        private fun decodeKey(data: DataInputStream) = Key(
+            profile = data.readUTF(),
+            algorithm = data.readUTF(),
+            approximation = data.readInt(),
+            fromLatitude = data.readDouble(),
+            fromLongitude = data.readDouble(),
+            toLatitude = data.readDouble(),
+            toLongitude = data.readDouble(),
+        )
+
+        private fun decode(record: ByteArray): Pair<Key, TimedRoute<GeoPosition>> =
+            DataInputStream(ByteArrayInputStream(record)).use { data ->
+                val key = decodeKey(data)
+                val length = data.readDouble()
+                val tripTime = data.readDouble()
+                val points = List(data.readInt()) { LatLongPosition(data.readDouble(), data.readDouble()) }
+                key to PrecomputedRoute(points, length, tripTime)
+            }
+
+        private fun FileChannel.readFully(buffer: ByteBuffer, position: Long) {
+            while (buffer.hasRemaining()) {
+                if (read(buffer, position + buffer.position()) < 0) {
+                    throw EOFException("Truncated route record")
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.gps.loaders;
+
+import it.unibo.alchemist.model.Time;
+import it.unibo.alchemist.model.maps.GPSTrace;
+import it.unibo.alchemist.model.maps.routes.MappedGPSTrace;
+import it.unibo.alchemist.model.times.DoubleTime;
+import org.junit.jupiter.api.Test;
+import org.kaikikm.threadresloader.ResourceLoader;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Tests the conversion of GPS traces performed by {@link ColumnarTraceStore}.
+ */
+class TestColumnarTraceStore {
+
+    private static final String TRACE = "trace/ok/sub1/2464122.gpx";
+    private static final int SAMPLES = 50;
+
+    /**
+     * Checks that converted traces are mapped without being parsed again, and behave as the parsed ones.
+     *
+     * @throws Exception causes failure
+     */
+    @Test
+    void testMappedTracesMatchParsedOnes() throws Exception {
+        final List<GPSTrace> parsed = new GPXLoader().readTrace(ResourceLoader.getResource(TRACE));
+        ColumnarTraceStore.getOrConvert(List.of(TRACE), () -> parsed);
+        final List<GPSTrace> mapped = ColumnarTraceStore.getOrConvert(List.of(TRACE), () -> {
+            throw new IOException("Traces should have been converted already");
+        });
+        assertEquals(parsed.size(), mapped.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            final GPSTrace expected = parsed.get(i);
+            final GPSTrace actual = mapped.get(i);
+            assertInstanceOf(MappedGPSTrace.class, actual);
+            assertSameBehavior(expected, actual);
+            final Time middle = new DoubleTime(
+                (expected.getStartTime().toDouble() + expected.getFinalTime().toDouble()) / 2
+            );
+            assertSameBehavior(expected.startAt(middle), actual.startAt(middle));
+            final Time afterEnd = new DoubleTime(expected.getFinalTime().toDouble() + 1);
+            assertSameBehavior(expected.startAt(afterEnd), actual.startAt(afterEnd));
+        }
+    }
+
+    private static void assertSameBehavior(final GPSTrace expected, final GPSTrace actual) {
+        assertEquals(expected.getPoints(), actual.getPoints());
+        assertEquals(expected.length(), actual.length());
+        assertEquals(expected.getTripTime(), actual.getTripTime());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        final double start = expected.getStartTime().toDouble() - 1;
+        final double step = (expected.getTripTime() + 2) / SAMPLES;
+        for (int sample = 0; sample <= SAMPLES; sample++) {
+            final Time time = new DoubleTime(start + sample * step);
+            assertEquals(expected.interpolate(time), actual.interpolate(time));
+            assertEquals(expected.getNextPosition(time), actual.getNextPosition(time));
+            assertEquals(expected.getPreviousPosition(time), actual.getPreviousPosition(time));
+        }
+    }
+}
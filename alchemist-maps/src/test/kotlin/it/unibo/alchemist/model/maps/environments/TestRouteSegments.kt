@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -84,6 +84,21 @@ class TestRouteSegments :
                     route.points.last() shouldBe bulgarno
                     route.length() shouldBeGreaterThan bertinoro.distanceTo(bulgarno)
                 }
+                "batch routes should match the ones computed one by one" {
+                    val origins = listOf(pharmacy, bertinoro)
+                    val destinations = listOf(stadium, bulgarno, pharmacy)
+                    val options = routingService.defaultOptions
+                    prefetchRoute(stadium, pharmacy, options)
+                    val routes = computeRoutes(origins, destinations, options)
+                    routes.size shouldBe origins.size
+                    origins.forEachIndexed { i, from ->
+                        routes[i].size shouldBe destinations.size
+                        destinations.forEachIndexed { j, to ->
+                            routes[i][j].points shouldBe computeRoute(from, to, options).points
+                        }
+                    }
+                    computeRoute(stadium, pharmacy, options).points.first() shouldBe stadium
+                }
             }
         },
     )
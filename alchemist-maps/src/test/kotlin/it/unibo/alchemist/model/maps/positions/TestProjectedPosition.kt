@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.maps.positions
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.doubles.plusOrMinus
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import it.unibo.alchemist.model.GeoPosition
+import it.unibo.alchemist.model.SupportedIncarnations
+import it.unibo.alchemist.model.maps.environments.OSMEnvironment
+import it.unibo.alchemist.model.nodes.GenericNode
+
+/**
+ * Contains tests concerning [LocalProjection] and [ProjectedPosition].
+ */
+class TestProjectedPosition :
+    StringSpec({
+        val projection = LocalProjection(44.139169, 12.237816)
+        val around =
+            List(25) { index ->
+                LatLongPosition(44.12 + index % 5 * 0.01, 12.21 + index / 5 * 0.015)
+            }
+
+        "projected distances match geodesic ones at city scale" {
+            around.forEach { from ->
+                around.forEach { to ->
+                    val geodesic = from.distanceTo(to)
+                    projection.project(from).distanceTo(to) shouldBe (geodesic plusOrMinus 1e-3 * geodesic + 1e-6)
+                }
+            }
+        }
+
+        "projecting and un-projecting positions is lossless" {
+            around.map { projection.project(it) }.forEach { position ->
+                val back = projection.fromMeters(position.east, position.north)
+                back.latitude shouldBe (position.latitude plusOrMinus 1e-9)
+                back.longitude shouldBe (position.longitude plusOrMinus 1e-9)
+            }
+        }
+
+        "bounding boxes contain the positions within range" {
+            val center = projection.project(around[12])
+            val range = 1500.0
+            val (lower, upper) = center.boundingBox(range)
+            around.filter { center.distanceTo(it) <= range }.forEach {
+                (it.latitude in lower.latitude..upper.latitude) shouldBe true
+                (it.longitude in lower.longitude..upper.longitude) shouldBe true
+            }
+        }
+
+        "projected environments convert and index positions in meters" {
+            val environment =
+                OSMEnvironment(
+                    SupportedIncarnations.get<Any, GeoPosition>("protelis").orElseThrow(),
+                    null,
+                    OSMEnvironment.DEFAULT_APPROXIMATION,
+                    false,
+                    false,
+                    true,
+                )
+            val nodes =
+                around.map { position ->
+                    object : GenericNode<Any>(environment) {
+                        override fun createT() = "Nothing"
+                    }.also { environment.addNode(it, position) }
+                }
+            nodes.forEach { environment.getPosition(it).shouldBeInstanceOf<ProjectedPosition>() }
+            val range = 2000.0
+            nodes.forEach { node ->
+                environment.getNodesWithinRange(node, range).toSet() shouldBe
+                    nodes.filter { it != node && environment.getDistanceBetweenNodes(node, it) <= range }.toSet()
+            }
+            environment.moveNodeToPosition(nodes.first(), around.last())
+            environment.getPosition(nodes.first()).shouldBeInstanceOf<ProjectedPosition>()
+            environment.getDistanceBetweenNodes(nodes.first(), nodes.last()) shouldBe 0.0
+        }
+    })
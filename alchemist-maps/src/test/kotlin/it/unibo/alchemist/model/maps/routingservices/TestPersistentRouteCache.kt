@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.maps.routingservices
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import it.unibo.alchemist.model.maps.positions.LatLongPosition
+import it.unibo.alchemist.model.maps.routes.PrecomputedRoute
+import java.io.File
+import kotlin.io.path.createTempDirectory
+
+/**
+ * Contains tests concerning [PersistentRouteCache].
+ */
+class TestPersistentRouteCache :
+    StringSpec({
+        val from = LatLongPosition(44.14022881997589, 12.234464874617203)
+        val to = LatLongPosition(44.140937161857074, 12.261716117329186)
+        val route = PrecomputedRoute(listOf(from, LatLongPosition(44.1405, 12.25), to), 2345.0, 1800.0)
+        val options = GraphHopperOptions.defaultOptions
+        val key = PersistentRouteCache.Key.of(options, 0, from, to)
+
+        "routes are available as soon as they are stored" {
+            val cache = PersistentRouteCache(File(createTempDirectory("routes").toFile(), "routes.bin"))
+            cache[key].shouldBeNull()
+            cache.put(key, route)
+            cache[key] shouldBeSameInstanceAs route
+            cache[PersistentRouteCache.Key.of(options, 0, to, from)].shouldBeNull()
+            cache[PersistentRouteCache.Key.of(options, 1, from, to)].shouldBeNull()
+        }
+
+        "routes survive across launches" {
+            val file = File(createTempDirectory("routes").toFile(), "routes.bin")
+            PersistentRouteCache(file).put(key, route)
+            val reloaded = PersistentRouteCache(file)
+            reloaded.size shouldBe 1
+            val stored = reloaded[key].shouldNotBeNull()
+            stored.points shouldBe route.points
+            stored.length() shouldBe route.length()
+            stored.tripTime shouldBe route.tripTime
+        }
+
+        "routes evicted from memory are read back from the file" {
+            val file = File(createTempDirectory("routes").toFile(), "routes.bin")
+            val other = PersistentRouteCache.Key.of(options, 0, to, from)
+            val cache = PersistentRouteCache(file, maximumCachedPoints = 0)
+            cache.put(key, route)
+            cache.put(other, PrecomputedRoute(route.points.reversed(), route.length(), route.tripTime))
+            cache.size shouldBe 2
+            cache[key].shouldNotBeNull().points shouldBe route.points
+            cache[other].shouldNotBeNull().points shouldBe route.points.reversed()
+        }
+
+        "files exceeding the maximum size stop growing" {
+            val file = File(createTempDirectory("routes").toFile(), "routes.bin")
+            val cache = PersistentRouteCache(file, maximumFileSize = 16)
+            cache.put(key, route)
+            cache[key] shouldBeSameInstanceAs route
+            file.length() shouldBe 0L
+        }
+    })
@@ -78,4 +78,18 @@ interface PhysicsEnvironment<T, P, A, F> :
      * a different radius for the hitbox of the moving node.
      */
     fun farthestPositionReachable(node: Node<T>, desiredPosition: P, hitboxRadius: Double = getShape(node).radius): P
+
+    /**
+     * Moves many nodes at once to [newPositions], which have already been resolved by an external solver
+     * (e.g., a rigid body physics engine taking care of collisions): no further overlap avoidance is applied.
+     * Nodes whose position did not change are skipped.
+     * Implementations are encouraged to batch the updates of their internal structures;
+     * by default, nodes are moved one by one via [moveNodeToPosition].
+     */
+    fun commitResolvedPositions(newPositions: Map<Node<T>, P>) =
+        newPositions.forEach { (node, position) ->
+            if (getPosition(node) != position) {
+                moveNodeToPosition(node, position)
+            }
+        }
 }
@@ -9,21 +9,16 @@
 
 package it.unibo.alchemist.model.physics.environments
 
-import com.github.davidmoten.rtree.Entry
-import com.github.davidmoten.rtree.RTree
-import com.github.davidmoten.rtree.geometry.Geometries
-import com.github.davidmoten.rtree.geometry.Rectangle
-import com.github.davidmoten.rtree.internal.EntryDefault
 import it.unibo.alchemist.model.Incarnation
 import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.obstacles.RectObstacle2D
 import it.unibo.alchemist.model.positions.Euclidean2DPosition
 import java.io.ObjectInputStream
-import java.io.ObjectOutputStream
 import java.io.Serial
 
 /**
  * A 2D continuous environment that supports rectangular obstacles and prevents nodes from moving through them.
+ * Obstacles are indexed by a [PackedObstacleIndex], rebuilt lazily after any change to the obstacle set.
  *
  * @param T the concentration type
  * @param incarnation the incarnation used to build nodes and concentrations
@@ -36,18 +31,32 @@ open class Continuous2DObstacles<T>(incarnation: Incarnation<T, Euclidean2DPosit
         private const val TOLERANCE_MULTIPLIER = 0.01
 
         @Serial
-        private const val serialVersionUID = 69931743897405107L
+        private const val serialVersionUID = 69931743897405108L
+
+        private fun newBuffers() = ThreadLocal.withInitial { ArrayList<RectObstacle2D<Euclidean2DPosition>>() }
     }
 
-    private var rtree: RTree<RectObstacle2D<Euclidean2DPosition>, Rectangle> = RTree.create()
+    private val obstacleList: MutableList<RectObstacle2D<Euclidean2DPosition>> = ArrayList()
+
+    @Transient
+    private var packedIndex: PackedObstacleIndex? = null
+
+    /*
+     * Reusable buffers for the obstacles considered when computing a movement.
+     */
+    @Transient
+    private var buffers: ThreadLocal<ArrayList<RectObstacle2D<Euclidean2DPosition>>> = newBuffers()
+
+    private val index: PackedObstacleIndex get() =
+        packedIndex ?: PackedObstacleIndex(obstacleList).also { packedIndex = it }
 
     override fun addObstacle(obstacle: RectObstacle2D<Euclidean2DPosition>) {
-        rtree = rtree.add(obstacle, toGeometry(obstacle))
+        obstacleList.add(obstacle)
+        packedIndex = null
         includeObject(obstacle.minX, obstacle.maxX, obstacle.minY, obstacle.maxY)
     }
 
-    override val obstacles: List<RectObstacle2D<Euclidean2DPosition>> get() =
-        rtree.entries().map(Entry<RectObstacle2D<Euclidean2DPosition>, Rectangle>::value).toList().toBlocking().single()
+    override val obstacles: List<RectObstacle2D<Euclidean2DPosition>> get() = obstacleList.toList()
 
     override fun getObstaclesInRange(
         center: Euclidean2DPosition,
@@ -58,50 +67,57 @@ open class Continuous2DObstacles<T>(incarnation: Incarnation<T, Euclidean2DPosit
         centerx: Double,
         centery: Double,
         range: Double,
-    ): List<RectObstacle2D<Euclidean2DPosition>> = rtree.search(
-        Geometries.circle(centerx, centery, range),
-    ).map(Entry<RectObstacle2D<Euclidean2DPosition>, Rectangle>::value).toList().toBlocking().single()
+    ): List<RectObstacle2D<Euclidean2DPosition>> {
+        val result = ArrayList<RectObstacle2D<Euclidean2DPosition>>()
+        index.forEachWithinRange(centerx, centery, range) { result.add(it) }
+        return result
+    }
 
     override fun hasMobileObstacles(): Boolean = false
 
     override fun intersectsObstacle(start: Euclidean2DPosition, end: Euclidean2DPosition): Boolean {
         val (sx, sy) = start
         val (ex, ey) = end
-        return query(sx, sy, ex, ey, 0.0).any { obstacle ->
+        return !index.forEachIntersecting(minOf(sx, ex), minOf(sy, ey), maxOf(sx, ex), maxOf(sy, ey)) { obstacle ->
             val coords = obstacle.nearestIntersection(start, end).coordinates
-            coords[0] != ex || coords[1] != ey || obstacle.contains(coords[0], coords[1])
+            coords[0] == ex && coords[1] == ey && !obstacle.contains(coords[0], coords[1])
         }
     }
 
-    override fun isAllowed(position: Euclidean2DPosition): Boolean =
-        rtree.search(Geometries.point(position.x, position.y)).isEmpty.toBlocking().single()
+    override fun isAllowed(position: Euclidean2DPosition): Boolean = !index.anyContaining(position.x, position.y)
 
     override fun next(current: Euclidean2DPosition, desired: Euclidean2DPosition): Euclidean2DPosition =
         next(current.x, current.y, desired.x, desired.y)
 
     override fun next(curX: Double, curY: Double, newX: Double, newY: Double): Euclidean2DPosition {
-        val obstacles = query(curX, curY, newX, newY, TOLERANCE_MULTIPLIER).toMutableList()
+        val obstacles = buffers.get()
+        obstacles.clear()
+        query(curX, curY, newX, newY, TOLERANCE_MULTIPLIER, obstacles)
         if (obstacles.isEmpty()) return Euclidean2DPosition(newX, newY)
-
+        val current = Euclidean2DPosition(curX, curY)
         var (fx, fy) = newX to newY
         var fxCache: Double
         var fyCache: Double
         do {
             fxCache = fx
             fyCache = fy
-            obstacles.iterator().run {
-                while (hasNext()) {
-                    val shortest = next().next(Euclidean2DPosition(curX, curY), Euclidean2DPosition(fx, fy))
-                    val (sfx, sfy) = shortest
-                    if (sfx != fx || sfy != fy) {
-                        fx = sfx
-                        fy = sfy
-                        remove()
-                    }
+            /*
+             * Obstacles that shortened the movement are discarded, preserving the order of the others
+             */
+            var kept = 0
+            for (candidate in 0 until obstacles.size) {
+                val obstacle = obstacles[candidate]
+                val (sfx, sfy) = obstacle.next(current, Euclidean2DPosition(fx, fy))
+                if (sfx != fx || sfy != fy) {
+                    fx = sfx
+                    fy = sfy
+                } else {
+                    obstacles[kept++] = obstacle
                 }
             }
+            obstacles.subList(kept, obstacles.size).clear()
         } while (fx != fxCache || fy != fyCache)
-
+        obstacles.clear()
         return Euclidean2DPosition(fx, fy)
     }
 
@@ -111,7 +127,8 @@ open class Continuous2DObstacles<T>(incarnation: Incarnation<T, Euclidean2DPosit
         nx: Double,
         ny: Double,
         tolerance: Double,
-    ): List<RectObstacle2D<Euclidean2DPosition>> {
+        destination: MutableList<RectObstacle2D<Euclidean2DPosition>>,
+    ) {
         var (minx, miny) = minOf(ox, nx) to minOf(oy, ny)
         var (maxx, maxy) = maxOf(ox, nx) to maxOf(oy, ny)
         val dx = (maxx - minx) * tolerance
@@ -120,41 +137,22 @@ open class Continuous2DObstacles<T>(incarnation: Incarnation<T, Euclidean2DPosit
         maxx += dx
         miny -= dy
         maxy += dy
-        return rtree.search(Geometries.rectangle(minx, miny, maxx, maxy))
-            .map(Entry<RectObstacle2D<Euclidean2DPosition>, Rectangle>::value)
-            .toList()
-            .toBlocking()
-            .single()
+        index.collectIntersecting(minx, miny, maxx, maxy, destination)
     }
 
-    override fun removeObstacle(obstacle: RectObstacle2D<Euclidean2DPosition>): Boolean {
-        val initialSize = rtree.size()
-        rtree = rtree.delete(obstacle, toGeometry(obstacle))
-        return rtree.size() == initialSize - 1
-    }
+    override fun removeObstacle(obstacle: RectObstacle2D<Euclidean2DPosition>): Boolean =
+        obstacleList.remove(obstacle).also { removed ->
+            if (removed) {
+                packedIndex = null
+            }
+        }
 
     override fun moveNodeToPosition(node: Node<T>, newPosition: Euclidean2DPosition) =
         super<AbstractLimitedContinuous2D>.moveNodeToPosition(node, newPosition)
 
-    @Serial
-    private fun writeObject(o: ObjectOutputStream) {
-        o.defaultWriteObject()
-        o.writeObject(obstacles)
-    }
-
     @Serial
     private fun readObject(o: ObjectInputStream) {
         o.defaultReadObject()
-        rtree = RTree.create()
-        @Suppress("UNCHECKED_CAST")
-        val obstacles = o.readObject() as List<RectObstacle2D<Euclidean2DPosition>>
-        rtree = RTree.create<RectObstacle2D<Euclidean2DPosition>, Rectangle>().add(
-            obstacles.parallelStream()
-                .map { EntryDefault(it, toGeometry(it)) }
-                .toList(),
-        )
+        buffers = newBuffers()
     }
-
-    private fun toGeometry(o: RectObstacle2D<Euclidean2DPosition>): Rectangle =
-        Geometries.rectangle(o.minX, o.minY, o.maxX, o.maxY)
 }
@@ -106,6 +106,15 @@ open class ContinuousPhysics2DEnvironment<T>(incarnation: Incarnation<T, Euclide
             super.moveNodeToPosition(node, newPosition)
         }
 
+    /**
+     * Commits all the [newPositions] in a single batch, skipping unchanged nodes and
+     * recomputing only the neighborhoods that may have changed.
+     */
+    override fun commitResolvedPositions(newPositions: Map<Node<T>, Euclidean2DPosition>) {
+        newPositions.values.forEach { includeObject(it) }
+        relocateNodes(newPositions)
+    }
+
     /**
      * A node should be added only if it doesn't collide with already existing nodes and fits in the environment's
      * limits.
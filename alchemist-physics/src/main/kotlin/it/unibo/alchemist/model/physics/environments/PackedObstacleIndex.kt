@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.physics.environments
+
+import it.unibo.alchemist.model.obstacles.RectObstacle2D
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import kotlin.math.ceil
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.sqrt
+
+/**
+ * An immutable R-tree of [RectObstacle2D]s, bulk loaded with the Sort-Tile-Recursive algorithm
+ * and packed in a single primitive array of bounding boxes.
+ *
+ * Nodes are stored level by level, starting from the leaves (one per obstacle):
+ * the children of the k-th node of a level are the nodes from k * [NODE_SIZE] (inclusive)
+ * to (k + 1) * [NODE_SIZE] (exclusive) of the level below.
+ * Queries descend the tree recursively and report matches to a [Visitor], hence they do not allocate.
+ * All queries consider obstacle borders as part of the obstacle.
+ */
+internal class PackedObstacleIndex(obstacles: Collection<RectObstacle2D<Euclidean2DPosition>>) {
+    private val items: List<RectObstacle2D<Euclidean2DPosition>> = strOrder(obstacles)
+
+    /*
+     * Index of the first node of each level, plus the total number of nodes as last element.
+     */
+    private val levelStarts: IntArray = levelStartsFor(items.size)
+
+    /*
+     * minX, minY, maxX, maxY of each node.
+     */
+    private val boxes = DoubleArray(levelStarts.last() * 4)
+
+    /**
+     * The number of obstacles in this index.
+     */
+    val size: Int get() = items.size
+
+    init {
+        items.forEachIndexed { index, obstacle ->
+            setBox(index, obstacle.minX, obstacle.minY, obstacle.maxX, obstacle.maxY)
+        }
+        for (level in 1 until levelStarts.size - 1) {
+            for (node in levelStarts[level] until levelStarts[level + 1]) {
+                var minX = Double.POSITIVE_INFINITY
+                var minY = Double.POSITIVE_INFINITY
+                var maxX = Double.NEGATIVE_INFINITY
+                var maxY = Double.NEGATIVE_INFINITY
+                forEachChild(node, level) { child ->
+                    minX = min(minX, boxes[child * 4])
+                    minY = min(minY, boxes[child * 4 + 1])
+                    maxX = max(maxX, boxes[child * 4 + 2])
+                    maxY = max(maxY, boxes[child * 4 + 3])
+                }
+                setBox(node, minX, minY, maxX, maxY)
+            }
+        }
+    }
+
+    /**
+     * Receives the obstacles matching a query, and returns false to stop the search.
+     */
+    fun interface Visitor {
+        /**
+         * Visits a matching [obstacle], returning true if the search should continue.
+         */
+        fun visit(obstacle: RectObstacle2D<Euclidean2DPosition>): Boolean
+    }
+
+    /**
+     * Visits the obstacles whose bounding box intersects the rectangle going from ([minX], [minY])
+     * to ([maxX], [maxY]). Returns false if the [visitor] stopped the search.
+     */
+    fun forEachIntersecting(minX: Double, minY: Double, maxX: Double, maxY: Double, visitor: Visitor): Boolean =
+        items.isEmpty() || visitIntersecting(root, rootLevel, minX, minY, maxX, maxY, visitor)
+
+    /**
+     * Visits the obstacles whose distance from ([centerX], [centerY]) is at most [range].
+     * Returns false if the [visitor] stopped the search.
+     */
+    fun forEachWithinRange(centerX: Double, centerY: Double, range: Double, visitor: Visitor): Boolean =
+        items.isEmpty() || visitWithinRange(root, rootLevel, centerX, centerY, range * range, visitor)
+
+    /**
+     * Returns true if any obstacle contains the point ([x], [y]).
+     */
+    fun anyContaining(x: Double, y: Double): Boolean = !forEachIntersecting(x, y, x, y) { false }
+
+    /**
+     * Adds to [destination] the obstacles whose bounding box intersects the rectangle going from
+     * ([minX], [minY]) to ([maxX], [maxY]), and returns [destination].
+     */
+    fun <C : MutableCollection<in RectObstacle2D<Euclidean2DPosition>>> collectIntersecting(
+        minX: Double,
+        minY: Double,
+        maxX: Double,
+        maxY: Double,
+        destination: C,
+    ): C = destination.also {
+        forEachIntersecting(minX, minY, maxX, maxY) { obstacle ->
+            destination.add(obstacle)
+            true
+        }
+    }
+
+    private val root: Int get() = levelStarts.last() - 1
+
+    private val rootLevel: Int get() = levelStarts.size - 2
+
+    private fun setBox(node: Int, minX: Double, minY: Double, maxX: Double, maxY: Double) {
+        boxes[node * 4] = minX
+        boxes[node * 4 + 1] = minY
+        boxes[node * 4 + 2] = maxX
+        boxes[node * 4 + 3] = maxY
+    }
+
+    private inline fun forEachChild(node: Int, level: Int, action: (Int) -> Unit) {
+        val first = levelStarts[level - 1] + (node - levelStarts[level]) * NODE_SIZE
+        val last = min(first + NODE_SIZE, levelStarts[level])
+        for (child in first until last) {
+            action(child)
+        }
+    }
+
+    private fun visitIntersecting(
+        node: Int,
+        level: Int,
+        minX: Double,
+        minY: Double,
+        maxX: Double,
+        maxY: Double,
+        visitor: Visitor,
+    ): Boolean {
+        if (boxes[node * 4] > maxX ||
+            boxes[node * 4 + 1] > maxY ||
+            boxes[node * 4 + 2] < minX ||
+            boxes[node * 4 + 3] < minY
+        ) {
+            return true
+        }
+        if (level == 0) {
+            return visitor.visit(items[node])
+        }
+        forEachChild(node, level) { child ->
+            if (!visitIntersecting(child, level - 1, minX, minY, maxX, maxY, visitor)) {
+                return false
+            }
+        }
+        return true
+    }
+
+    private fun visitWithinRange(
+        node: Int,
+        level: Int,
+        centerX: Double,
+        centerY: Double,
+        squaredRange: Double,
+        visitor: Visitor,
+    ): Boolean {
+        val dx = max(0.0, max(boxes[node * 4] - centerX, centerX - boxes[node * 4 + 2]))
+        val dy = max(0.0, max(boxes[node * 4 + 1] - centerY, centerY - boxes[node * 4 + 3]))
+        if (dx * dx + dy * dy > squaredRange) {
+            return true
+        }
+        if (level == 0) {
+            return visitor.visit(items[node])
+        }
+        forEachChild(node, level) { child ->
+            if (!visitWithinRange(child, level - 1, centerX, centerY, squaredRange, visitor)) {
+                return false
+            }
+        }
+        return true
+    }
+
+    private companion object {
+        private const val NODE_SIZE = 16
+
+        private fun levelStartsFor(leaves: Int): IntArray {
+            val starts = mutableListOf(0)
+            var levelSize = leaves
+            var total = leaves
+            while (levelSize > 1) {
+                starts += total
+                levelSize = (levelSize + NODE_SIZE - 1) / NODE_SIZE
+                total += levelSize
+            }
+            starts += total
+            return starts.toIntArray()
+        }
+
+        /*
+         * Sort-Tile-Recursive: obstacles are sorted by x into vertical slices, and each slice is sorted by y.
+         */
+        private fun strOrder(
+            obstacles: Collection<RectObstacle2D<Euclidean2DPosition>>,
+        ): List<RectObstacle2D<Euclidean2DPosition>> {
+            val leafNodes = ceil(obstacles.size.toDouble() / NODE_SIZE)
+            val sliceSize = max(1, ceil(sqrt(leafNodes)).toInt() * NODE_SIZE)
+            return obstacles
+                .sortedBy { it.minX + it.maxX }
+                .chunked(sliceSize) { slice -> slice.sortedBy { it.minY + it.maxY } }
+                .flatten()
+        }
+    }
+}
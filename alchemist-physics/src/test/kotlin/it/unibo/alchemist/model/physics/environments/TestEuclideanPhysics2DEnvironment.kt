@@ -12,6 +12,7 @@ package it.unibo.alchemist.model.physics.environments
 import it.unibo.alchemist.model.Node
 import it.unibo.alchemist.model.Node.Companion.asProperty
 import it.unibo.alchemist.model.SupportedIncarnations
+import it.unibo.alchemist.model.linkingrules.ConnectWithinDistance
 import it.unibo.alchemist.model.linkingrules.NoLinks
 import it.unibo.alchemist.model.nodes.GenericNode
 import it.unibo.alchemist.model.physics.properties.AreaProperty
@@ -105,6 +106,33 @@ class TestEuclideanPhysics2DEnvironment {
         assertTrue(environment.getPosition(node1).distanceTo(target) > getNodeRadius(node1))
     }
 
+    @Test
+    fun `Bulk committed positions keep neighborhoods consistent`() {
+        val linkingRule = ConnectWithinDistance<Any, Euclidean2DPosition>(3 * DEFAULT_SHAPE_SIZE)
+        environment.linkingRule = linkingRule
+        environment.addNode(node1, Euclidean2DPosition(0.0, 0.0))
+        environment.addNode(node2, Euclidean2DPosition(10 * DEFAULT_SHAPE_SIZE, 0.0))
+        environment.addNode(node3, Euclidean2DPosition(0.0, 10 * DEFAULT_SHAPE_SIZE))
+        val step = DEFAULT_SHAPE_SIZE / 10
+        repeat(200) { iteration ->
+            val moved = iteration * step
+            environment.commitResolvedPositions(
+                mapOf(
+                    node1 to environment.getPosition(node1),
+                    node2 to Euclidean2DPosition(10 * DEFAULT_SHAPE_SIZE - moved, 0.0),
+                    node3 to Euclidean2DPosition(0.0, 10 * DEFAULT_SHAPE_SIZE - moved / 2),
+                ),
+            )
+            listOf(node1, node2, node3).forEach { node ->
+                assertEquals(
+                    linkingRule.computeNeighborhood(node, environment).neighbors.toSet(),
+                    environment.getNeighborhood(node).neighbors.toSet(),
+                )
+            }
+        }
+        assertEquals(Euclidean2DPosition(10 * DEFAULT_SHAPE_SIZE - 199 * step, 0.0), environment.getPosition(node2))
+    }
+
     companion object {
         private const val DEFAULT_SHAPE_SIZE: Double = 1.0
     }
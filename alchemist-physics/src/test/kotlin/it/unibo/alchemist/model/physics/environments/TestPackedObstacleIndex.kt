@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.model.physics.environments
+
+import it.unibo.alchemist.model.obstacles.RectObstacle2D
+import it.unibo.alchemist.model.positions.Euclidean2DPosition
+import kotlin.math.max
+import kotlin.random.Random
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+import org.junit.jupiter.api.Test
+
+class TestPackedObstacleIndex {
+    private val random = Random(1)
+
+    private val obstacles =
+        List(OBSTACLES) {
+            RectObstacle2D<Euclidean2DPosition>(
+                random.nextDouble(SIDE),
+                random.nextDouble(SIDE),
+                random.nextDouble(1.0, MAX_OBSTACLE_SIZE),
+                random.nextDouble(1.0, MAX_OBSTACLE_SIZE),
+            )
+        }
+
+    private val index = PackedObstacleIndex(obstacles)
+
+    @Test
+    fun `rectangle queries match a linear scan`() {
+        repeat(QUERIES) {
+            val (minX, minY) = random.nextDouble(SIDE) to random.nextDouble(SIDE)
+            val (maxX, maxY) = minX + random.nextDouble(MAX_QUERY_SIZE) to minY + random.nextDouble(MAX_QUERY_SIZE)
+            val expected =
+                obstacles.filter { it.minX <= maxX && it.maxX >= minX && it.minY <= maxY && it.maxY >= minY }
+            assertEquals(expected.toSet(), index.collectIntersecting(minX, minY, maxX, maxY, mutableSetOf()))
+        }
+    }
+
+    @Test
+    fun `range queries match a linear scan`() {
+        repeat(QUERIES) {
+            val (x, y) = random.nextDouble(SIDE) to random.nextDouble(SIDE)
+            val range = random.nextDouble(MAX_QUERY_SIZE)
+            val expected =
+                obstacles.filter {
+                    val dx = max(0.0, max(it.minX - x, x - it.maxX))
+                    val dy = max(0.0, max(it.minY - y, y - it.maxY))
+                    dx * dx + dy * dy <= range * range
+                }
+            val found = mutableSetOf<RectObstacle2D<Euclidean2DPosition>>()
+            assertTrue(index.forEachWithinRange(x, y, range) { found.add(it) })
+            assertEquals(expected.toSet(), found)
+        }
+    }
+
+    @Test
+    fun `point queries match a linear scan and searches can be interrupted`() {
+        repeat(QUERIES) {
+            val (x, y) = random.nextDouble(SIDE) to random.nextDouble(SIDE)
+            assertEquals(obstacles.any { it.contains(x, y) }, index.anyContaining(x, y))
+        }
+        var visited = 0
+        assertFalse(index.forEachIntersecting(0.0, 0.0, SIDE, SIDE) { ++visited < 3 })
+        assertEquals(3, visited)
+        assertTrue(PackedObstacleIndex(emptyList()).forEachIntersecting(0.0, 0.0, SIDE, SIDE) { false })
+    }
+
+    private companion object {
+        private const val OBSTACLES = 2000
+        private const val QUERIES = 500
+        private const val SIDE = 1000.0
+        private const val MAX_OBSTACLE_SIZE = 20.0
+        private const val MAX_QUERY_SIZE = 80.0
+    }
+}
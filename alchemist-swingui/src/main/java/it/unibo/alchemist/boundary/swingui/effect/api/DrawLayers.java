@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2022, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -47,4 +47,38 @@ public interface DrawLayers extends Effect {
             Wormhole2D<P> wormhole
     );
 
+    /**
+     * Layers may be drawn from data computed in background: when new data is ready, this effect runs the provided
+     * callback, which is expected to request a repaint of the view.
+     *
+     * @param onBackgroundDrawingReady the callback to run when new data is ready
+     */
+    default void setOnBackgroundDrawingReady(final Runnable onBackgroundDrawingReady) {
+        // by default, layers are drawn synchronously
+    }
+
+    /**
+     * Copies the values of the layers that may change, so that they can be drawn without being read while the
+     * simulation modifies them. It is called by the simulation thread whenever the view is updated, while the
+     * environment can't be modified.
+     *
+     * @param environment the environment
+     * @param <T>         node concentration type
+     * @param <P>         position type
+     */
+    default <T, P extends Position2D<P>> void sampleLayers(final Environment<T, P> environment) {
+        // by default, layers are read while drawn
+    }
+
+    /**
+     * Layers that may change are only sampled through {@link #sampleLayers(Environment)}: when they must be sampled
+     * again (e.g., because the view changed), this effect runs the provided callback,
+     * which is expected to request an update of the view to the simulation thread.
+     *
+     * @param onSamplingNeeded the callback to run when layers must be sampled again
+     */
+    default void setOnSamplingNeeded(final Runnable onSamplingNeeded) {
+        // by default, layers are read while drawn
+    }
+
 }
@@ -73,10 +73,16 @@ public abstract class AbstractDrawLayers extends AbstractDrawOnce implements Dra
     private Color colorCache = Color.BLUE;
     @Nullable
     @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
-    private transient Molecule molecule;
+    private transient volatile Molecule molecule;
     @Nullable
     @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
     private transient Object molStringCached;
+    @Nullable
+    @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+    private transient volatile Runnable onBackgroundDrawingReady;
+    @Nullable
+    @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+    private transient volatile Runnable onSamplingNeeded;
 
     /**
      * {@inheritDoc}
@@ -96,15 +102,48 @@ public abstract class AbstractDrawLayers extends AbstractDrawOnce implements Dra
         }
         colorCache = new Color(red.getVal(), green.getVal(), blue.getVal(), alpha.getVal());
         graphics2D.setColor(colorCache);
+        final List<Layer<T, P>> toDraw = layersToDraw(environment);
+        if (!toDraw.isEmpty()) {
+            drawLayers(toDraw, environment, graphics2D, wormhole);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T, P extends Position2D<P>> void sampleLayers(final Environment<T, P> environment) {
+        final List<Layer<T, P>> toSample = layersToDraw(environment);
+        if (!toSample.isEmpty()) {
+            sampleLayers(toSample, environment);
+        }
+    }
+
+    /**
+     * Copies the values of the layers that may change, see {@link DrawLayers#sampleLayers(Environment)}.
+     * By default, it does nothing.
+     *
+     * @param toSample    the layers to sample
+     * @param environment the environment
+     * @param <T>         node concentration type
+     * @param <P>         position type
+     */
+    protected <T, P extends Position2D<P>> void sampleLayers(
+            final Collection<Layer<T, P>> toSample,
+            final Environment<T, P> environment
+    ) {
+        // by default, layers are read while drawn
+    }
+
+    private <T, P extends Position2D<P>> List<Layer<T, P>> layersToDraw(final Environment<T, P> environment) {
         final List<Layer<T, P>> toDraw = new ArrayList<>();
-        if (layerFilter && molecule != null && environment.getLayer(molecule) != null) {
-            toDraw.add(environment.getLayer(molecule));
+        final Molecule filter = molecule;
+        if (layerFilter && filter != null && environment.getLayer(filter) != null) {
+            toDraw.add(environment.getLayer(filter));
         } else {
             toDraw.addAll(environment.getLayers().values());
         }
-        if (!toDraw.isEmpty()) {
-            drawLayers(toDraw, environment, graphics2D, wormhole);
-        }
+        return toDraw;
     }
 
     /**
@@ -126,6 +165,42 @@ public abstract class AbstractDrawLayers extends AbstractDrawOnce implements Dra
             Wormhole2D<P> wormhole
     );
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOnBackgroundDrawingReady(final Runnable onBackgroundDrawingReady) {
+        this.onBackgroundDrawingReady = onBackgroundDrawingReady;
+    }
+
+    /**
+     * Notifies that data computed in background is ready to be drawn. Can be called from any thread.
+     */
+    protected void backgroundDrawingReady() {
+        final Runnable callback = onBackgroundDrawingReady;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOnSamplingNeeded(final Runnable onSamplingNeeded) {
+        this.onSamplingNeeded = onSamplingNeeded;
+    }
+
+    /**
+     * Notifies that the layers that may change must be sampled again. Can be called from any thread.
+     */
+    protected void samplingNeeded() {
+        final Runnable callback = onSamplingNeeded;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
     /**
      * @return a boolean representing whether layer filter is on
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2022, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -13,16 +13,20 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import it.unibo.alchemist.boundary.swingui.effect.api.LayerToFunctionMapper;
 import it.unibo.alchemist.boundary.ui.api.Wormhole2D;
 import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Layer;
 import it.unibo.alchemist.model.Position2D;
 import org.danilopianini.lang.RangedInteger;
 import org.danilopianini.view.ExportForGUI;
 
+import javax.annotation.Nullable;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import java.awt.geom.Dimension2D;
 import java.io.Serial;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
 
 /**
  * Draw layers values as a background in the gui.
@@ -49,6 +53,9 @@ public abstract class AbstractDrawLayersGradient extends AbstractDrawLayersValue
     private static final int MAX_SAMPLES = 400;
     @ExportForGUI(nameToExport = "Samples for each side")
     private RangedInteger samples = new RangedInteger(MIN_SAMPLES, MAX_SAMPLES, MIN_SAMPLES * 10);
+    @Nullable
+    @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+    private transient Map<Layer<?, ?>, Raster> rasters;
 
     /**
      * @param mapper the {@link LayerToFunctionMapper} converting a layer into a function.
@@ -67,43 +74,91 @@ public abstract class AbstractDrawLayersGradient extends AbstractDrawLayersValue
             final Graphics2D graphics,
             final Wormhole2D<P> wormhole
     ) {
+        final LayerView view = LayerView.of(wormhole, samples.getVal());
+        final double[] corners = corners(view, wormhole);
+        final double[] cornerValues = new double[corners.length / 2];
+        for (int corner = 0; corner < cornerValues.length; corner++) {
+            final P position = environment.makePosition(corners[2 * corner], corners[2 * corner + 1]);
+            cornerValues[corner] = function.apply(position).doubleValue();
+        }
+        paint(Raster.interpolate(view, corner -> cornerValues[corner], null), graphics);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Draws the layer from the latest corners sampled for it, interpolating the cells again only if new corners
+     * were sampled.
+     */
+    @Override
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    protected <T, P extends Position2D<P>> void drawLayerFunction(
+            final Layer<T, P> layer,
+            final Function<? super P, ? extends Number> function,
+            final Environment<T, P> environment,
+            final Graphics2D graphics,
+            final Wormhole2D<P> wormhole
+    ) {
+        if (rasters == null) {
+            rasters = new WeakHashMap<>();
+        }
+        final LayerView view = LayerView.of(wormhole, samples.getVal());
+        final LayerSampler.Samples corners =
+            getSamples(layer, function, environment, view, () -> corners(view, wormhole));
+        if (corners != null) {
+            final Raster cached = rasters.get(layer);
+            if (cached != null && cached.corners == corners) {
+                paint(cached, graphics);
+            } else {
+                final Raster raster = Raster.interpolate(corners.getView(), corners::getValue, corners);
+                rasters.put(layer, raster);
+                paint(raster, graphics);
+            }
+        }
+    }
+
+    /*
+     * To draw the gradient, we simply divide the screen into cells, then we
+     * visit each cell and determine its value by interpolating the values
+     * at the corners. Corners are shared by neighboring cells, so each one is sampled once.
+     * Returns the env coordinates of the corners, column by column, as (x, y) pairs.
+     */
+    private static <P extends Position2D<P>> double[] corners(final LayerView view, final Wormhole2D<P> wormhole) {
+        final int stepX = step(view.getWidth(), view.getSamples());
+        final int stepY = step(view.getHeight(), view.getSamples());
+        final int columns = cells(view.getWidth(), stepX);
+        final int rows = cells(view.getHeight(), stepY);
+        final double[] corners = new double[2 * (columns + 1) * (rows + 1)];
+        int corner = 0;
+        for (int column = 0; column <= columns; column++) {
+            for (int row = 0; row <= rows; row++) {
+                final P envCorner = wormhole.getEnvPoint(new Point(column * stepX, row * stepY));
+                corners[corner++] = envCorner.getX();
+                corners[corner++] = envCorner.getY();
+            }
+        }
+        return corners;
+    }
+
+    /*
+     * The side of each cell.
+     */
+    private static int step(final int viewSize, final int samplesPerSide) {
+        return Math.max(1, viewSize / samplesPerSide);
+    }
+
+    private static int cells(final int viewSize, final int step) {
+        return (viewSize + step - 1) / step;
+    }
+
+    private void paint(final Raster raster, final Graphics2D graphics) {
         if (minOrMaxLayerValuesNeedsToBeUpdated()) {
             updateMinAndMaxLayerValues();
         }
-        // To draw the gradient, we simply divide the screen into cells, then we
-        // visit each cell and determine its value by interpolating the values
-        // at the corners. We then map such value to a color and fill the cell
-        // with that color
-        final Dimension2D viewSize = wormhole.getViewSize();
-        final int viewStartX = 0;
-        final int viewStartY = 0;
-        final int viewEndX = (int) Math.ceil(viewSize.getWidth());
-        final int viewEndY = (int) Math.ceil(viewSize.getHeight());
-        // step is the side of each cell
-        final int stepX = (viewEndX - viewStartX) / samples.getVal();
-        final int stepY = (viewEndY - viewStartY) / samples.getVal();
-        // visiting a cell means having the indexes of its four corners
-        for (int i1 = viewStartX; i1 < viewEndX; i1 += stepX) {
-            final int i2 = i1 + stepX;
-            for (int j1 = viewStartY; j1 < viewEndY; j1 += stepY) {
-                final int j2 = j1 + stepY;
-                // the four points of the view
-                final Point p1 = new Point(i1, j1);
-                final Point p2 = new Point(i1, j2);
-                final Point p3 = new Point(i2, j1);
-                final Point p4 = new Point(i2, j2);
-                // we map them to env points
-                final P envP1 = wormhole.getEnvPoint(p1);
-                final P envP2 = wormhole.getEnvPoint(p2);
-                final P envP3 = wormhole.getEnvPoint(p3);
-                final P envP4 = wormhole.getEnvPoint(p4);
-                // get the values
-                final double v1 = function.apply(envP1).doubleValue();
-                final double v2 = function.apply(envP2).doubleValue();
-                final double v3 = function.apply(envP3).doubleValue();
-                final double v4 = function.apply(envP4).doubleValue();
-                // interpolate such values
-                final double v = (v1 + v2 + v3 + v4) / 4;
+        for (int column = 0; column < raster.columns; column++) {
+            for (int row = 0; row < raster.rows; row++) {
+                final double v = raster.values[column * raster.rows + row];
                 // fill the cell with the color
                 if (v >= getMinLayerValueDouble()) {
                     final double newAlpha = map(v, getMinLayerValueDouble(), getMaxLayerValueDouble(), 0, getAlpha().getVal());
@@ -113,7 +168,7 @@ public abstract class AbstractDrawLayersGradient extends AbstractDrawLayersValue
                             getBlue().getVal(),
                             (int) Math.ceil(newAlpha)
                     ));
-                    graphics.fillRect(i1, j1, i2 - i1, j2 - j1);
+                    graphics.fillRect(column * raster.stepX, row * raster.stepY, raster.stepX, raster.stepY);
                 }
             }
         }
@@ -149,4 +204,60 @@ public abstract class AbstractDrawLayersGradient extends AbstractDrawLayersValue
     public static double map(final double x, final double xMin, final double xMax, final double yMin, final double yMax) {
         return (x - xMin) / (xMax - xMin) * (yMax - yMin) + yMin;
     }
+
+    /*
+     * The values of the cells of the view, column by column, and the corners they were interpolated from, if sampled.
+     */
+    private static final class Raster {
+        @Nullable
+        private final LayerSampler.Samples corners;
+        private final int stepX;
+        private final int stepY;
+        private final int columns;
+        private final int rows;
+        private final double[] values;
+
+        private Raster(
+            @Nullable final LayerSampler.Samples corners,
+            final int stepX,
+            final int stepY,
+            final int columns,
+            final int rows,
+            final double[] values
+        ) {
+            this.corners = corners;
+            this.stepX = stepX;
+            this.stepY = stepY;
+            this.columns = columns;
+            this.rows = rows;
+            this.values = values;
+        }
+
+        /*
+         * Interpolates the values at the four corners of each cell.
+         */
+        private static Raster interpolate(
+            final LayerView view,
+            final IntToDoubleFunction cornerValues,
+            @Nullable final LayerSampler.Samples corners
+        ) {
+            final int stepX = step(view.getWidth(), view.getSamples());
+            final int stepY = step(view.getHeight(), view.getSamples());
+            final int columns = cells(view.getWidth(), stepX);
+            final int rows = cells(view.getHeight(), stepY);
+            final double[] values = new double[columns * rows];
+            for (int column = 0; column < columns; column++) {
+                for (int row = 0; row < rows; row++) {
+                    final int corner = column * (rows + 1) + row;
+                    values[column * rows + row] = (
+                        cornerValues.applyAsDouble(corner)
+                            + cornerValues.applyAsDouble(corner + 1)
+                            + cornerValues.applyAsDouble(corner + rows + 1)
+                            + cornerValues.applyAsDouble(corner + rows + 2)
+                    ) / 4;
+                }
+            }
+            return new Raster(corners, stepX, stepY, columns, rows, values);
+        }
+    }
 }
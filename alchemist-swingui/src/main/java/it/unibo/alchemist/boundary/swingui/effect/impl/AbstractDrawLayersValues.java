@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2022, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -9,6 +9,7 @@
 
 package it.unibo.alchemist.boundary.swingui.effect.impl;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import it.unibo.alchemist.boundary.swingui.effect.api.FunctionDrawer;
 import it.unibo.alchemist.boundary.swingui.effect.api.LayerToFunctionMapper;
 import it.unibo.alchemist.boundary.ui.api.Wormhole2D;
@@ -18,10 +19,13 @@ import it.unibo.alchemist.model.Position;
 import it.unibo.alchemist.model.Position2D;
 import org.danilopianini.view.ExportForGUI;
 
+import javax.annotation.Nullable;
 import java.awt.Graphics2D;
 import java.io.Serial;
 import java.util.Collection;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * This is a basic class for all the effects meant to draw {@link Layer}s
@@ -62,6 +66,9 @@ public abstract class AbstractDrawLayersValues extends AbstractDrawLayers implem
     private Double minLayerValueDouble = Double.parseDouble(minLayerValueCached);
     private Double maxLayerValueDouble = Double.parseDouble(maxLayerValueCached);
     private final LayerToFunctionMapper mapper;
+    @Nullable
+    @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+    private transient volatile LayerSampler sampler;
 
     AbstractDrawLayersValues(final LayerToFunctionMapper mapper) {
         this.mapper = mapper;
@@ -78,7 +85,84 @@ public abstract class AbstractDrawLayersValues extends AbstractDrawLayers implem
             final Wormhole2D<P> wormhole
     ) {
         mapper.prepare(this, toDraw, environment, graphics, wormhole);
-        mapper.map(toDraw.stream()).forEach(f -> this.drawFunction(f, environment, graphics, wormhole));
+        for (final Layer<T, P> layer : toDraw) {
+            mapper.map(Stream.of(layer))
+                .forEach(f -> this.drawLayerFunction(layer, f, environment, graphics, wormhole));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Layers that may change are sampled for the last {@link LayerView} drawn, if any.
+     */
+    @Override
+    protected <T, P extends Position2D<P>> void sampleLayers(
+            final Collection<Layer<T, P>> toSample,
+            final Environment<T, P> environment
+    ) {
+        final LayerSampler current = sampler;
+        if (current != null) {
+            for (final Layer<T, P> layer : toSample) {
+                if (!layer.isStatic()) {
+                    mapper.map(Stream.of(layer)).forEach(f -> current.sample(layer, f, environment));
+                }
+            }
+        }
+    }
+
+    /**
+     * To be called while drawing, see {@link LayerSampler#get(Layer, Function, Environment, LayerView, Supplier)}.
+     *
+     * @param layer the layer
+     * @param function the function obtained by mapping the layer
+     * @param environment the environment
+     * @param view the current view
+     * @param coordinates computes the environment coordinates to sample for the view, as (x, y) pairs
+     * @param <T> concentration type
+     * @param <P> position type
+     * @return the latest samples of the layer, which may refer to a previous view, or null if the layer has never
+     * been sampled
+     */
+    @Nullable
+    <T, P extends Position2D<P>> LayerSampler.Samples getSamples(
+            final Layer<T, P> layer,
+            final Function<? super P, ? extends Number> function,
+            final Environment<T, P> environment,
+            final LayerView view,
+            final Supplier<double[]> coordinates
+    ) {
+        LayerSampler current = sampler;
+        if (current == null) {
+            current = new LayerSampler(this::samplingNeeded);
+            sampler = current;
+        }
+        return current.get(layer, function, environment, view, coordinates);
+    }
+
+    /**
+     * Draws the function obtained by mapping a layer.
+     * Knowing the layer, subclasses can draw it from the values copied by
+     * {@link #sampleLayers(Collection, Environment)}, rather than reading it while the simulation may modify it.
+     * By default, this method calls {@link #drawFunction(Function, Environment, Graphics2D, Wormhole2D)}.
+     *
+     * @param layer the layer
+     * @param function the function obtained by mapping the layer
+     * @param environment the environment
+     * @param graphics the graphics
+     * @param wormhole the wormhole
+     * @param <T> concentration type
+     * @param <P> position type
+     */
+    protected <T, P extends Position2D<P>> void drawLayerFunction(
+            final Layer<T, P> layer,
+            final Function<? super P, ? extends Number> function,
+            final Environment<T, P> environment,
+            final Graphics2D graphics,
+            final Wormhole2D<P> wormhole
+    ) {
+        drawFunction(function, environment, graphics, wormhole);
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2022, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -11,13 +11,16 @@ package it.unibo.alchemist.boundary.swingui.effect.impl;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import it.unibo.alchemist.boundary.swingui.effect.api.LayerToFunctionMapper;
+import it.unibo.alchemist.boundary.swingui.effect.isolines.api.Isoline;
 import it.unibo.alchemist.boundary.swingui.effect.isolines.api.IsolinesFinder;
 import it.unibo.alchemist.boundary.ui.api.Wormhole2D;
 import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Layer;
 import it.unibo.alchemist.model.Position2D;
 import org.danilopianini.lang.RangedInteger;
 import org.danilopianini.view.ExportForGUI;
 
+import javax.annotation.Nullable;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.geom.Dimension2D;
@@ -25,8 +28,13 @@ import java.io.Serial;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +59,8 @@ public abstract class AbstractrDrawLayersIsolines extends AbstractDrawLayersValu
     @Serial
     private static final long serialVersionUID = 1L;
     private static final int MAX_NUMBER_OF_ISOLINES = 50;
+    private static final int SNAPSHOT_SAMPLES = 100; // for each dimension
+    private static final double GRID_TOLERANCE = 1e-9;
     @ExportForGUI(nameToExport = "Number of isolines")
     private RangedInteger nOfIsolines = new RangedInteger(1, MAX_NUMBER_OF_ISOLINES, MAX_NUMBER_OF_ISOLINES / 4);
     @ExportForGUI(nameToExport = "Distribution between min and max")
@@ -60,6 +70,9 @@ public abstract class AbstractrDrawLayersIsolines extends AbstractDrawLayersValu
     private int nOfIsolinesCached = nOfIsolines.getVal();
     private Distribution distributionCached = distribution;
     private Collection<Number> levels;
+    @Nullable
+    @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+    private transient Map<Layer<?, ?>, Extraction> extractions;
 
     /**
      * The algorithm used to extract iso lines.
@@ -88,18 +101,72 @@ public abstract class AbstractrDrawLayersIsolines extends AbstractDrawLayersValu
             final Graphics2D graphics,
             final Wormhole2D<P> wormhole
     ) {
-        final Dimension2D viewSize = wormhole.getViewSize();
-        final int viewStartX = 0;
-        final int viewStartY = 0;
-        final int viewEndX = (int) Math.ceil(viewSize.getWidth());
-        final int viewEndY = (int) Math.ceil(viewSize.getHeight());
-        final Point viewStart = new Point(viewStartX, viewStartY);
-        final Point viewEnd = new Point(viewEndX, viewEndY);
-        final P envStart = wormhole.getEnvPoint(viewStart);
-        final P envEnd = wormhole.getEnvPoint(viewEnd);
+        updateLevels();
+        final Collection<Isoline> isolines = findIsolines(function, environment, viewBounds(wormhole), levels);
+        drawIsolines(isolines, environment, graphics, wormhole);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Draws the isolines extracted from the latest samples of the layer, if available.
+     * Otherwise, isolines are extracted in background, and the last ones found for the layer are drawn in the
+     * meantime: once ready, a repaint is requested. Only one extraction per layer runs at any time.
+     * Extractions only read the samples, hence they never access the layer or the environment,
+     * which may be concurrently modified by the simulation.
+     */
+    @Override
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    protected <T, P extends Position2D<P>> void drawLayerFunction(
+            final Layer<T, P> layer,
+            final Function<? super P, ? extends Number> function,
+            final Environment<T, P> environment,
+            final Graphics2D graphics,
+            final Wormhole2D<P> wormhole
+    ) {
+        updateLevels();
+        if (extractions == null) {
+            extractions = new WeakHashMap<>();
+        }
+        final LayerView view = LayerView.of(wormhole, SNAPSHOT_SAMPLES);
+        final LayerSampler.Samples samples =
+            getSamples(layer, function, environment, view, () -> grid(viewBounds(wormhole)));
+        final Extraction last = extractions.get(layer);
+        if (
+            samples != null
+                && (last == null || last.isolines.isDone() && (last.samples != samples || !last.levels.equals(levels)))
+        ) {
+            final Collection<Number> currentLevels = levels;
+            final int end = samples.size() - 1;
+            final double[] bounds = {samples.getX(0), samples.getY(0), samples.getX(end), samples.getY(end)};
+            final BinaryOperator<Number> snapshot = snapshot(samples::getValue, bounds);
+            final CompletableFuture<Collection<Isoline>> isolines = CompletableFuture.supplyAsync(() ->
+                algorithm.findIsolines(snapshot, bounds[0], bounds[1], bounds[2], bounds[3], currentLevels)
+            );
+            isolines.whenComplete((result, error) -> {
+                if (error != null) {
+                    L.warn("Couldn't extract the isolines of {}", layer, error);
+                }
+                backgroundDrawingReady();
+            });
+            extractions.put(
+                layer,
+                new Extraction(samples, currentLevels, isolines, last == null ? null : last.lastDrawable())
+            );
+        }
+        final Extraction current = extractions.get(layer);
+        final Collection<Isoline> drawable = current == null ? null : current.lastDrawable();
+        if (drawable != null) {
+            drawIsolines(drawable, environment, graphics, wormhole);
+        }
+    }
+
+    private void updateLevels() {
         if (nOfIsolinesCached != nOfIsolines.getVal()
                 || minOrMaxLayerValuesNeedsToBeUpdated()
                 || distributionCached != distribution
+                || levels == null
         ) {
             nOfIsolinesCached = nOfIsolines.getVal();
             updateMinAndMaxLayerValues();
@@ -111,8 +178,113 @@ public abstract class AbstractrDrawLayersIsolines extends AbstractDrawLayersValu
                             : linspace(getMinLayerValueDouble(), getMaxLayerValueDouble(), nOfIsolines.getVal())
             ).boxed().collect(Collectors.toList());
         }
-        algorithm.findIsolines((x, y) -> function.apply(environment.makePosition(x, y)),
-                envStart.getX(), envStart.getY(), envEnd.getX(), envEnd.getY(), levels).forEach(isoline -> {
+    }
+
+    /*
+     * Finds the env coordinates of two opposite corners of the view, as (startX, startY, endX, endY).
+     */
+    private static <P extends Position2D<P>> double[] viewBounds(final Wormhole2D<P> wormhole) {
+        final Dimension2D viewSize = wormhole.getViewSize();
+        final P envStart = wormhole.getEnvPoint(new Point(0, 0));
+        final P envEnd = wormhole.getEnvPoint(
+            new Point((int) Math.ceil(viewSize.getWidth()), (int) Math.ceil(viewSize.getHeight()))
+        );
+        return new double[] {envStart.getX(), envStart.getY(), envEnd.getX(), envEnd.getY()};
+    }
+
+    /*
+     * Extracts the isolines within the bounds, sampling the function on the calling thread.
+     */
+    private <T, P extends Position2D<P>> Collection<Isoline> findIsolines(
+            final Function<? super P, ? extends Number> function,
+            final Environment<T, P> environment,
+            final double[] bounds,
+            final Collection<Number> isolineLevels
+    ) {
+        final double[] grid = grid(bounds);
+        final double[] values = new double[grid.length / 2];
+        for (int sample = 0; sample < values.length; sample++) {
+            values[sample] = function.apply(environment.makePosition(grid[2 * sample], grid[2 * sample + 1]))
+                .doubleValue();
+        }
+        return algorithm.findIsolines(snapshot(sample -> values[sample], bounds),
+                bounds[0], bounds[1], bounds[2], bounds[3], isolineLevels);
+    }
+
+    /*
+     * The env coordinates of a grid of samples within the bounds, column by column, as (x, y) pairs.
+     */
+    private static double[] grid(final double[] bounds) {
+        final double stepX = (bounds[2] - bounds[0]) / SNAPSHOT_SAMPLES;
+        final double stepY = (bounds[3] - bounds[1]) / SNAPSHOT_SAMPLES;
+        final double[] grid = new double[2 * (SNAPSHOT_SAMPLES + 1) * (SNAPSHOT_SAMPLES + 1)];
+        int sample = 0;
+        for (int i = 0; i <= SNAPSHOT_SAMPLES; i++) {
+            for (int j = 0; j <= SNAPSHOT_SAMPLES; j++) {
+                grid[sample++] = i == SNAPSHOT_SAMPLES ? bounds[2] : bounds[0] + i * stepX;
+                grid[sample++] = j == SNAPSHOT_SAMPLES ? bounds[3] : bounds[1] + j * stepY;
+            }
+        }
+        return grid;
+    }
+
+    /*
+     * Returns a function interpolating the values sampled on the grid within the bounds, without accessing the
+     * original function or the environment.
+     */
+    private static BinaryOperator<Number> snapshot(final IntToDoubleFunction values, final double[] bounds) {
+        final double startX = bounds[0];
+        final double startY = bounds[1];
+        final double stepX = (bounds[2] - startX) / SNAPSHOT_SAMPLES;
+        final double stepY = (bounds[3] - startY) / SNAPSHOT_SAMPLES;
+        return (x, y) -> interpolate(
+            values,
+            gridCoordinate(x.doubleValue() - startX, stepX),
+            gridCoordinate(y.doubleValue() - startY, stepY)
+        );
+    }
+
+    /*
+     * Converts an offset from the start of the grid in a (fractional) index of the grid.
+     * Indexes very close to an integer are rounded, so that sampled points are returned exactly.
+     */
+    private static double gridCoordinate(final double offset, final double step) {
+        final double coordinate = step == 0 ? 0 : offset / step;
+        final double rounded = Math.rint(coordinate);
+        return Math.abs(coordinate - rounded) < GRID_TOLERANCE ? rounded : coordinate;
+    }
+
+    /*
+     * Bilinear interpolation of the samples, clamped to the grid.
+     */
+    private static double interpolate(final IntToDoubleFunction values, final double column, final double row) {
+        final double x = Math.min(Math.max(column, 0), SNAPSHOT_SAMPLES);
+        final double y = Math.min(Math.max(row, 0), SNAPSHOT_SAMPLES);
+        final int i = Math.min((int) x, SNAPSHOT_SAMPLES - 1);
+        final int j = Math.min((int) y, SNAPSHOT_SAMPLES - 1);
+        final int sample = i * (SNAPSHOT_SAMPLES + 1) + j;
+        final int next = sample + SNAPSHOT_SAMPLES + 1;
+        return lerp(
+            lerp(values.applyAsDouble(sample), values.applyAsDouble(sample + 1), y - j),
+            lerp(values.applyAsDouble(next), values.applyAsDouble(next + 1), y - j),
+            x - i
+        );
+    }
+
+    private static double lerp(final double from, final double to, final double fraction) {
+        if (fraction == 0) {
+            return from;
+        }
+        return fraction == 1 ? to : from + (to - from) * fraction;
+    }
+
+    private <T, P extends Position2D<P>> void drawIsolines(
+            final Collection<Isoline> isolines,
+            final Environment<T, P> environment,
+            final Graphics2D graphics,
+            final Wormhole2D<P> wormhole
+    ) {
+        isolines.forEach(isoline -> {
             if (drawValues) {
                 // draw isoline value
                 isoline.getSegments().stream().findAny().ifPresent(segment -> {
@@ -234,5 +406,33 @@ public abstract class AbstractrDrawLayersIsolines extends AbstractDrawLayersValu
         }
         return y;
     }
+
+    /*
+     * An extraction of the isolines from the samples of a layer, along with the isolines to draw while it is running.
+     */
+    private static final class Extraction {
+        private final LayerSampler.Samples samples;
+        private final Collection<Number> levels;
+        private final CompletableFuture<Collection<Isoline>> isolines;
+        @Nullable
+        private final Collection<Isoline> previous;
+
+        private Extraction(
+            final LayerSampler.Samples samples,
+            final Collection<Number> levels,
+            final CompletableFuture<Collection<Isoline>> isolines,
+            @Nullable final Collection<Isoline> previous
+        ) {
+            this.samples = samples;
+            this.levels = levels;
+            this.isolines = isolines;
+            this.previous = previous;
+        }
+
+        @Nullable
+        private Collection<Isoline> lastDrawable() {
+            return isolines.isDone() && !isolines.isCompletedExceptionally() ? isolines.join() : previous;
+        }
+    }
 }
 
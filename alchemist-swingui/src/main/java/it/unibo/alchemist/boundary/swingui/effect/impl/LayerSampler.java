@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.swingui.effect.impl;
+
+import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Layer;
+import it.unibo.alchemist.model.Position2D;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Samples layers at the environment coordinates of the last {@link LayerView} drawn, keeping the latest samples
+ * of each layer.
+ * Layers may be modified by the simulation while the view is being drawn, so layers that may change are only
+ * sampled through {@link #sample(Layer, Function, Environment)}, by the simulation thread, while the environment
+ * can't be modified: the rendering thread only draws the values copied there.
+ * {@link Layer#isStatic() Static} layers are instead sampled by the rendering thread, whenever the view changes.
+ * In both cases, values are sampled in parallel.
+ */
+final class LayerSampler {
+
+    private final Map<Layer<?, ?>, Samples> latest = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Runnable onSamplingNeeded;
+    @Nullable
+    private volatile Grid requested;
+    @Nullable
+    private LayerView notified;
+
+    /**
+     * @param onSamplingNeeded the callback to run on the rendering thread when layers that may change must be
+     *                         sampled again, as the view changed
+     */
+    LayerSampler(final Runnable onSamplingNeeded) {
+        this.onSamplingNeeded = onSamplingNeeded;
+    }
+
+    /**
+     * To be called by the rendering thread.
+     * Static layers are sampled if the view changed, any other layer is sampled again by the simulation thread,
+     * and the callback passed at construction is run to request it.
+     *
+     * @param layer the layer
+     * @param function the function obtained by mapping the layer
+     * @param environment the environment
+     * @param view the current view
+     * @param coordinates computes the environment coordinates to sample for the view, as (x, y) pairs
+     * @param <T> concentration type
+     * @param <P> position type
+     * @return the latest samples of the layer, which may refer to a previous view, or null if the layer has never
+     * been sampled
+     */
+    @Nullable
+    <T, P extends Position2D<P>> Samples get(
+        final Layer<T, P> layer,
+        final Function<? super P, ? extends Number> function,
+        final Environment<T, P> environment,
+        final LayerView view,
+        final Supplier<double[]> coordinates
+    ) {
+        Grid grid = requested;
+        if (grid == null || !grid.view.equals(view)) {
+            grid = new Grid(view, coordinates.get());
+            requested = grid;
+        }
+        final Samples current = latest.get(layer);
+        if (current != null && current.getView().equals(view)) {
+            return current;
+        }
+        if (layer.isStatic()) {
+            final Samples sampled = grid.sample(function, environment);
+            latest.put(layer, sampled);
+            return sampled;
+        }
+        if (!view.equals(notified)) {
+            notified = view;
+            onSamplingNeeded.run();
+        }
+        return current;
+    }
+
+    /**
+     * To be called by the simulation thread, while the environment can't be modified.
+     * Samples a layer that may change for the last view drawn, if any.
+     *
+     * @param layer the layer
+     * @param function the function obtained by mapping the layer
+     * @param environment the environment
+     * @param <T> concentration type
+     * @param <P> position type
+     */
+    <T, P extends Position2D<P>> void sample(
+        final Layer<T, P> layer,
+        final Function<? super P, ? extends Number> function,
+        final Environment<T, P> environment
+    ) {
+        final Grid grid = requested;
+        if (grid != null && !layer.isStatic()) {
+            latest.put(layer, grid.sample(function, environment));
+        }
+    }
+
+    /*
+     * The environment coordinates to sample for a view, as (x, y) pairs.
+     */
+    private static final class Grid {
+        private final LayerView view;
+        private final double[] coordinates;
+
+        private Grid(final LayerView view, final double[] coordinates) {
+            this.view = view;
+            this.coordinates = coordinates;
+        }
+
+        private <T, P extends Position2D<P>> Samples sample(
+            final Function<? super P, ? extends Number> function,
+            final Environment<T, P> environment
+        ) {
+            final double[] values = new double[coordinates.length / 2];
+            IntStream.range(0, values.length).parallel().forEach(sample ->
+                values[sample] = function.apply(
+                    environment.makePosition(coordinates[2 * sample], coordinates[2 * sample + 1])
+                ).doubleValue()
+            );
+            return new Samples(this, values);
+        }
+    }
+
+    /**
+     * The values of a layer at the environment coordinates requested for a view.
+     */
+    static final class Samples {
+
+        private final Grid grid;
+        private final double[] values;
+
+        private Samples(final Grid grid, final double[] values) {
+            this.grid = grid;
+            this.values = values;
+        }
+
+        /**
+         * @return the view sampled
+         */
+        LayerView getView() {
+            return grid.view;
+        }
+
+        /**
+         * @return the number of samples
+         */
+        int size() {
+            return values.length;
+        }
+
+        /**
+         * @param sample the index of the sample
+         * @return the X coordinate of the sample
+         */
+        double getX(final int sample) {
+            return grid.coordinates[2 * sample];
+        }
+
+        /**
+         * @param sample the index of the sample
+         * @return the Y coordinate of the sample
+         */
+        double getY(final int sample) {
+            return grid.coordinates[2 * sample + 1];
+        }
+
+        /**
+         * @param sample the index of the sample
+         * @return the value of the sample
+         */
+        double getValue(final int sample) {
+            return values[sample];
+        }
+    }
+}
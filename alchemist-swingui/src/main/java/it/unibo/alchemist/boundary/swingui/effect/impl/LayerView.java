@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.swingui.effect.impl;
+
+import it.unibo.alchemist.boundary.ui.api.Wormhole2D;
+import it.unibo.alchemist.model.Layer;
+import it.unibo.alchemist.model.Position2D;
+
+import java.awt.Point;
+import java.awt.geom.Dimension2D;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Identifies what the view shows: which portion of the environment is visible, the size of the view,
+ * and how many samples per side are used to sample {@link Layer}s within it.
+ * Whatever is sampled from a layer for a view can be drawn as long as the view does not change.
+ */
+final class LayerView {
+
+    private final double[] corners;
+    private final int width;
+    private final int height;
+    private final int samples;
+
+    private LayerView(final double[] corners, final int width, final int height, final int samples) {
+        this.corners = corners;
+        this.width = width;
+        this.height = height;
+        this.samples = samples;
+    }
+
+    /**
+     * @param wormhole the wormhole
+     * @param samples the number of samples for each side
+     * @param <P> position type
+     * @return the current view
+     */
+    static <P extends Position2D<P>> LayerView of(final Wormhole2D<P> wormhole, final int samples) {
+        final Dimension2D viewSize = wormhole.getViewSize();
+        final int width = (int) Math.ceil(viewSize.getWidth());
+        final int height = (int) Math.ceil(viewSize.getHeight());
+        final double[] corners = new double[8];
+        final Point[] viewCorners = {
+            new Point(0, 0),
+            new Point(width, 0),
+            new Point(0, height),
+            new Point(width, height),
+        };
+        for (int corner = 0; corner < viewCorners.length; corner++) {
+            final P envCorner = wormhole.getEnvPoint(viewCorners[corner]);
+            corners[2 * corner] = envCorner.getX();
+            corners[2 * corner + 1] = envCorner.getY();
+        }
+        return new LayerView(corners, width, height, samples);
+    }
+
+    /**
+     * @return the width of the view
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the view
+     */
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the number of samples for each side
+     */
+    int getSamples() {
+        return samples;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof final LayerView other
+            && width == other.width
+            && height == other.height
+            && samples == other.samples
+            && Arrays.equals(corners, other.corners);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(corners), width, height, samples);
+    }
+}
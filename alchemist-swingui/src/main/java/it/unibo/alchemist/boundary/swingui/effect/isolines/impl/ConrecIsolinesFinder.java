@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2022, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -25,9 +25,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Conrec algorithm adapter to IsolinesFinder interface.
+ * The function is sampled in parallel, hence it must be safe to call it from multiple threads.
  */
 public class ConrecIsolinesFinder implements IsolinesFinder {
 
@@ -93,13 +95,13 @@ public class ConrecIsolinesFinder implements IsolinesFinder {
                 y[j] = y[j - 1] + stepY;
             }
         }
-        // d contains the data of the sampling points, d[i][j] = f(x[i], x[j])
+        // d contains the data of the sampling points, d[i][j] = f(x[i], x[j]), rows are sampled in parallel
         final double[][] d = new double[iub + 1][jub + 1];
-        for (int i = ilb; i <= iub; i++) {
+        IntStream.rangeClosed(ilb, iub).parallel().forEach(i -> {
             for (int j = jlb; j <= jub; j++) {
                 d[i][j] = function.apply(x[i], y[j]).doubleValue();
             }
-        }
+        });
         // finding the isolines
         final Map<Double, List<Segment2D>> isolines = new HashMap<>();
         try {
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2025, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -12,6 +12,7 @@ package it.unibo.alchemist.boundary.swingui.monitor.impl;
 import com.google.common.collect.ImmutableList;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import it.unibo.alchemist.boundary.swingui.api.Graphical2DOutputMonitor;
+import it.unibo.alchemist.boundary.swingui.effect.api.DrawLayers;
 import it.unibo.alchemist.boundary.swingui.effect.api.Effect;
 import it.unibo.alchemist.boundary.swingui.impl.LocalizedResourceBundle;
 import it.unibo.alchemist.boundary.ui.api.PointerSpeed;
@@ -26,14 +27,12 @@ import it.unibo.alchemist.core.Simulation;
 import it.unibo.alchemist.core.Status;
 import it.unibo.alchemist.model.Actionable;
 import it.unibo.alchemist.model.Environment;
-import it.unibo.alchemist.model.Neighborhood;
 import it.unibo.alchemist.model.Node;
 import it.unibo.alchemist.model.Obstacle2D;
 import it.unibo.alchemist.model.Position2D;
 import it.unibo.alchemist.model.Time;
 import it.unibo.alchemist.model.environments.Environment2DWithObstacles;
 import it.unibo.alchemist.model.times.DoubleTime;
-import org.apache.commons.math3.util.Pair;
 import org.danilopianini.lang.LangUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,23 +66,21 @@ import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static it.unibo.alchemist.boundary.ui.impl.PointAdapter.from;
 
 /**
  * Base-class for each display able a graphically represent a 2D space
  * and simulation.
+ * At each update, the simulation thread publishes a {@link RenderSnapshot} of the environment,
+ * which is then drawn by the event dispatch thread considering only the nodes in sight.
  *
  * @param <T> Concentration type
  * @param <P> {@link Position2D} type
@@ -126,11 +123,11 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
         }
     }
 
-    private final Semaphore mapConsistencyMutex = new Semaphore(1);
     private final transient PointerSpeed mouseMovement = new PointerSpeedImpl();
     private transient AngleManagerImpl angleManager;
     private Environment<T, P> currentEnv;
     private List<Effect> effectStack;
+    private volatile List<DrawLayers> layerEffects = ImmutableList.of();
     private volatile boolean firstTime = true;
     private volatile boolean paintLinks;
     private transient Optional<Node<T>> hooked = Optional.empty();
@@ -138,9 +135,8 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
     private int mouseX;
     private int mouseY;
     private Node<T> nearest;
-    private final ConcurrentMap<Node<T>, Neighborhood<T>> neighbors = new ConcurrentHashMap<>();
     private List<? extends Obstacle2D<?>> obstacles;
-    private final ConcurrentMap<Node<T>, P> positions = new ConcurrentHashMap<>();
+    private volatile @Nullable RenderSnapshot<T, P> snapshot;
     private volatile boolean realTime;
     private volatile int currentStep;
     private long timeInit = System.currentTimeMillis();
@@ -187,12 +183,6 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
         return status == ViewStatus.VIEW_WITH_MARKER || status == ViewStatus.VIEW_ONLY;
     }
 
-    private static <I, O> Pair<O, O> mapPair(
-            final Pair<? extends I, ? extends I> pair,
-            final Function<? super I, ? extends O> converter) {
-        return new Pair<>(converter.apply(pair.getFirst()), converter.apply(pair.getSecond()));
-    }
-
     /**
      * Builds a frame. After building a {@link JFrame}, it performs the given operation on it, if any.
      *
@@ -295,10 +285,6 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
         bindKey(KeyEvent.VK_RIGHT, () -> setStep(Math.max(currentStep, currentStep + Math.max(currentStep / 10, 1))));
     }
 
-    private void accessData() {
-        mapConsistencyMutex.acquireUninterruptibly();
-    }
-
     private Shape convertObstacle(final Obstacle2D<?> o) {
         final Rectangle2D r = o.getBounds2D();
         final List<P> points = ImmutableList.of(
@@ -334,24 +320,30 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
      * @param g {@link Graphics2D} object responsible for drawing
      */
     protected void drawEnvOnView(final Graphics2D g) {
-        if (wormhole == null || !isVisible() || !isEnabled()) {
+        final RenderSnapshot<T, P> current = snapshot;
+        if (wormhole == null || current == null || !isVisible() || !isEnabled()) {
             return;
         }
-        accessData();
         if (hooked.isPresent()) {
-            final P hcoor = positions.get(hooked.get());
-            final Point hp = wormhole.getViewPoint(hcoor);
-            if (hp.distance(getCenter()) > FREEDOM_RADIUS) {
-                wormhole.setViewPosition(hp);
+            final P hcoor = current.getPosition(hooked.get());
+            if (hcoor != null) {
+                final Point hp = wormhole.getViewPoint(hcoor);
+                if (hp.distance(getCenter()) > FREEDOM_RADIUS) {
+                    wormhole.setViewPosition(hp);
+                }
             }
         }
         /*
          * Compute nodes in sight and their screen position
          */
-        final Map<Node<T>, Point> onView = positions.entrySet().parallelStream()
-                .map(pair -> new Pair<>(pair.getKey(), wormhole.getViewPoint(pair.getValue())))
-                .filter(p -> wormhole.isInsideView(p.getSecond()))
-                .collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+        final int[] inSight = nodesInSight(current);
+        final Map<Node<T>, Point> onView = new LinkedHashMap<>(inSight.length * 2);
+        for (final int index : inSight) {
+            final Point point = wormhole.getViewPoint(current.getPosition(index));
+            if (wormhole.isInsideView(point)) {
+                onView.put(current.getNode(index), point);
+            }
+        }
         g.setColor(Color.BLACK);
         if (obstacles != null) {
             /*
@@ -363,32 +355,24 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
         }
         if (paintLinks) {
             g.setColor(Color.GRAY);
-            onView.keySet().parallelStream()
-                .map(neighbors::get)
-                .flatMap(neigh ->
-                    neigh.getNeighbors().parallelStream()
-                        .map(node ->
-                            node.compareTo(neigh.getCenter()) > 0
-                                ? new Pair<>(neigh.getCenter(), node)
-                                : new Pair<>(node, neigh.getCenter())
-                        )
-                )
-                .distinct()
-                .map(pair ->
-                    mapPair(
-                        pair,
-                        node -> Optional
-                            .ofNullable(onView.get(node))
-                            .orElse(wormhole.getViewPoint(positions.get(node)))
-                    )
-                )
-                .forEachOrdered(line -> {
-                    final Point p1 = line.getFirst();
-                    final Point p2 = line.getSecond();
-                    g.drawLine(p1.x, p1.y, p2.x, p2.y);
-                });
+            for (final int index : inSight) {
+                final Point from = onView.get(current.getNode(index));
+                if (from != null) {
+                    current.forEachLink(index, neighbor -> {
+                        final Point to = onView.get(current.getNode(neighbor));
+                        /*
+                         * Links between nodes in sight are drawn once
+                         */
+                        if (to == null) {
+                            final Point outside = wormhole.getViewPoint(current.getPosition(neighbor));
+                            g.drawLine(from.x, from.y, outside.x, outside.y);
+                        } else if (index < neighbor || !current.isLinked(neighbor, index)) {
+                            g.drawLine(from.x, from.y, to.x, to.y);
+                        }
+                    });
+                }
+            }
         }
-        releaseData();
         if (
             isDraggingMouse
                 && status == ViewStatus.MOVING_SELECTED_NODES
@@ -408,19 +392,19 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
                 effect.apply(g, node, currentEnv, wormhole)));
         }
         if (isCloserNodeMarked()) {
-            final Optional<Map.Entry<Node<T>, Point>> closest = onView.entrySet().parallelStream()
-                    .min((pair1, pair2) -> {
-                        final Point p1 = pair1.getValue();
-                        final Point p2 = pair2.getValue();
-                        final double d1 = Math.hypot(p1.x - mouseX, p1.y - mouseY);
-                        final double d2 = Math.hypot(p2.x - mouseX, p2.y - mouseY);
-                        return Double.compare(d1, d2);
-                    });
-            if (closest.isPresent()) {
-                nearest = closest.get().getKey();
-                final int nearestX = closest.get().getValue().x;
-                final int nearestY = closest.get().getValue().y;
-                drawFriedEgg(g, nearestX, nearestY, Color.RED, Color.YELLOW);
+            Map.Entry<Node<T>, Point> closest = null;
+            double closestDistance = Double.POSITIVE_INFINITY;
+            for (final Map.Entry<Node<T>, Point> candidate : onView.entrySet()) {
+                final Point point = candidate.getValue();
+                final double distance = Math.hypot(point.x - mouseX, point.y - mouseY);
+                if (distance < closestDistance) {
+                    closest = candidate;
+                    closestDistance = distance;
+                }
+            }
+            if (closest != null) {
+                nearest = closest.getKey();
+                drawFriedEgg(g, closest.getValue().x, closest.getValue().y, Color.RED, Color.YELLOW);
             }
         } else {
             nearest = null;
@@ -432,16 +416,43 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
             final int width = Math.abs(endingPoint.x - originPoint.x);
             final int height = Math.abs(endingPoint.y - originPoint.y);
             g.drawRect(x, y, width, height);
-            selectedNodes = onView.entrySet().parallelStream()
-                    .filter(nodes -> isInsideRectangle(nodes.getValue(), x, y, width, height))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toSet());
+            final Set<Node<T>> selected = new HashSet<>();
+            onView.forEach((node, point) -> {
+                if (isInsideRectangle(point, x, y, width, height)) {
+                    selected.add(node);
+                }
+            });
+            selectedNodes = selected;
         }
-        selectedNodes.parallelStream()
-            .map(e -> Optional.ofNullable(onView.get(e)))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .forEachOrdered(p -> drawFriedEgg(g, p.x, p.y, Color.BLUE, Color.CYAN));
+        for (final Node<T> node : selectedNodes) {
+            final Point point = onView.get(node);
+            if (point != null) {
+                drawFriedEgg(g, point.x, point.y, Color.BLUE, Color.CYAN);
+            }
+        }
+    }
+
+    /*
+     * Queries the snapshot for the nodes within the environment area currently in sight.
+     */
+    private int[] nodesInSight(final RenderSnapshot<T, P> current) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (final Point corner : List.of(
+            new Point(0, 0),
+            new Point(getWidth(), 0),
+            new Point(0, getHeight()),
+            new Point(getWidth(), getHeight())
+        )) {
+            final P envCorner = wormhole.getEnvPoint(corner);
+            minX = Math.min(minX, envCorner.getX());
+            minY = Math.min(minY, envCorner.getY());
+            maxX = Math.max(maxX, envCorner.getX());
+            maxY = Math.max(maxY, envCorner.getY());
+        }
+        return current.query(minX, minY, maxX, maxY);
     }
 
     private void drawFriedEgg(final Graphics g, final int x, final int y, final Color c1, final Color c2) {
@@ -563,10 +574,6 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
         drawEnvOnView((Graphics2D) g);
     }
 
-    private void releaseData() {
-        mapConsistencyMutex.release();
-    }
-
     @Override
     public final void repaint() {
         super.repaint();
@@ -599,14 +606,52 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
     public final void setDrawLinks(final boolean b) {
         if (paintLinks != b) {
             paintLinks = b;
+            final RenderSnapshot<T, P> current = snapshot;
+            if (b && current != null && !current.hasLinks()) {
+                /*
+                 * Links are only copied when drawn: ask the simulation thread for a new snapshot
+                 */
+                requestUpdate();
+            }
             repaint();
         }
     }
 
+    /*
+     * Asks the simulation thread for an update of the view.
+     */
+    private void requestUpdate() {
+        final Environment<T, P> environment = currentEnv;
+        final Simulation<T, P> sim = environment == null ? null : environment.getSimulationOrNull();
+        if (sim != null) {
+            if (sim.getStatus() == Status.TERMINATED) {
+                /*
+                 * The simulation thread is gone, nothing can modify the environment anymore
+                 */
+                synchronized (environment) {
+                    update(environment, sim.getTime());
+                }
+            } else {
+                sim.schedule(() -> update(environment, sim.getTime()));
+            }
+        }
+    }
+
     @Override
     @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "This is intentional")
     public final void setEffectStack(final List<Effect> l) {
         effectStack = l;
+        final List<DrawLayers> drawLayers = l == null
+            ? ImmutableList.of()
+            : l.stream()
+                .filter(DrawLayers.class::isInstance)
+                .map(DrawLayers.class::cast)
+                .collect(ImmutableList.toImmutableList());
+        drawLayers.forEach(effect -> {
+            effect.setOnBackgroundDrawingReady(this::repaint);
+            effect.setOnSamplingNeeded(this::requestUpdate);
+        });
+        layerEffects = drawLayers;
     }
 
     @Override
@@ -712,14 +757,8 @@ public class Generic2DDisplay<T, P extends Position2D<P>> extends JPanel impleme
             }
             lastTime = time.toDouble();
             currentEnv = environment;
-            accessData();
-            positions.clear();
-            neighbors.clear();
-            environment.getNodes().parallelStream().forEach(node -> {
-                positions.put(node, environment.getPosition(node));
-                neighbors.put(node, environment.getNeighborhood(node));
-            });
-            releaseData();
+            snapshot = RenderSnapshot.of(environment, snapshot, paintLinks);
+            layerEffects.forEach(effect -> effect.sampleLayers(environment));
             repaint();
         } else {
             throw new IllegalStateException("Only the simulation thread can dictate GUI updates");
@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.swingui.monitor.impl;
+
+import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Node;
+import it.unibo.alchemist.model.Position2D;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable copy of what is required to draw an {@link Environment}, built by the simulation thread and
+ * then handed over to the event dispatch thread, which draws from it without ever touching the environment.
+ * Positions are stored as primitive arrays, indexed by a uniform grid so that the nodes in sight can be found
+ * without scanning all of them, and links are stored as adjacency lists of node indexes.
+ * Snapshots are versioned, and record whether positions and links changed since the previous snapshot:
+ * if positions did not change, the grid of the previous snapshot is reused.
+ *
+ * @param <T> Concentration type
+ * @param <P> {@link Position2D} type
+ */
+final class RenderSnapshot<T, P extends Position2D<P>> {
+
+    private final long version;
+    private final List<Node<T>> nodes;
+    private final Map<Node<T>, Integer> indexes;
+    private final List<P> positions;
+    private final double[] xs;
+    private final double[] ys;
+    private final @Nullable int[] linkStarts;
+    private final @Nullable int[] links;
+    private final boolean positionsChanged;
+    private final boolean linksChanged;
+    private final Grid grid;
+
+    private RenderSnapshot(
+        final long version,
+        final List<Node<T>> nodes,
+        final Map<Node<T>, Integer> indexes,
+        final List<P> positions,
+        final double[] xs,
+        final double[] ys,
+        final @Nullable int[] linkStarts,
+        final @Nullable int[] links,
+        final @Nullable RenderSnapshot<T, P> previous
+    ) {
+        this.version = version;
+        this.nodes = nodes;
+        this.indexes = indexes;
+        this.positions = positions;
+        this.xs = xs;
+        this.ys = ys;
+        this.linkStarts = linkStarts;
+        this.links = links;
+        positionsChanged = previous == null
+            || !previous.nodes.equals(nodes)
+            || !Arrays.equals(previous.xs, xs)
+            || !Arrays.equals(previous.ys, ys);
+        linksChanged = previous == null
+            || !previous.nodes.equals(nodes)
+            || !Arrays.equals(previous.linkStarts, linkStarts)
+            || !Arrays.equals(previous.links, links);
+        grid = positionsChanged || previous == null ? new Grid(xs, ys) : previous.grid;
+    }
+
+    /**
+     * Copies the state of the environment. Must be called by the simulation thread.
+     *
+     * @param environment the environment
+     * @param previous the last published snapshot, if any
+     * @param withLinks whether the neighborhoods should be copied as well
+     * @param <T> Concentration type
+     * @param <P> {@link Position2D} type
+     * @return a new snapshot
+     */
+    static <T, P extends Position2D<P>> RenderSnapshot<T, P> of(
+        final Environment<T, P> environment,
+        final @Nullable RenderSnapshot<T, P> previous,
+        final boolean withLinks
+    ) {
+        final List<Node<T>> nodes = new ArrayList<>(environment.getNodes());
+        final int size = nodes.size();
+        final Map<Node<T>, Integer> indexes = new HashMap<>(size * 2);
+        final List<P> positions = new ArrayList<>(size);
+        final double[] xs = new double[size];
+        final double[] ys = new double[size];
+        for (int index = 0; index < size; index++) {
+            final Node<T> node = nodes.get(index);
+            final P position = environment.getPosition(node);
+            indexes.put(node, index);
+            positions.add(position);
+            xs[index] = position.getX();
+            ys[index] = position.getY();
+        }
+        int[] linkStarts = null;
+        int[] links = null;
+        if (withLinks) {
+            linkStarts = new int[size + 1];
+            links = new int[size];
+            int count = 0;
+            for (int index = 0; index < size; index++) {
+                linkStarts[index] = count;
+                for (final Node<T> neighbor : environment.getNeighborhood(nodes.get(index)).getNeighbors()) {
+                    final Integer neighborIndex = indexes.get(neighbor);
+                    if (neighborIndex != null) {
+                        if (count == links.length) {
+                            links = Arrays.copyOf(links, Math.max(1, count * 2));
+                        }
+                        links[count++] = neighborIndex;
+                    }
+                }
+            }
+            linkStarts[size] = count;
+            links = Arrays.copyOf(links, count);
+        }
+        return new RenderSnapshot<>(
+            previous == null ? 0 : previous.version + 1,
+            Collections.unmodifiableList(nodes),
+            indexes,
+            Collections.unmodifiableList(positions),
+            xs,
+            ys,
+            linkStarts,
+            links,
+            previous
+        );
+    }
+
+    /**
+     * @return the progressive number of this snapshot
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return true if the nodes or their positions changed since the previous snapshot
+     */
+    boolean arePositionsChanged() {
+        return positionsChanged;
+    }
+
+    /**
+     * @return true if the nodes or their links changed since the previous snapshot
+     */
+    boolean areLinksChanged() {
+        return linksChanged;
+    }
+
+    /**
+     * @return true if this snapshot contains the neighborhoods of the nodes
+     */
+    boolean hasLinks() {
+        return links != null;
+    }
+
+    /**
+     * @return the number of nodes
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @param index the index of a node
+     * @return the node
+     */
+    Node<T> getNode(final int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * @param index the index of a node
+     * @return the position of the node
+     */
+    P getPosition(final int index) {
+        return positions.get(index);
+    }
+
+    /**
+     * @param node the node
+     * @return its position, or null if the node was not in the environment
+     */
+    @Nullable
+    P getPosition(final Node<T> node) {
+        final Integer index = indexes.get(node);
+        return index == null ? null : positions.get(index);
+    }
+
+    /**
+     * Runs the action on the index of each neighbor of a node. Does nothing if links were not copied.
+     *
+     * @param index the index of the node
+     * @param action the action
+     */
+    void forEachLink(final int index, final IntConsumer action) {
+        if (linkStarts != null && links != null) {
+            for (int link = linkStarts[index]; link < linkStarts[index + 1]; link++) {
+                action.accept(links[link]);
+            }
+        }
+    }
+
+    /**
+     * @param from the index of a node
+     * @param to the index of another node
+     * @return true if the second node is a neighbor of the first one, false otherwise or if links were not copied
+     */
+    boolean isLinked(final int from, final int to) {
+        if (linkStarts != null && links != null) {
+            for (int link = linkStarts[from]; link < linkStarts[from + 1]; link++) {
+                if (links[link] == to) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the nodes whose position lies within the provided bounds (inclusive).
+     *
+     * @param minX minimum x
+     * @param minY minimum y
+     * @param maxX maximum x
+     * @param maxY maximum y
+     * @return the indexes of the nodes
+     */
+    int[] query(final double minX, final double minY, final double maxX, final double maxY) {
+        return grid.query(minX, minY, maxX, maxY);
+    }
+
+    /*
+     * Uniform grid over the bounding box of the positions, stored as a counting sort of node indexes by cell.
+     */
+    private static final class Grid {
+
+        private static final int NODES_PER_CELL = 4;
+        private final double[] xs;
+        private final double[] ys;
+        private final double minX;
+        private final double minY;
+        private final double cellWidth;
+        private final double cellHeight;
+        private final int columns;
+        private final int rows;
+        private final int[] cellStarts;
+        private final int[] cellContents;
+
+        private Grid(final double[] xs, final double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+            double left = Double.POSITIVE_INFINITY;
+            double bottom = Double.POSITIVE_INFINITY;
+            double right = Double.NEGATIVE_INFINITY;
+            double top = Double.NEGATIVE_INFINITY;
+            for (int index = 0; index < xs.length; index++) {
+                if (Double.isFinite(xs[index]) && Double.isFinite(ys[index])) {
+                    left = Math.min(left, xs[index]);
+                    right = Math.max(right, xs[index]);
+                    bottom = Math.min(bottom, ys[index]);
+                    top = Math.max(top, ys[index]);
+                }
+            }
+            if (left > right) {
+                left = 0;
+                right = 0;
+                bottom = 0;
+                top = 0;
+            }
+            final int side = Math.max(1, (int) Math.ceil(Math.sqrt((double) xs.length / NODES_PER_CELL)));
+            minX = left;
+            minY = bottom;
+            columns = side;
+            rows = side;
+            cellWidth = right > left ? (right - left) / columns : 1;
+            cellHeight = top > bottom ? (top - bottom) / rows : 1;
+            cellStarts = new int[columns * rows + 1];
+            final int[] cells = new int[xs.length];
+            for (int index = 0; index < xs.length; index++) {
+                cells[index] = cell(column(xs[index]), row(ys[index]));
+                cellStarts[cells[index] + 1]++;
+            }
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellStarts[cell + 1] += cellStarts[cell];
+            }
+            cellContents = new int[xs.length];
+            final int[] filled = Arrays.copyOf(cellStarts, columns * rows);
+            for (int index = 0; index < xs.length; index++) {
+                cellContents[filled[cells[index]]++] = index;
+            }
+        }
+
+        private int cell(final int column, final int row) {
+            return row * columns + column;
+        }
+
+        /*
+         * Non-finite coordinates end up in the first cell, and are then discarded by the exact check.
+         */
+        private int column(final double x) {
+            return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellWidth)));
+        }
+
+        private int row(final double y) {
+            return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellHeight)));
+        }
+
+        private int[] query(final double left, final double bottom, final double right, final double top) {
+            if (left > right || bottom > top) {
+                return new int[0];
+            }
+            int[] result = new int[Math.min(xs.length, NODES_PER_CELL * 4)];
+            int count = 0;
+            for (int row = row(bottom); row <= row(top); row++) {
+                for (int column = column(left); column <= column(right); column++) {
+                    final int cell = cell(column, row);
+                    for (int slot = cellStarts[cell]; slot < cellStarts[cell + 1]; slot++) {
+                        final int index = cellContents[slot];
+                        if (xs[index] >= left && xs[index] <= right && ys[index] >= bottom && ys[index] <= top) {
+                            if (count == result.length) {
+                                result = Arrays.copyOf(result, Math.max(1, count * 2));
+                            }
+                            result[count++] = index;
+                        }
+                    }
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.swingui.effect.impl;
+
+import it.unibo.alchemist.boundary.ui.api.Wormhole2D;
+import it.unibo.alchemist.boundary.wormhole.impl.WormholeSwing;
+import it.unibo.alchemist.model.Environment;
+import it.unibo.alchemist.model.Incarnation;
+import it.unibo.alchemist.model.Layer;
+import it.unibo.alchemist.model.SupportedIncarnations;
+import it.unibo.alchemist.model.environments.Continuous2DEnvironment;
+import it.unibo.alchemist.model.layers.BidimensionalGaussianLayer;
+import it.unibo.alchemist.model.positions.Euclidean2DPosition;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JPanel;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests when layer effects sample layers, and when they draw what they sampled before.
+ */
+@SuppressWarnings("deprecation")
+class TestLayerSampling {
+
+    private static final int SIDE = 100;
+    private static final double ZOOM = 2;
+
+    private final Incarnation<Double, Euclidean2DPosition> incarnation =
+        SupportedIncarnations.<Double, Euclidean2DPosition>get("protelis").orElseThrow();
+    private final Environment<Double, Euclidean2DPosition> environment = new Continuous2DEnvironment<>(incarnation);
+    private final Wormhole2D<Euclidean2DPosition> wormhole;
+    private final AbstractDrawLayersGradient effect = new DrawBidimensionalGaussianLayersGradient();
+
+    TestLayerSampling() {
+        final JPanel view = new JPanel();
+        view.setSize(SIDE, SIDE);
+        wormhole = new WormholeSwing<>(environment, view);
+    }
+
+    private BufferedImage draw(final CountingLayer layer) {
+        final BufferedImage image = new BufferedImage(SIDE, SIDE, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = image.createGraphics();
+        final List<Layer<Double, Euclidean2DPosition>> layers = List.of(layer);
+        effect.drawLayers(layers, environment, graphics, wormhole);
+        graphics.dispose();
+        return image;
+    }
+
+    private CountingLayer addLayer(final boolean isStatic) {
+        final CountingLayer layer = new CountingLayer(isStatic);
+        environment.addLayer(incarnation.createMolecule("layer"), layer);
+        return layer;
+    }
+
+    private static int alphaAtCenter(final BufferedImage image) {
+        return image.getRGB(SIDE / 2, SIDE / 2) >>> 24;
+    }
+
+    /**
+     * Checks that static layers are sampled while drawing, and only when the view changes.
+     */
+    @Test
+    void testStaticLayersAreSampledWhenTheViewChanges() {
+        final CountingLayer layer = addLayer(true);
+        final AtomicInteger samplingRequests = new AtomicInteger();
+        effect.setOnSamplingNeeded(samplingRequests::incrementAndGet);
+        draw(layer);
+        final int sampled = layer.evaluations.get();
+        assertTrue(sampled > 1);
+        draw(layer);
+        effect.sampleLayers(environment);
+        assertEquals(sampled, layer.evaluations.get());
+        wormhole.setZoom(ZOOM);
+        draw(layer);
+        assertTrue(layer.evaluations.get() > sampled);
+        assertEquals(0, samplingRequests.get());
+    }
+
+    /**
+     * Checks that layers that may change are never read while drawing, but sampled upon every update,
+     * and that a change of the view requests a new sampling.
+     */
+    @Test
+    void testDynamicLayersAreSampledUponUpdates() {
+        final CountingLayer layer = addLayer(false);
+        final AtomicInteger samplingRequests = new AtomicInteger();
+        effect.setOnSamplingNeeded(samplingRequests::incrementAndGet);
+        assertEquals(0, alphaAtCenter(draw(layer)));
+        assertEquals(1, samplingRequests.get());
+        // the layer is only read once, to find the maximum value to draw
+        final int prepared = layer.evaluations.get();
+        draw(layer);
+        assertEquals(prepared, layer.evaluations.get());
+        assertEquals(1, samplingRequests.get());
+        effect.sampleLayers(environment);
+        final int sampled = layer.evaluations.get() - prepared;
+        assertTrue(sampled > 1);
+        assertTrue(alphaAtCenter(draw(layer)) > 0);
+        assertEquals(prepared + sampled, layer.evaluations.get());
+        layer.value = 0;
+        effect.sampleLayers(environment);
+        assertEquals(prepared + 2 * sampled, layer.evaluations.get());
+        assertEquals(0, alphaAtCenter(draw(layer)));
+        wormhole.setZoom(ZOOM);
+        draw(layer);
+        draw(layer);
+        assertEquals(prepared + 2 * sampled, layer.evaluations.get());
+        assertEquals(2, samplingRequests.get());
+    }
+
+    private static final class CountingLayer extends BidimensionalGaussianLayer<Euclidean2DPosition> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final boolean immutable;
+        private final AtomicInteger evaluations = new AtomicInteger();
+        private volatile double value = 1;
+
+        private CountingLayer(final boolean immutable) {
+            super(0, 0, 0, 1, SIDE, SIDE);
+            this.immutable = immutable;
+        }
+
+        @Override
+        public Double getValue(final Euclidean2DPosition p) {
+            evaluations.incrementAndGet();
+            return value;
+        }
+
+        @Override
+        public boolean isStatic() {
+            return immutable;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.swingui.monitor.impl;
+
+import it.unibo.alchemist.model.Incarnation;
+import it.unibo.alchemist.model.Node;
+import it.unibo.alchemist.model.SupportedIncarnations;
+import it.unibo.alchemist.model.environments.Continuous2DEnvironment;
+import it.unibo.alchemist.model.linkingrules.ConnectWithinDistance;
+import it.unibo.alchemist.model.positions.Euclidean2DPosition;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link RenderSnapshot}.
+ */
+class TestRenderSnapshot {
+
+    private static final int NODES = 500;
+    private static final double SIDE = 100;
+    private static final double RANGE = 5;
+
+    private static Continuous2DEnvironment<Object> createEnvironment() {
+        final Incarnation<Object, Euclidean2DPosition> incarnation =
+            SupportedIncarnations.<Object, Euclidean2DPosition>get("protelis").orElseThrow();
+        final Continuous2DEnvironment<Object> environment = new Continuous2DEnvironment<>(incarnation);
+        environment.setLinkingRule(new ConnectWithinDistance<>(RANGE));
+        final RandomGenerator random = new MersenneTwister(1);
+        for (int i = 0; i < NODES; i++) {
+            environment.addNode(
+                incarnation.createNode(random, environment, null),
+                environment.makePosition(random.nextDouble() * SIDE, random.nextDouble() * SIDE)
+            );
+        }
+        return environment;
+    }
+
+    /**
+     * Checks that queries return the same nodes as a linear scan.
+     */
+    @Test
+    void testQueriesMatchLinearScan() {
+        final Continuous2DEnvironment<Object> environment = createEnvironment();
+        final RenderSnapshot<Object, Euclidean2DPosition> snapshot = RenderSnapshot.of(environment, null, false);
+        final double[][] areas = {
+            {0, 0, SIDE, SIDE},
+            {10, 20, 30, 25},
+            {-50, -50, -1, -1},
+            {99, 0, 200, 200},
+            {42, 42, 42, 42},
+        };
+        for (final double[] area : areas) {
+            final Set<Node<Object>> expected = environment.getNodes().stream()
+                .filter(node -> {
+                    final Euclidean2DPosition position = environment.getPosition(node);
+                    return position.getX() >= area[0] && position.getY() >= area[1]
+                        && position.getX() <= area[2] && position.getY() <= area[3];
+                })
+                .collect(Collectors.toSet());
+            final Set<Node<Object>> actual = Arrays.stream(snapshot.query(area[0], area[1], area[2], area[3]))
+                .mapToObj(snapshot::getNode)
+                .collect(Collectors.toSet());
+            assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Checks that links are copied, and that changes are detected.
+     */
+    @Test
+    void testLinksAndChanges() {
+        final Continuous2DEnvironment<Object> environment = createEnvironment();
+        final RenderSnapshot<Object, Euclidean2DPosition> first = RenderSnapshot.of(environment, null, true);
+        assertTrue(first.hasLinks());
+        for (int index = 0; index < first.size(); index++) {
+            final Set<Node<Object>> linked = new HashSet<>();
+            first.forEachLink(index, neighbor -> linked.add(first.getNode(neighbor)));
+            assertEquals(new HashSet<>(environment.getNeighborhood(first.getNode(index)).getNeighbors()), linked);
+        }
+        final RenderSnapshot<Object, Euclidean2DPosition> unchanged = RenderSnapshot.of(environment, first, true);
+        assertEquals(first.getVersion() + 1, unchanged.getVersion());
+        assertFalse(unchanged.arePositionsChanged());
+        assertFalse(unchanged.areLinksChanged());
+        final Node<Object> moved = unchanged.getNode(0);
+        environment.moveNodeToPosition(moved, environment.makePosition(SIDE * 2, SIDE * 2));
+        final RenderSnapshot<Object, Euclidean2DPosition> changed = RenderSnapshot.of(environment, unchanged, true);
+        assertTrue(changed.arePositionsChanged());
+        assertSame(moved, changed.getNode(changed.query(SIDE * 2, SIDE * 2, SIDE * 2, SIDE * 2)[0]));
+        assertFalse(RenderSnapshot.of(environment, changed, false).hasLinks());
+    }
+}
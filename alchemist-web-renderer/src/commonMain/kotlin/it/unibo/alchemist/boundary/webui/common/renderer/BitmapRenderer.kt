@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -22,9 +22,11 @@ import korlibs.math.geom.Point
 /**
  * This implementation renders a [Bitmap].
  * The rendering works on 2D environments only as it uses a [Context2d].
+ * [Tile]s use the same scale as the whole rendering at zoom level zero, with the origin of the environment
+ * at the corner shared by tiles (0, 0), (-1, 0), (0, -1), and (-1, -1).
  * @param <TS> the type of the concentration surrogate.
  */
-class BitmapRenderer<in TS : Any, in PS : PositionSurrogate> : Renderer<TS, PS, Bitmap> {
+class BitmapRenderer<in TS : Any, in PS : PositionSurrogate> : TileRenderer<TS, PS, Bitmap> {
     private companion object {
         private const val DEFAULT_NODE_RADIUS = 0.1f
         private const val DEFAULT_HEIGHT = 1000
@@ -51,15 +53,49 @@ class BitmapRenderer<in TS : Any, in PS : PositionSurrogate> : Renderer<TS, PS,
     }
 
     /**
-     * Draws the two cartesian axis on the [Context2d].
+     * Renders a [Tile] of the environment, drawing only the nodes that may be visible inside it.
+     * @param environmentSurrogate the
+     * [it.unibo.alchemist.boundary.webui.common.model.surrogate.EnvironmentSurrogate] to render.
+     * @param tile the [Tile] to render.
+     * @return a [Bitmap] of [Tile.SIZE] pixels per side representing the tile.
+     */
+    override fun renderTile(environmentSurrogate: EnvironmentSurrogate<TS, PS>, tile: Tile): Bitmap {
+        require(environmentSurrogate.dimensions == 2)
+        val scale = tile.scale(DEFAULT_SCALE_FACTOR.toDouble())
+        val left = tile.x.toDouble() * Tile.SIZE
+        val top = tile.y.toDouble() * Tile.SIZE
+        return Bitmap32(Tile.SIZE, Tile.SIZE, premultiplied = false).context2d {
+            cartesianPlane(-left, -top)
+            translate(-left, -top)
+            scale(scale, scale)
+            val margin = DEFAULT_NODE_RADIUS + lineWidth
+            val minX = left / scale - margin
+            val maxX = (left + Tile.SIZE) / scale + margin
+            val minY = top / scale - margin
+            val maxY = (top + Tile.SIZE) / scale + margin
+            environmentSurrogate.nodes
+                .filter { node ->
+                    val (x, y) = node.position.coordinates
+                    x in minX..maxX && y in minY..maxY
+                }.forEach { alchemistNode(it, DEFAULT_NODE_RADIUS) }
+        }
+    }
+
+    /**
+     * Draws the two cartesian axis on the [Context2d], crossing at the pixel ([originX], [originY]).
+     * Axes falling outside the [Context2d] are not drawn.
      */
-    private fun Context2d.cartesianPlane() {
+    private fun Context2d.cartesianPlane(originX: Double = width / 2.0, originY: Double = height / 2.0) {
         fill(Colors.WHITE)
         beginPath()
-        moveTo((width / 2).toDouble(), 0.0)
-        lineTo((width / 2).toDouble(), height.toDouble())
-        moveTo(0.0, (height / 2).toDouble())
-        lineTo(width.toDouble(), (height / 2).toDouble())
+        if (originX in 0.0..width.toDouble()) {
+            moveTo(originX, 0.0)
+            lineTo(originX, height.toDouble())
+        }
+        if (originY in 0.0..height.toDouble()) {
+            moveTo(0.0, originY)
+            lineTo(width.toDouble(), originY)
+        }
         stroke()
     }
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.webui.common.renderer
+
+import kotlin.math.pow
+
+/**
+ * A square portion of the rendered environment, of [SIZE] pixels per side.
+ * At [zoom] level zero, tiles use the same scale as a whole rendered environment, and each zoom level doubles it.
+ * Tiles are indexed by [x] and [y] starting from the origin of the environment, and may have negative indexes.
+ */
+data class Tile(val zoom: Int, val x: Int, val y: Int) {
+    init {
+        require(zoom in 0..MAX_ZOOM) { "The zoom level must be between 0 and $MAX_ZOOM, but was $zoom" }
+    }
+
+    /**
+     * How many pixels correspond to a unit of the environment, given the [baseScale] used at zoom level zero.
+     */
+    fun scale(baseScale: Double): Double = baseScale * 2.0.pow(zoom)
+
+    /**
+     * Constants for [Tile]s.
+     */
+    companion object {
+        /**
+         * Side of a tile in pixels.
+         */
+        const val SIZE: Int = 256
+
+        /**
+         * Maximum zoom level.
+         */
+        const val MAX_ZOOM: Int = 20
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.webui.common.renderer
+
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.EnvironmentSurrogate
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.PositionSurrogate
+
+/**
+ * A [Renderer] that can also render a single [Tile] of the environment, drawing only what falls inside it.
+ * @param <TS> the type of the concentration surrogate.
+ * @param <PS> the type of the position surrogate.
+ * @param <R> the type of the result.
+ */
+interface TileRenderer<in TS : Any, in PS : PositionSurrogate, out R> : Renderer<TS, PS, R> {
+    /**
+     * Renders the portion of the [EnvironmentSurrogate] inside the [tile].
+     * @param environmentSurrogate the [EnvironmentSurrogate] to render.
+     * @param tile the [Tile] to render.
+     * @return the result of the rendering.
+     */
+    fun renderTile(environmentSurrogate: EnvironmentSurrogate<TS, PS>, tile: Tile): R
+}
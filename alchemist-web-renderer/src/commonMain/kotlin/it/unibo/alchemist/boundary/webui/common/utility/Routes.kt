@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -32,6 +32,22 @@ object Routes {
      */
     const val ENVIRONMENT_SERVER_PATH: String = "$ENVIRONMENT_PATH/server"
 
+    /**
+     * Route to get the whole Environment rendered by the Server as a PNG image.
+     */
+    const val ENVIRONMENT_IMAGE_PATH: String = "$ENVIRONMENT_SERVER_PATH/image"
+
+    /**
+     * Route to get a [it.unibo.alchemist.boundary.webui.common.renderer.Tile] of the Environment rendered by the
+     * Server as a PNG image, followed by the zoom level and the tile indexes as /{zoom}/{x}/{y}.
+     */
+    const val ENVIRONMENT_TILES_PATH: String = "$ENVIRONMENT_SERVER_PATH/tiles"
+
+    /**
+     * WebSocket route that pushes a PNG frame of the Environment rendered by the Server whenever it changes.
+     */
+    const val ENVIRONMENT_FRAMES_PATH: String = "$ENVIRONMENT_SERVER_PATH/frames"
+
     /**
      * Base simulation path, for simulation related operations.
      * Those are operations that acts directly on the original Simulation interface.
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -50,6 +50,19 @@ class BitmapRendererTest {
         assertEquals(bmp.ints.toList(), decoded.ints.toList(), "Pixel data should match after round-trip")
     }
 
+    @Test
+    fun `bitmap renderer should render only the content of tiles`() {
+        val tileRenderer = BitmapRenderer<Any, PositionSurrogate>()
+        val tile = tileRenderer.renderTile(envSurrogate, Tile(0, 0, 0)).toBMP32IfRequired()
+        assertEquals(Tile.SIZE, tile.width)
+        assertEquals(Tile.SIZE, tile.height)
+        val aroundNode = (100 until 200).flatMap { x -> (150 until 250).map { y -> tile.ints[y * tile.width + x] } }
+        assertTrue(aroundNode.any { it != 0 }, "Expected the node to be drawn")
+        val far = tileRenderer.renderTile(envSurrogate, Tile(0, 5, 5)).toBMP32IfRequired()
+        assertTrue(far.ints.all { it == 0 }, "Expected an empty tile")
+        assertFailsWith<IllegalArgumentException> { Tile(Tile.MAX_ZOOM + 1, 0, 0) }
+    }
+
     @Test
     fun `bitmap renderer should throw on non-2D environments`() {
         val mockEnv = EnvironmentSurrogate<Any, PositionSurrogate>(
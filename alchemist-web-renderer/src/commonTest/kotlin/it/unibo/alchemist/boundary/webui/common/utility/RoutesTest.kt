@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -18,6 +18,9 @@ class RoutesTest {
     fun `all the routes strings should be correct`() {
         assertEquals("/environment/client", Routes.ENVIRONMENT_CLIENT_PATH)
         assertEquals("/environment/server", Routes.ENVIRONMENT_SERVER_PATH)
+        assertEquals("/environment/server/image", Routes.ENVIRONMENT_IMAGE_PATH)
+        assertEquals("/environment/server/tiles", Routes.ENVIRONMENT_TILES_PATH)
+        assertEquals("/environment/server/frames", Routes.ENVIRONMENT_FRAMES_PATH)
         assertEquals("/simulation/status", Routes.SIMULATION_STATUS_PATH)
         assertEquals("/simulation/play", Routes.SIMULATION_PLAY_PATH)
         assertEquals("/simulation/pause", Routes.SIMULATION_PAUSE_PATH)
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -17,9 +17,9 @@ import it.unibo.alchemist.boundary.webui.common.model.serialization.decodeEnviro
 import it.unibo.alchemist.boundary.webui.common.model.serialization.jsonFormat
 import it.unibo.alchemist.boundary.webui.common.model.surrogate.EnvironmentSurrogate
 import it.unibo.alchemist.boundary.webui.common.model.surrogate.PositionSurrogate
-import it.unibo.alchemist.boundary.webui.common.renderer.Bitmap32Serializer
 import it.unibo.alchemist.boundary.webui.common.utility.Routes
 import korlibs.image.bitmap.Bitmap
+import korlibs.image.format.PNG
 
 /**
  * API to retrieve the Environment of the simulation.
@@ -34,11 +34,11 @@ object EnvironmentApi {
         jsonFormat.decodeEnvironmentSurrogate(getEnvironment(Routes.ENVIRONMENT_CLIENT_PATH))
 
     /**
-     * Get the environment of the simulation, already rendered by the server.
+     * Get the environment of the simulation, already rendered by the server as a PNG image.
      * @return the [Bitmap] corresponding to the rendered environment.
      */
     suspend fun getEnvironmentServer(): Bitmap =
-        jsonFormat.decodeFromString(Bitmap32Serializer, getEnvironment(Routes.ENVIRONMENT_SERVER_PATH))
+        PNG.decode(getEnvironment<ByteArray>(Routes.ENVIRONMENT_IMAGE_PATH))
 
     /**
      * Get the environment of the simulation in the form proposed by the path of retrieval.
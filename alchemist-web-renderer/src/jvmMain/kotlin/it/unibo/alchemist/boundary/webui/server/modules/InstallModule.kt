@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -17,12 +17,14 @@ import io.ktor.server.plugins.compression.Compression
 import io.ktor.server.plugins.compression.gzip
 import io.ktor.server.plugins.contentnegotiation.ContentNegotiation
 import io.ktor.server.plugins.cors.routing.CORS
+import io.ktor.server.websocket.WebSockets
 
 /**
  * Ktor module that adds all the [install] configuration to the application.
  * The JSON format is used for content negotiation.
  * A cors configuration is included.
- * Finally, an encoder for [Compression] is included.
+ * An encoder for [Compression] is included.
+ * Finally, [WebSockets] are enabled to push rendered frames to the clients.
  * @see <a href="https://ktor.io/docs/modules.html">Ktor Modules</a>
  */
 fun Application.installModule() {
@@ -37,4 +39,5 @@ fun Application.installModule() {
     install(Compression) {
         gzip()
     }
+    install(WebSockets)
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -12,7 +12,10 @@ package it.unibo.alchemist.boundary.webui.server.modules
 import io.ktor.server.application.Application
 import io.ktor.server.routing.routing
 import it.unibo.alchemist.boundary.webui.server.routes.EnvironmentRoute.environmentClientMode
+import it.unibo.alchemist.boundary.webui.server.routes.EnvironmentRoute.environmentServerFrames
+import it.unibo.alchemist.boundary.webui.server.routes.EnvironmentRoute.environmentServerImage
 import it.unibo.alchemist.boundary.webui.server.routes.EnvironmentRoute.environmentServerMode
+import it.unibo.alchemist.boundary.webui.server.routes.EnvironmentRoute.environmentServerTiles
 import it.unibo.alchemist.boundary.webui.server.routes.SimulationRoute.simulationActionPause
 import it.unibo.alchemist.boundary.webui.server.routes.SimulationRoute.simulationActionPlay
 import it.unibo.alchemist.boundary.webui.server.routes.SimulationRoute.simulationStatus
@@ -29,6 +32,9 @@ fun Application.routingModule() {
         simulationActionPlay()
         simulationActionPause()
         environmentServerMode()
+        environmentServerImage()
+        environmentServerTiles()
+        environmentServerFrames()
         environmentClientMode()
     }
 }
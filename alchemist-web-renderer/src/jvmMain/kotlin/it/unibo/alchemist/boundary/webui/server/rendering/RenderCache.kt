@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.webui.server.rendering
+
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.EnvironmentSurrogate
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.PositionSurrogate
+import it.unibo.alchemist.boundary.webui.common.renderer.Renderer
+import it.unibo.alchemist.boundary.webui.common.renderer.Tile
+import it.unibo.alchemist.boundary.webui.common.renderer.TileRenderer
+import it.unibo.alchemist.boundary.webui.server.state.ServerStore.store
+import korlibs.image.bitmap.Bitmap
+import korlibs.image.format.PNG
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Renders the [EnvironmentSurrogate] in the [store] as PNG images, at most once per version and [Tile].
+ * A new version starts whenever the [EnvironmentSurrogate] in the [store] is replaced:
+ * concurrent requests for the same version share the same rendering, and the images of older versions are dropped.
+ */
+object RenderCache {
+    private const val MAX_CACHED_FRAMES = 1024
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+
+    private val current = AtomicReference(Versioned(0, store.state.environmentSurrogate))
+
+    private val frames = ConcurrentHashMap<Key, Deferred<ByteArray>>()
+
+    /**
+     * The version of the [EnvironmentSurrogate] currently in the [store].
+     */
+    val version: Long get() = snapshot().version
+
+    /**
+     * @return true if the [EnvironmentSurrogate] in the [store] can be rendered as a bitmap.
+     */
+    fun canRender(): Boolean = store.state.environmentSurrogate.dimensions == 2
+
+    /**
+     * @return true if the [Renderer] in the [store] can render [Tile]s.
+     */
+    fun canRenderTiles(): Boolean = store.state.renderer is TileRenderer
+
+    /**
+     * Renders the current [EnvironmentSurrogate], or the [tile] of it if provided,
+     * reusing the image if it was already rendered for the current version.
+     * @param tile the [Tile] to render, or null to render the whole environment.
+     * @return the [Frame] containing the PNG image.
+     */
+    suspend fun frame(tile: Tile? = null): Frame {
+        val snapshot = snapshot()
+        val key = Key(snapshot.version, tile)
+        frames.keys.removeIf { it.version < snapshot.version }
+        if (frames.size >= MAX_CACHED_FRAMES) {
+            frames.keys.removeIf { it.tile != null }
+        }
+        val rendering =
+            frames.computeIfAbsent(key) {
+                scope.async { render(store.state.renderer, snapshot.surrogate, tile) }
+            }
+        return try {
+            Frame(snapshot.version, rendering.await())
+        } catch (exception: CancellationException) {
+            throw exception
+        } catch (
+            @Suppress("TooGenericExceptionCaught") exception: Exception,
+        ) {
+            frames.remove(key, rendering)
+            throw exception
+        }
+    }
+
+    private fun snapshot(): Versioned {
+        val surrogate = store.state.environmentSurrogate
+        return current.updateAndGet { previous ->
+            if (previous.surrogate === surrogate) previous else Versioned(previous.version + 1, surrogate)
+        }
+    }
+
+    private fun render(
+        renderer: Renderer<Any, PositionSurrogate, Bitmap>,
+        surrogate: EnvironmentSurrogate<Any, PositionSurrogate>,
+        tile: Tile?,
+    ): ByteArray {
+        val bitmap =
+            when {
+                tile == null -> renderer.render(surrogate)
+                renderer is TileRenderer -> renderer.renderTile(surrogate, tile)
+                else -> throw UnsupportedOperationException("$renderer cannot render tiles")
+            }
+        return PNG.encode(bitmap)
+    }
+
+    /**
+     * A PNG image of the environment.
+     * @param version the version of the [EnvironmentSurrogate] that was rendered.
+     * @param png the bytes of the PNG image.
+     */
+    class Frame(val version: Long, val png: ByteArray)
+
+    private data class Key(val version: Long, val tile: Tile?)
+
+    private class Versioned(val version: Long, val surrogate: EnvironmentSurrogate<Any, PositionSurrogate>)
+}
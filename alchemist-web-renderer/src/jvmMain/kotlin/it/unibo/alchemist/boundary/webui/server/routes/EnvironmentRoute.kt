@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -9,24 +9,48 @@
 
 package it.unibo.alchemist.boundary.webui.server.routes
 
+import io.ktor.http.ContentType
+import io.ktor.http.HttpHeaders
+import io.ktor.http.HttpStatusCode
+import io.ktor.http.Parameters
+import io.ktor.server.response.header
+import io.ktor.server.response.respond
+import io.ktor.server.response.respondBytes
 import io.ktor.server.routing.Route
+import io.ktor.server.routing.RoutingContext
 import io.ktor.server.routing.get
+import io.ktor.server.websocket.webSocket
+import io.ktor.websocket.CloseReason
+import io.ktor.websocket.Frame
+import io.ktor.websocket.close
 import it.unibo.alchemist.boundary.webui.common.model.serialization.encodeEnvironmentSurrogate
 import it.unibo.alchemist.boundary.webui.common.model.serialization.jsonFormat
 import it.unibo.alchemist.boundary.webui.common.renderer.Bitmap32Serializer
+import it.unibo.alchemist.boundary.webui.common.renderer.Tile
 import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_CLIENT_PATH
+import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_FRAMES_PATH
+import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_IMAGE_PATH
 import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_SERVER_PATH
+import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_TILES_PATH
+import it.unibo.alchemist.boundary.webui.server.rendering.RenderCache
 import it.unibo.alchemist.boundary.webui.server.state.ServerStore.store
 import it.unibo.alchemist.boundary.webui.server.utility.Response
 import it.unibo.alchemist.boundary.webui.server.utility.Response.Companion.respond
+import java.util.UUID
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 
 /**
  * Logic of the Routes in the /environment path.
  */
 object EnvironmentRoute {
+    private const val ZOOM = "zoom"
+    private const val X = "x"
+    private const val Y = "y"
+
     /**
      * Route of type GET that retrieve current Environment.
      * The server will render the environment and send it to the client in an already rendered form.
@@ -39,6 +63,80 @@ object EnvironmentRoute {
         }
     }
 
+    /**
+     * Route of type GET that retrieve current Environment rendered by the server as a PNG image.
+     * Renderings are shared among clients through the [RenderCache], and tagged with the version of the Environment.
+     * The HTTP [Response] sent to the client can be of type:
+     * 200 (OK) the image is sent to the client;
+     * 304 (Not Modified) the client already has the image of the current version;
+     * 503 (Service Unavailable) the Environment cannot be rendered yet.
+     */
+    fun Route.environmentServerImage() {
+        get(ENVIRONMENT_IMAGE_PATH) {
+            respondFrame(null)
+        }
+    }
+
+    /**
+     * Route of type GET that retrieve a [Tile] of the current Environment rendered by the server as a PNG image,
+     * so that clients only ask for the portion in their viewport at the desired zoom level.
+     * The HTTP [Response] sent to the client can be of type:
+     * 200 (OK) the image is sent to the client;
+     * 304 (Not Modified) the client already has the image of the current version;
+     * 400 (Bad Request) the tile is not valid;
+     * 501 (Not Implemented) the renderer cannot render tiles;
+     * 503 (Service Unavailable) the Environment cannot be rendered yet.
+     */
+    fun Route.environmentServerTiles() {
+        get("$ENVIRONMENT_TILES_PATH/{$ZOOM}/{$X}/{$Y}") {
+            val tile = call.parameters.tile()
+            when {
+                tile == null -> respond(Response(HttpStatusCode.BadRequest, "Invalid tile"))
+                !RenderCache.canRenderTiles() -> respond(Response(HttpStatusCode.NotImplemented, "Tiles unsupported"))
+                else -> respondFrame(tile)
+            }
+        }
+    }
+
+    /**
+     * WebSocket route that pushes a binary PNG frame of the current Environment whenever it changes.
+     * Frames are skipped if the Environment changes faster than they can be sent.
+     * The [Tile] to stream can be selected with the zoom, x, and y query parameters,
+     * otherwise the whole Environment is streamed.
+     */
+    fun Route.environmentServerFrames() {
+        webSocket(ENVIRONMENT_FRAMES_PATH) {
+            val parameters = call.request.queryParameters
+            val tile = parameters.tile()
+            if (tile == null && listOf(ZOOM, X, Y).any { it in parameters }) {
+                close(CloseReason(CloseReason.Codes.CANNOT_ACCEPT, "Invalid tile"))
+                return@webSocket
+            }
+            val changes = Channel<Unit>(Channel.CONFLATED)
+            val unsubscribe = store.subscribe { changes.trySend(Unit) }
+            launch {
+                for (ignored in incoming) {
+                    // Frames sent by the client are ignored
+                }
+                changes.close()
+            }
+            try {
+                changes.trySend(Unit)
+                var sent: Long? = null
+                for (change in changes) {
+                    if (RenderCache.canRender() && RenderCache.version != sent) {
+                        val frame = RenderCache.frame(tile)
+                        sent = frame.version
+                        send(Frame.Binary(true, frame.png))
+                    }
+                }
+            } finally {
+                unsubscribe()
+                changes.close()
+            }
+        }
+    }
+
     /**
      * Route of type GET that retrieve current Environment.
      * The server will send the environment to the client in a serialized form.
@@ -51,6 +149,38 @@ object EnvironmentRoute {
         }
     }
 
+    private suspend fun RoutingContext.respondFrame(tile: Tile?) {
+        if (!RenderCache.canRender()) {
+            respond(Response(HttpStatusCode.ServiceUnavailable, "The environment cannot be rendered"))
+            return
+        }
+        val etag = RenderCache.version.toETag()
+        if (call.request.headers[HttpHeaders.IfNoneMatch] == etag) {
+            call.response.header(HttpHeaders.ETag, etag)
+            call.respond(HttpStatusCode.NotModified)
+        } else {
+            // The environment may have changed in the meantime: tag the frame with the version actually rendered
+            val frame = RenderCache.frame(tile)
+            call.response.header(HttpHeaders.ETag, frame.version.toETag())
+            call.respondBytes(frame.png, ContentType.Image.PNG)
+        }
+    }
+
+    /*
+     * Versions restart from zero in every process: a random prefix, drawn once per process,
+     * keeps clients from matching an image cached from a previous run of the server.
+     */
+    private val eTagPrefix: String = UUID.randomUUID().toString()
+
+    private fun Long.toETag(): String = "\"$eTagPrefix-$this\""
+
+    private fun Parameters.tile(): Tile? {
+        val zoom = this[ZOOM]?.toIntOrNull()
+        val x = this[X]?.toIntOrNull()
+        val y = this[Y]?.toIntOrNull()
+        return if (zoom != null && zoom in 0..Tile.MAX_ZOOM && x != null && y != null) Tile(zoom, x, y) else null
+    }
+
     private suspend fun renderedEnvironment(dispatcher: CoroutineDispatcher = Dispatchers.Default): String =
         withContext(dispatcher) {
             jsonFormat.encodeToString(
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2010-2023, Danilo Pianini and contributors
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
  * listed, for each module, in the respective subproject's build.gradle.kts file.
  *
  * This file is part of Alchemist, and is distributed under the terms of the
@@ -12,6 +12,7 @@ package it.unibo.alchemist.boundary.server
 import io.kotest.core.spec.style.StringSpec
 import io.ktor.server.config.MapApplicationConfig
 import io.ktor.server.testing.testApplication
+import it.unibo.alchemist.boundary.server.routes.environmentRouteTest
 import it.unibo.alchemist.boundary.server.routes.mainRouteTest
 import it.unibo.alchemist.boundary.webui.server.modules.installModule
 import it.unibo.alchemist.boundary.webui.server.modules.routingModule
@@ -35,6 +36,7 @@ open class ServerTest :
                         )
                 }
                 mainRouteTest()
+                environmentRouteTest()
             }
         }
     })
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2010-2026, Danilo Pianini and contributors
+ * listed, for each module, in the respective subproject's build.gradle.kts file.
+ *
+ * This file is part of Alchemist, and is distributed under the terms of the
+ * GNU General Public License, with a linking exception,
+ * as described in the file LICENSE in the Alchemist distribution's top directory.
+ */
+
+package it.unibo.alchemist.boundary.server.routes
+
+import io.kotest.matchers.shouldBe
+import io.ktor.client.request.get
+import io.ktor.client.request.header
+import io.ktor.client.statement.readRawBytes
+import io.ktor.http.ContentType
+import io.ktor.http.HttpHeaders
+import io.ktor.http.HttpStatusCode
+import io.ktor.http.contentType
+import io.ktor.server.testing.ApplicationTestBuilder
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.EmptyConcentrationSurrogate
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.EnvironmentSurrogate
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.MoleculeSurrogate
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.NodeSurrogate
+import it.unibo.alchemist.boundary.webui.common.model.surrogate.Position2DSurrogate
+import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_IMAGE_PATH
+import it.unibo.alchemist.boundary.webui.common.utility.Routes.ENVIRONMENT_TILES_PATH
+import it.unibo.alchemist.boundary.webui.server.state.ServerStore.store
+import it.unibo.alchemist.boundary.webui.server.state.actions.SetEnvironmentSurrogate
+
+private val pngSignature = listOf<Byte>(-119, 80, 78, 71, 13, 10, 26, 10)
+
+suspend fun ApplicationTestBuilder.environmentRouteTest() {
+    store.dispatch(
+        SetEnvironmentSurrogate(
+            EnvironmentSurrogate(
+                dimensions = 2,
+                nodes =
+                    listOf(
+                        NodeSurrogate(
+                            id = 0,
+                            contents = mapOf(MoleculeSurrogate("concentration") to EmptyConcentrationSurrogate),
+                            position = Position2DSurrogate(5.6, 8.42),
+                        ),
+                    ),
+            ),
+        ),
+    )
+    val image = client.get(ENVIRONMENT_IMAGE_PATH)
+    image.status shouldBe HttpStatusCode.OK
+    image.contentType()?.withoutParameters() shouldBe ContentType.Image.PNG
+    image.readRawBytes().take(pngSignature.size) shouldBe pngSignature
+    val etag = checkNotNull(image.headers[HttpHeaders.ETag])
+    client.get(ENVIRONMENT_IMAGE_PATH) { header(HttpHeaders.IfNoneMatch, etag) }.status shouldBe
+        HttpStatusCode.NotModified
+    // Tags from other runs of the server, carrying the same version number, do not match
+    val version = etag.trim('"').substringAfterLast('-')
+    client.get(ENVIRONMENT_IMAGE_PATH) { header(HttpHeaders.IfNoneMatch, "\"$version\"") }.status shouldBe
+        HttpStatusCode.OK
+    val tile = client.get("$ENVIRONMENT_TILES_PATH/1/0/0")
+    tile.status shouldBe HttpStatusCode.OK
+    tile.readRawBytes().take(pngSignature.size) shouldBe pngSignature
+    client.get("$ENVIRONMENT_TILES_PATH/-1/0/0").status shouldBe HttpStatusCode.BadRequest
+    client.get("$ENVIRONMENT_TILES_PATH/0/zero/0").status shouldBe HttpStatusCode.BadRequest
+}
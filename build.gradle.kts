@@ -64,6 +64,13 @@ allprojects {
         }
         useJUnitPlatform()
         maxHeapSize = "1g"
+        /*
+         * On-disk caches are kept in the build directory, rather than in the user cache directory.
+         */
+        systemProperty("alchemist.kotlinscript.cache", temporaryDir.resolve("kotlinscript-cache").absolutePath)
+        systemProperty("alchemist.navigationgraph.cache", temporaryDir.resolve("navigationgraph-cache").absolutePath)
+        systemProperty("alchemist.gps.cache", temporaryDir.resolve("gps-cache").absolutePath)
+        systemProperty("alchemist.routes.cache", temporaryDir.resolve("routes-cache").absolutePath)
     }
 
     tasks.withType<SpotBugsTask>().configureEach {